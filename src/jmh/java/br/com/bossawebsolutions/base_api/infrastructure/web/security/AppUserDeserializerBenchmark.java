@@ -0,0 +1,57 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura do corpo do {@code /login} pelo {@link AppUserDeserializer}, com o campo "type" no início (leitura direta)
+ * ou no fim (campos anteriores em buffer), em corpos típicos e grandes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppUserDeserializerBenchmark {
+
+	@Param({"1", "64"})
+	public int roleCount;
+
+	@Param({"0", "4096"})
+	public int paddingBytes;
+
+	@Param({"true", "false"})
+	public boolean typeFirst;
+
+	private ObjectReader reader;
+	private byte[] body;
+
+	@Setup
+	public void setUp() {
+		CustomObjectMapper.registerAppUserImplementations(Map.of("BenchmarkAppUser", BenchmarkFixtures.BenchmarkAppUser.class));
+		reader = CustomObjectMapper.getAppUserReader();
+
+		StringBuilder fields = new StringBuilder("\"username\":\"benchmark-user\",\"password\":\"cGFzc3dvcmQ=\",\"roles\":[");
+		int i = 0;
+		for (String role : BenchmarkFixtures.roles(roleCount)) {
+			fields.append(i++ > 0 ? "," : "").append('"').append(role).append('"');
+		}
+		fields.append("],\"email\":\"benchmark@example.com\",\"fullName\":\"").append("x".repeat(paddingBytes)).append('"');
+		String type = "\"type\":\"BenchmarkAppUser\"";
+		String json = typeFirst ? "{" + type + "," + fields + "}" : "{" + fields + "," + type + "}";
+		body = json.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public AppUser readAppUser() throws IOException {
+		return reader.readValue(body);
+	}
+}
@@ -0,0 +1,87 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import io.jsonwebtoken.Jwts;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Dados compartilhados pelos benchmarks: chave de assinatura, usuários e papéis de tamanhos variados.
+ */
+final class BenchmarkFixtures {
+
+	private BenchmarkFixtures() {
+	}
+
+	/**
+	 * Configura um {@link SigningKeyRing} com uma chave HS512 aleatória, como faria o {@link SecurityConstants} na inicialização.
+	 */
+	static void installKeyRing() {
+		SecurityConstants.setKeyRing(SigningKeyRing.of(SecurityConstants.DEFAULT_KEY_ID, Jwts.SIG.HS512.key().build()));
+	}
+
+	static Set<String> roles(int count) {
+		Set<String> roles = new LinkedHashSet<>();
+		for (int i = 0; i < count; i++) {
+			roles.add("ROLE_BENCHMARK_" + i);
+		}
+		return roles;
+	}
+
+	static UserDetailsImpl userDetails(int roleCount) {
+		return new UserDetailsImpl(new BenchmarkAppUser("benchmark-user", "{noop}password", roles(roleCount)));
+	}
+
+	/**
+	 * Implementação de {@link AppUser} utilizada nos benchmarks, com campos públicos para a desserialização.
+	 */
+	public static class BenchmarkAppUser implements AppUser {
+		public Long id = 1L;
+		public String username;
+		public String password;
+		public Set<String> roles;
+		public String email;
+		public String fullName;
+
+		public BenchmarkAppUser() {
+		}
+
+		BenchmarkAppUser(String username, String password, Set<String> roles) {
+			this.username = username;
+			this.password = password;
+			this.roles = roles;
+		}
+
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public String getUsername() {
+			return username;
+		}
+
+		@Override
+		public String getPassword() {
+			return password;
+		}
+
+		@Override
+		public Set<String> getRoles() {
+			return roles;
+		}
+
+		@Override
+		public LocalDateTime getCreatedAt() {
+			return null;
+		}
+
+		@Override
+		public LocalDateTime getUpdatedAt() {
+			return null;
+		}
+	}
+}
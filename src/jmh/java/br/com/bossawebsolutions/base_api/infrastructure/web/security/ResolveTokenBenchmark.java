@@ -0,0 +1,45 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extração do token como no {@link JWTAuthorizationFilter}: {@link JWTAuthorizationFilter#resolveCookieToken} e, sem o
+ * cookie, {@link JWTAuthorizationFilter#resolveHeaderToken}, com o cookie do token após {@code cookieCount - 1} outros
+ * cookies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolveTokenBenchmark {
+
+	@Param({"1", "16", "64"})
+	public int cookieCount;
+
+	private JWTAuthorizationFilter authorizationFilter;
+	private MockHttpServletRequest request;
+
+	@Setup
+	public void setUp() {
+		authorizationFilter = new JWTAuthorizationFilter(authentication -> authentication);
+		Cookie[] cookies = new Cookie[cookieCount];
+		for (int i = 0; i < cookieCount - 1; i++) {
+			cookies[i] = new Cookie("cookie_" + i, "value-" + i);
+		}
+		cookies[cookieCount - 1] = new Cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, "header.payload.signature");
+		request = new MockHttpServletRequest();
+		request.setCookies(cookies);
+	}
+
+	@Benchmark
+	public String resolveToken() {
+		String token = authorizationFilter.resolveCookieToken(request);
+		return token != null ? token : authorizationFilter.resolveHeaderToken(request);
+	}
+}
@@ -0,0 +1,44 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão de tokens como no {@link JWTAuthenticationFilter#successfulAuthentication}, variando o número de papéis e o
+ * perfil de claims.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenMintingBenchmark {
+
+	@Param({"1", "8", "64"})
+	public int roleCount;
+
+	@Param({"full", "compact"})
+	public String claimProfile;
+
+	private JwtTokenIssuer tokenIssuer;
+	private UserDetailsImpl userDetails;
+
+	@Setup
+	public void setUp() {
+		BenchmarkFixtures.installKeyRing();
+		tokenIssuer = new JwtTokenIssuer(claimProfile);
+		userDetails = BenchmarkFixtures.userDetails(roleCount);
+	}
+
+	@Benchmark
+	public String issueAccessToken() {
+		return tokenIssuer.issueAccessToken(userDetails);
+	}
+
+	@Benchmark
+	public String issueRefreshToken() {
+		return tokenIssuer.issueRefreshToken(userDetails);
+	}
+}
@@ -0,0 +1,78 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de tokens como no {@link JWTAuthorizationFilter}: {@link JwtTokenVerifier#check(String)} seguido de
+ * {@link JWTAuthorizationFilter#getAuthentication(VerifiedToken)}, variando o número de papéis,
+ * o tamanho do token (uma claim extra de {@code paddingBytes} caracteres) e o caminho de validação:
+ * apenas jjwt, {@link FastHs512Verifier} ou {@link VerifiedTokenCache}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenVerificationBenchmark {
+
+	@Param({"1", "8", "64"})
+	public int roleCount;
+
+	@Param({"0", "2048"})
+	public int paddingBytes;
+
+	@Param({"jjwt", "fast", "cached"})
+	public String verifier;
+
+	private JwtTokenVerifier tokenVerifier;
+	private JWTAuthorizationFilter authorizationFilter;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		BenchmarkFixtures.installKeyRing();
+		tokenVerifier = switch (verifier) {
+			case "fast" -> new JwtTokenVerifier(null, null, true);
+			case "cached" -> new JwtTokenVerifier(new VerifiedTokenCache(true, 10000, 300000), null, false);
+			default -> new JwtTokenVerifier(null, null, false);
+		};
+		authorizationFilter = new JWTAuthorizationFilter(authentication -> authentication);
+		authorizationFilter.setTokenVerifier(tokenVerifier);
+		token = accessToken(BenchmarkFixtures.userDetails(roleCount), paddingBytes);
+		JwtTokenVerifier.Result result = tokenVerifier.check(token);
+		if (result.getOutcome() != JwtTokenVerifier.Outcome.VERIFIED) {
+			throw new IllegalStateException("Token do benchmark recusado: " + result.getFailure());
+		}
+	}
+
+	@Benchmark
+	public UsernamePasswordAuthenticationToken getAuthentication() {
+		return authorizationFilter.getAuthentication(tokenVerifier.check(token).getToken());
+	}
+
+	/**
+	 * Mesmas claims do {@link JwtTokenIssuer#issueAccessToken}, com uma claim adicional para aumentar o token.
+	 */
+	private static String accessToken(UserDetailsImpl userDetails, int paddingBytes) {
+		SigningKeyRing keyRing = SecurityConstants.getKeyRing();
+		return Jwts.builder()
+				.header().keyId(keyRing.getActiveKeyId()).and()
+				.subject(userDetails.getUsername())
+				.expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+				.claim("username", userDetails.getUsername())
+				.claim("roles", String.join(",", userDetails.getRoles()))
+				.claim("id", userDetails.getId())
+				.claim("iat", new Date())
+				.claim("jti", UUID.randomUUID().toString())
+				.claim("padding", "x".repeat(paddingBytes))
+				.signWith(keyRing.getActiveKey(), Jwts.SIG.HS512)
+				.compact();
+	}
+}
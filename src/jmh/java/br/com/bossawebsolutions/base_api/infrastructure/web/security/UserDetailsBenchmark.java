@@ -0,0 +1,49 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link UserDetailsImpl#getAuthorities} e da criação do {@link UserDetailsImpl}, a partir do usuário
+ * (login) e a partir da claim {@code roles} (requisições autenticadas), variando o número de papéis.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsBenchmark {
+
+	@Param({"1", "8", "64"})
+	public int roleCount;
+
+	private BenchmarkFixtures.BenchmarkAppUser appUser;
+	private UserDetailsImpl userDetails;
+	private String rolesClaim;
+
+	@Setup
+	public void setUp() {
+		appUser = new BenchmarkFixtures.BenchmarkAppUser("benchmark-user", "{noop}password", BenchmarkFixtures.roles(roleCount));
+		userDetails = new UserDetailsImpl(appUser);
+		rolesClaim = String.join(",", appUser.getRoles());
+	}
+
+	@Benchmark
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return userDetails.getAuthorities();
+	}
+
+	@Benchmark
+	public UserDetailsImpl fromAppUser() {
+		return new UserDetailsImpl(appUser);
+	}
+
+	@Benchmark
+	public UserDetailsImpl fromRolesClaim() {
+		return new UserDetailsImpl(appUser.getId(), appUser.getUsername(), RoleAuthorities.fromClaim(rolesClaim));
+	}
+}
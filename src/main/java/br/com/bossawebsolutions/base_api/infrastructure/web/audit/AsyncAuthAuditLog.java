@@ -0,0 +1,155 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link AuthAuditLog} assíncrono: as threads de requisição apenas criam o evento e o enfileiram em um
+ * {@link AuthEventRingBuffer} limitado e sem locks; uma thread de gravação esvazia a fila em lotes de até
+ * {@code batchSize} eventos e os entrega ao {@link AuthEventSink}.
+ *
+ * Com a fila cheia (uma onda de bots mais rápida do que o destino), o evento é descartado e contado, e a thread de
+ * gravação informa o total descartado em um único aviso a cada {@link #DROP_REPORT_INTERVAL_MILLIS}. Falhas de I/O do
+ * destino descartam o lote e são registradas sem stack trace; apenas erros inesperados do destino a incluem. Eventos
+ * registrados depois de {@link #close()} também são descartados e contados.
+ */
+public class AsyncAuthAuditLog implements AuthAuditLog {
+	private static final Logger logger = LoggerFactory.getLogger(AsyncAuthAuditLog.class);
+
+	static final long DROP_REPORT_INTERVAL_MILLIS = 10_000;
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+	private final AuthEventSink sink;
+	private final boolean closeSink;
+	private final AuthEventRingBuffer buffer;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final LongAdder dropped = new LongAdder();
+	private final AtomicInteger recording = new AtomicInteger();
+	private final Thread writer;
+	private volatile boolean running = true;
+	private volatile boolean stopped;
+	private long reportedDrops;
+	private long lastDropReport;
+
+	/**
+	 * @param sink o destino dos eventos, chamado apenas pela thread de gravação
+	 * @param bufferSize a capacidade da fila, arredondada para a próxima potência de dois
+	 * @param batchSize a quantidade máxima de eventos entregues ao destino por chamada
+	 * @param flushIntervalMillis o intervalo, em milissegundos, em que a thread de gravação verifica a fila quando ela está vazia
+	 */
+	public AsyncAuthAuditLog(AuthEventSink sink, int bufferSize, int batchSize, long flushIntervalMillis) {
+		this(sink, bufferSize, batchSize, flushIntervalMillis, true);
+	}
+
+	/**
+	 * @param sink o destino dos eventos, chamado apenas pela thread de gravação
+	 * @param bufferSize a capacidade da fila, arredondada para a próxima potência de dois
+	 * @param batchSize a quantidade máxima de eventos entregues ao destino por chamada
+	 * @param flushIntervalMillis o intervalo, em milissegundos, em que a thread de gravação verifica a fila quando ela está vazia
+	 * @param closeSink se {@link #close()} também fecha o destino; {@code false} para um destino gerenciado por outro, como
+	 *                  um bean da aplicação
+	 */
+	public AsyncAuthAuditLog(AuthEventSink sink, int bufferSize, int batchSize, long flushIntervalMillis, boolean closeSink) {
+		if (batchSize <= 0 || flushIntervalMillis <= 0) {
+			throw new IllegalArgumentException("batchSize e flushIntervalMillis devem ser positivos");
+		}
+		this.sink = sink;
+		this.closeSink = closeSink;
+		this.buffer = new AuthEventRingBuffer(bufferSize);
+		this.batchSize = batchSize;
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+		this.writer = Thread.ofPlatform().name("auth-audit-writer").daemon().start(this::run);
+	}
+
+	@Override
+	public void record(AuthEvent.Type type, String username, String clientAddress, String reason) {
+		recording.incrementAndGet();
+		try {
+			if (!running || !buffer.offer(new AuthEvent(System.currentTimeMillis(), type, username, clientAddress, reason))) {
+				dropped.increment();
+			}
+		} finally {
+			recording.decrementAndGet();
+		}
+	}
+
+	@Override
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Interrompe a recepção de eventos, grava os que restam na fila e, se ele pertencer a este registro, fecha o destino.
+	 * Antes de liberar a thread de gravação, aguarda os registros que já passaram pela verificação de {@code running},
+	 * para que nenhum evento fique na fila sem ser gravado ou contado como descartado.
+	 */
+	public void close() {
+		running = false;
+		while (recording.get() > 0) {
+			Thread.onSpinWait();
+		}
+		stopped = true;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!closeSink) {
+			return;
+		}
+		try {
+			sink.close();
+		} catch (IOException e) {
+			logger.warn("Falha ao fechar o destino da auditoria: {}", e.getMessage());
+		}
+	}
+
+	private void run() {
+		List<AuthEvent> batch = new ArrayList<>(batchSize);
+		while (!stopped || !buffer.isEmpty()) {
+			reportDrops();
+			batch.clear();
+			if (buffer.drainTo(batch, batchSize) == 0) {
+				if (!stopped) {
+					LockSupport.parkNanos(this, flushIntervalNanos);
+				}
+				continue;
+			}
+			write(batch);
+		}
+		reportDrops();
+	}
+
+	private void write(List<AuthEvent> batch) {
+		try {
+			sink.write(batch);
+		} catch (IOException e) {
+			logger.warn("Falha ao gravar {} eventos de auditoria: {}", batch.size(), e.getMessage());
+		} catch (RuntimeException e) {
+			logger.error("Erro inesperado ao gravar {} eventos de auditoria", batch.size(), e);
+		}
+	}
+
+	private void reportDrops() {
+		long now = System.currentTimeMillis();
+		if (now - lastDropReport < DROP_REPORT_INTERVAL_MILLIS && running) {
+			return;
+		}
+		long total = dropped.sum();
+		if (total > reportedDrops) {
+			logger.warn("{} eventos de auditoria descartados com a fila cheia ({} no total)", total - reportedDrops, total);
+			reportedDrops = total;
+			lastDropReport = now;
+		}
+	}
+}
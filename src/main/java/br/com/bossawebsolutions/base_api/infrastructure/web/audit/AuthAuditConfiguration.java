@@ -0,0 +1,66 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Define o {@link AuthAuditLog} da aplicação. O destino dos eventos é, nesta ordem: um bean {@link AuthEventSink}
+ * declarado pela aplicação; o {@link RollingFileAuthEventSink}, se {@code auth.audit.file} estiver definido; ou o
+ * {@link LoggingAuthEventSink}. Um destino declarado pela aplicação é fechado pelo Spring, e não pelo registro.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AuthAuditConfiguration {
+
+	@Value("${auth.audit.enabled:true}")
+	boolean enabled;
+
+	@Value("${auth.audit.buffer-size:8192}")
+	int bufferSize;
+
+	@Value("${auth.audit.batch-size:256}")
+	int batchSize;
+
+	@Value("${auth.audit.flush-interval:200}")
+	long flushIntervalMillis;
+
+	@Value("${auth.audit.file:}")
+	String file;
+
+	@Value("${auth.audit.file.max-size:10485760}")
+	long fileMaxSize;
+
+	@Value("${auth.audit.file.max-files:5}")
+	int fileMaxFiles;
+
+	/**
+	 * @param sink o destino declarado pela aplicação, se houver
+	 * @return o registro assíncrono de auditoria, ou {@link AuthAuditLog#NOOP} com {@code auth.audit.enabled=false}
+	 */
+	@Bean
+	AuthAuditLog authAuditLog(ObjectProvider<AuthEventSink> sink) {
+		if (!enabled) {
+			return AuthAuditLog.NOOP;
+		}
+		AuthEventSink declaredSink = sink.getIfAvailable();
+		return declaredSink != null
+				? new AsyncAuthAuditLog(declaredSink, bufferSize, batchSize, flushIntervalMillis, false)
+				: new AsyncAuthAuditLog(defaultSink(), bufferSize, batchSize, flushIntervalMillis, true);
+	}
+
+	private AuthEventSink defaultSink() {
+		if (file.isBlank()) {
+			return new LoggingAuthEventSink();
+		}
+		try {
+			return new RollingFileAuthEventSink(Path.of(file), fileMaxSize, fileMaxFiles);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível abrir o arquivo de auditoria " + file, e);
+		}
+	}
+}
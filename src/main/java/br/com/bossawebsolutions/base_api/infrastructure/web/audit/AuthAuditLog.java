@@ -0,0 +1,37 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+/**
+ * Registro de auditoria do fluxo de autenticação: logins, tokens recusados e usuários inexistentes.
+ *
+ * As chamadas são feitas nas threads de requisição e não podem bloquear nem fazer I/O; a implementação padrão,
+ * {@link AsyncAuthAuditLog}, apenas enfileira o evento. Com {@code auth.audit.enabled=false}, a aplicação usa
+ * {@link #NOOP}.
+ */
+public interface AuthAuditLog {
+
+	AuthAuditLog NOOP = new AuthAuditLog() {
+		@Override
+		public void record(AuthEvent.Type type, String username, String clientAddress, String reason) {
+		}
+
+		@Override
+		public long getDroppedCount() {
+			return 0;
+		}
+	};
+
+	/**
+	 * Registra um evento. Nunca bloqueia: se o evento não puder ser aceito, ele é descartado e contado.
+	 *
+	 * @param type o tipo do evento
+	 * @param username o nome de usuário, ou {@code null} se desconhecido
+	 * @param clientAddress o endereço do cliente, ou {@code null} se desconhecido
+	 * @param reason o motivo da falha, ou {@code null}
+	 */
+	void record(AuthEvent.Type type, String username, String clientAddress, String reason);
+
+	/**
+	 * @return a quantidade de eventos descartados desde o início da aplicação
+	 */
+	long getDroppedCount();
+}
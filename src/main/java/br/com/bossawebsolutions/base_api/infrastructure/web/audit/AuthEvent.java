@@ -0,0 +1,110 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import java.time.Instant;
+
+/**
+ * Evento de auditoria do fluxo de autenticação. É imutável e criado na thread da requisição; a formatação fica a
+ * cargo do {@link AuthEventSink}, na thread de gravação do {@link AsyncAuthAuditLog}.
+ */
+public final class AuthEvent {
+
+	/**
+	 * Tipos de evento auditados.
+	 */
+	public enum Type {
+		/** Login com credenciais válidas. */
+		LOGIN_SUCCESS,
+		/** Login recusado por credenciais inválidas, limite de tentativas ou sobrecarga. */
+		LOGIN_FAILURE,
+		/** Token de acesso recusado; o motivo é um {@code AuthMetrics.TokenFailure}. */
+		TOKEN_REJECTED,
+		/** Login com um usuário inexistente. */
+		USER_NOT_FOUND
+	}
+
+	private final long timestamp;
+	private final Type type;
+	private final String username;
+	private final String clientAddress;
+	private final String reason;
+
+	/**
+	 * @param timestamp o instante do evento, em milissegundos desde a época
+	 * @param type o tipo do evento
+	 * @param username o nome de usuário, ou {@code null} se desconhecido
+	 * @param clientAddress o endereço do cliente, ou {@code null} se desconhecido
+	 * @param reason o motivo da falha, ou {@code null}
+	 */
+	public AuthEvent(long timestamp, Type type, String username, String clientAddress, String reason) {
+		this.timestamp = timestamp;
+		this.type = type;
+		this.username = username;
+		this.clientAddress = clientAddress;
+		this.reason = reason;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getClientAddress() {
+		return clientAddress;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	/**
+	 * Acrescenta o evento como um objeto JSON de uma linha, com os campos {@code ts} (ISO-8601, UTC), {@code type},
+	 * {@code user}, {@code client} e {@code reason}; campos nulos são omitidos.
+	 *
+	 * @param out o destino
+	 * @return o mesmo destino
+	 */
+	public StringBuilder appendJson(StringBuilder out) {
+		out.append("{\"ts\":\"").append(Instant.ofEpochMilli(timestamp)).append("\",\"type\":\"").append(type).append('"');
+		appendField(out, "user", username);
+		appendField(out, "client", clientAddress);
+		appendField(out, "reason", reason);
+		return out.append('}');
+	}
+
+	@Override
+	public String toString() {
+		return appendJson(new StringBuilder(128)).toString();
+	}
+
+	private static void appendField(StringBuilder out, String name, String value) {
+		if (value == null) {
+			return;
+		}
+		out.append(",\"").append(name).append("\":\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> out.append("\\\"");
+				case '\\' -> out.append("\\\\");
+				case '\n' -> out.append("\\n");
+				case '\r' -> out.append("\\r");
+				case '\t' -> out.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						out.append(String.format("\\u%04x", (int) c));
+					} else {
+						out.append(c);
+					}
+				}
+			}
+		}
+		out.append('"');
+	}
+}
@@ -0,0 +1,94 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, com vários produtores e um único consumidor.
+ *
+ * Cada posição guarda um número de sequência: os produtores disputam a próxima posição livre com um único
+ * {@code compareAndSet} e, após gravar o evento, publicam a sequência; o consumidor só lê posições já publicadas.
+ * Com a fila cheia, {@link #offer(AuthEvent)} retorna {@code false} imediatamente, sem esperar.
+ */
+final class AuthEventRingBuffer {
+
+	private final int mask;
+	private final AtomicReferenceArray<AuthEvent> events;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private long head;
+
+	/**
+	 * @param capacity a capacidade, arredondada para a próxima potência de dois
+	 */
+	AuthEventRingBuffer(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		size = Math.max(size, 2);
+		this.mask = size - 1;
+		this.events = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Pode ser chamado por qualquer thread.
+	 *
+	 * @param event o evento
+	 * @return {@code false} se a fila estiver cheia
+	 */
+	boolean offer(AuthEvent event) {
+		long position = tail.get();
+		while (true) {
+			int index = (int) (position & mask);
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					events.lazySet(index, event);
+					sequences.set(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Move até {@code max} eventos, na ordem de chegada, para {@code batch}. Deve ser chamado apenas pelo consumidor.
+	 *
+	 * @return a quantidade de eventos movidos
+	 */
+	int drainTo(List<AuthEvent> batch, int max) {
+		int drained = 0;
+		while (drained < max) {
+			int index = (int) (head & mask);
+			if (sequences.get(index) != head + 1) {
+				break;
+			}
+			batch.add(events.get(index));
+			events.lazySet(index, null);
+			sequences.set(index, head + mask + 1);
+			head++;
+			drained++;
+		}
+		return drained;
+	}
+
+	boolean isEmpty() {
+		return sequences.get((int) (head & mask)) != head + 1;
+	}
+}
@@ -0,0 +1,26 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino dos eventos de auditoria. É chamado apenas pela thread de gravação do {@link AsyncAuthAuditLog}, nunca
+ * por threads de requisição, e por isso não precisa ser thread-safe.
+ *
+ * Para usar um destino próprio (banco de dados, fila de mensagens etc.), basta declará-lo como bean.
+ */
+public interface AuthEventSink extends Closeable {
+
+	/**
+	 * Grava um lote de eventos, na ordem em que foram registrados.
+	 *
+	 * @param events os eventos do lote; a lista é reaproveitada após a chamada e não deve ser guardada
+	 * @throws IOException se a gravação falhar; o lote é descartado e a gravação continua com os próximos
+	 */
+	void write(List<AuthEvent> events) throws IOException;
+
+	@Override
+	default void close() throws IOException {
+	}
+}
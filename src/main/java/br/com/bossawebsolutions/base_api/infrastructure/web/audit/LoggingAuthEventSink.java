@@ -0,0 +1,26 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Destino padrão: grava cada evento como uma linha JSON, em nível INFO, no logger {@code bws.auth.audit}. Como é
+ * chamado pela thread de gravação, o custo do logging não recai sobre as requisições.
+ */
+public class LoggingAuthEventSink implements AuthEventSink {
+	private static final Logger logger = LoggerFactory.getLogger("bws.auth.audit");
+
+	@Override
+	public void write(List<AuthEvent> events) {
+		if (!logger.isInfoEnabled()) {
+			return;
+		}
+		StringBuilder line = new StringBuilder(128);
+		for (AuthEvent event : events) {
+			line.setLength(0);
+			logger.info(event.appendJson(line).toString());
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Grava os eventos como linhas JSON em um arquivo que é rotacionado ao atingir {@code maxBytes}: o arquivo atual passa
+ * a {@code <arquivo>.1}, o {@code .1} a {@code .2} e assim por diante, mantendo até {@code maxFiles} arquivos antigos.
+ *
+ * Cada lote é gravado em um {@link BufferedWriter} e descarregado uma única vez ao final, de modo que uma rajada de
+ * eventos custa poucas chamadas de sistema.
+ */
+public class RollingFileAuthEventSink implements AuthEventSink {
+
+	private final Path file;
+	private final long maxBytes;
+	private final int maxFiles;
+	private final StringBuilder line = new StringBuilder(256);
+	private Writer writer;
+	private long size;
+
+	/**
+	 * @param file o arquivo de auditoria; os diretórios ausentes são criados
+	 * @param maxBytes o tamanho, em bytes, a partir do qual o arquivo é rotacionado
+	 * @param maxFiles a quantidade de arquivos rotacionados mantidos; {@code 0} descarta o conteúdo a cada rotação
+	 * @throws IOException se o arquivo não puder ser aberto
+	 */
+	public RollingFileAuthEventSink(Path file, long maxBytes, int maxFiles) throws IOException {
+		if (maxBytes <= 0 || maxFiles < 0) {
+			throw new IllegalArgumentException("maxBytes deve ser positivo e maxFiles não pode ser negativo");
+		}
+		this.file = file;
+		this.maxBytes = maxBytes;
+		this.maxFiles = maxFiles;
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		open();
+	}
+
+	@Override
+	public void write(List<AuthEvent> events) throws IOException {
+		for (AuthEvent event : events) {
+			line.setLength(0);
+			event.appendJson(line).append('\n');
+			long bytes = utf8Length(line);
+			if (size > 0 && size + bytes > maxBytes) {
+				roll();
+			}
+			writer.append(line);
+			size += bytes;
+		}
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	private void open() throws IOException {
+		writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		size = Files.size(file);
+	}
+
+	private void roll() throws IOException {
+		writer.close();
+		if (maxFiles == 0) {
+			Files.delete(file);
+		} else {
+			Files.deleteIfExists(rolled(maxFiles));
+			for (int i = maxFiles - 1; i >= 1; i--) {
+				Path source = rolled(i);
+				if (Files.exists(source)) {
+					Files.move(source, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+		}
+		open();
+	}
+
+	/**
+	 * @return o tamanho, em bytes, da linha codificada em UTF-8, calculado sem codificá-la
+	 */
+	static long utf8Length(CharSequence text) {
+		long bytes = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				bytes++;
+			} else if (c < 0x800) {
+				bytes += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+				bytes += 4;
+				i++;
+			} else {
+				bytes += 3;
+			}
+		}
+		return bytes;
+	}
+
+	private Path rolled(int index) {
+		return file.resolveSibling(file.getFileName() + "." + index);
+	}
+}
@@ -0,0 +1,47 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.config;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Registra, no processamento AOT, as dicas de reflexão das implementações de {@link AppUser} que o
+ * {@link CustomObjectMapper} desserializa no login: as declaradas em {@code app-user.implementations} e as já
+ * registradas com {@link CustomObjectMapper#registerAppUserImplementations(java.util.Map)} no momento do processamento.
+ * Sem essas dicas, uma imagem nativa não consegue instanciar nem preencher as implementações.
+ *
+ * Registrado em {@code META-INF/spring/aot.factories}.
+ */
+class AppUserAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+	@Override
+	public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+		Set<Class<? extends AppUser>> types = new LinkedHashSet<>(CustomObjectMapper.getAppUserImplementations().values());
+		Environment environment = beanFactory.getBean(ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME, Environment.class);
+		List<String> entries = Binder.get(environment)
+				.bind("app-user.implementations", Bindable.listOf(String.class))
+				.orElse(List.of());
+		types.addAll(CustomObjectMapper.parseAppUserImplementations(entries, beanFactory.getBeanClassLoader()).values());
+		if (types.isEmpty()) {
+			return null;
+		}
+		return (generationContext, code) -> {
+			ReflectionHints reflection = generationContext.getRuntimeHints().reflection();
+			for (Class<? extends AppUser> type : types) {
+				reflection.registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+						MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+			}
+		};
+	}
+}
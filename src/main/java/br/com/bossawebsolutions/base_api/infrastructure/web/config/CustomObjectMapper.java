@@ -2,35 +2,84 @@ package br.com.bossawebsolutions.base_api.infrastructure.web.config;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import br.com.bossawebsolutions.base_api.infrastructure.web.security.AppUserDeserializer;
 import br.com.bossawebsolutions.base_api.model.AppUser;
+import org.springframework.util.ClassUtils;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A classe {@code CustomObjectMapper} fornece uma instância singleton de {@link ObjectMapper} configurada para serialização e
  * desserialização de objetos JSON. Ela permite registrar implementações customizadas de {@link AppUser}.
+ * A instância é configurada uma única vez; o registro de implementações apenas substitui, de forma atômica, o mapeamento
+ * imutável consultado pelo {@link AppUserDeserializer}, sem alterar o {@link ObjectMapper} em uso.
  */
 public class CustomObjectMapper {
 
     private static final ObjectMapper objectMapper;
+    private static final ObjectReader appUserReader;
+    private static volatile Map<String, Class<? extends AppUser>> appUserTypeMapping = Map.of();
 
     static {
         objectMapper = new ObjectMapper();
         objectMapper.enable(JsonParser.Feature.INCLUDE_SOURCE_IN_LOCATION);
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(AppUser.class, new AppUserDeserializer(() -> appUserTypeMapping));
+        objectMapper.registerModule(module);
+        appUserReader = objectMapper.readerFor(AppUser.class);
     }
 
     /**
      * Registra as implementações de {@link AppUser} para que o {@link ObjectMapper} saiba como desserializar diferentes tipos de usuários.
+     * Um novo registro substitui o anterior.
      *
      * @param appUserTypeMapping um mapa associando o tipo de usuário (chave) à sua implementação concreta (valor).
      *                            Exemplo: {"myAppUser" -> MyAppUser.class}
      */
     public static void registerAppUserImplementations(Map<String, Class<? extends AppUser>> appUserTypeMapping) {
-        SimpleModule module = new SimpleModule();
-        module.addDeserializer(AppUser.class, new AppUserDeserializer(appUserTypeMapping));
-        objectMapper.registerModule(module);
+        CustomObjectMapper.appUserTypeMapping = Map.copyOf(appUserTypeMapping);
+    }
+
+    /**
+     * Converte as entradas de {@code app-user.implementations} no mapeamento aceito por
+     * {@link #registerAppUserImplementations(Map)}.
+     *
+     * @param entries entradas no formato {@code <tipo>:<classe>}, por exemplo {@code MyAppUser:com.exemplo.MyAppUser}
+     * @param classLoader o {@link ClassLoader} usado para carregar as classes
+     * @return o mapeamento do tipo para a implementação de {@link AppUser}
+     * @throws IllegalStateException se uma entrada for inválida ou a classe não implementar {@link AppUser}
+     */
+    public static Map<String, Class<? extends AppUser>> parseAppUserImplementations(List<String> entries, ClassLoader classLoader) {
+        Map<String, Class<? extends AppUser>> mapping = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("app-user.implementations deve usar o formato <tipo>:<classe>: " + entry);
+            }
+            String className = entry.substring(separator + 1).trim();
+            Class<?> type;
+            try {
+                type = ClassUtils.forName(className, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new IllegalStateException("Implementação de AppUser não encontrada: " + className, e);
+            }
+            if (!AppUser.class.isAssignableFrom(type)) {
+                throw new IllegalStateException(className + " não implementa " + AppUser.class.getName());
+            }
+            mapping.put(entry.substring(0, separator).trim(), type.asSubclass(AppUser.class));
+        }
+        return mapping;
+    }
+
+    /**
+     * @return as implementações de {@link AppUser} registradas, indexadas pelo tipo.
+     */
+    public static Map<String, Class<? extends AppUser>> getAppUserImplementations() {
+        return appUserTypeMapping;
     }
 
     /**
@@ -41,4 +90,11 @@ public class CustomObjectMapper {
     public static ObjectMapper getInstance() {
         return objectMapper;
     }
+
+    /**
+     * @return o {@link ObjectReader} imutável e pré-configurado para ler {@link AppUser}.
+     */
+    public static ObjectReader getAppUserReader() {
+        return appUserReader;
+    }
 }
@@ -1,15 +1,40 @@
 package br.com.bossawebsolutions.base_api.infrastructure.web.config;
 
+import br.com.bossawebsolutions.base_api.model.AppUser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuração Spring para fornecer a instância personalizada de {@link ObjectMapper} via injeção de dependência.
+ * Também registra as implementações de {@link AppUser} declaradas em {@code app-user.implementations}, que ficam
+ * visíveis para o processamento AOT pelo {@link AppUserAotProcessor}.
  */
 @Configuration
 public class CustomObjectMapperConfig {
 
+    @Value("${app-user.implementations:}")
+    List<String> appUserImplementations;
+
+    /**
+     * Acrescenta as implementações de {@code app-user.implementations} às já registradas em {@link CustomObjectMapper}.
+     */
+    @PostConstruct
+    void registerConfiguredAppUserImplementations() {
+        if (appUserImplementations.isEmpty()) {
+            return;
+        }
+        Map<String, Class<? extends AppUser>> mapping = new HashMap<>(CustomObjectMapper.getAppUserImplementations());
+        mapping.putAll(CustomObjectMapper.parseAppUserImplementations(appUserImplementations, getClass().getClassLoader()));
+        CustomObjectMapper.registerAppUserImplementations(mapping);
+    }
+
     /**
      * @return a instância de {@link ObjectMapper} configurada.
      */
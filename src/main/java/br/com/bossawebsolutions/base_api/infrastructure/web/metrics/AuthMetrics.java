@@ -0,0 +1,129 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.metrics;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas do fluxo de autenticação. As etiquetas são sempre valores de enums, mantendo a cardinalidade baixa.
+ *
+ * Sem um {@code MeterRegistry} do Micrometer, a aplicação usa {@link #NOOP}, cujas chamadas não fazem nada
+ * (nem sequer leem o relógio), de modo que a instrumentação não tem custo perceptível.
+ */
+public interface AuthMetrics {
+
+	/**
+	 * Etapas cronometradas do fluxo de autenticação.
+	 */
+	enum Stage {
+		/** Leitura do corpo do {@code /login}. */
+		LOGIN_BODY_PARSE,
+		/** Verificação das credenciais do {@code /login}, incluindo a espera no executor e a busca do usuário. */
+		LOGIN_PASSWORD_CHECK,
+		/** Emissão dos tokens após o login. */
+		LOGIN_TOKEN_MINT,
+		/** Extração do token do cookie ou do header. */
+		TOKEN_RESOLVE,
+		/** Validação do token e montagem da autenticação. */
+		TOKEN_VERIFY,
+		/** Consulta ao {@code AppUserRepository}, sem contar os acertos de cache. */
+		REPOSITORY_LOOKUP,
+		/** Geração de um hash de senha. */
+		PASSWORD_ENCODE,
+		/** Comparação de uma senha com o hash armazenado. */
+		PASSWORD_MATCH
+	}
+
+	/**
+	 * Motivos de recusa de um token de acesso.
+	 */
+	enum TokenFailure {
+		EXPIRED,
+		INVALID_SIGNATURE,
+		MALFORMED,
+		REVOKED,
+		WRONG_TYPE,
+		/** Token emitido para outro tenant, ou por um emissor ({@code iss}) desconhecido. */
+		WRONG_TENANT,
+		OTHER
+	}
+
+	AuthMetrics NOOP = new AuthMetrics() {
+		@Override
+		public long startTimer() {
+			return 0;
+		}
+
+		@Override
+		public void record(Stage stage, long startNanos) {
+		}
+
+		@Override
+		public void tokenRejected(TokenFailure reason) {
+		}
+
+		@Override
+		public void userNotFound() {
+		}
+
+		@Override
+		public Map<String, Object> snapshot() {
+			return Map.of();
+		}
+	};
+
+	/**
+	 * @return o instante de início a ser informado em {@link #record(Stage, long)}
+	 */
+	long startTimer();
+
+	/**
+	 * Registra a duração de uma etapa.
+	 *
+	 * @param stage a etapa
+	 * @param startNanos o valor retornado por {@link #startTimer()} no início da etapa
+	 */
+	void record(Stage stage, long startNanos);
+
+	/**
+	 * Conta a recusa de um token de acesso.
+	 *
+	 * @param reason o motivo da recusa
+	 */
+	void tokenRejected(TokenFailure reason);
+
+	/**
+	 * Conta uma tentativa de login com um usuário inexistente.
+	 */
+	void userNotFound();
+
+	/**
+	 * Registra um contador mantido pelo próprio componente, como o número de logins recusados. O valor só é lido quando
+	 * as métricas são coletadas, sem custo no caminho da requisição. Sem registro, não faz nada.
+	 *
+	 * @param name o nome do contador
+	 * @param description a descrição do contador
+	 * @param owner o componente que mantém o valor, referenciado enquanto a aplicação estiver ativa
+	 * @param count lê o valor acumulado do componente
+	 * @param tags pares de nome e valor de etiqueta
+	 */
+	default <T> void registerCounter(String name, String description, T owner, ToDoubleFunction<T> count, String... tags) {
+	}
+
+	/**
+	 * Registra um medidor de um valor que sobe e desce, como o tamanho de uma fila, lido apenas na coleta.
+	 * Sem registro, não faz nada.
+	 *
+	 * @param name o nome do medidor
+	 * @param description a descrição do medidor
+	 * @param owner o componente que mantém o valor, referenciado enquanto a aplicação estiver ativa
+	 * @param value lê o valor atual do componente
+	 * @param tags pares de nome e valor de etiqueta
+	 */
+	default <T> void registerGauge(String name, String description, T owner, ToDoubleFunction<T> value, String... tags) {
+	}
+
+	/**
+	 * @return um resumo das métricas (contagem, média, percentis e máximo por etapa, e contadores), exposto pelo endpoint do actuator
+	 */
+	Map<String, Object> snapshot();
+}
@@ -0,0 +1,56 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Define o {@link AuthMetrics} da aplicação. O Micrometer e o actuator são dependências opcionais:
+ * sem o Micrometer no classpath, ou sem um {@link MeterRegistry} configurado, é utilizado o {@link AuthMetrics#NOOP};
+ * o endpoint {@code authmetrics} só é registrado quando o actuator está presente.
+ */
+@Configuration
+public class AuthMetricsConfiguration {
+
+	private static final String METER_REGISTRY = "io.micrometer.core.instrument.MeterRegistry";
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = METER_REGISTRY)
+	static class MicrometerConfiguration {
+
+		/**
+		 * @param registry o registro do Micrometer, se configurado
+		 * @param enabled habilita ou desabilita as métricas de autenticação
+		 * @return as métricas registradas no Micrometer, ou {@link AuthMetrics#NOOP}
+		 */
+		@Bean
+		AuthMetrics authMetrics(ObjectProvider<MeterRegistry> registry, @Value("${auth.metrics.enabled:true}") boolean enabled) {
+			MeterRegistry meterRegistry = enabled ? registry.getIfAvailable() : null;
+			return meterRegistry != null ? new MicrometerAuthMetrics(meterRegistry) : AuthMetrics.NOOP;
+		}
+
+		@Configuration(proxyBeanMethods = false)
+		@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+		static class EndpointConfiguration {
+
+			@Bean
+			AuthMetricsEndpoint authMetricsEndpoint(AuthMetrics authMetrics) {
+				return new AuthMetricsEndpoint(authMetrics);
+			}
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnMissingClass(METER_REGISTRY)
+	static class NoopConfiguration {
+
+		@Bean
+		AuthMetrics authMetrics() {
+			return AuthMetrics.NOOP;
+		}
+	}
+}
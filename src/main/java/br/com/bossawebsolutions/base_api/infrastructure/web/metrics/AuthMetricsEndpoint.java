@@ -0,0 +1,29 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Endpoint do actuator ({@code /actuator/authmetrics}) com o resumo das {@link AuthMetrics}: contagem, média,
+ * percentis 50, 95 e 99 e máximo de cada etapa, tokens recusados por motivo e logins com usuário inexistente.
+ * Precisa ser exposto com {@code management.endpoints.web.exposure.include=authmetrics}.
+ */
+@Endpoint(id = "authmetrics")
+public class AuthMetricsEndpoint {
+
+	private final AuthMetrics authMetrics;
+
+	/**
+	 * @param authMetrics as métricas resumidas pelo endpoint
+	 */
+	public AuthMetricsEndpoint(AuthMetrics authMetrics) {
+		this.authMetrics = authMetrics;
+	}
+
+	@ReadOperation
+	public Map<String, Object> metrics() {
+		return authMetrics.snapshot();
+	}
+}
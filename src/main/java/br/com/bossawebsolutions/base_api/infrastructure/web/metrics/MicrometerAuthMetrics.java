@@ -0,0 +1,138 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link AuthMetrics} registradas em um {@link MeterRegistry} do Micrometer.
+ * Todos os medidores são criados na inicialização, um por valor de etiqueta, para que o registro não faça buscas nem alocações.
+ *
+ * <ul>
+ *     <li>{@code bws.auth.duration} (timer, etiqueta {@code stage}): duração de cada {@link Stage}, com histograma de percentis</li>
+ *     <li>{@code bws.auth.token.rejected} (contador, etiqueta {@code reason}): tokens de acesso recusados por {@link TokenFailure}</li>
+ *     <li>{@code bws.auth.user.not-found} (contador): logins com usuário inexistente</li>
+ * </ul>
+ *
+ * Os componentes registram os próprios contadores e medidores com {@link #registerCounter} e {@link #registerGauge};
+ * eles também entram no resumo do endpoint, em {@code components}.
+ */
+public class MicrometerAuthMetrics implements AuthMetrics {
+
+	private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+	private final Timer[] timers = new Timer[Stage.values().length];
+	private final Counter[] rejections = new Counter[TokenFailure.values().length];
+	private final Counter usersNotFound;
+	private final MeterRegistry registry;
+	private final List<Meter> components = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @param registry o registro em que os medidores são criados
+	 */
+	public MicrometerAuthMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		for (Stage stage : Stage.values()) {
+			timers[stage.ordinal()] = Timer.builder("bws.auth.duration")
+					.description("Duração das etapas de autenticação")
+					.tag("stage", stage.name().toLowerCase())
+					.publishPercentiles(PERCENTILES)
+					.publishPercentileHistogram()
+					.register(registry);
+		}
+		for (TokenFailure reason : TokenFailure.values()) {
+			rejections[reason.ordinal()] = Counter.builder("bws.auth.token.rejected")
+					.description("Tokens de acesso recusados")
+					.tag("reason", reason.name().toLowerCase())
+					.register(registry);
+		}
+		usersNotFound = Counter.builder("bws.auth.user.not-found")
+				.description("Logins com usuário inexistente")
+				.register(registry);
+	}
+
+	@Override
+	public long startTimer() {
+		return System.nanoTime();
+	}
+
+	@Override
+	public void record(Stage stage, long startNanos) {
+		timers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void tokenRejected(TokenFailure reason) {
+		rejections[reason.ordinal()].increment();
+	}
+
+	@Override
+	public void userNotFound() {
+		usersNotFound.increment();
+	}
+
+	@Override
+	public <T> void registerCounter(String name, String description, T owner, ToDoubleFunction<T> count, String... tags) {
+		components.add(FunctionCounter.builder(name, owner, count).description(description).tags(tags).register(registry));
+	}
+
+	@Override
+	public <T> void registerGauge(String name, String description, T owner, ToDoubleFunction<T> value, String... tags) {
+		components.add(Gauge.builder(name, owner, value).description(description).tags(tags).strongReference(true).register(registry));
+	}
+
+	@Override
+	public Map<String, Object> snapshot() {
+		Map<String, Object> stages = new LinkedHashMap<>();
+		for (Stage stage : Stage.values()) {
+			HistogramSnapshot snapshot = timers[stage.ordinal()].takeSnapshot();
+			Map<String, Object> values = new LinkedHashMap<>();
+			values.put("count", snapshot.count());
+			values.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+			for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+				values.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+			}
+			values.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+			stages.put(stage.name().toLowerCase(), values);
+		}
+		Map<String, Object> rejected = new LinkedHashMap<>();
+		for (TokenFailure reason : TokenFailure.values()) {
+			rejected.put(reason.name().toLowerCase(), (long) rejections[reason.ordinal()].count());
+		}
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("stages", stages);
+		result.put("tokenRejected", rejected);
+		result.put("userNotFound", (long) usersNotFound.count());
+		Map<String, Object> componentValues = new LinkedHashMap<>();
+		for (Meter meter : components) {
+			componentValues.put(key(meter.getId()), meter.measure().iterator().next().getValue());
+		}
+		result.put("components", componentValues);
+		return result;
+	}
+
+	/**
+	 * @return o nome do medidor seguido dos valores das etiquetas, como {@code bws.auth.login.throttle.rejected.client}
+	 */
+	private static String key(Meter.Id id) {
+		StringBuilder key = new StringBuilder(id.getName());
+		for (Tag tag : id.getTagsAsIterable()) {
+			key.append('.').append(tag.getValue());
+		}
+		return key.toString();
+	}
+}
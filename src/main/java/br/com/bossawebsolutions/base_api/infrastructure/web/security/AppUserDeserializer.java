@@ -2,27 +2,45 @@ package br.com.bossawebsolutions.base_api.infrastructure.web.security;
 
 import br.com.bossawebsolutions.base_api.model.AppUser;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
 import com.fasterxml.jackson.databind.*;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Permite a desserialização de diferentes implementações de {@link AppUser} com base no campo "type".
+ * A leitura é feita em streaming: quando "type" é o primeiro campo, o restante do objeto é lido diretamente na classe
+ * correspondente; caso contrário, apenas os campos anteriores a "type" são mantidos em buffer.
  */
 public class AppUserDeserializer extends JsonDeserializer<AppUser> {
     private static final Logger logger = LoggerFactory.getLogger(AppUserDeserializer.class);
 
-    private final Map<String, Class<? extends AppUser>> appUserTypeMapping;
+    private static final String TYPE_FIELD = "type";
+
+    private final Supplier<Map<String, Class<? extends AppUser>>> appUserTypeMapping;
+    private final Map<Class<?>, JavaType> javaTypes = new ConcurrentHashMap<>();
 
     /**
      *
      * @param appUserTypeMapping mapeamento de tipos para as classes de implementação de {@link AppUser}.
      */
     public AppUserDeserializer(Map<String, Class<? extends AppUser>> appUserTypeMapping) {
+        Map<String, Class<? extends AppUser>> mapping = Map.copyOf(appUserTypeMapping);
+        this.appUserTypeMapping = () -> mapping;
+    }
+
+    /**
+     * @param appUserTypeMapping fornece o mapeamento vigente de tipos para as classes de implementação de {@link AppUser},
+     *                           permitindo trocá-lo sem recriar o deserializador.
+     */
+    public AppUserDeserializer(Supplier<Map<String, Class<? extends AppUser>>> appUserTypeMapping) {
         this.appUserTypeMapping = appUserTypeMapping;
     }
 
@@ -32,19 +50,57 @@ public class AppUserDeserializer extends JsonDeserializer<AppUser> {
      * @param p o parser JSON
      * @param ctxt o contexto de desserialização
      * @return a instância da implementação correspondente de {@link AppUser}
+     * @throws JsonMappingException se o JSON não for um objeto ou o campo "type" estiver ausente ou não for reconhecido
      * @throws IOException se ocorrer um erro durante a desserialização
      */
     @Override
     public AppUser deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectNode node = p.getCodec().readTree(p);
-        String type = node.get("type").asText();
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME) {
+            throw JsonMappingException.from(p, "Objeto JSON esperado para " + AppUser.class.getSimpleName());
+        }
+
+        TokenBuffer buffer = null;
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            if (TYPE_FIELD.equals(name)) {
+                return readAs(resolve(p.getValueAsString(), p), buffer, p, ctxt);
+            }
+            if (buffer == null) {
+                buffer = ctxt.bufferForInputBuffering(p);
+            }
+            buffer.writeFieldName(name);
+            buffer.copyCurrentStructure(p);
+        }
 
-        Class<? extends AppUser> appUserClass = appUserTypeMapping.get(type);
+        logger.debug("Erro durante a desserialização: campo '{}' ausente", TYPE_FIELD);
+        throw JsonMappingException.from(p, "Campo '" + TYPE_FIELD + "' ausente");
+    }
+
+    private Class<? extends AppUser> resolve(String type, JsonParser p) throws JsonMappingException {
+        Class<? extends AppUser> appUserClass = type != null ? appUserTypeMapping.get().get(type) : null;
         if (appUserClass == null) {
-            logger.error("Erro durante a desserialização: tipo não reconhecido '{}'", type);
-            throw new IOException("Tipo não reconhecido: " + type);
+            logger.debug("Erro durante a desserialização: tipo não reconhecido '{}'", type);
+            throw JsonMappingException.from(p, "Tipo não reconhecido: " + type);
+        }
+        return appUserClass;
+    }
+
+    /**
+     * Lê o restante do objeto na classe informada, reinserindo antes os campos mantidos em buffer.
+     * O parser está posicionado no valor de "type", que não é repassado à implementação.
+     */
+    private AppUser readAs(Class<? extends AppUser> appUserClass, TokenBuffer buffer, JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonParser source = p;
+        if (buffer != null) {
+            p.clearCurrentToken();
+            source = JsonParserSequence.createFlattened(false, buffer.asParser(p), p);
         }
-        node.remove("type");
-        return p.getCodec().treeToValue(node, appUserClass);
+        source.nextToken();
+        JavaType javaType = javaTypes.computeIfAbsent(appUserClass, ctxt::constructType);
+        return ctxt.readValue(source, javaType);
     }
 }
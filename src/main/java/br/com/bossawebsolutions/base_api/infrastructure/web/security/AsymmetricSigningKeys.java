@@ -0,0 +1,93 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.security.Jwks;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Leitura e geração das chaves de assinatura assimétrica: {@code ES256} (EC P-256) e {@code EdDSA} (Ed25519).
+ * Chaves privadas são lidas em PKCS#8 e chaves públicas em X.509, em PEM ou apenas em Base64.
+ */
+final class AsymmetricSigningKeys {
+
+	static final String HS512 = "HS512";
+	static final String ES256 = "ES256";
+	static final String EDDSA = "EdDSA";
+
+	private AsymmetricSigningKeys() {
+	}
+
+	/**
+	 * @param algorithm o valor de {@code jwt.signing.algorithm}
+	 * @return o nome normalizado do algoritmo
+	 * @throws IllegalStateException se o algoritmo não for suportado
+	 */
+	static String normalize(String algorithm) {
+		for (String supported : new String[] {HS512, ES256, EDDSA}) {
+			if (supported.equalsIgnoreCase(algorithm.trim())) {
+				return supported;
+			}
+		}
+		throw new IllegalStateException("Unsupported jwt.signing.algorithm: " + algorithm);
+	}
+
+	/**
+	 * Gera um par de chaves efêmero, válido apenas enquanto a aplicação estiver em execução.
+	 */
+	static KeyPair generate(String algorithm) {
+		return ES256.equals(algorithm) ? Jwks.CRV.P256.keyPair().build() : Jwks.CRV.Ed25519.keyPair().build();
+	}
+
+	static PrivateKey privateKey(String algorithm, String encoded) {
+		try {
+			return keyFactory(algorithm).generatePrivate(new PKCS8EncodedKeySpec(decode(encoded)));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new IllegalStateException("jwt.signing.private-key is not a valid PKCS#8 " + algorithm + " key", e);
+		}
+	}
+
+	/**
+	 * Lê uma chave pública {@code ES256} ou {@code EdDSA}, identificando o tipo pela própria chave.
+	 */
+	static PublicKey publicKey(String encoded) {
+		byte[] der = decode(encoded);
+		for (String algorithm : new String[] {ES256, EDDSA}) {
+			try {
+				return keyFactory(algorithm).generatePublic(new X509EncodedKeySpec(der));
+			} catch (GeneralSecurityException e) {
+				// tenta o próximo tipo de chave
+			}
+		}
+		throw new IllegalStateException("Public key is not a valid X.509 EC P-256 or Ed25519 key");
+	}
+
+	/**
+	 * @return o valor de {@code alg} publicado no JWKS para a chave
+	 */
+	static String algorithm(PublicKey publicKey) {
+		return "EC".equals(publicKey.getAlgorithm()) ? ES256 : EDDSA;
+	}
+
+	/**
+	 * @return o {@code kid} derivado do thumbprint JWK (RFC 7638) da chave pública
+	 */
+	static String thumbprintKeyId(PublicKey publicKey) {
+		return Jwks.builder().key(publicKey).idFromThumbprint().build().getId();
+	}
+
+	private static KeyFactory keyFactory(String algorithm) throws GeneralSecurityException {
+		return KeyFactory.getInstance(ES256.equals(algorithm) ? "EC" : "Ed25519");
+	}
+
+	private static byte[] decode(String encoded) {
+		String base64 = encoded.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+		return Base64.getDecoder().decode(base64);
+	}
+}
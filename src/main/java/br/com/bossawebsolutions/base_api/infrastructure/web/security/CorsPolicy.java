@@ -0,0 +1,30 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.List;
+
+/**
+ * Monta a {@link CorsConfiguration} da API, compartilhada pelas configurações servlet e WebFlux. A configuração é
+ * criada uma única vez na inicialização e reutilizada em todas as requisições.
+ */
+public final class CorsPolicy {
+
+	private CorsPolicy() {
+	}
+
+	/**
+	 * @param allowedOrigins as origens liberadas ({@code allowed.origins.list})
+	 * @param maxAgeSeconds por quanto tempo, em segundos, o navegador pode reutilizar a resposta de um preflight
+	 *                      ({@code cors.max-age})
+	 * @return a configuração de CORS com credenciais habilitadas e o header {@code Set-Cookie} exposto
+	 */
+	public static CorsConfiguration create(List<String> allowedOrigins, long maxAgeSeconds) {
+		CorsConfiguration config = new CorsConfiguration().applyPermitDefaultValues();
+		config.setAllowCredentials(true);
+		config.addExposedHeader("Set-Cookie");
+		config.setAllowedOrigins(allowedOrigins);
+		config.setMaxAge(maxAgeSeconds);
+		return config;
+	}
+}
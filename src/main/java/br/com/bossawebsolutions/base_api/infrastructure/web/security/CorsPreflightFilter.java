@@ -0,0 +1,46 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Responde os preflights de CORS ({@code OPTIONS} com {@code Origin} e {@code Access-Control-Request-Method}) antes
+ * da cadeia do Spring Security, sem passar pelos filtros JWT. Registrado com precedência sobre o
+ * {@code springSecurityFilterChain} pela {@link WebSecurityConfig}, usa a mesma {@link CorsConfiguration} da cadeia, cujo
+ * {@code Access-Control-Max-Age} permite que o navegador reaproveite a resposta.
+ *
+ * As demais requisições seguem normalmente e recebem os headers de CORS na cadeia do Spring Security.
+ */
+public class CorsPreflightFilter extends OncePerRequestFilter {
+
+	private final CorsConfigurationSource corsConfigurationSource;
+	private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+	/**
+	 * @param corsConfigurationSource a fonte da configuração de CORS da API
+	 */
+	public CorsPreflightFilter(CorsConfigurationSource corsConfigurationSource) {
+		this.corsConfigurationSource = corsConfigurationSource;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !CorsUtils.isPreFlightRequest(request);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		corsProcessor.processRequest(corsConfigurationSource.getCorsConfiguration(request), request, response);
+	}
+}
@@ -0,0 +1,295 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Validador rápido para os tokens HS512 emitidos por esta API.
+ * Verifica a assinatura com instâncias de {@link Mac} reaproveitadas, compara em tempo constante e lê apenas as claims
+ * utilizadas ({@code sub}, {@code exp}, {@code roles}, {@code id}, {@code token_type}, {@code jti} e {@code iss}), sem montar o mapa completo de claims.
+ * Qualquer token fora do formato esperado resulta em {@link Outcome#FALLBACK} para ser validado pelo jjwt.
+ *
+ * Os pools de {@link Mac} ficam no próprio {@link SigningKeyRing}, um por segredo, e são descartados com ele quando as
+ * chaves são trocadas.
+ */
+public class FastHs512Verifier {
+
+	private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+			.enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+			.build();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	private static final String HMAC_SHA512 = "HmacSHA512";
+	private static final int SIGNATURE_LENGTH = 64;
+	private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+	/**
+	 * Resultado da validação rápida.
+	 */
+	public enum Outcome {
+		/** Assinatura e expiração válidas. */
+		VERIFIED,
+		/** Assinatura inválida ou token expirado. */
+		REJECTED,
+		/** Formato não suportado pelo caminho rápido; o token deve ser validado pelo jjwt. */
+		FALLBACK
+	}
+
+	/**
+	 * Resultado imutável de {@link #verify(String, SigningKeyRing)}.
+	 */
+	public static final class Result {
+		private static final Result REJECTED = new Result(Outcome.REJECTED, null);
+		private static final Result FALLBACK = new Result(Outcome.FALLBACK, null);
+
+		private final Outcome outcome;
+		private final VerifiedToken token;
+
+		private Result(Outcome outcome, VerifiedToken token) {
+			this.outcome = outcome;
+			this.token = token;
+		}
+
+		public Outcome getOutcome() {
+			return outcome;
+		}
+
+		/**
+		 * @return o token validado, presente quando o resultado é {@link Outcome#VERIFIED} ou quando um token com
+		 *         assinatura válida foi recusado por estar expirado
+		 */
+		public VerifiedToken getToken() {
+			return token;
+		}
+	}
+
+	/**
+	 * Valida o token com a chave indicada pelo seu {@code kid}.
+	 *
+	 * @param token o token JWT compacto
+	 * @param keyRing o conjunto de chaves vigente
+	 * @return o resultado da validação
+	 */
+	public Result verify(String token, SigningKeyRing keyRing) {
+		int firstDot = token.indexOf('.');
+		int secondDot = firstDot > 0 ? token.indexOf('.', firstDot + 1) : -1;
+		if (secondDot <= firstDot + 1 || secondDot == token.length() - 1 || token.indexOf('.', secondDot + 1) >= 0) {
+			return Result.FALLBACK;
+		}
+		byte[] ascii = token.getBytes(StandardCharsets.ISO_8859_1);
+		try {
+			Header header = readHeader(decode(ascii, 0, firstDot));
+			if (header == null) {
+				return Result.FALLBACK;
+			}
+			if (!(keyRing.getVerificationKey(header.keyId) instanceof SecretKey key)) {
+				return Result.FALLBACK;
+			}
+			ByteBuffer signature = decode(ascii, secondDot + 1, ascii.length - secondDot - 1);
+			if (signature.remaining() != SIGNATURE_LENGTH) {
+				return Result.FALLBACK;
+			}
+			if (!signatureMatches(keyRing, key, ascii, secondDot, signature)) {
+				return Result.REJECTED;
+			}
+			VerifiedToken verified = readClaims(decode(ascii, firstDot + 1, secondDot - firstDot - 1), header.keyId);
+			if (verified == null) {
+				return Result.FALLBACK;
+			}
+			if (System.currentTimeMillis() > verified.getExpiresAt()) {
+				return new Result(Outcome.REJECTED, verified);
+			}
+			return new Result(Outcome.VERIFIED, verified);
+		} catch (IllegalArgumentException | IOException e) {
+			return Result.FALLBACK;
+		}
+	}
+
+	private static boolean signatureMatches(SigningKeyRing keyRing, SecretKey key, byte[] ascii, int signingInputLength,
+											ByteBuffer signature) {
+		Map<SecretKey, MacPool> pools = keyRing.getMacPools();
+		MacPool pool = pools.get(key);
+		if (pool == null) {
+			pool = pools.computeIfAbsent(key, MacPool::new);
+		}
+		Mac mac = pool.acquire();
+		try {
+			mac.update(ascii, 0, signingInputLength);
+			byte[] expected = mac.doFinal();
+			byte[] actual = new byte[SIGNATURE_LENGTH];
+			signature.get(actual);
+			return MessageDigest.isEqual(expected, actual);
+		} finally {
+			pool.release(mac);
+		}
+	}
+
+	private static ByteBuffer decode(byte[] ascii, int offset, int length) {
+		return DECODER.decode(ByteBuffer.wrap(ascii, offset, length));
+	}
+
+	/**
+	 * Lê o header aceitando apenas {@code alg=HS512}, {@code kid} e {@code typ}.
+	 */
+	private static Header readHeader(ByteBuffer json) throws IOException {
+		String algorithm = null;
+		String keyId = null;
+		try (JsonParser parser = JSON_FACTORY.createParser(json.array(), json.arrayOffset() + json.position(), json.remaining())) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.currentName();
+				JsonToken value = parser.nextToken();
+				switch (name) {
+					case "alg" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						algorithm = parser.getText();
+					}
+					case "kid" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						keyId = parser.getText();
+					}
+					case "typ" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+					}
+					default -> {
+						return null;
+					}
+				}
+			}
+			if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+				return null;
+			}
+		}
+		return "HS512".equals(algorithm) ? new Header(keyId) : null;
+	}
+
+	/**
+	 * Lê apenas as claims utilizadas, ignorando as demais sem materializá-las.
+	 */
+	private static VerifiedToken readClaims(ByteBuffer json, String keyId) throws IOException {
+		String subject = null;
+		String roles = null;
+		Long id = null;
+		String tokenType = null;
+		String tokenId = null;
+		String issuer = null;
+		String familyId = null;
+		long expiresAt = Long.MAX_VALUE;
+		try (JsonParser parser = JSON_FACTORY.createParser(json.array(), json.arrayOffset() + json.position(), json.remaining())) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.currentName();
+				JsonToken value = parser.nextToken();
+				switch (name) {
+					case "sub" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						subject = parser.getText();
+					}
+					case "exp" -> {
+						if (value != JsonToken.VALUE_NUMBER_INT) return null;
+						expiresAt = parser.getLongValue() * 1000;
+					}
+					case "roles" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						roles = parser.getText();
+					}
+					case "id" -> {
+						if (value == JsonToken.VALUE_NUMBER_INT) {
+							id = parser.getLongValue();
+						} else if (value != JsonToken.VALUE_NULL) {
+							return null;
+						}
+					}
+					case "token_type" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						tokenType = parser.getText();
+					}
+					case "jti" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						tokenId = parser.getText();
+					}
+					case "iss" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						issuer = parser.getText();
+					}
+					case "fid" -> {
+						if (value != JsonToken.VALUE_STRING) return null;
+						familyId = parser.getText();
+					}
+					case "nbf" -> {
+						return null;
+					}
+					default -> parser.skipChildren();
+				}
+			}
+			if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+				return null;
+			}
+		}
+		return subject != null ? new VerifiedToken(subject, keyId, expiresAt, roles, id, tokenType, tokenId, issuer, familyId) : null;
+	}
+
+	private static final class Header {
+		private final String keyId;
+
+		private Header(String keyId) {
+			this.keyId = keyId;
+		}
+	}
+
+	/**
+	 * Pool sem bloqueio de instâncias de {@link Mac} já inicializadas com a chave.
+	 * Quando todas estão em uso, uma nova instância é criada e descartada ao ser devolvida com o pool cheio.
+	 */
+	static final class MacPool {
+		private final SecretKey key;
+		private final AtomicReferenceArray<Mac> slots = new AtomicReferenceArray<>(POOL_SIZE);
+
+		private MacPool(SecretKey key) {
+			this.key = key;
+		}
+
+		private Mac acquire() {
+			int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+			for (int i = 0; i < POOL_SIZE; i++) {
+				Mac mac = slots.getAndSet((start + i) % POOL_SIZE, null);
+				if (mac != null) {
+					return mac;
+				}
+			}
+			try {
+				Mac mac = Mac.getInstance(HMAC_SHA512);
+				mac.init(key);
+				return mac;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("HmacSHA512 indisponível", e);
+			}
+		}
+
+		private void release(Mac mac) {
+			mac.reset();
+			int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+			for (int i = 0; i < POOL_SIZE; i++) {
+				if (slots.compareAndSet((start + i) % POOL_SIZE, null, mac)) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -1,28 +1,31 @@
 package br.com.bossawebsolutions.base_api.infrastructure.web.security;
 
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthAuditLog;
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthEvent;
 import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
 import br.com.bossawebsolutions.base_api.model.AppUser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Jwts;
+import br.com.bossawebsolutions.base_api.util.BoundedInputStream;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.Date;
-import java.util.Set;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 /**
  * Realiza a validação de credenciais e gera um token JWT no caso de autenticação bem-sucedida.
@@ -30,7 +33,18 @@ import java.util.UUID;
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 	private static final Logger logger = LoggerFactory.getLogger(JWTAuthenticationFilter.class);
 
+	public static final long DEFAULT_MAX_PAYLOAD_BYTES = 8192;
+
+	private static final String USERNAME_ATTRIBUTE = JWTAuthenticationFilter.class.getName() + ".username";
+
 	private final AuthenticationManager authenticationManager;
+	private PasswordVerificationExecutor passwordVerificationExecutor;
+	private long maxPayloadBytes = DEFAULT_MAX_PAYLOAD_BYTES;
+	private LoginThrottle loginThrottle;
+	private JwtTokenIssuer tokenIssuer = new JwtTokenIssuer();
+	private AuthMetrics authMetrics = AuthMetrics.NOOP;
+	private AuthAuditLog authAuditLog = AuthAuditLog.NOOP;
+	private TenantRegistry tenantRegistry;
 
 	/**
 	 * @param authenticationManager o {@link AuthenticationManager} responsável pela autenticação.
@@ -40,6 +54,109 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 		setFilterProcessesUrl("/login");
 	}
 
+	/**
+	 * Define o emissor dos tokens de acesso e de renovação entregues após o login.
+	 *
+	 * @param tokenIssuer o {@link JwtTokenIssuer} a ser utilizado.
+	 */
+	public void setTokenIssuer(JwtTokenIssuer tokenIssuer) {
+		this.tokenIssuer = tokenIssuer;
+	}
+
+	/**
+	 * Define as métricas em que são registradas as durações da leitura do corpo, da verificação da senha e da emissão dos tokens.
+	 *
+	 * @param authMetrics as {@link AuthMetrics} a serem utilizadas.
+	 */
+	public void setAuthMetrics(AuthMetrics authMetrics) {
+		this.authMetrics = authMetrics;
+	}
+
+	/**
+	 * Define o registro de auditoria em que são anotados os logins bem-sucedidos e os recusados.
+	 *
+	 * @param authAuditLog o {@link AuthAuditLog} a ser utilizado.
+	 */
+	public void setAuthAuditLog(AuthAuditLog authAuditLog) {
+		this.authAuditLog = authAuditLog;
+	}
+
+	/**
+	 * Define os tenants da aplicação. Os tokens são emitidos para o tenant identificado pelo header ou pelo host da requisição.
+	 *
+	 * @param tenantRegistry o {@link TenantRegistry} a ser utilizado, ou {@code null} para um único tenant.
+	 */
+	public void setTenantRegistry(TenantRegistry tenantRegistry) {
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	/**
+	 * Resume o motivo de um login recusado para a auditoria: o nome da exceção e, para as recusas por sobrecarga,
+	 * limite de tentativas ou tamanho do corpo, o status HTTP.
+	 *
+	 * @param failed a exceção que causou a falha
+	 * @return o motivo registrado no evento {@link AuthEvent.Type#LOGIN_FAILURE}
+	 */
+	public static String loginFailureReason(AuthenticationException failed) {
+		String reason = failed.getClass().getSimpleName();
+		return failed instanceof LoginRejectedException rejected ? reason + ":" + rejected.getStatus() : reason;
+	}
+
+	/**
+	 * @return a recusa, com HTTP 400, de um corpo de login que não é um JSON válido de {@link AppUser}
+	 */
+	public static LoginRejectedException invalidBody() {
+		return new LoginRejectedException("Corpo da requisição de login inválido", HttpStatus.BAD_REQUEST.value(), 0);
+	}
+
+	/**
+	 * Decodifica a senha, enviada em Base64 no corpo do login.
+	 *
+	 * @param password a senha codificada
+	 * @return a senha em texto
+	 * @throws LoginRejectedException com HTTP 400 se a senha estiver ausente ou não for Base64 válido
+	 */
+	public static String decodePassword(String password) {
+		if (password == null) {
+			throw invalidBody();
+		}
+		try {
+			return new String(Base64.getDecoder().decode(password), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw invalidBody();
+		}
+	}
+
+	/**
+	 * Define o executor limitado em que as credenciais são verificadas. Sem executor, a verificação ocorre na própria
+	 * thread da requisição.
+	 *
+	 * @param passwordVerificationExecutor o {@link PasswordVerificationExecutor} a ser utilizado.
+	 */
+	public void setPasswordVerificationExecutor(PasswordVerificationExecutor passwordVerificationExecutor) {
+		this.passwordVerificationExecutor = passwordVerificationExecutor;
+	}
+
+	/**
+	 * Define o tamanho máximo, em bytes, do corpo da requisição de login. Corpos maiores são recusados com HTTP 413.
+	 *
+	 * @param maxPayloadBytes o tamanho máximo do corpo.
+	 */
+	public void setMaxPayloadBytes(long maxPayloadBytes) {
+		this.maxPayloadBytes = maxPayloadBytes;
+	}
+
+	/**
+	 * Define o limite de tentativas de login por endereço do cliente e por nome de usuário.
+	 * O limite por endereço é verificado antes da leitura do corpo e o limite por usuário antes da verificação da senha;
+	 * acima de qualquer um deles, o login é recusado com HTTP 429.
+	 *
+	 * @param loginThrottle o {@link LoginThrottle} a ser utilizado.
+	 */
+	public void setLoginThrottle(LoginThrottle loginThrottle) {
+		this.loginThrottle = loginThrottle;
+	}
+
 	/**
 	 * Tenta autenticar o usuário com base nas credenciais fornecidas na requisição.
 	 *
@@ -52,21 +169,76 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 	public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
 			throws AuthenticationException {
 		
+		if (loginThrottle != null) {
+			loginThrottle.checkClient(loginThrottle.clientAddress(request.getRemoteAddr(), request.getHeader(LoginThrottle.FORWARDED_FOR_HEADER)));
+		}
+		if (request.getContentLengthLong() > maxPayloadBytes) {
+			throw payloadTooLarge();
+		}
 		try {
-			ObjectMapper mapper = CustomObjectMapper.getInstance();
-			AppUser appUser = mapper.readValue(request.getInputStream(), AppUser.class);
-            String decodedPassword = new String(java.util.Base64.getDecoder().decode(appUser.getPassword()));
+			long parseStart = authMetrics.startTimer();
+			AppUser appUser = CustomObjectMapper.getAppUserReader()
+					.readValue(new BoundedInputStream(request.getInputStream(), maxPayloadBytes));
+			authMetrics.record(AuthMetrics.Stage.LOGIN_BODY_PARSE, parseStart);
+			request.setAttribute(USERNAME_ATTRIBUTE, appUser.getUsername());
+			if (loginThrottle != null) {
+				loginThrottle.checkUsername(appUser.getUsername());
+			}
+            String decodedPassword = decodePassword(appUser.getPassword());
 			UsernamePasswordAuthenticationToken upat = new UsernamePasswordAuthenticationToken(appUser.getUsername(), decodedPassword);
-			return authenticationManager.authenticate(upat);
+			long checkStart = authMetrics.startTimer();
+			try {
+				if (passwordVerificationExecutor != null) {
+					return passwordVerificationExecutor.authenticate(authenticationManager, upat);
+				}
+				return authenticationManager.authenticate(upat);
+			} finally {
+				authMetrics.record(AuthMetrics.Stage.LOGIN_PASSWORD_CHECK, checkStart);
+			}
 		
+		} catch (BoundedInputStream.LimitExceededException e) {
+			throw payloadTooLarge();
+		} catch (JsonProcessingException e) {
+			logger.debug("Corpo da requisição de login inválido: {}", e.getOriginalMessage());
+			throw invalidBody();
 		} catch (IOException e) {
 			logger.error("Erro ao tentar autenticar o usuário: {}", e.getMessage(), e);
 			throw new RuntimeException(e);
 		}
 	}
 
+	private LoginRejectedException payloadTooLarge() {
+		return new LoginRejectedException("Corpo da requisição excede " + maxPayloadBytes + " bytes", HttpStatus.PAYLOAD_TOO_LARGE.value(), 0);
+	}
+
 	/**
-	 * Executa após a autenticação bem-sucedida, gerando o token JWT e adicionando-o aos cabeçalhos da resposta.
+	 * Executa após a falha na autenticação. Logins recusados por sobrecarga ou limite de tentativas recebem o status
+	 * indicado pela {@link LoginRejectedException} e o header {@code Retry-After}; as demais falhas seguem o tratamento padrão.
+	 *
+	 * @param request a requisição HTTP
+	 * @param response a resposta HTTP
+	 * @param failed a exceção que causou a falha
+	 * @throws IOException se ocorrer um erro ao escrever a resposta
+	 * @throws ServletException se ocorrer um erro na execução do filtro
+	 */
+	@Override
+	protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
+			AuthenticationException failed) throws IOException, ServletException {
+		authAuditLog.record(AuthEvent.Type.LOGIN_FAILURE, (String) request.getAttribute(USERNAME_ATTRIBUTE),
+				request.getRemoteAddr(), loginFailureReason(failed));
+		if (failed instanceof LoginRejectedException rejected) {
+			SecurityContextHolder.clearContext();
+			if (rejected.getRetryAfterSeconds() > 0) {
+				response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()));
+			}
+			response.sendError(rejected.getStatus(), rejected.getMessage());
+			return;
+		}
+		super.unsuccessfulAuthentication(request, response, failed);
+	}
+
+	/**
+	 * Executa após a autenticação bem-sucedida, gerando o token de acesso e o token de renovação e adicionando-os à resposta em cookies.
 	 *
 	 * @param request a requisição HTTP
 	 * @param response a resposta HTTP
@@ -81,31 +253,13 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 
 		try {
 			UserDetailsImpl userDetails = (UserDetailsImpl) authResult.getPrincipal();
-
-			Set<String> roles = userDetails.getRoles();
-			String rolesClaim = roles != null ? String.join(",", roles) : "DEFAULT_ROLE";
-
-			String jwtToken = Jwts.builder()
-					.subject(userDetails.getUsername())
-					.expiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
-					.claim("username", userDetails.getUsername())
-					.claim("roles", rolesClaim)
-					.claim("createdAt", userDetails.getCreatedAt() != null ? userDetails.getCreatedAt().toString() : LocalDateTime.now().toString())
-					.claim("updatedAt", userDetails.getUpdatedAt() != null ? userDetails.getUpdatedAt().toString() : LocalDateTime.now().toString())
-					.claim("id", userDetails.getId())
-					.claim("iat", new Date())
-					.claim("jti", UUID.randomUUID().toString())
-					.signWith(SecurityConstants.getSecretKey(), Jwts.SIG.HS512)
-					.compact();
-
-            Cookie accessTokenCookie = new Cookie("access_token", jwtToken);
-            accessTokenCookie.setHttpOnly(true);
-            accessTokenCookie.setSecure("https".equals(request.getScheme()));
-            accessTokenCookie.setPath("/");
-            accessTokenCookie.setMaxAge((int) (SecurityConstants.EXPIRATION_TIME / 1000));
-            accessTokenCookie.setAttribute("SameSite", "Strict");
-
-            response.addCookie(accessTokenCookie);
+			long mintStart = authMetrics.startTimer();
+			Tenant tenant = tenantRegistry != null ? tenantRegistry.resolve(request::getHeader, request.getServerName()) : null;
+			String accessToken = tokenIssuer.issueAccessToken(userDetails, tenant);
+			String refreshToken = tokenIssuer.issueRefreshToken(userDetails, tenant);
+			authMetrics.record(AuthMetrics.Stage.LOGIN_TOKEN_MINT, mintStart);
+			ServletTokenCookies.addTokenCookies(tokenIssuer, request, response, accessToken, refreshToken, tenant);
+			authAuditLog.record(AuthEvent.Type.LOGIN_SUCCESS, userDetails.getUsername(), request.getRemoteAddr(), null);
 		} catch (Exception e) {
 			logger.error("Erro ao gerar o token JWT: {}", e.getMessage(), e);
 			throw new ServletException("Erro ao gerar o token JWT", e);
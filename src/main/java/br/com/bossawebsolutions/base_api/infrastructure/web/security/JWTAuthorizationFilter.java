@@ -1,12 +1,13 @@
 	package br.com.bossawebsolutions.base_api.infrastructure.web.security;
 
-	import io.jsonwebtoken.Jwts;
+    import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthAuditLog;
+    import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthEvent;
+    import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
     import jakarta.servlet.http.Cookie;
     import org.slf4j.Logger;
 	import org.slf4j.LoggerFactory;
 	import org.springframework.security.authentication.AuthenticationManager;
 	import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-	import org.springframework.security.core.authority.AuthorityUtils;
 	import org.springframework.security.core.context.SecurityContextHolder;
 	import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
@@ -23,6 +24,11 @@
 	public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 		private static final Logger logger = LoggerFactory.getLogger(JWTAuthorizationFilter.class);
 
+		private JwtTokenVerifier tokenVerifier = new JwtTokenVerifier(null, null, false);
+		private AuthMetrics authMetrics = AuthMetrics.NOOP;
+		private AuthAuditLog authAuditLog = AuthAuditLog.NOOP;
+		private TenantRegistry tenantRegistry;
+
 		/**
 		 * @param authenticationManager o {@link AuthenticationManager} responsável pela autenticação
 		 */
@@ -30,6 +36,42 @@
 			super(authenticationManager);
 		}
 
+		/**
+		 * Define o validador de tokens. Por padrão, todo token é validado pelo jjwt a cada requisição, sem cache.
+		 *
+		 * @param tokenVerifier o {@link JwtTokenVerifier} a ser utilizado
+		 */
+		public void setTokenVerifier(JwtTokenVerifier tokenVerifier) {
+			this.tokenVerifier = tokenVerifier;
+		}
+
+		/**
+		 * Define as métricas em que são registradas as durações da extração e da validação do token e os motivos de recusa.
+		 *
+		 * @param authMetrics as {@link AuthMetrics} a serem utilizadas
+		 */
+		public void setAuthMetrics(AuthMetrics authMetrics) {
+			this.authMetrics = authMetrics;
+		}
+
+		/**
+		 * Define o registro de auditoria em que os tokens recusados são anotados com o motivo e o endereço do cliente.
+		 *
+		 * @param authAuditLog o {@link AuthAuditLog} a ser utilizado
+		 */
+		public void setAuthAuditLog(AuthAuditLog authAuditLog) {
+			this.authAuditLog = authAuditLog;
+		}
+
+		/**
+		 * Define os tenants da aplicação. Com tenants configurados, o token só é aceito na requisição do tenant que o emitiu.
+		 *
+		 * @param tenantRegistry o {@link TenantRegistry} a ser utilizado, ou {@code null} para um único tenant
+		 */
+		public void setTenantRegistry(TenantRegistry tenantRegistry) {
+			this.tenantRegistry = tenantRegistry;
+		}
+
 		/**
 		 * Realiza a filtragem da requisição para verificar o token JWT.
 		 * Se o token for válido, o processo de autenticação é configurado no contexto de segurança.
@@ -44,73 +86,99 @@
 		protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
 				throws IOException, ServletException {
 
-            String token = resolveToken(request);
+            long resolveStart = authMetrics.startTimer();
+            String token = resolveCookieToken(request);
+            boolean fromCookie = token != null;
+            if (!fromCookie) {
+                token = resolveHeaderToken(request);
+            }
+            authMetrics.record(AuthMetrics.Stage.TOKEN_RESOLVE, resolveStart);
 
 			if (token != null) {
-                if (token.startsWith(SecurityConstants.TOKEN_PREFIX))
-                    token = token.split(" ")[1];
+				long verifyStart = authMetrics.startTimer();
 				try {
-					UsernamePasswordAuthenticationToken authentication = getAuthentication(token);
-					if (authentication != null) {
-						SecurityContextHolder.getContext().setAuthentication(authentication);
+					Tenant tenant = tenantRegistry != null ? tenantRegistry.resolve(request::getHeader, request.getServerName()) : null;
+					JwtTokenVerifier.Result result = tokenVerifier.check(token, tenant != null ? tenant.getId() : null);
+					switch (result.getOutcome()) {
+						case VERIFIED -> SecurityContextHolder.getContext().setAuthentication(getAuthentication(result.getToken()));
+						case REJECTED -> reject(result, request, response, fromCookie);
+						case NO_SUBJECT -> {
+						}
 					}
 				} catch (Exception e) {
 					logger.error("Erro ao autenticar com o token JWT: {}", e.getMessage(), e);
                     SecurityContextHolder.clearContext();
-                    clearCookie(response);
+                    if (fromCookie) {
+                        clearCookie(response);
+                    }
+				} finally {
+					authMetrics.record(AuthMetrics.Stage.TOKEN_VERIFY, verifyStart);
 				}
 			}
 			chain.doFilter(request, response);
 		}
 
 		/**
-		 * Recupera a autenticação a partir do token JWT.
+		 * Monta a autenticação a partir do token validado. O principal é um {@link UserDetailsImpl} sem senha, com o id e
+		 * os papéis do token; {@code getName()} devolve o nome do usuário.
 		 *
-		 * @param token o token JWT extraído da requisição
-		 * @return um objeto {@link UsernamePasswordAuthenticationToken} ou {@code null} se a autenticação falhar
+		 * @param verifiedToken o token validado pelo {@link JwtTokenVerifier}
+		 * @return um objeto {@link UsernamePasswordAuthenticationToken} com o usuário e os papéis do token
 		 */
-		private UsernamePasswordAuthenticationToken getAuthentication(String token) {
-			try {
-				String username = Jwts.parser()
-					.verifyWith(SecurityConstants.getSecretKey())
-					.build()
-					.parseSignedClaims(token)
-					.getPayload()
-					.getSubject();
-
-				if (username != null) {
-					return new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.NO_AUTHORITIES);
-				}
-			} catch (Exception e) {
-				logger.error("Erro ao processar o token JWT: {}", e.getMessage(), e);
+		UsernamePasswordAuthenticationToken getAuthentication(VerifiedToken verifiedToken) {
+			RoleAuthorities roleAuthorities = RoleAuthorities.fromClaim(verifiedToken.getRoles());
+			UserDetailsImpl principal = new UserDetailsImpl(verifiedToken.getId(), verifiedToken.getSubject(), roleAuthorities);
+			return new UsernamePasswordAuthenticationToken(principal, null, roleAuthorities.getAuthorities());
+		}
+
+		/**
+		 * Registra a recusa do token. Recusas por expiração, assinatura, formato, revogação, tipo ou tenant são esperadas e vão
+		 * apenas para a auditoria; somente falhas de outra natureza são registradas com stack trace. O cookie de acesso
+		 * só é removido quando o token recusado veio dele.
+		 */
+		private void reject(JwtTokenVerifier.Result result, HttpServletRequest request, HttpServletResponse response,
+				boolean fromCookie) {
+			AuthMetrics.TokenFailure reason = result.getFailure();
+			authMetrics.tokenRejected(reason);
+			authAuditLog.record(AuthEvent.Type.TOKEN_REJECTED, null, request.getRemoteAddr(), reason.name());
+			if (reason == AuthMetrics.TokenFailure.OTHER) {
+				Exception error = result.getError();
+				logger.error("Erro ao processar o token JWT: {}", error != null ? error.getMessage() : null, error);
+			} else {
+				logger.debug("Token JWT recusado: {}", reason);
+			}
+			if (fromCookie) {
+				clearCookie(response);
 			}
-			return null;
 		}
 
         /**
-         * Extrai o token JWT do cookie OU do header (pra compatibilidade com mobile/postman)
+         * Extrai o token JWT do cookie de acesso, descartando um eventual prefixo "Bearer ".
          */
-        private String resolveToken(HttpServletRequest request) {
+        String resolveCookieToken(HttpServletRequest request) {
             Cookie[] cookies = request.getCookies();
             if (cookies != null) {
                 for (Cookie cookie : cookies) {
-                    if ("access_token".equals(cookie.getName())) {
-                        return cookie.getValue();
+                    if (SecurityConstants.ACCESS_TOKEN_COOKIE.equals(cookie.getName())) {
+                        return SecurityConstants.cookieToken(cookie.getValue());
                     }
                 }
             }
-            String header = request.getHeader(SecurityConstants.AUTHORIZATION_HEADER);
-            if (header != null && header.startsWith(SecurityConstants.TOKEN_PREFIX)) {
-                return header.substring(SecurityConstants.TOKEN_PREFIX.length());
-            }
             return null;
         }
 
+        /**
+         * Extrai o token JWT do header (pra compatibilidade com mobile/postman)
+         */
+        String resolveHeaderToken(HttpServletRequest request) {
+            return SecurityConstants.headerToken(request.getHeader(SecurityConstants.AUTHORIZATION_HEADER));
+        }
+
         /**
          * Limpa o cookie se o token estiver expirado/inválido
          */
         private void clearCookie(HttpServletResponse response) {
-            Cookie cookie = new Cookie("access_token", null);
+            Cookie cookie = new Cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, null);
             cookie.setPath("/");
             cookie.setMaxAge(0);
             cookie.setHttpOnly(true);
@@ -0,0 +1,135 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Atende o endpoint de renovação ({@code POST /refresh}): valida o token de renovação recebido no cookie e emite um novo
+ * token de acesso e um novo token de renovação, sem verificar a senha nem consultar o repositório de usuários.
+ *
+ * Cada token de renovação pode ser usado uma única vez: ao ser consumido, ele é incluído na {@link TokenRevocationList}
+ * até a sua expiração, e uma segunda tentativa com o mesmo token é recusada. O novo token herda a família do consumido;
+ * a reutilização de um token revoga a família inteira, inclusive o token mais recente, que pode estar com quem o copiou.
+ *
+ * Com tenants configurados, o token de renovação só é aceito na requisição do tenant que o emitiu, e os novos tokens são
+ * emitidos para o mesmo tenant.
+ */
+public class JWTRefreshFilter extends OncePerRequestFilter {
+	private static final Logger logger = LoggerFactory.getLogger(JWTRefreshFilter.class);
+
+	private final RequestMatcher requestMatcher = new AntPathRequestMatcher(SecurityConstants.REFRESH_URL, "POST");
+	private final JwtTokenVerifier tokenVerifier;
+	private final JwtTokenIssuer tokenIssuer;
+	private final TokenRevocationList revocationList;
+	private TenantRegistry tenantRegistry;
+
+	/**
+	 * @param tokenVerifier o {@link JwtTokenVerifier} que valida o token de renovação
+	 * @param tokenIssuer o {@link JwtTokenIssuer} que emite os novos tokens
+	 * @param revocationList a {@link TokenRevocationList} em que os tokens consumidos são incluídos
+	 */
+	public JWTRefreshFilter(JwtTokenVerifier tokenVerifier, JwtTokenIssuer tokenIssuer, TokenRevocationList revocationList) {
+		this.tokenVerifier = tokenVerifier;
+		this.tokenIssuer = tokenIssuer;
+		this.revocationList = revocationList;
+	}
+
+	/**
+	 * Define os tenants da aplicação.
+	 *
+	 * @param tenantRegistry o {@link TenantRegistry} a ser utilizado, ou {@code null} para um único tenant
+	 */
+	public void setTenantRegistry(TenantRegistry tenantRegistry) {
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !requestMatcher.matches(request);
+	}
+
+	/**
+	 * Valida o token de renovação e responde com os novos cookies, ou com 401 se o token for inválido, expirado ou já utilizado.
+	 *
+	 * @param request a requisição HTTP
+	 * @param response a resposta HTTP
+	 * @param chain a cadeia de filtros, não utilizada pois a requisição é respondida por este filtro
+	 * @throws IOException se ocorrer um erro ao escrever a resposta
+	 * @throws ServletException se ocorrer um erro no processamento do filtro
+	 */
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		VerifiedToken refreshToken = null;
+		String token = resolveToken(request);
+		if (token != null) {
+			try {
+				refreshToken = tokenVerifier.verifyRefreshToken(token);
+			} catch (Exception e) {
+				logger.debug("Token de renovação inválido: {}", e.getMessage());
+			}
+		}
+		Tenant tenant = tenantRegistry != null ? tenantRegistry.resolve(request::getHeader, request.getServerName()) : null;
+		if (refreshToken != null && tenantRegistry != null && tenantRegistry.isEnabled()
+				&& !Objects.equals(refreshToken.getIssuer(), tenant != null ? tenant.getId() : null)) {
+			logger.debug("Token de renovação emitido para outro tenant: {}", refreshToken.getIssuer());
+			refreshToken = null;
+		}
+		if (refreshToken == null || !consume(refreshToken)) {
+			ServletTokenCookies.clearTokenCookies(tokenIssuer, response);
+			response.sendError(HttpStatus.UNAUTHORIZED.value(), "Token de renovação inválido");
+			return;
+		}
+
+		UserDetailsImpl userDetails = new UserDetailsImpl(refreshToken.getId(), refreshToken.getSubject(),
+				RoleAuthorities.fromClaim(refreshToken.getRoles()));
+		ServletTokenCookies.addTokenCookies(tokenIssuer, request, response,
+				tokenIssuer.issueAccessToken(userDetails, tenant), tokenIssuer.issueRefreshToken(userDetails, tenant, refreshToken.getFamilyId()), tenant);
+		response.setStatus(HttpStatus.NO_CONTENT.value());
+	}
+
+	/**
+	 * Marca o token como consumido.
+	 *
+	 * @return {@code false} se o token não possuir {@code jti}, já tiver sido utilizado (o que revoga a sua família) ou não
+	 * puder ser revogado
+	 */
+	private boolean consume(VerifiedToken refreshToken) {
+		if (refreshToken.getTokenId() == null) {
+			return false;
+		}
+		if (revocationList.revoke(refreshToken.getTokenId(), refreshToken.getExpiresAt())) {
+			return true;
+		}
+		if (revocationList.isRevoked(refreshToken.getTokenId(), refreshToken.getExpiresAt())) {
+			tokenVerifier.revokeFamily(refreshToken);
+		} else {
+			logger.warn("Token de renovação do usuário {} não pôde ser consumido", refreshToken.getSubject());
+		}
+		return false;
+	}
+
+	private static String resolveToken(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies != null) {
+			for (Cookie cookie : cookies) {
+				if (SecurityConstants.REFRESH_TOKEN_COOKIE.equals(cookie.getName())) {
+					return cookie.getValue();
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,53 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.security.Jwks;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.PublicKey;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Publica as chaves públicas do {@link SigningKeyRing} em {@code /.well-known/jwks.json}, para que outros serviços
+ * validem os tokens localmente com o {@link JwksKeyLocator}. Segredos HMAC nunca são publicados; com assinatura
+ * {@code HS512}, o conjunto é vazio.
+ */
+@RestController
+public class JwksController {
+
+	private volatile Published published;
+
+	/**
+	 * O documento é montado uma vez por conjunto de chaves e reaproveitado até a próxima rotação. O conjunto e o seu
+	 * documento são publicados juntos, para que nenhuma requisição veja um sem o outro.
+	 *
+	 * @return o JWK Set com as chaves públicas de assinatura
+	 */
+	@GetMapping(value = SecurityConstants.JWKS_URL, produces = MediaType.APPLICATION_JSON_VALUE)
+	public String jwks() {
+		SigningKeyRing keyRing = SecurityConstants.getKeyRing();
+		Published current = published;
+		if (current == null || current.keyRing() != keyRing) {
+			current = new Published(keyRing, toJwks(keyRing));
+			published = current;
+		}
+		return current.json();
+	}
+
+	private static String toJwks(SigningKeyRing keyRing) {
+		StringJoiner keys = new StringJoiner(",", "{\"keys\":[", "]}");
+		for (Map.Entry<String, PublicKey> entry : keyRing.getPublicKeys().entrySet()) {
+			keys.add(Jwks.json(Jwks.builder().key(entry.getValue())
+					.id(entry.getKey())
+					.publicKeyUse("sig")
+					.algorithm(AsymmetricSigningKeys.algorithm(entry.getValue()))
+					.build()));
+		}
+		return keys.toString();
+	}
+
+	private record Published(SigningKeyRing keyRing, String json) {
+	}
+}
@@ -0,0 +1,160 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cliente de JWKS com cache: obtém as chaves públicas publicadas pelo serviço emissor (por exemplo, no
+ * {@code /.well-known/jwks.json} do {@link JwksController}) para que os tokens sejam validados localmente, sem o segredo
+ * de assinatura e sem consultar o emissor a cada requisição.
+ *
+ * As chaves ficam em cache por {@code ttl}. Depois disso, um {@code kid} conhecido continua sendo atendido pelo cache
+ * enquanto uma consulta em segundo plano renova o conjunto, sem que nenhuma requisição espere por ela. Um {@code kid}
+ * desconhecido força uma nova consulta, limitada a uma a cada {@code refreshInterval}, para que tokens com {@code kid}s
+ * arbitrários não provoquem uma consulta por requisição. Se a consulta falhar, as chaves já obtidas continuam em uso.
+ * Apenas chaves públicas de assinatura são aceitas.
+ *
+ * A consulta é assíncrona ({@link #refresh()}); só a validação de um token com {@code kid} fora do cache aguarda o
+ * seu resultado, no máximo uma chamada HTTP.
+ *
+ * Pode ser usado diretamente como {@link io.jsonwebtoken.Locator} em um parser do jjwt ou, com {@code jwt.jwks.uri},
+ * pelo {@link SigningKeyRing} da aplicação, atendendo o {@link JWTAuthorizationFilter}.
+ */
+public class JwksKeyLocator extends LocatorAdapter<Key> {
+	private static final Logger logger = LoggerFactory.getLogger(JwksKeyLocator.class);
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private final URI jwksUri;
+	private final long ttlMillis;
+	private final long refreshIntervalMillis;
+	private final HttpClient httpClient;
+	private final AtomicReference<CompletableFuture<Map<String, PublicKey>>> inFlight = new AtomicReference<>();
+	private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+	private volatile long fetchedAt;
+	private volatile long attemptedAt;
+
+	/**
+	 * @param jwksUri o endereço do JWKS do serviço emissor
+	 * @param ttlMillis tempo, em milissegundos, em que as chaves obtidas são usadas sem nova consulta
+	 * @param refreshIntervalMillis intervalo mínimo, em milissegundos, entre consultas provocadas por {@code kid}s desconhecidos
+	 */
+	public JwksKeyLocator(URI jwksUri, long ttlMillis, long refreshIntervalMillis) {
+		this.jwksUri = jwksUri;
+		this.ttlMillis = ttlMillis;
+		this.refreshIntervalMillis = refreshIntervalMillis;
+		this.httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+	}
+
+	@Override
+	protected Key locate(JwsHeader header) {
+		return getKey(header.getKeyId());
+	}
+
+	/**
+	 * Devolve a chave do cache, mesmo depois do {@code ttl}, quando a renovação é iniciada em segundo plano; só um
+	 * {@code kid} fora do cache aguarda a consulta.
+	 *
+	 * @param keyId o {@code kid} do token
+	 * @return a chave pública correspondente, ou {@code null} se o JWKS não a publicar
+	 */
+	public PublicKey getKey(String keyId) {
+		if (keyId == null) {
+			return null;
+		}
+		PublicKey key = keys.get(keyId);
+		if (key != null) {
+			if (System.currentTimeMillis() - fetchedAt >= ttlMillis) {
+				refresh();
+			}
+			return key;
+		}
+		return refresh().join().get(keyId);
+	}
+
+	/**
+	 * @return os {@code kid}s obtidos na última consulta bem-sucedida
+	 */
+	public Set<String> getKeyIds() {
+		return keys.keySet();
+	}
+
+	/**
+	 * Consulta o JWKS, a menos que outra consulta tenha começado no último {@code refreshInterval}. Chamadas que chegam
+	 * durante uma consulta recebem o mesmo {@link CompletableFuture} e aguardam o seu resultado em vez de repeti-la;
+	 * dentro do intervalo, recebem as chaves atuais. Nenhuma thread fica presa a um lock durante a chamada HTTP.
+	 *
+	 * @return as chaves obtidas pela consulta ou, se ela falhar ou não for feita, as chaves atuais; nunca falha
+	 */
+	public CompletableFuture<Map<String, PublicKey>> refresh() {
+		while (true) {
+			CompletableFuture<Map<String, PublicKey>> current = inFlight.get();
+			if (current != null) {
+				return current;
+			}
+			if (System.currentTimeMillis() - attemptedAt < refreshIntervalMillis) {
+				return CompletableFuture.completedFuture(keys);
+			}
+			CompletableFuture<Map<String, PublicKey>> next = new CompletableFuture<>();
+			if (inFlight.compareAndSet(null, next)) {
+				attemptedAt = System.currentTimeMillis();
+				fetch().whenComplete((fetched, error) -> {
+					if (error == null) {
+						keys = fetched;
+						fetchedAt = System.currentTimeMillis();
+					} else {
+						Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+						logger.warn("Falha ao obter o JWKS de {}: {}", jwksUri, cause.getMessage());
+					}
+					inFlight.set(null);
+					next.complete(keys);
+				});
+				return next;
+			}
+		}
+	}
+
+	private CompletableFuture<Map<String, PublicKey>> fetch() {
+		try {
+			HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(TIMEOUT).header("Accept", "application/json").GET().build();
+			return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(JwksKeyLocator::publicKeys);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	private static Map<String, PublicKey> publicKeys(HttpResponse<String> response) {
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("HTTP " + response.statusCode());
+		}
+		JwkSet jwkSet = Jwks.setParser().ignoreUnsupported(true).build().parse(response.body());
+		Map<String, PublicKey> fetched = new HashMap<>();
+		for (Jwk<?> jwk : jwkSet) {
+			Object use = jwk.get("use");
+			if (jwk.getId() != null && (use == null || "sig".equals(use)) && jwk.toKey() instanceof PublicKey publicKey) {
+				fetched.put(jwk.getId(), publicKey);
+			}
+		}
+		return Collections.unmodifiableMap(fetched);
+	}
+}
@@ -0,0 +1,92 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.security.web.authentication.logout.LogoutSuccessHandler;
+
+/**
+ * Encerra a sessão do cliente no {@code /logout}: revoga o token de acesso e o token de renovação recebidos,
+ * incluindo-os na {@link TokenRevocationList} até a sua expiração, e remove os cookies.
+ *
+ * Também responde ao logout: {@code 204 No Content}, ou {@code 503 Service Unavailable} se algum token válido não pôde
+ * ser revogado porque a lista atingiu o limite. Nesse caso o token continua aceito até expirar, e o cliente deve tentar
+ * de novo.
+ */
+public class JwtLogoutHandler implements LogoutHandler, LogoutSuccessHandler {
+	private static final Logger logger = LoggerFactory.getLogger(JwtLogoutHandler.class);
+	private static final String REVOCATION_FAILED_ATTRIBUTE = JwtLogoutHandler.class.getName() + ".REVOCATION_FAILED";
+
+	private final JwtTokenVerifier tokenVerifier;
+	private final JwtTokenIssuer tokenIssuer;
+	private final TokenRevocationList revocationList;
+
+	/**
+	 * @param tokenVerifier o {@link JwtTokenVerifier} que valida os tokens antes da revogação
+	 * @param tokenIssuer o {@link JwtTokenIssuer} que remove os cookies
+	 * @param revocationList a {@link TokenRevocationList} em que os tokens são incluídos
+	 */
+	public JwtLogoutHandler(JwtTokenVerifier tokenVerifier, JwtTokenIssuer tokenIssuer, TokenRevocationList revocationList) {
+		this.tokenVerifier = tokenVerifier;
+		this.tokenIssuer = tokenIssuer;
+		this.revocationList = revocationList;
+	}
+
+	@Override
+	public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+		boolean revoked = revoke(SecurityConstants.cookieToken(resolveCookie(request, SecurityConstants.ACCESS_TOKEN_COOKIE)));
+		revoked &= revoke(SecurityConstants.cookieToken(resolveCookie(request, SecurityConstants.REFRESH_TOKEN_COOKIE)));
+		revoked &= revoke(SecurityConstants.headerToken(request.getHeader(SecurityConstants.AUTHORIZATION_HEADER)));
+		if (!revoked) {
+			request.setAttribute(REVOCATION_FAILED_ATTRIBUTE, Boolean.TRUE);
+		}
+		ServletTokenCookies.clearTokenCookies(tokenIssuer, response);
+	}
+
+	@Override
+	public void onLogoutSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+		if (request.getAttribute(REVOCATION_FAILED_ATTRIBUTE) != null) {
+			response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+		} else {
+			response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+		}
+	}
+
+	/**
+	 * Apenas tokens com assinatura válida são revogados, para que a lista não possa ser preenchida com valores arbitrários.
+	 *
+	 * @return {@code false} somente se o token é válido e não pôde ser revogado
+	 */
+	private boolean revoke(String token) {
+		if (token == null) {
+			return true;
+		}
+		VerifiedToken verifiedToken;
+		try {
+			verifiedToken = tokenVerifier.verifyForRevocation(token);
+		} catch (Exception e) {
+			logger.debug("Token ignorado no logout: {}", e.getMessage());
+			return true;
+		}
+		return verifiedToken == null
+				|| revocationList.ensureRevoked(verifiedToken.getTokenId(), verifiedToken.getExpiresAt());
+	}
+
+	private static String resolveCookie(HttpServletRequest request, String name) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies != null) {
+			for (Cookie cookie : cookies) {
+				if (name.equals(cookie.getName())) {
+					return cookie.getValue();
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,249 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Emite os tokens JWT da aplicação: o token de acesso, de curta duração, e o token de renovação (refresh token),
+ * de longa duração, que permite obter um novo token de acesso sem repetir o login.
+ * Ambos são assinados com a chave ativa do {@link SigningKeyRing} e entregues em cookies HttpOnly. Os cookies são
+ * montados como {@link ResponseCookie}, para que a mesma classe atenda a pilha servlet e a reativa.
+ *
+ * As claims do token de acesso seguem o {@link ClaimProfile} configurado em {@code jwt.claims.profile}. O
+ * {@link JwtTokenVerifier} aceita os dois perfis, de modo que o perfil pode ser trocado sem invalidar os tokens emitidos.
+ *
+ * Os tokens de um {@link Tenant} são assinados com as suas chaves, seguem as suas validades e o seu perfil de claims e
+ * levam o seu identificador no {@code iss}.
+ */
+@Component
+public class JwtTokenIssuer {
+
+	public static final String TOKEN_TYPE_CLAIM = "token_type";
+	public static final String REFRESH_TOKEN_TYPE = "refresh";
+	public static final String FAMILY_ID_CLAIM = "fid";
+
+	private static final int COMPACT_TOKEN_ID_BYTES = 12;
+	private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
+	private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	/**
+	 * Conjunto de claims gravado nos tokens.
+	 */
+	public enum ClaimProfile {
+		/**
+		 * Claims históricas: {@code sub}, {@code exp}, {@code username}, {@code roles}, {@code createdAt},
+		 * {@code updatedAt}, {@code id}, {@code iat} e um UUID em {@code jti}.
+		 */
+		FULL,
+		/**
+		 * Apenas o que a validação utiliza: {@code sub}, {@code exp}, {@code roles}, {@code id} e um {@code jti} de 16
+		 * caracteres.
+		 */
+		COMPACT
+	}
+
+	private final ClaimProfile claimProfile;
+
+	/**
+	 * Cria um emissor com o perfil {@link ClaimProfile#FULL}.
+	 */
+	public JwtTokenIssuer() {
+		this.claimProfile = ClaimProfile.FULL;
+	}
+
+	/**
+	 * @param claimProfile o perfil de claims, {@code full} ou {@code compact}
+	 */
+	@Autowired
+	public JwtTokenIssuer(@Value("${jwt.claims.profile:full}") String claimProfile) {
+		this.claimProfile = claimProfile(claimProfile, "jwt.claims.profile");
+	}
+
+	/**
+	 * @param value o perfil de claims, {@code full} ou {@code compact}
+	 * @param property o nome da propriedade, usado na mensagem de erro
+	 * @return o perfil correspondente
+	 */
+	static ClaimProfile claimProfile(String value, String property) {
+		try {
+			return ClaimProfile.valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException("Valor não suportado para " + property + ": " + value);
+		}
+	}
+
+	public ClaimProfile getClaimProfile() {
+		return claimProfile;
+	}
+
+	/**
+	 * Emite um token de acesso para o usuário autenticado.
+	 *
+	 * @param userDetails o usuário autenticado
+	 * @return o token JWT compacto
+	 */
+	public String issueAccessToken(UserDetailsImpl userDetails) {
+		return issueAccessToken(userDetails, null);
+	}
+
+	/**
+	 * Emite um token de acesso para o usuário autenticado em um tenant.
+	 *
+	 * @param userDetails o usuário autenticado
+	 * @param tenant o tenant da requisição, ou {@code null} para o tenant padrão
+	 * @return o token JWT compacto
+	 */
+	public String issueAccessToken(UserDetailsImpl userDetails, Tenant tenant) {
+		SigningKeyRing keyRing = tenant != null ? tenant.getKeyRing() : SecurityConstants.getKeyRing();
+		ClaimProfile claimProfile = tenant != null && tenant.getClaimProfile() != null ? tenant.getClaimProfile() : this.claimProfile;
+		JwtBuilder builder = Jwts.builder()
+				.subject(userDetails.getUsername())
+				.issuer(tenant != null ? tenant.getId() : null)
+				.expiration(new Date(System.currentTimeMillis() + accessTokenExpiration(tenant)));
+		if (claimProfile == ClaimProfile.COMPACT) {
+			builder.claim("roles", rolesClaim(userDetails.getRoles()))
+					.claim("id", userDetails.getId());
+		} else {
+			builder.claim("username", userDetails.getUsername())
+					.claim("roles", rolesClaim(userDetails.getRoles()))
+					.claim("createdAt", userDetails.getCreatedAt() != null ? userDetails.getCreatedAt().toString() : LocalDateTime.now().toString())
+					.claim("updatedAt", userDetails.getUpdatedAt() != null ? userDetails.getUpdatedAt().toString() : LocalDateTime.now().toString())
+					.claim("id", userDetails.getId())
+					.claim("iat", new Date());
+		}
+		return keyRing.sign(builder.claim("jti", tokenId(claimProfile))).compact();
+	}
+
+	/**
+	 * Emite um token de renovação. Ele carrega o id, o usuário e os papéis, para que a renovação não precise consultar o repositório.
+	 *
+	 * @param userDetails o usuário autenticado
+	 * @return o token JWT compacto
+	 */
+	public String issueRefreshToken(UserDetailsImpl userDetails) {
+		return issueRefreshToken(userDetails, null);
+	}
+
+	/**
+	 * Emite o primeiro token de renovação de uma família, no login.
+	 *
+	 * @param userDetails o usuário autenticado
+	 * @param tenant o tenant da requisição, ou {@code null} para o tenant padrão
+	 * @return o token JWT compacto
+	 */
+	public String issueRefreshToken(UserDetailsImpl userDetails, Tenant tenant) {
+		return issueRefreshToken(userDetails, tenant, null);
+	}
+
+	/**
+	 * Emite um token de renovação em um tenant. Os tokens obtidos por renovações sucessivas a partir de um login formam
+	 * uma família, identificada pela claim {@code fid}, que pode ser revogada de uma só vez.
+	 *
+	 * @param userDetails o usuário autenticado
+	 * @param tenant o tenant da requisição, ou {@code null} para o tenant padrão
+	 * @param familyId a família do token de renovação consumido, ou {@code null} para iniciar uma família
+	 * @return o token JWT compacto
+	 */
+	public String issueRefreshToken(UserDetailsImpl userDetails, Tenant tenant, String familyId) {
+		SigningKeyRing keyRing = tenant != null ? tenant.getKeyRing() : SecurityConstants.getKeyRing();
+		ClaimProfile claimProfile = tenant != null && tenant.getClaimProfile() != null ? tenant.getClaimProfile() : this.claimProfile;
+		String tokenId = tokenId(claimProfile);
+		return keyRing.sign(Jwts.builder()
+				.subject(userDetails.getUsername())
+				.issuer(tenant != null ? tenant.getId() : null)
+				.expiration(new Date(System.currentTimeMillis() + refreshTokenExpiration(tenant)))
+				.claim("roles", rolesClaim(userDetails.getRoles()))
+				.claim("id", userDetails.getId())
+				.claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+				.claim("jti", tokenId)
+				.claim(FAMILY_ID_CLAIM, familyId != null ? familyId : tokenId))
+				.compact();
+	}
+
+	/**
+	 * Monta os cookies do token de acesso e do token de renovação.
+	 * O cookie de renovação só é enviado pelo navegador para o endpoint de renovação.
+	 *
+	 * @param accessToken o token de acesso
+	 * @param refreshToken o token de renovação
+	 * @param secure se os cookies devem ser marcados como {@code Secure}, quando a requisição chegou por HTTPS
+	 * @return os cookies a serem adicionados à resposta
+	 */
+	public List<ResponseCookie> tokenCookies(String accessToken, String refreshToken, boolean secure) {
+		return tokenCookies(accessToken, refreshToken, secure, null);
+	}
+
+	/**
+	 * Monta os cookies dos tokens de um tenant, com a validade configurada para ele.
+	 *
+	 * @param accessToken o token de acesso
+	 * @param refreshToken o token de renovação
+	 * @param secure se os cookies devem ser marcados como {@code Secure}, quando a requisição chegou por HTTPS
+	 * @param tenant o tenant que emitiu os tokens, ou {@code null} para o tenant padrão
+	 * @return os cookies a serem adicionados à resposta
+	 */
+	public List<ResponseCookie> tokenCookies(String accessToken, String refreshToken, boolean secure, Tenant tenant) {
+		return List.of(
+				cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, accessToken, "/", accessTokenExpiration(tenant), secure),
+				cookie(SecurityConstants.REFRESH_TOKEN_COOKIE, refreshToken, SecurityConstants.REFRESH_URL,
+						refreshTokenExpiration(tenant), secure));
+	}
+
+	/**
+	 * Monta os cookies que removem o token de acesso e o token de renovação do navegador.
+	 *
+	 * @return os cookies a serem adicionados à resposta
+	 */
+	public List<ResponseCookie> clearedTokenCookies() {
+		return List.of(
+				cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, "", "/", 0, false),
+				cookie(SecurityConstants.REFRESH_TOKEN_COOKIE, "", SecurityConstants.REFRESH_URL, 0, false));
+	}
+
+	private static long accessTokenExpiration(Tenant tenant) {
+		return tenant != null ? tenant.getAccessTokenExpiration() : SecurityConstants.getAccessTokenExpiration();
+	}
+
+	private static long refreshTokenExpiration(Tenant tenant) {
+		return tenant != null ? tenant.getRefreshTokenExpiration() : SecurityConstants.getRefreshTokenExpiration();
+	}
+
+	private static ResponseCookie cookie(String name, String value, String path, long maxAgeMillis, boolean secure) {
+		return ResponseCookie.from(name, value)
+				.httpOnly(true)
+				.secure(secure)
+				.path(path)
+				.maxAge(maxAgeMillis / 1000)
+				.sameSite("Strict")
+				.build();
+	}
+
+	/**
+	 * No perfil compacto, o {@code jti} tem 96 bits aleatórios em Base64 URL (16 caracteres), em vez dos 36 do UUID.
+	 */
+	private static String tokenId(ClaimProfile claimProfile) {
+		if (claimProfile == ClaimProfile.COMPACT) {
+			byte[] bytes = new byte[COMPACT_TOKEN_ID_BYTES];
+			TOKEN_ID_RANDOM.nextBytes(bytes);
+			return TOKEN_ID_ENCODER.encodeToString(bytes);
+		}
+		return UUID.randomUUID().toString();
+	}
+
+	private static String rolesClaim(Set<String> roles) {
+		return roles != null ? String.join(",", roles) : "DEFAULT_ROLE";
+	}
+}
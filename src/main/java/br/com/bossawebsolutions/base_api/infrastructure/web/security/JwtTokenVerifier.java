@@ -0,0 +1,401 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Valida tokens JWT recebidos nas requisições.
+ * Recusa antes tokens malformados pelas verificações estruturais do {@link TokenPrecheck}; consulta o
+ * {@link VerifiedTokenCache}, cujos acertos só valem se a chave do {@code kid} do token não tiver mudado; recusa
+ * tokens cujo {@code exp} já passou sem verificar a assinatura; em seguida, se habilitado, usa o
+ * {@link FastHs512Verifier}; e, para tokens que o caminho rápido não suporta, o parser do jjwt do
+ * {@link SigningKeyRing} vigente. Tokens presentes na {@link TokenRevocationList} são recusados, inclusive quando
+ * encontrados no cache.
+ *
+ * Com tenants configurados no {@link TenantRegistry}, o token é validado com as chaves do tenant indicado no seu
+ * {@code iss} (ou com as chaves padrão, sem {@code iss}), e só é aceito na requisição do mesmo tenant. A consulta ao
+ * {@code iss} não depende da assinatura; o {@code iss} validado é conferido novamente ao final.
+ */
+@Component
+public class JwtTokenVerifier {
+	private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifier.class);
+
+	/**
+	 * Resultado de {@link #check(String)}.
+	 */
+	public enum Outcome {
+		/** Token válido. */
+		VERIFIED,
+		/** Token válido, mas sem {@code sub}; a requisição segue sem autenticação. */
+		NO_SUBJECT,
+		/** Token recusado; o motivo está em {@link Result#getFailure()}. */
+		REJECTED
+	}
+
+	/**
+	 * Resultado imutável de {@link #check(String)}. Os resultados sem token validado e sem exceção são constantes,
+	 * de modo que recusar um token não aloca objetos.
+	 */
+	public static final class Result {
+		private static final Result NO_SUBJECT = new Result(Outcome.NO_SUBJECT, null, null, null);
+		private static final Result[] REJECTED = new Result[AuthMetrics.TokenFailure.values().length];
+
+		static {
+			for (AuthMetrics.TokenFailure failure : AuthMetrics.TokenFailure.values()) {
+				REJECTED[failure.ordinal()] = new Result(Outcome.REJECTED, null, failure, null);
+			}
+		}
+
+		private final Outcome outcome;
+		private final VerifiedToken token;
+		private final AuthMetrics.TokenFailure failure;
+		private final Exception error;
+
+		private Result(Outcome outcome, VerifiedToken token, AuthMetrics.TokenFailure failure, Exception error) {
+			this.outcome = outcome;
+			this.token = token;
+			this.failure = failure;
+			this.error = error;
+		}
+
+		private static Result verified(VerifiedToken token) {
+			return new Result(Outcome.VERIFIED, token, null, null);
+		}
+
+		private static Result rejected(AuthMetrics.TokenFailure failure) {
+			return REJECTED[failure.ordinal()];
+		}
+
+		private static Result rejected(Exception error) {
+			return new Result(Outcome.REJECTED, null, failureReason(error), error);
+		}
+
+		public Outcome getOutcome() {
+			return outcome;
+		}
+
+		/**
+		 * @return o token validado, presente apenas quando o resultado é {@link Outcome#VERIFIED}
+		 */
+		public VerifiedToken getToken() {
+			return token;
+		}
+
+		/**
+		 * @return o motivo da recusa, presente apenas quando o resultado é {@link Outcome#REJECTED}
+		 */
+		public AuthMetrics.TokenFailure getFailure() {
+			return failure;
+		}
+
+		/**
+		 * @return a exceção lançada pelo jjwt, ou {@code null} se o token foi recusado sem passar pelo jjwt
+		 */
+		public Exception getError() {
+			return error;
+		}
+	}
+
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final TokenRevocationList revocationList;
+	private final FastHs512Verifier fastVerifier;
+	private final TenantRegistry tenantRegistry;
+
+	/**
+	 * @param verifiedTokenCache cache de tokens já validados, ou {@code null} para validar sempre
+	 * @param revocationList lista de tokens revogados, ou {@code null} para não consultar revogações
+	 * @param fastVerifierEnabled habilita o {@link FastHs512Verifier}
+	 */
+	public JwtTokenVerifier(VerifiedTokenCache verifiedTokenCache, TokenRevocationList revocationList, boolean fastVerifierEnabled) {
+		this(verifiedTokenCache, revocationList, fastVerifierEnabled, null);
+	}
+
+	/**
+	 * @param verifiedTokenCache cache de tokens já validados, ou {@code null} para validar sempre
+	 * @param revocationList lista de tokens revogados, ou {@code null} para não consultar revogações
+	 * @param fastVerifierEnabled habilita o {@link FastHs512Verifier}
+	 * @param tenantRegistry os tenants da aplicação, ou {@code null} para uma aplicação de um único tenant
+	 */
+	@Autowired
+	public JwtTokenVerifier(VerifiedTokenCache verifiedTokenCache, TokenRevocationList revocationList,
+							@Value("${jwt.fast-verifier.enabled:false}") boolean fastVerifierEnabled, TenantRegistry tenantRegistry) {
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.revocationList = revocationList;
+		this.fastVerifier = fastVerifierEnabled ? new FastHs512Verifier() : null;
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	/**
+	 * Valida o token de acesso sem lançar exceções. Tokens malformados, expirados, revogados, de renovação ou recusados
+	 * pelo {@link FastHs512Verifier} são classificados sem que nenhuma exceção seja criada; apenas os tokens validados
+	 * pelo jjwt podem gerar uma exceção interna, exposta em {@link Result#getError()}.
+	 *
+	 * @param token o token JWT compacto
+	 * @return o resultado da validação
+	 */
+	public Result check(String token) {
+		return check(token, null);
+	}
+
+	/**
+	 * Equivale a {@link #check(String)}, recusando com {@link AuthMetrics.TokenFailure#WRONG_TENANT} os tokens emitidos
+	 * para um tenant diferente do da requisição. Sem tenants configurados, o tenant da requisição é ignorado.
+	 *
+	 * @param token o token JWT compacto
+	 * @param tenantId o tenant da requisição, ou {@code null} para o tenant padrão
+	 * @return o resultado da validação
+	 */
+	public Result check(String token, String tenantId) {
+		AuthMetrics.TokenFailure failure = TokenPrecheck.checkStructure(token);
+		if (failure != null) {
+			return Result.rejected(failure);
+		}
+		boolean tenants = tenantRegistry != null && tenantRegistry.isEnabled();
+		VerifiedTokenCache.Entry cached = verifiedTokenCache != null ? verifiedTokenCache.get(token) : null;
+		if (cached != null) {
+			VerifiedToken verifiedToken = cached.getToken();
+			if (cached.isVerifiedBy(tenants ? keyRing(verifiedToken.getIssuer()) : SecurityConstants.getKeyRing())) {
+				if (tenants && !Objects.equals(verifiedToken.getIssuer(), tenantId)) {
+					return Result.rejected(AuthMetrics.TokenFailure.WRONG_TENANT);
+				}
+				return isRevoked(verifiedToken) ? Result.rejected(AuthMetrics.TokenFailure.REVOKED) : Result.verified(verifiedToken);
+			}
+		}
+
+		failure = TokenPrecheck.checkExpiration(token, System.currentTimeMillis());
+		if (failure != null) {
+			return Result.rejected(failure);
+		}
+		SigningKeyRing keyRing = SecurityConstants.getKeyRing();
+		if (tenants) {
+			String issuer = TokenPrecheck.peekIssuer(token);
+			keyRing = keyRing(issuer);
+			if (keyRing == null || !Objects.equals(issuer, tenantId)) {
+				return Result.rejected(AuthMetrics.TokenFailure.WRONG_TENANT);
+			}
+		}
+		VerifiedToken verifiedToken = null;
+		if (fastVerifier != null) {
+			FastHs512Verifier.Result result = fastVerifier.verify(token, keyRing);
+			switch (result.getOutcome()) {
+				case VERIFIED -> verifiedToken = result.getToken();
+				case REJECTED -> {
+					return Result.rejected(result.getToken() != null
+							? AuthMetrics.TokenFailure.EXPIRED : AuthMetrics.TokenFailure.INVALID_SIGNATURE);
+				}
+				case FALLBACK -> {
+				}
+			}
+		}
+		if (verifiedToken == null) {
+			try {
+				verifiedToken = parseSignedClaims(token, keyRing);
+			} catch (Exception e) {
+				return Result.rejected(e);
+			}
+			if (verifiedToken == null) {
+				return Result.NO_SUBJECT;
+			}
+		}
+		if (verifiedToken.isRefreshToken()) {
+			return Result.rejected(AuthMetrics.TokenFailure.WRONG_TYPE);
+		}
+		if (tenants && !Objects.equals(verifiedToken.getIssuer(), tenantId)) {
+			return Result.rejected(AuthMetrics.TokenFailure.WRONG_TENANT);
+		}
+		if (isRevoked(verifiedToken)) {
+			return Result.rejected(AuthMetrics.TokenFailure.REVOKED);
+		}
+		if (verifiedTokenCache != null) {
+			verifiedTokenCache.put(token, verifiedToken, keyRing.getVerificationKey(verifiedToken.getKeyId()));
+		}
+		return Result.verified(verifiedToken);
+	}
+
+	/**
+	 * Valida o token de acesso e extrai as informações necessárias para a autenticação. Equivale a {@link #check(String)},
+	 * lançando a recusa como exceção.
+	 *
+	 * @param token o token JWT compacto
+	 * @return o token validado ou {@code null} se o token não possuir {@code sub}
+	 * @throws JwtException se o token for inválido, estiver expirado, revogado ou for um token de renovação
+	 */
+	public VerifiedToken verify(String token) {
+		Result result = check(token);
+		return switch (result.getOutcome()) {
+			case VERIFIED -> result.getToken();
+			case NO_SUBJECT -> null;
+			case REJECTED -> {
+				if (result.getError() instanceof RuntimeException error) {
+					throw error;
+				}
+				throw new RejectedTokenException(rejectionMessage(result.getFailure()), result.getFailure());
+			}
+		};
+	}
+
+	/**
+	 * Valida um token de renovação. O resultado não é mantido em cache, pois cada token de renovação é usado uma única vez.
+	 * Com tenants configurados, o token é validado com as chaves do tenant do seu {@code iss}, que deve ser mantido na
+	 * renovação.
+	 *
+	 * Um token de renovação já consumido que é apresentado de novo indica que ele foi copiado: a família inteira é
+	 * revogada (veja {@link #revokeFamily(VerifiedToken)}), e o token mais recente dela também passa a ser recusado.
+	 *
+	 * @param token o token JWT compacto
+	 * @return o token validado ou {@code null} se o token não possuir {@code sub}
+	 * @throws JwtException se o token for inválido, estiver expirado, revogado ou não for um token de renovação
+	 */
+	public VerifiedToken verifyRefreshToken(String token) {
+		VerifiedToken verifiedToken = parse(token, issuerKeyRing(token));
+		if (verifiedToken != null && !verifiedToken.isRefreshToken()) {
+			throw new RejectedTokenException("Token de acesso não pode ser usado como token de renovação", AuthMetrics.TokenFailure.WRONG_TYPE);
+		}
+		if (verifiedToken != null && isRevoked(verifiedToken)) {
+			revokeFamily(verifiedToken);
+			throw new RejectedTokenException("Token de renovação reutilizado", AuthMetrics.TokenFailure.REVOKED);
+		}
+		if (verifiedToken != null && revocationList != null && revocationList.isFamilyRevoked(verifiedToken.getFamilyId())) {
+			throw new RejectedTokenException(rejectionMessage(AuthMetrics.TokenFailure.REVOKED), AuthMetrics.TokenFailure.REVOKED);
+		}
+		return verifiedToken;
+	}
+
+	/**
+	 * Revoga a família do token de renovação. A revogação vale até o último token que a família ainda pode ter emitido
+	 * expirar, ou seja, pela validade dos tokens de renovação do tenant a partir de agora.
+	 *
+	 * @param refreshToken um token de renovação reutilizado
+	 */
+	public void revokeFamily(VerifiedToken refreshToken) {
+		if (revocationList == null || refreshToken.getFamilyId() == null) {
+			return;
+		}
+		Tenant tenant = refreshToken.getIssuer() != null && tenantRegistry != null ? tenantRegistry.get(refreshToken.getIssuer()) : null;
+		long lifetime = tenant != null ? tenant.getRefreshTokenExpiration() : SecurityConstants.getRefreshTokenExpiration();
+		if (revocationList.revokeFamily(refreshToken.getFamilyId(), System.currentTimeMillis() + lifetime)) {
+			logger.warn("Token de renovação do usuário {} reutilizado; família {} revogada", refreshToken.getSubject(),
+					refreshToken.getFamilyId());
+		}
+	}
+
+	/**
+	 * Valida o token sem exigir um tipo específico e sem consultar a lista de revogação, para que ele possa ser revogado.
+	 *
+	 * @param token o token JWT compacto
+	 * @return o token validado ou {@code null} se o token não possuir {@code sub}
+	 * @throws JwtException se o token for inválido ou estiver expirado
+	 */
+	public VerifiedToken verifyForRevocation(String token) {
+		return parse(token, issuerKeyRing(token));
+	}
+
+	/**
+	 * Classifica a exceção lançada na validação de um token para as métricas de recusa.
+	 *
+	 * @param e a exceção lançada por {@link #verify(String)} ou {@link #verifyRefreshToken(String)}
+	 * @return o motivo da recusa
+	 */
+	public static AuthMetrics.TokenFailure failureReason(Exception e) {
+		if (e instanceof RejectedTokenException rejected) {
+			return rejected.getReason();
+		}
+		if (e instanceof ExpiredJwtException) {
+			return AuthMetrics.TokenFailure.EXPIRED;
+		}
+		if (e instanceof SecurityException) {
+			return AuthMetrics.TokenFailure.INVALID_SIGNATURE;
+		}
+		if (e instanceof MalformedJwtException || e instanceof UnsupportedJwtException || e instanceof IllegalArgumentException) {
+			return AuthMetrics.TokenFailure.MALFORMED;
+		}
+		return AuthMetrics.TokenFailure.OTHER;
+	}
+
+	/**
+	 * @param tenantId o tenant que emitiu o token, ou {@code null} para o tenant padrão
+	 * @return as chaves do tenant, ou {@code null} se o tenant for desconhecido
+	 */
+	private SigningKeyRing keyRing(String tenantId) {
+		if (tenantId == null) {
+			return SecurityConstants.getKeyRing();
+		}
+		Tenant tenant = tenantRegistry.get(tenantId);
+		return tenant != null ? tenant.getKeyRing() : null;
+	}
+
+	private SigningKeyRing issuerKeyRing(String token) {
+		if (tenantRegistry == null || !tenantRegistry.isEnabled() || TokenPrecheck.checkStructure(token) != null) {
+			return SecurityConstants.getKeyRing();
+		}
+		SigningKeyRing keyRing = keyRing(TokenPrecheck.peekIssuer(token));
+		if (keyRing == null) {
+			throw new RejectedTokenException(rejectionMessage(AuthMetrics.TokenFailure.WRONG_TENANT), AuthMetrics.TokenFailure.WRONG_TENANT);
+		}
+		return keyRing;
+	}
+
+	private boolean isRevoked(VerifiedToken verifiedToken) {
+		return revocationList != null && revocationList.isRevoked(verifiedToken.getTokenId(), verifiedToken.getExpiresAt());
+	}
+
+	private static String rejectionMessage(AuthMetrics.TokenFailure failure) {
+		return switch (failure) {
+			case EXPIRED -> "Token JWT expirado";
+			case INVALID_SIGNATURE -> "Assinatura do token JWT inválida";
+			case MALFORMED -> "Token JWT malformado";
+			case REVOKED -> "Token JWT revogado";
+			case WRONG_TYPE -> "Token de renovação não pode ser usado como token de acesso";
+			case WRONG_TENANT -> "Token JWT emitido para outro tenant";
+			case OTHER -> "Token JWT recusado";
+		};
+	}
+
+	private VerifiedToken parse(String token, SigningKeyRing keyRing) {
+		VerifiedToken verifiedToken = fastVerifier != null ? verifyFast(token, keyRing) : null;
+		if (verifiedToken != null) {
+			return verifiedToken;
+		}
+		return parseSignedClaims(token, keyRing);
+	}
+
+	private VerifiedToken parseSignedClaims(String token, SigningKeyRing keyRing) {
+		Jws<Claims> jws = keyRing.getParser().parseSignedClaims(token);
+		Claims claims = jws.getPayload();
+		if (claims.getSubject() == null) {
+			return null;
+		}
+		long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+		Object id = claims.get("id");
+		return new VerifiedToken(claims.getSubject(), jws.getHeader().getKeyId(), expiresAt,
+				claims.get("roles", String.class), id instanceof Number number ? number.longValue() : null,
+				claims.get(JwtTokenIssuer.TOKEN_TYPE_CLAIM, String.class), claims.getId(), claims.getIssuer(),
+				claims.get(JwtTokenIssuer.FAMILY_ID_CLAIM, String.class));
+	}
+
+	private VerifiedToken verifyFast(String token, SigningKeyRing keyRing) {
+		FastHs512Verifier.Result result = fastVerifier.verify(token, keyRing);
+		return switch (result.getOutcome()) {
+			case VERIFIED -> result.getToken();
+			case REJECTED -> {
+				AuthMetrics.TokenFailure failure = result.getToken() != null
+						? AuthMetrics.TokenFailure.EXPIRED : AuthMetrics.TokenFailure.INVALID_SIGNATURE;
+				throw new RejectedTokenException(rejectionMessage(failure), failure);
+			}
+			case FALLBACK -> null;
+		};
+	}
+}
@@ -0,0 +1,32 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Indica que a tentativa de login foi recusada antes da verificação das credenciais,
+ * por exemplo por sobrecarga ou limite de tentativas. Carrega o status HTTP e o tempo sugerido para uma nova tentativa.
+ */
+public class LoginRejectedException extends AuthenticationException {
+
+	private final int status;
+	private final long retryAfterSeconds;
+
+	/**
+	 * @param message a descrição do motivo da recusa
+	 * @param status o status HTTP a ser retornado
+	 * @param retryAfterSeconds o valor do header {@code Retry-After}, ou zero para omiti-lo
+	 */
+	public LoginRejectedException(String message, int status, long retryAfterSeconds) {
+		super(message);
+		this.status = status;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,261 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita a frequência de tentativas de login por endereço do cliente e por nome de usuário.
+ * Cada chave possui um token bucket sem bloqueio (algoritmo GCRA: um único {@code long} atualizado por CAS).
+ *
+ * Acima do limite, a tentativa é recusada com HTTP 429 e {@code Retry-After} antes da verificação da senha, sem ocupar
+ * uma thread nem o executor de verificação: o endereço é verificado antes da leitura do corpo e o nome de usuário logo
+ * depois. O limite do nome de usuário não bloqueia a conta: ele recusa apenas as tentativas acima da taxa configurada,
+ * e a próxima vaga abre em segundos, mesmo durante um ataque.
+ *
+ * Atrás de um proxy reverso, todos os clientes chegam com o endereço do proxy. Os proxies informados em
+ * {@code login.throttle.trusted-proxies} (endereços ou faixas CIDR) são substituídos pelo último endereço do header
+ * {@code X-Forwarded-For} que não seja de um proxy confiável; o header de outros remetentes é ignorado.
+ *
+ * A memória é limitada: a cada {@code login.throttle.sweep-interval} milissegundos, uma thread descarta as chaves
+ * ociosas (com o bucket cheio); com o limite de chaves atingido, as novas chaves compartilham um conjunto fixo de buckets
+ * por hash até a próxima varredura, sem que a requisição percorra o mapa.
+ *
+ * Recusas e chaves acompanhadas são registradas nas {@link AuthMetrics} como {@code bws.auth.login.throttle.rejected}
+ * e {@code bws.auth.login.throttle.tracked}, com a etiqueta {@code key} ({@code client} ou {@code username}).
+ */
+@Component
+public class LoginThrottle {
+
+	public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+	private final boolean enabled;
+	private final Limiter clients;
+	private final Limiter usernames;
+	private final List<IpAddressMatcher> trustedProxies;
+	private final ScheduledExecutorService sweeper;
+
+	/**
+	 * @param enabled habilita ou desabilita o limite de tentativas
+	 * @param clientPerMinute tentativas por minuto permitidas para um mesmo endereço
+	 * @param clientBurst tentativas consecutivas permitidas para um mesmo endereço antes de aplicar o limite
+	 * @param usernamePerMinute tentativas por minuto permitidas para um mesmo nome de usuário
+	 * @param usernameBurst tentativas consecutivas permitidas para um mesmo nome de usuário antes de aplicar o limite
+	 * @param maxKeys número máximo de chaves acompanhadas individualmente por tipo
+	 * @param sweepIntervalMillis intervalo, em milissegundos, entre as varreduras das chaves ociosas; {@code 0} desliga a varredura
+	 * @param trustedProxies endereços ou faixas CIDR dos proxies reversos cujo {@code X-Forwarded-For} é aceito
+	 * @param authMetrics as métricas em que as recusas e as chaves acompanhadas são registradas
+	 */
+	public LoginThrottle(@Value("${login.throttle.enabled:true}") boolean enabled,
+						 @Value("${login.throttle.ip.per-minute:60}") int clientPerMinute,
+						 @Value("${login.throttle.ip.burst:20}") int clientBurst,
+						 @Value("${login.throttle.username.per-minute:10}") int usernamePerMinute,
+						 @Value("${login.throttle.username.burst:5}") int usernameBurst,
+						 @Value("${login.throttle.max-keys:100000}") int maxKeys,
+						 @Value("${login.throttle.sweep-interval:60000}") long sweepIntervalMillis,
+						 @Value("${login.throttle.trusted-proxies:}") String[] trustedProxies,
+						 AuthMetrics authMetrics) {
+		this.enabled = enabled;
+		this.clients = new Limiter(clientPerMinute, clientBurst, maxKeys);
+		this.usernames = new Limiter(usernamePerMinute, usernameBurst, maxKeys);
+		this.trustedProxies = Arrays.stream(trustedProxies)
+				.map(String::trim)
+				.filter(proxy -> !proxy.isEmpty())
+				.map(IpAddressMatcher::new)
+				.toList();
+		if (enabled && sweepIntervalMillis > 0) {
+			sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("login-throttle-sweeper").daemon().factory());
+			sweeper.scheduleWithFixedDelay(this::evictIdle, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+		} else {
+			sweeper = null;
+		}
+		registerMetrics(authMetrics, "client", clients);
+		registerMetrics(authMetrics, "username", usernames);
+	}
+
+	private void registerMetrics(AuthMetrics authMetrics, String key, Limiter limiter) {
+		authMetrics.registerCounter("bws.auth.login.throttle.rejected", "Tentativas de login recusadas pelo limite",
+				limiter, l -> l.rejected.sum(), "key", key);
+		authMetrics.registerGauge("bws.auth.login.throttle.tracked", "Chaves acompanhadas pelo limite de tentativas de login",
+				limiter, l -> l.buckets.size(), "key", key);
+	}
+
+	/**
+	 * Identifica o cliente de uma tentativa de login. Se a conexão vier de um proxy confiável, o cliente é o último endereço
+	 * do {@code X-Forwarded-For} que não seja de um proxy confiável; caso contrário, é o próprio endereço da conexão.
+	 *
+	 * @param remoteAddress o endereço da conexão
+	 * @param forwardedFor o valor do header {@code X-Forwarded-For}, ou {@code null}
+	 * @return o endereço usado como chave do limite por cliente
+	 */
+	public String clientAddress(String remoteAddress, String forwardedFor) {
+		if (forwardedFor == null || !isTrustedProxy(remoteAddress)) {
+			return remoteAddress;
+		}
+		String client = remoteAddress;
+		String[] hops = forwardedFor.split(",");
+		for (int i = hops.length - 1; i >= 0; i--) {
+			String hop = hops[i].trim();
+			if (hop.isEmpty()) {
+				break;
+			}
+			client = hop;
+			if (!isTrustedProxy(hop)) {
+				break;
+			}
+		}
+		return client;
+	}
+
+	private boolean isTrustedProxy(String address) {
+		if (address == null || trustedProxies.isEmpty()) {
+			return false;
+		}
+		for (IpAddressMatcher proxy : trustedProxies) {
+			try {
+				if (proxy.matches(address)) {
+					return true;
+				}
+			} catch (IllegalArgumentException e) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Registra uma tentativa de login do endereço informado.
+	 *
+	 * @param clientAddress o endereço do cliente, obtido com {@link #clientAddress(String, String)}
+	 * @throws LoginRejectedException se o limite do endereço tiver sido atingido
+	 */
+	public void checkClient(String clientAddress) {
+		check(clients, clientAddress);
+	}
+
+	/**
+	 * Registra uma tentativa de login para o nome de usuário informado. Deve ser chamado antes da verificação da senha.
+	 *
+	 * @param username o nome de usuário
+	 * @throws LoginRejectedException se o limite do nome de usuário tiver sido atingido
+	 */
+	public void checkUsername(String username) {
+		check(usernames, username);
+	}
+
+	private void check(Limiter limiter, String key) {
+		if (!enabled || key == null) {
+			return;
+		}
+		long waitNanos = limiter.tryAcquire(key, System.nanoTime());
+		if (waitNanos > 0) {
+			long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+			throw new LoginRejectedException("Muitas tentativas de login", HttpStatus.TOO_MANY_REQUESTS.value(), retryAfter);
+		}
+	}
+
+	/**
+	 * Descarta as chaves ociosas, pois equivalem a chaves nunca vistas. Executado pela thread de varredura.
+	 */
+	void evictIdle() {
+		long now = System.nanoTime();
+		clients.evictIdle(now);
+		usernames.evictIdle(now);
+	}
+
+	public long getRejectedClientCount() {
+		return clients.rejected.sum();
+	}
+
+	public long getRejectedUsernameCount() {
+		return usernames.rejected.sum();
+	}
+
+	public int getTrackedClientCount() {
+		return clients.buckets.size();
+	}
+
+	public int getTrackedUsernameCount() {
+		return usernames.buckets.size();
+	}
+
+	@PreDestroy
+	public void close() {
+		if (sweeper != null) {
+			sweeper.shutdownNow();
+		}
+	}
+
+	/**
+	 * Conjunto de token buckets de um tipo de chave.
+	 */
+	private static final class Limiter {
+		private static final int STRIPES = 4096;
+
+		private final long interval;
+		private final long tolerance;
+		private final int maxKeys;
+		private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+		private final AtomicLong[] stripes = new AtomicLong[STRIPES];
+		private final LongAdder rejected = new LongAdder();
+
+		private Limiter(int perMinute, int burst, int maxKeys) {
+			this.interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+			this.tolerance = interval * (Math.max(1, burst) - 1);
+			this.maxKeys = maxKeys;
+			for (int i = 0; i < STRIPES; i++) {
+				stripes[i] = new AtomicLong(Long.MIN_VALUE);
+			}
+		}
+
+		/**
+		 * @return zero se a tentativa foi aceita, ou o tempo em nanossegundos até a próxima tentativa ser aceita
+		 */
+		private long tryAcquire(String key, long now) {
+			AtomicLong bucket = buckets.get(key);
+			if (bucket == null) {
+				bucket = buckets.size() < maxKeys
+						? buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE))
+						: stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+			}
+			return tryAcquire(bucket, now);
+		}
+
+		private long tryAcquire(AtomicLong bucket, long now) {
+			while (true) {
+				long theoreticalArrival = bucket.get();
+				long next = Math.max(theoreticalArrival, now) + interval;
+				long excess = next - now - interval - tolerance;
+				if (excess > 0) {
+					rejected.increment();
+					return excess;
+				}
+				if (bucket.compareAndSet(theoreticalArrival, next)) {
+					return 0;
+				}
+			}
+		}
+
+		/**
+		 * Remove as chaves cujo bucket já está cheio, pois equivalem a uma chave nunca vista.
+		 */
+		private void evictIdle(long now) {
+			buckets.values().removeIf(bucket -> {
+				long theoreticalArrival = bucket.get();
+				return theoreticalArrival == Long.MIN_VALUE || theoreticalArrival - now <= 0;
+			});
+		}
+	}
+}
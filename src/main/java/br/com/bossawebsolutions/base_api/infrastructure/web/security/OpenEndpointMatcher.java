@@ -0,0 +1,98 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link RequestMatcher} dos endpoints de {@code open.endpoints.list}, montado uma única vez na inicialização.
+ *
+ * Caminhos sem curingas ficam em um índice de busca exata e padrões terminados em {@code /**} em uma lista de
+ * prefixos, de modo que a maioria das requisições é resolvida sem avaliar padrões. Os demais padrões
+ * (por exemplo, {@code /usuarios/{id}/foto}) são compilados como {@link PathPattern} e avaliados por último.
+ *
+ * O resultado é o mesmo do {@link PathPattern} de cada entrada: {@code /a/**} também libera {@code /a}, e a barra
+ * final não é ignorada ({@code /login} não libera {@code /login/}). O caminho avaliado é o já decodificado pelo
+ * container, o mesmo usado no despacho da requisição, e não é decodificado outra vez.
+ */
+public class OpenEndpointMatcher implements RequestMatcher {
+
+	private static final PathContainer.Options DECODED_PATH = PathContainer.Options.create('/', false);
+
+	private final Set<String> exactPaths = new HashSet<>();
+	private final List<String> prefixes = new ArrayList<>();
+	private final List<PathPattern> patterns = new ArrayList<>();
+
+	/**
+	 * @param endpoints os caminhos e padrões liberados, no formato de {@code open.endpoints.list}
+	 */
+	public OpenEndpointMatcher(List<String> endpoints) {
+		for (String endpoint : endpoints) {
+			String path = endpoint.trim();
+			if (path.isEmpty()) {
+				continue;
+			}
+			if (!hasWildcard(path)) {
+				exactPaths.add(path);
+			} else if (path.endsWith("/**") && !hasWildcard(path.substring(0, path.length() - 3))) {
+				String prefix = path.substring(0, path.length() - 3);
+				exactPaths.add(prefix.isEmpty() ? "/" : prefix);
+				prefixes.add(prefix + "/");
+			} else {
+				patterns.add(PathPatternParser.defaultInstance.parse(path));
+			}
+		}
+	}
+
+	@Override
+	public boolean matches(HttpServletRequest request) {
+		return matches(requestPath(request));
+	}
+
+	/**
+	 * @param path o caminho da requisição, decodificado e sem o context path
+	 * @return {@code true} se o caminho for um endpoint liberado
+	 */
+	public boolean matches(String path) {
+		if (exactPaths.contains(path)) {
+			return true;
+		}
+		for (String prefix : prefixes) {
+			if (path.startsWith(prefix)) {
+				return true;
+			}
+		}
+		if (!patterns.isEmpty()) {
+			PathContainer pathContainer = PathContainer.parsePath(path, DECODED_PATH);
+			for (PathPattern pattern : patterns) {
+				if (pattern.matches(pathContainer)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public boolean isEmpty() {
+		return exactPaths.isEmpty() && patterns.isEmpty();
+	}
+
+	private static boolean hasWildcard(String path) {
+		return path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('{') >= 0;
+	}
+
+	/**
+	 * Mesmo caminho avaliado pelos matchers do Spring Security: o servlet path seguido do path info.
+	 */
+	private static String requestPath(HttpServletRequest request) {
+		String pathInfo = request.getPathInfo();
+		return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+	}
+}
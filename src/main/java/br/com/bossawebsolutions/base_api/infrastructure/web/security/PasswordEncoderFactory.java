@@ -0,0 +1,224 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Cria o {@link PasswordEncoder} da aplicação: um {@link DelegatingPasswordEncoder} que identifica o algoritmo pelo prefixo
+ * do hash ({@code {bcrypt}}, {@code {argon2}}, {@code {pbkdf2}}) e gera novos hashes com o algoritmo configurado.
+ * Hashes sem prefixo são tratados como BCrypt, formato utilizado pelas versões anteriores da API.
+ *
+ * Com {@code password.encoder.calibrate=true} (desligado por padrão), o custo do algoritmo é calibrado na inicialização para que um hash leve aproximadamente o tempo alvo
+ * configurado na máquina atual, sem nunca ficar abaixo dos mínimos recomendados. Com
+ * {@code password.encoder.calibrate-in-background=true}, a calibração não atrasa a inicialização: os hashes usam o
+ * custo mínimo configurado até a aplicação ficar pronta, e o custo calibrado passa a valer assim que a calibração,
+ * executada em segundo plano, termina. A verificação de senhas não é afetada, pois usa o custo gravado em cada hash.
+ */
+@Component
+public class PasswordEncoderFactory {
+	private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderFactory.class);
+
+	private static final String BCRYPT = "bcrypt";
+	private static final String ARGON2 = "argon2";
+	private static final String PBKDF2 = "pbkdf2";
+	private static final String CALIBRATION_PASSWORD = "calibration-password";
+	private static final int MAX_BCRYPT_STRENGTH = 16;
+	private static final int MAX_ARGON2_ITERATIONS = 32;
+	private static final int MAX_PBKDF2_ITERATIONS = 10_000_000;
+
+	private final AuthMetrics authMetrics;
+
+	@Value("${password.encoder.algorithm:bcrypt}")
+	private String algorithm;
+
+	@Value("${password.encoder.calibrate:false}")
+	private boolean calibrate;
+
+	@Value("${password.encoder.calibrate-in-background:false}")
+	private boolean calibrateInBackground;
+
+	@Value("${password.encoder.target-latency-ms:250}")
+	private long targetLatencyMs;
+
+	@Value("${password.encoder.upgrade-on-login:false}")
+	private boolean upgradeOnLogin;
+
+	@Value("${password.encoder.bcrypt.strength:10}")
+	private int bcryptStrength;
+
+	@Value("${password.encoder.pbkdf2.iterations:310000}")
+	private int pbkdf2Iterations;
+
+	@Value("${password.encoder.argon2.iterations:2}")
+	private int argon2Iterations;
+
+	@Value("${password.encoder.argon2.memory:19456}")
+	private int argon2Memory;
+
+	private volatile Runnable pendingCalibration;
+
+	/**
+	 * @param authMetrics as métricas em que são registradas as durações de geração e de comparação de hashes
+	 */
+	public PasswordEncoderFactory(AuthMetrics authMetrics) {
+		this.authMetrics = authMetrics;
+	}
+
+	/**
+	 * @return o {@link PasswordEncoder} configurado, com o custo calibrado se habilitado.
+	 */
+	public PasswordEncoder create() {
+		String idForEncode = algorithm.toLowerCase();
+		boolean argon2Available = ClassUtils.isPresent("org.bouncycastle.crypto.params.Argon2Parameters", getClass().getClassLoader());
+		if (ARGON2.equals(idForEncode) && !argon2Available) {
+			throw new IllegalStateException("password.encoder.algorithm=argon2 exige org.bouncycastle:bcprov-jdk18on no classpath");
+		}
+
+		UpgradeAwarePasswordEncoder encoder = new UpgradeAwarePasswordEncoder(
+				delegating(idForEncode, argon2Available, calibrate && !calibrateInBackground), upgradeOnLogin, authMetrics);
+		if (calibrate && calibrateInBackground) {
+			pendingCalibration = () -> encoder.setDelegate(delegating(idForEncode, argon2Available, true));
+		}
+		return encoder;
+	}
+
+	/**
+	 * Executa em segundo plano a calibração adiada por {@code password.encoder.calibrate-in-background}, depois que a
+	 * aplicação fica pronta, para que a medição não dispute CPU com a inicialização.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	void calibrateAfterStartup() {
+		Runnable calibration = pendingCalibration;
+		if (calibration != null) {
+			pendingCalibration = null;
+			Thread.ofPlatform().daemon().name("password-encoder-calibration").start(calibration);
+		}
+	}
+
+	private DelegatingPasswordEncoder delegating(String idForEncode, boolean argon2Available, boolean calibrated) {
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put(BCRYPT, BCRYPT.equals(idForEncode) && calibrated
+				? calibrate(BCRYPT, bcryptStrength, MAX_BCRYPT_STRENGTH, true, BCryptPasswordEncoder::new)
+				: new BCryptPasswordEncoder(bcryptStrength));
+		encoders.put(PBKDF2, PBKDF2.equals(idForEncode) && calibrated
+				? calibrate(PBKDF2, pbkdf2Iterations, MAX_PBKDF2_ITERATIONS, false, this::pbkdf2)
+				: pbkdf2(pbkdf2Iterations));
+		if (argon2Available) {
+			encoders.put(ARGON2, ARGON2.equals(idForEncode) && calibrated
+					? calibrate(ARGON2, argon2Iterations, MAX_ARGON2_ITERATIONS, false, this::argon2)
+					: argon2(argon2Iterations));
+		}
+		if (!encoders.containsKey(idForEncode)) {
+			throw new IllegalStateException("password.encoder.algorithm não suportado: " + algorithm);
+		}
+
+		DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+		delegating.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+		return delegating;
+	}
+
+	private PasswordEncoder pbkdf2(int iterations) {
+		return new Pbkdf2PasswordEncoder("", 16, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+	}
+
+	private PasswordEncoder argon2(int iterations) {
+		return new Argon2PasswordEncoder(16, 32, 1, argon2Memory, iterations);
+	}
+
+	/**
+	 * Procura o maior custo cujo hash não ultrapassa o tempo alvo, partindo do custo mínimo configurado.
+	 * No BCrypt o custo é exponencial (cada unidade dobra o tempo); nos demais, o tempo cresce linearmente com as iterações.
+	 */
+	private PasswordEncoder calibrate(String id, int minimumCost, int maximumCost, boolean exponential, IntFunction<PasswordEncoder> factory) {
+		long targetNanos = targetLatencyMs * 1_000_000L;
+		PasswordEncoder encoder = factory.apply(minimumCost);
+		encoder.encode(CALIBRATION_PASSWORD);
+		long elapsed = measure(encoder);
+
+		int cost = minimumCost;
+		if (exponential) {
+			while (cost < maximumCost && elapsed * 2 <= targetNanos) {
+				cost++;
+				encoder = factory.apply(cost);
+				elapsed = measure(encoder);
+			}
+		} else if (elapsed < targetNanos) {
+			cost = (int) Math.min(maximumCost, Math.max(minimumCost, (long) minimumCost * targetNanos / Math.max(1, elapsed)));
+			encoder = factory.apply(cost);
+			elapsed = measure(encoder);
+		}
+		logger.info("Custo de {} calibrado em {} ({} ms por hash, alvo {} ms)", id, cost, elapsed / 1_000_000, targetLatencyMs);
+		return encoder;
+	}
+
+	private static long measure(PasswordEncoder encoder) {
+		long start = System.nanoTime();
+		encoder.encode(CALIBRATION_PASSWORD);
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Controla se hashes em formato ou custo antigo devem ser regravados após um login bem-sucedido.
+	 * Fica desabilitado por padrão, pois sem um {@link br.com.bossawebsolutions.base_api.repository.AppUserRepository}
+	 * que implemente {@code updatePassword} o novo hash seria calculado a cada login sem nunca ser salvo.
+	 * Também registra nas {@link AuthMetrics} a duração de cada geração e comparação de hash.
+	 */
+	private static final class UpgradeAwarePasswordEncoder implements PasswordEncoder {
+		private volatile PasswordEncoder delegate;
+		private final boolean upgradeEnabled;
+		private final AuthMetrics authMetrics;
+
+		private UpgradeAwarePasswordEncoder(PasswordEncoder delegate, boolean upgradeEnabled, AuthMetrics authMetrics) {
+			this.delegate = delegate;
+			this.upgradeEnabled = upgradeEnabled;
+			this.authMetrics = authMetrics;
+		}
+
+		/**
+		 * Troca o codificador pelo calibrado em segundo plano.
+		 */
+		private void setDelegate(PasswordEncoder delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			long start = authMetrics.startTimer();
+			try {
+				return delegate.encode(rawPassword);
+			} finally {
+				authMetrics.record(AuthMetrics.Stage.PASSWORD_ENCODE, start);
+			}
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			long start = authMetrics.startTimer();
+			try {
+				return delegate.matches(rawPassword, encodedPassword);
+			} finally {
+				authMetrics.record(AuthMetrics.Stage.PASSWORD_MATCH, start);
+			}
+		}
+
+		@Override
+		public boolean upgradeEncoding(String encodedPassword) {
+			return upgradeEnabled && delegate.upgradeEncoding(encodedPassword);
+		}
+	}
+}
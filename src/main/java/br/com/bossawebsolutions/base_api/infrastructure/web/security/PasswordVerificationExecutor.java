@@ -0,0 +1,246 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor dedicado e limitado para a verificação de credenciais do login.
+ * A verificação de senha (BCrypt) consome CPU; executá-la em um pool do tamanho do número de núcleos, com fila limitada,
+ * impede que uma rajada de logins ocupe todas as threads do servidor. Com a fila cheia, o login é recusado imediatamente
+ * com {@link LoginRejectedException} (HTTP 429). Uma verificação que não termina em {@code login.executor.timeout}
+ * milissegundos, contados a partir da admissão, é cancelada e o login recebe HTTP 503, para que a requisição não fique
+ * presa a um {@link AuthenticationManager} ou repositório travado.
+ *
+ * No modo de threads virtuais ({@code login.executor.virtual-threads}, que por padrão segue
+ * {@code spring.threads.virtual.enabled}), a verificação é feita na própria thread virtual da requisição, sem troca de
+ * thread: semáforos limitam as verificações simultâneas e as que aguardam, com as mesmas regras de recusa.
+ * Uma thread virtual bloqueada no semáforo ou na consulta ao repositório libera a thread portadora. Nesse modo, o
+ * {@code login.executor.timeout} limita a espera por uma vaga; a verificação em si não é interrompida.
+ *
+ * Para dimensionar o pool, as verificações aguardando e em execução são registradas nas {@link AuthMetrics} como
+ * {@code bws.auth.login.executor.queued} e {@code bws.auth.login.executor.active}, as concluídas como
+ * {@code bws.auth.login.executor.completed} e as recusas como {@code bws.auth.login.executor.rejected}, com a etiqueta
+ * {@code reason} ({@code queue_full} ou {@code timeout}).
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+	private final ThreadPoolExecutor executor;
+	private final Semaphore admitted;
+	private final Semaphore running;
+	private final int poolSize;
+	private final long retryAfterSeconds;
+	private final long timeoutMillis;
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+
+	/**
+	 * @param threads número de threads de verificação; zero ou negativo usa o número de núcleos disponíveis
+	 * @param queueCapacity número máximo de verificações aguardando uma thread livre
+	 * @param retryAfterSeconds valor do header {@code Retry-After} enviado quando o login é recusado
+	 * @param virtualThreads verifica na thread da requisição, limitada por semáforos, em vez de usar um pool dedicado
+	 * @param timeoutMillis tempo máximo, em milissegundos, de espera por uma verificação, incluindo o tempo na fila
+	 * @param authMetrics as métricas em que a fila, as verificações e as recusas são registradas
+	 */
+	public PasswordVerificationExecutor(@Value("${login.executor.threads:0}") int threads,
+										@Value("${login.executor.queue-capacity:64}") int queueCapacity,
+										@Value("${login.executor.retry-after:1}") long retryAfterSeconds,
+										@Value("${login.executor.virtual-threads:${spring.threads.virtual.enabled:false}}") boolean virtualThreads,
+										@Value("${login.executor.timeout:10000}") long timeoutMillis,
+										AuthMetrics authMetrics) {
+		if (timeoutMillis <= 0) {
+			throw new IllegalArgumentException("login.executor.timeout deve ser positivo");
+		}
+		this.poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		if (virtualThreads) {
+			this.executor = null;
+			this.admitted = new Semaphore(poolSize + queueCapacity);
+			this.running = new Semaphore(poolSize);
+		} else {
+			this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(queueCapacity), new LoginThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+			this.admitted = null;
+			this.running = null;
+		}
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.timeoutMillis = timeoutMillis;
+		registerMetrics(authMetrics);
+	}
+
+	private void registerMetrics(AuthMetrics authMetrics) {
+		authMetrics.registerGauge("bws.auth.login.executor.queued", "Verificações de credenciais aguardando uma vaga",
+				this, PasswordVerificationExecutor::getQueueDepth);
+		authMetrics.registerGauge("bws.auth.login.executor.active", "Verificações de credenciais em execução",
+				this, PasswordVerificationExecutor::getActiveCount);
+		authMetrics.registerCounter("bws.auth.login.executor.completed", "Verificações de credenciais concluídas",
+				this, PasswordVerificationExecutor::getCompletedCount);
+		authMetrics.registerCounter("bws.auth.login.executor.rejected", "Logins recusados pelo executor de verificação",
+				this, PasswordVerificationExecutor::getRejectedCount, "reason", "queue_full");
+		authMetrics.registerCounter("bws.auth.login.executor.rejected", "Logins recusados pelo executor de verificação",
+				this, PasswordVerificationExecutor::getTimedOutCount, "reason", "timeout");
+	}
+
+	/**
+	 * Executa a autenticação no executor dedicado e aguarda o resultado.
+	 *
+	 * @param authenticationManager o {@link AuthenticationManager} que verifica as credenciais
+	 * @param authentication as credenciais informadas
+	 * @return a autenticação validada
+	 * @throws LoginRejectedException se a fila de verificações estiver cheia (HTTP 429) ou se a verificação exceder o
+	 * tempo máximo (HTTP 503)
+	 * @throws AuthenticationException se as credenciais forem inválidas
+	 */
+	public Authentication authenticate(AuthenticationManager authenticationManager, Authentication authentication) {
+		if (executor == null) {
+			return authenticateOnCaller(authenticationManager, authentication);
+		}
+		Future<Authentication> result;
+		try {
+			result = executor.submit(() -> authenticationManager.authenticate(authentication));
+		} catch (RejectedExecutionException e) {
+			throw tooManyLogins();
+		}
+		try {
+			return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			result.cancel(true);
+			throw timedOut();
+		} catch (InterruptedException e) {
+			result.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new AuthenticationServiceException("Verificação de credenciais interrompida", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof AuthenticationException authenticationException) {
+				throw authenticationException;
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new AuthenticationServiceException("Erro ao verificar as credenciais", cause);
+		}
+	}
+
+	/**
+	 * Verifica as credenciais na thread atual, aguardando uma vaga se o limite de verificações simultâneas foi atingido.
+	 */
+	private Authentication authenticateOnCaller(AuthenticationManager authenticationManager, Authentication authentication) {
+		if (!admitted.tryAcquire()) {
+			throw tooManyLogins();
+		}
+		try {
+			waiting.incrementAndGet();
+			try {
+				if (!running.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+					throw timedOut();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AuthenticationServiceException("Verificação de credenciais interrompida", e);
+			} finally {
+				waiting.decrementAndGet();
+			}
+			try {
+				return authenticationManager.authenticate(authentication);
+			} finally {
+				running.release();
+				completed.increment();
+			}
+		} finally {
+			admitted.release();
+		}
+	}
+
+	private LoginRejectedException tooManyLogins() {
+		rejected.increment();
+		return new LoginRejectedException("Muitas tentativas de login em andamento", HttpStatus.TOO_MANY_REQUESTS.value(), retryAfterSeconds);
+	}
+
+	private LoginRejectedException timedOut() {
+		timedOut.increment();
+		return new LoginRejectedException("Verificação de credenciais excedeu " + timeoutMillis + " ms",
+				HttpStatus.SERVICE_UNAVAILABLE.value(), retryAfterSeconds);
+	}
+
+	/**
+	 * @return o número de verificações aguardando na fila
+	 */
+	public int getQueueDepth() {
+		return executor != null ? executor.getQueue().size() : waiting.get();
+	}
+
+	/**
+	 * @return o número de verificações em execução
+	 */
+	public int getActiveCount() {
+		return executor != null ? executor.getActiveCount() : poolSize - running.availablePermits();
+	}
+
+	/**
+	 * @return o número de logins recusados por fila cheia
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * @return o número de logins recusados por exceder {@code login.executor.timeout}
+	 */
+	public long getTimedOutCount() {
+		return timedOut.sum();
+	}
+
+	public long getCompletedCount() {
+		return executor != null ? executor.getCompletedTaskCount() : completed.sum();
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	/**
+	 * @return {@code true} se as verificações são feitas na thread virtual da requisição
+	 */
+	public boolean isVirtualThreadMode() {
+		return executor == null;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	private static final class LoginThreadFactory implements ThreadFactory {
+		private final AtomicInteger sequence = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "login-verification-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
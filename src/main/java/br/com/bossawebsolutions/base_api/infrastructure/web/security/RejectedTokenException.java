@@ -0,0 +1,25 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Token recusado pela aplicação (revogado, de tipo incorreto ou recusado pelo {@link FastHs512Verifier}), com o motivo da recusa.
+ */
+public class RejectedTokenException extends JwtException {
+
+	private final AuthMetrics.TokenFailure reason;
+
+	/**
+	 * @param message a mensagem de erro
+	 * @param reason o motivo da recusa
+	 */
+	public RejectedTokenException(String message, AuthMetrics.TokenFailure reason) {
+		super(message);
+		this.reason = reason;
+	}
+
+	public AuthMetrics.TokenFailure getReason() {
+		return reason;
+	}
+}
@@ -0,0 +1,86 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converte papéis em listas imutáveis de {@link GrantedAuthority} compartilhadas.
+ * Usuários com os mesmos papéis recebem a mesma instância, evitando recriar as authorities a cada requisição.
+ */
+public final class RoleAuthorities {
+
+	private static final int MAX_INTERNED = 1024;
+	private static final RoleAuthorities EMPTY = new RoleAuthorities(Collections.emptySet(), AuthorityUtils.NO_AUTHORITIES);
+	private static final ConcurrentHashMap<String, RoleAuthorities> INTERNED = new ConcurrentHashMap<>();
+
+	private final Set<String> roles;
+	private final List<GrantedAuthority> authorities;
+
+	private RoleAuthorities(Set<String> roles, List<GrantedAuthority> authorities) {
+		this.roles = roles;
+		this.authorities = authorities;
+	}
+
+	/**
+	 * @param rolesClaim os papéis separados por vírgula, como gravados na claim {@code roles}
+	 * @return as authorities compartilhadas correspondentes
+	 */
+	public static RoleAuthorities fromClaim(String rolesClaim) {
+		if (rolesClaim == null || rolesClaim.isBlank()) {
+			return EMPTY;
+		}
+		RoleAuthorities interned = INTERNED.get(rolesClaim);
+		if (interned != null) {
+			return interned;
+		}
+		Set<String> roles = new LinkedHashSet<>();
+		for (String role : rolesClaim.split(",")) {
+			if (!role.isBlank()) {
+				roles.add(role.trim());
+			}
+		}
+		return intern(rolesClaim, roles);
+	}
+
+	/**
+	 * @param roles os papéis do usuário
+	 * @return as authorities compartilhadas correspondentes
+	 */
+	public static RoleAuthorities fromRoles(Collection<String> roles) {
+		if (roles == null || roles.isEmpty()) {
+			return EMPTY;
+		}
+		Set<String> sorted = new TreeSet<>(roles);
+		String key = String.join(",", sorted);
+		RoleAuthorities interned = INTERNED.get(key);
+		return interned != null ? interned : intern(key, sorted);
+	}
+
+	private static RoleAuthorities intern(String key, Set<String> roles) {
+		RoleAuthorities created = new RoleAuthorities(
+				Collections.unmodifiableSet(new LinkedHashSet<>(roles)),
+				Collections.unmodifiableList(new ArrayList<>(AuthorityUtils.createAuthorityList(roles.toArray(new String[0])))));
+		if (INTERNED.size() >= MAX_INTERNED) {
+			return created;
+		}
+		RoleAuthorities previous = INTERNED.putIfAbsent(key, created);
+		return previous != null ? previous : created;
+	}
+
+	public Set<String> getRoles() {
+		return roles;
+	}
+
+	public List<GrantedAuthority> getAuthorities() {
+		return authorities;
+	}
+}
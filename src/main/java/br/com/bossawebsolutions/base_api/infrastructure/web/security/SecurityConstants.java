@@ -3,27 +3,88 @@ package br.com.bossawebsolutions.base_api.infrastructure.web.security;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.Collection;
+import java.net.URI;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Classe de constantes de segurança para a aplicação.
- * Contém configurações relacionadas à chave secreta para assinatura de tokens JWT, tempo de expiração e cabeçalhos de autorização.
+ * Contém configurações relacionadas à chave secreta para assinatura de tokens JWT, tempos de expiração, cookies e cabeçalhos de autorização.
+ *
+ * Com {@code jwt.signing.algorithm=ES256} ou {@code EdDSA}, os tokens são assinados com uma chave privada e a chave
+ * pública é publicada pelo {@link JwksController}; os segredos HMAC configurados continuam aceitos na validação.
+ * Com {@code jwt.jwks.uri}, tokens de outro emissor são validados pelas chaves públicas do seu JWKS.
  */
 @Component
 public class SecurityConstants {
+	private static final Logger logger = LoggerFactory.getLogger(SecurityConstants.class);
 
 	private final Environment environment;
 
 	@Value("${secret.key}")
 	private String secretKeyEnv;
 
-	private static SecretKey SECRET_KEY;
+	@Value("${secret.keys:}")
+	private List<String> secretKeysEnv;
+
+	@Value("${secret.active-key-id:}")
+	private String activeKeyIdEnv;
+
+	@Value("${jwt.signing.algorithm:HS512}")
+	private String signingAlgorithmEnv;
+
+	@Value("${jwt.signing.key-id:}")
+	private String signingKeyIdEnv;
+
+	@Value("${jwt.signing.private-key:}")
+	private String signingPrivateKeyEnv;
+
+	@Value("${jwt.signing.public-key:}")
+	private String signingPublicKeyEnv;
+
+	@Value("${jwt.signing.public-keys:}")
+	private List<String> signingPublicKeysEnv;
+
+	@Value("${jwt.jwks.uri:}")
+	private String jwksUriEnv;
+
+	@Value("${jwt.jwks.ttl:300000}")
+	private long jwksTtlEnv;
+
+	@Value("${jwt.jwks.refresh-interval:30000}")
+	private long jwksRefreshIntervalEnv;
+
+	@Value("${jwt.access-token.expiration:900000}")
+	private long accessTokenExpirationEnv;
+
+	@Value("${jwt.refresh-token.expiration:604800000}")
+	private long refreshTokenExpirationEnv;
+
+	private static volatile SigningKeyRing KEY_RING;
+	private static volatile long ACCESS_TOKEN_EXPIRATION = 900000; // 15 minutos
+	private static volatile long REFRESH_TOKEN_EXPIRATION = 604800000; // 7 dias
+	public static final String DEFAULT_KEY_ID = "default";
+	/**
+	 * @deprecated a validade do token de acesso passou a ser configurável; use {@link #getAccessTokenExpiration()}.
+	 */
+	@Deprecated
 	public static final long EXPIRATION_TIME = 86400000; // 1 dia
+	public static final String ACCESS_TOKEN_COOKIE = "access_token";
+	public static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+	public static final String REFRESH_URL = "/refresh";
+	public static final String JWKS_URL = "/.well-known/jwks.json";
 	public static final String AUTHORIZATION_HEADER = "Authorization";
 	public static final String TOKEN_PREFIX = "Bearer ";
 
@@ -34,12 +95,92 @@ public class SecurityConstants {
 
 	@PostConstruct
 	public void init() {
-		if (secretKeyEnv.contains("INVALID")) {
+		String algorithm = AsymmetricSigningKeys.normalize(signingAlgorithmEnv);
+		boolean asymmetric = !AsymmetricSigningKeys.HS512.equals(algorithm);
+		JwksKeyLocator remoteKeys = jwksUriEnv.isBlank() ? null
+				: new JwksKeyLocator(URI.create(jwksUriEnv.trim()), jwksTtlEnv, jwksRefreshIntervalEnv);
+
+		Map<String, Key> keys = new LinkedHashMap<>(secretKeys(secretKeysEnv, "secret.keys"));
+		boolean placeholderKey = secretKeyEnv.contains("INVALID");
+		if (keys.isEmpty()) {
+			if (placeholderKey && !isTestOrBuildEnvironment()) {
+				if (!asymmetric && remoteKeys == null) {
+					throw new IllegalStateException("SECRET_KEY must be defined in the environment for development or production.");
+				}
+			} else {
+				keys.put(DEFAULT_KEY_ID, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKeyEnv)));
+			}
+		} else if (!placeholderKey) {
+			keys.putIfAbsent(DEFAULT_KEY_ID, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKeyEnv)));
+		}
+
+		String activeKeyId = null;
+		Key signingKey = null;
+		if (asymmetric) {
+			KeyPair keyPair = signingKeyPair(algorithm);
+			activeKeyId = !signingKeyIdEnv.isBlank() ? signingKeyIdEnv.trim() : AsymmetricSigningKeys.thumbprintKeyId(keyPair.getPublic());
+			keys.put(activeKeyId, keyPair.getPublic());
+			signingKey = keyPair.getPrivate();
+		} else if (!keys.isEmpty()) {
+			activeKeyId = !activeKeyIdEnv.isBlank() ? activeKeyIdEnv : keys.keySet().iterator().next();
+			signingKey = keys.get(activeKeyId);
+		}
+		for (String entry : signingPublicKeysEnv) {
+			int separator = entry.indexOf(':');
+			if (separator <= 0) {
+				throw new IllegalStateException("jwt.signing.public-keys must use the format <kid>:<base64-x509-key>");
+			}
+			keys.putIfAbsent(entry.substring(0, separator).trim(), AsymmetricSigningKeys.publicKey(entry.substring(separator + 1)));
+		}
+		KEY_RING = new SigningKeyRing(activeKeyId, signingKey, keys, remoteKeys);
+		if (accessTokenExpirationEnv <= 0 || refreshTokenExpirationEnv <= 0) {
+			throw new IllegalStateException("jwt.access-token.expiration and jwt.refresh-token.expiration must be positive");
+		}
+		ACCESS_TOKEN_EXPIRATION = accessTokenExpirationEnv;
+		REFRESH_TOKEN_EXPIRATION = refreshTokenExpirationEnv;
+	}
+
+	/**
+	 * Lê o par de chaves configurado. Sem ele, nos perfis {@code test} e {@code build}, gera um par efêmero: os tokens
+	 * deixam de valer quando a aplicação reinicia e cada instância assina com uma chave diferente. Nos demais perfis, a
+	 * inicialização falha, como acontece com {@code SECRET_KEY}.
+	 */
+	private KeyPair signingKeyPair(String algorithm) {
+		if (signingPrivateKeyEnv.isBlank() != signingPublicKeyEnv.isBlank()) {
+			throw new IllegalStateException("jwt.signing.private-key and jwt.signing.public-key must be defined together");
+		}
+		if (signingPrivateKeyEnv.isBlank()) {
 			if (!isTestOrBuildEnvironment()) {
-				throw new IllegalStateException("SECRET_KEY must be defined in the environment for development or production.");
+				throw new IllegalStateException("jwt.signing.private-key must be defined in the environment for development or production with " + algorithm);
+			}
+			logger.debug("jwt.signing.private-key não definida: usando um par de chaves {} efêmero", algorithm);
+			return AsymmetricSigningKeys.generate(algorithm);
+		}
+		KeyPair keyPair = new KeyPair(AsymmetricSigningKeys.publicKey(signingPublicKeyEnv),
+				AsymmetricSigningKeys.privateKey(algorithm, signingPrivateKeyEnv));
+		if (!algorithm.equals(AsymmetricSigningKeys.algorithm(keyPair.getPublic()))) {
+			throw new IllegalStateException("jwt.signing.public-key does not match jwt.signing.algorithm=" + algorithm);
+		}
+		return keyPair;
+	}
+
+	/**
+	 * Lê segredos HMAC no formato {@code <kid>:<chave-em-base64>}.
+	 *
+	 * @param entries as entradas configuradas
+	 * @param property o nome da propriedade, usado na mensagem de erro
+	 * @return os segredos indexados pelo {@code kid}, na ordem configurada
+	 */
+	static Map<String, SecretKey> secretKeys(Collection<String> entries, String property) {
+		Map<String, SecretKey> keys = new LinkedHashMap<>();
+		for (String entry : entries) {
+			int separator = entry.indexOf(':');
+			if (separator <= 0) {
+				throw new IllegalStateException(property + " must use the format <kid>:<base64-key>");
 			}
+			keys.put(entry.substring(0, separator).trim(), Keys.hmacShaKeyFor(Decoders.BASE64.decode(entry.substring(separator + 1).trim())));
 		}
-		SECRET_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKeyEnv));
+		return keys;
 	}
 
 	private boolean isTestOrBuildEnvironment() {
@@ -52,7 +193,60 @@ public class SecurityConstants {
 		return false;
 	}
 
+	/**
+	 * @return o segredo HMAC ativo utilizado para assinar novos tokens, ou {@code null} com assinatura assimétrica.
+	 */
 	public static SecretKey getSecretKey() {
-		return SECRET_KEY;
+		return KEY_RING.getActiveKey();
+	}
+
+	/**
+	 * @return a validade, em milissegundos, dos tokens de acesso.
+	 */
+	public static long getAccessTokenExpiration() {
+		return ACCESS_TOKEN_EXPIRATION;
+	}
+
+	/**
+	 * @return a validade, em milissegundos, dos tokens de renovação.
+	 */
+	public static long getRefreshTokenExpiration() {
+		return REFRESH_TOKEN_EXPIRATION;
+	}
+
+	/**
+	 * @return o conjunto de chaves atual, utilizado na assinatura e na validação dos tokens.
+	 */
+	public static SigningKeyRing getKeyRing() {
+		return KEY_RING;
+	}
+
+	/**
+	 * Substitui o conjunto de chaves em tempo de execução, permitindo a rotação de segredos sem reiniciar a aplicação.
+	 * Requisições em andamento continuam usando o conjunto anterior; as próximas passam a usar o novo.
+	 *
+	 * @param keyRing o novo conjunto de chaves
+	 */
+	public static void setKeyRing(SigningKeyRing keyRing) {
+		KEY_RING = keyRing;
+	}
+
+	/**
+	 * Extrai o token do valor de um cookie, descartando um eventual prefixo "Bearer ". Compartilhado pelos filtros
+	 * servlet e reativo, para que os dois aceitem os mesmos cookies.
+	 *
+	 * @param value o valor do cookie, possivelmente {@code null}
+	 * @return o token, ou {@code null} sem cookie
+	 */
+	public static String cookieToken(String value) {
+		return value != null && value.startsWith(TOKEN_PREFIX) ? value.substring(TOKEN_PREFIX.length()) : value;
+	}
+
+	/**
+	 * @param header o valor do header {@value #AUTHORIZATION_HEADER}, possivelmente {@code null}
+	 * @return o token após o prefixo "Bearer ", ou {@code null} se o header não tiver esse prefixo
+	 */
+	public static String headerToken(String header) {
+		return header != null && header.startsWith(TOKEN_PREFIX) ? header.substring(TOKEN_PREFIX.length()) : null;
 	}
 }
@@ -0,0 +1,46 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+
+import java.util.List;
+
+/**
+ * Escreve na resposta servlet os cookies montados pelo {@link JwtTokenIssuer}.
+ */
+final class ServletTokenCookies {
+
+	private ServletTokenCookies() {
+	}
+
+	/**
+	 * Adiciona os cookies do token de acesso e do token de renovação, marcados como {@code Secure} quando a requisição chegou por HTTPS.
+	 */
+	static void addTokenCookies(JwtTokenIssuer tokenIssuer, HttpServletRequest request, HttpServletResponse response,
+			String accessToken, String refreshToken) {
+		addTokenCookies(tokenIssuer, request, response, accessToken, refreshToken, null);
+	}
+
+	/**
+	 * Adiciona os cookies dos tokens de um tenant, com a validade configurada para ele.
+	 */
+	static void addTokenCookies(JwtTokenIssuer tokenIssuer, HttpServletRequest request, HttpServletResponse response,
+			String accessToken, String refreshToken, Tenant tenant) {
+		write(response, tokenIssuer.tokenCookies(accessToken, refreshToken, "https".equals(request.getScheme()), tenant));
+	}
+
+	/**
+	 * Remove os cookies do token de acesso e do token de renovação.
+	 */
+	static void clearTokenCookies(JwtTokenIssuer tokenIssuer, HttpServletResponse response) {
+		write(response, tokenIssuer.clearedTokenCookies());
+	}
+
+	private static void write(HttpServletResponse response, List<ResponseCookie> cookies) {
+		for (ResponseCookie cookie : cookies) {
+			response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto imutável de chaves de assinatura identificadas pelo header {@code kid}.
+ * A chave ativa assina os novos tokens; as demais continuam aceitas na validação até serem removidas do conjunto.
+ * O {@link JwtParser} é construído uma única vez por conjunto e pode ser compartilhado entre threads; os pools de
+ * {@link javax.crypto.Mac} do {@link FastHs512Verifier} também pertencem ao conjunto e são descartados com ele.
+ *
+ * As chaves de validação podem ser segredos HMAC ({@code HS512}) ou chaves públicas ({@code ES256} ou {@code EdDSA});
+ * com assinatura assimétrica, a chave ativa é a chave privada correspondente à chave pública do {@code kid} ativo.
+ * Opcionalmente, {@code kid}s desconhecidos são procurados em um {@link JwksKeyLocator} remoto.
+ */
+public class SigningKeyRing {
+
+	private final String activeKeyId;
+	private final Key signingKey;
+	private final Map<String, Key> keys;
+	private final JwksKeyLocator remoteKeys;
+	private final JwtParser parser;
+	private final Map<SecretKey, FastHs512Verifier.MacPool> macPools = new ConcurrentHashMap<>();
+
+	/**
+	 * @param activeKeyId o identificador da chave utilizada para assinar novos tokens
+	 * @param keys as chaves aceitas na validação, indexadas pelo {@code kid}
+	 */
+	public SigningKeyRing(String activeKeyId, Map<String, SecretKey> keys) {
+		this(activeKeyId, keys.get(activeKeyId), keys, null);
+	}
+
+	/**
+	 * @param activeKeyId o identificador da chave utilizada para assinar novos tokens, ou {@code null} para um conjunto
+	 *                    que apenas valida tokens emitidos por outro serviço
+	 * @param signingKey o segredo HMAC ou a chave privada que assina os novos tokens
+	 * @param keys os segredos HMAC e as chaves públicas aceitos na validação, indexados pelo {@code kid}
+	 * @param remoteKeys o {@link JwksKeyLocator} consultado para {@code kid}s ausentes do conjunto, ou {@code null}
+	 */
+	public SigningKeyRing(String activeKeyId, Key signingKey, Map<String, ? extends Key> keys, JwksKeyLocator remoteKeys) {
+		if (activeKeyId == null && remoteKeys == null) {
+			throw new IllegalArgumentException("Chave ativa não informada");
+		}
+		if (activeKeyId != null && (!keys.containsKey(activeKeyId) || signingKey == null)) {
+			throw new IllegalArgumentException("Chave ativa não encontrada: " + activeKeyId);
+		}
+		if (signingKey != null && !(signingKey instanceof SecretKey) && !(signingKey instanceof PrivateKey)) {
+			throw new IllegalArgumentException("A chave ativa deve ser um segredo HMAC ou uma chave privada");
+		}
+		this.activeKeyId = activeKeyId;
+		this.signingKey = activeKeyId != null ? signingKey : null;
+		this.keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+		this.remoteKeys = remoteKeys;
+		this.parser = Jwts.parser()
+				.keyLocator(new LocatorAdapter<Key>() {
+					@Override
+					protected Key locate(JwsHeader header) {
+						return getVerificationKey(header.getKeyId());
+					}
+				})
+				.build();
+	}
+
+	/**
+	 * Cria um conjunto com uma única chave.
+	 *
+	 * @param keyId o identificador da chave
+	 * @param key a chave
+	 * @return o conjunto com a chave informada como ativa
+	 */
+	public static SigningKeyRing of(String keyId, SecretKey key) {
+		return new SigningKeyRing(keyId, Map.of(keyId, key));
+	}
+
+	public String getActiveKeyId() {
+		return activeKeyId;
+	}
+
+	/**
+	 * @return o segredo HMAC ativo, ou {@code null} se os tokens forem assinados com uma chave privada
+	 */
+	public SecretKey getActiveKey() {
+		return signingKey instanceof SecretKey secretKey ? secretKey : null;
+	}
+
+	/**
+	 * Assina o token com a chave ativa: {@code HS512} para segredos HMAC; para chaves privadas, o algoritmo
+	 * correspondente à curva ({@code ES256} para P-256, {@code EdDSA} para Ed25519).
+	 *
+	 * @param builder o token a ser assinado
+	 * @return o mesmo builder, com o {@code kid} ativo e a assinatura configurados
+	 * @throws IllegalStateException se o conjunto não possuir chave de assinatura
+	 */
+	public JwtBuilder sign(JwtBuilder builder) {
+		if (signingKey == null) {
+			throw new IllegalStateException("Nenhuma chave de assinatura configurada");
+		}
+		builder.header().keyId(activeKeyId);
+		if (signingKey instanceof SecretKey secretKey) {
+			return builder.signWith(secretKey, Jwts.SIG.HS512);
+		}
+		return builder.signWith((PrivateKey) signingKey);
+	}
+
+	/**
+	 * Obtém a chave de validação de um token. Tokens sem {@code kid}, emitidos antes da adoção do conjunto de chaves,
+	 * são validados com a chave ativa. {@code kid}s ausentes do conjunto são procurados no JWKS remoto, se configurado.
+	 *
+	 * @param keyId o {@code kid} do token, possivelmente {@code null}
+	 * @return o segredo HMAC ou a chave pública correspondente, ou {@code null} se o {@code kid} for desconhecido
+	 */
+	public Key getVerificationKey(String keyId) {
+		if (keyId == null) {
+			return activeKeyId != null ? keys.get(activeKeyId) : null;
+		}
+		Key key = keys.get(keyId);
+		if (key == null && remoteKeys != null) {
+			return remoteKeys.getKey(keyId);
+		}
+		return key;
+	}
+
+	public Set<String> getKeyIds() {
+		return keys.keySet();
+	}
+
+	/**
+	 * @return as chaves públicas do conjunto, publicadas no endpoint JWKS
+	 */
+	public Map<String, PublicKey> getPublicKeys() {
+		Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+		keys.forEach((keyId, key) -> {
+			if (key instanceof PublicKey publicKey) {
+				publicKeys.put(keyId, publicKey);
+			}
+		});
+		return publicKeys;
+	}
+
+	/**
+	 * @return o {@link JwksKeyLocator} remoto, ou {@code null} se não configurado
+	 */
+	public JwksKeyLocator getRemoteKeys() {
+		return remoteKeys;
+	}
+
+	/**
+	 * @return o {@link JwtParser} compartilhado que localiza a chave de cada token pelo {@code kid}
+	 */
+	public JwtParser getParser() {
+		return parser;
+	}
+
+	/**
+	 * @return os pools de {@link javax.crypto.Mac} do {@link FastHs512Verifier}, indexados pelo segredo do conjunto
+	 */
+	Map<SecretKey, FastHs512Verifier.MacPool> getMacPools() {
+		return macPools;
+	}
+}
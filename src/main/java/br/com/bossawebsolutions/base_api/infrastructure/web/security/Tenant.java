@@ -0,0 +1,84 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuração imutável de um tenant: as chaves que assinam e validam os seus tokens, as validades, as origens de CORS,
+ * os hosts que o identificam e o perfil de claims. O identificador do tenant é gravado no {@code iss} dos tokens.
+ *
+ * A rotação de chaves cria uma nova instância por {@link #withKeyRing(SigningKeyRing)}; quem já obteve o tenant segue
+ * usando o conjunto anterior até o fim da requisição.
+ */
+public final class Tenant {
+
+	private final String id;
+	private final SigningKeyRing keyRing;
+	private final long accessTokenExpiration;
+	private final long refreshTokenExpiration;
+	private final List<String> allowedOrigins;
+	private final Set<String> hosts;
+	private final JwtTokenIssuer.ClaimProfile claimProfile;
+
+	/**
+	 * @param id o identificador do tenant, gravado no {@code iss}
+	 * @param keyRing as chaves do tenant
+	 * @param accessTokenExpiration a validade, em milissegundos, dos tokens de acesso
+	 * @param refreshTokenExpiration a validade, em milissegundos, dos tokens de renovação
+	 * @param allowedOrigins as origens de CORS liberadas
+	 * @param hosts os hosts, em minúsculas, que identificam o tenant
+	 * @param claimProfile o perfil de claims dos tokens de acesso, ou {@code null} para o perfil da aplicação
+	 */
+	public Tenant(String id, SigningKeyRing keyRing, long accessTokenExpiration, long refreshTokenExpiration,
+			List<String> allowedOrigins, Set<String> hosts, JwtTokenIssuer.ClaimProfile claimProfile) {
+		if (accessTokenExpiration <= 0 || refreshTokenExpiration <= 0) {
+			throw new IllegalArgumentException("As validades dos tokens do tenant " + id + " devem ser positivas");
+		}
+		this.id = id;
+		this.keyRing = keyRing;
+		this.accessTokenExpiration = accessTokenExpiration;
+		this.refreshTokenExpiration = refreshTokenExpiration;
+		this.allowedOrigins = List.copyOf(allowedOrigins);
+		this.hosts = Set.copyOf(hosts);
+		this.claimProfile = claimProfile;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public SigningKeyRing getKeyRing() {
+		return keyRing;
+	}
+
+	public long getAccessTokenExpiration() {
+		return accessTokenExpiration;
+	}
+
+	public long getRefreshTokenExpiration() {
+		return refreshTokenExpiration;
+	}
+
+	public List<String> getAllowedOrigins() {
+		return allowedOrigins;
+	}
+
+	public Set<String> getHosts() {
+		return hosts;
+	}
+
+	/**
+	 * @return o perfil de claims dos tokens de acesso, ou {@code null} para o perfil configurado em {@code jwt.claims.profile}
+	 */
+	public JwtTokenIssuer.ClaimProfile getClaimProfile() {
+		return claimProfile;
+	}
+
+	/**
+	 * @param keyRing o novo conjunto de chaves
+	 * @return uma cópia do tenant com o conjunto de chaves informado
+	 */
+	public Tenant withKeyRing(SigningKeyRing keyRing) {
+		return new Tenant(id, keyRing, accessTokenExpiration, refreshTokenExpiration, allowedOrigins, hosts, claimProfile);
+	}
+}
@@ -0,0 +1,185 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tenants atendidos pela aplicação, configurados em {@code tenants.list} e em propriedades
+ * {@code tenants.<id>.*}. Cada tenant tem os próprios segredos, validades, origens de CORS e perfil de claims, de modo
+ * que vários clientes podem compartilhar uma única instância sem compartilhar segredos.
+ *
+ * O tenant de uma requisição vem do host ou, se o host não identificar nenhum tenant, do header {@code tenants.header};
+ * o de um token, do {@code iss}. Requisições sem tenant, e tokens sem {@code iss}, usam a configuração padrão do {@link SecurityConstants}.
+ * Sem {@code tenants.list}, nada muda em relação a uma aplicação de um único tenant.
+ *
+ * Os tenants ficam em mapas imutáveis publicados por referências voláteis: as consultas feitas nas requisições não
+ * usam locks, e cada tenant mantém o seu {@link SigningKeyRing}, com o parser do jjwt já construído.
+ */
+@Component
+@DependsOn("securityConstants")
+public class TenantRegistry {
+
+	private final Environment environment;
+
+	@Value("${tenants.list:}")
+	List<String> tenantIds;
+
+	@Value("${tenants.header:X-Tenant-Id}")
+	String headerName;
+
+	@Value("${allowed.origins.list:}")
+	List<String> defaultAllowedOrigins;
+
+	private volatile Map<String, Tenant> tenants = Map.of();
+	private volatile Map<String, Tenant> tenantsByHost = Map.of();
+
+	/**
+	 * Criado depois do {@link SecurityConstants}, de onde os tenants herdam as validades padrão.
+	 *
+	 * @param environment o ambiente de onde são lidas as propriedades de cada tenant
+	 */
+	public TenantRegistry(Environment environment) {
+		this.environment = environment;
+	}
+
+	@PostConstruct
+	public void init() {
+		Map<String, Tenant> configured = new LinkedHashMap<>();
+		for (String id : tenantIds) {
+			String tenantId = id.trim();
+			if (!tenantId.isEmpty()) {
+				configured.put(tenantId, readTenant(tenantId));
+			}
+		}
+		publish(configured);
+	}
+
+	/**
+	 * Lê {@code secret-key} e/ou {@code secret-keys} ({@code <kid>:<chave>}), {@code active-key-id}, {@code hosts},
+	 * {@code allowed-origins}, {@code access-token.expiration}, {@code refresh-token.expiration} e {@code claims.profile}
+	 * sob o prefixo {@code tenants.<id>.}. As propriedades ausentes herdam os valores padrão da aplicação.
+	 */
+	private Tenant readTenant(String id) {
+		String prefix = "tenants." + id + ".";
+		Map<String, SecretKey> keys = SecurityConstants.secretKeys(list(prefix + "secret-keys"), prefix + "secret-keys");
+		String secretKey = environment.getProperty(prefix + "secret-key", "").trim();
+		if (!secretKey.isEmpty()) {
+			keys.putIfAbsent(SecurityConstants.DEFAULT_KEY_ID, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)));
+		}
+		if (keys.isEmpty()) {
+			throw new IllegalStateException(prefix + "secret-key deve ser definida para o tenant " + id);
+		}
+		String activeKeyId = environment.getProperty(prefix + "active-key-id", "").trim();
+		SigningKeyRing keyRing = new SigningKeyRing(activeKeyId.isEmpty() ? keys.keySet().iterator().next() : activeKeyId, keys);
+
+		List<String> allowedOrigins = list(prefix + "allowed-origins");
+		String claimProfile = environment.getProperty(prefix + "claims.profile", "").trim();
+		return new Tenant(id, keyRing,
+				environment.getProperty(prefix + "access-token.expiration", Long.class, SecurityConstants.getAccessTokenExpiration()),
+				environment.getProperty(prefix + "refresh-token.expiration", Long.class, SecurityConstants.getRefreshTokenExpiration()),
+				allowedOrigins.isEmpty() ? defaultAllowedOrigins : allowedOrigins,
+				list(prefix + "hosts").stream().map(host -> host.toLowerCase(Locale.ROOT)).collect(Collectors.toSet()),
+				claimProfile.isEmpty() ? null : JwtTokenIssuer.claimProfile(claimProfile, prefix + "claims.profile"));
+	}
+
+	private List<String> list(String property) {
+		String[] values = environment.getProperty(property, String[].class, new String[0]);
+		return Arrays.stream(values).map(String::trim).filter(value -> !value.isEmpty()).toList();
+	}
+
+	private void publish(Map<String, Tenant> configured) {
+		Map<String, Tenant> byHost = new HashMap<>();
+		for (Tenant tenant : configured.values()) {
+			for (String host : tenant.getHosts()) {
+				Tenant previous = byHost.put(host, tenant);
+				if (previous != null && previous != tenant) {
+					throw new IllegalStateException("Host " + host + " configurado para os tenants " + previous.getId() + " e " + tenant.getId());
+				}
+			}
+		}
+		tenantsByHost = Map.copyOf(byHost);
+		tenants = Collections.unmodifiableMap(new LinkedHashMap<>(configured));
+	}
+
+	/**
+	 * @return {@code true} se houver tenants configurados
+	 */
+	public boolean isEnabled() {
+		return !tenants.isEmpty();
+	}
+
+	/**
+	 * @return os tenants configurados, na ordem de {@code tenants.list}
+	 */
+	public Map<String, Tenant> getTenants() {
+		return tenants;
+	}
+
+	/**
+	 * @param tenantId o identificador do tenant, possivelmente {@code null}
+	 * @return o tenant, ou {@code null} para o tenant padrão ou um identificador desconhecido
+	 */
+	public Tenant get(String tenantId) {
+		return tenantId != null ? tenants.get(tenantId) : null;
+	}
+
+	/**
+	 * Identifica o tenant de uma requisição pelo host. O header {@code tenants.header}, enviado pelo cliente, só é
+	 * considerado quando o host não pertence a nenhum tenant, para que um cliente não escolha as chaves, as origens de
+	 * CORS e o emissor de outro tenant apenas mudando o header. Valores desconhecidos do header são ignorados.
+	 *
+	 * @param headers os headers da requisição
+	 * @param host o host da requisição, possivelmente {@code null}
+	 * @return o tenant, ou {@code null} para o tenant padrão
+	 */
+	public Tenant resolve(Function<String, String> headers, String host) {
+		Map<String, Tenant> current = tenants;
+		if (current.isEmpty()) {
+			return null;
+		}
+		Tenant tenant = host != null ? tenantsByHost.get(host.toLowerCase(Locale.ROOT)) : null;
+		if (tenant != null) {
+			return tenant;
+		}
+		String header = headers.apply(headerName);
+		return header != null ? current.get(header.trim()) : null;
+	}
+
+	/**
+	 * Substitui o conjunto de chaves de um tenant em tempo de execução, como {@link SecurityConstants#setKeyRing(SigningKeyRing)}
+	 * faz para o tenant padrão.
+	 *
+	 * @param tenantId o identificador do tenant
+	 * @param keyRing o novo conjunto de chaves
+	 * @throws IllegalArgumentException se o tenant não existir
+	 */
+	public synchronized void setKeyRing(String tenantId, SigningKeyRing keyRing) {
+		Tenant tenant = tenants.get(tenantId);
+		if (tenant == null) {
+			throw new IllegalArgumentException("Tenant desconhecido: " + tenantId);
+		}
+		Map<String, Tenant> updated = new LinkedHashMap<>(tenants);
+		updated.put(tenantId, tenant.withKeyRing(keyRing));
+		publish(updated);
+	}
+
+	public String getHeaderName() {
+		return headerName;
+	}
+}
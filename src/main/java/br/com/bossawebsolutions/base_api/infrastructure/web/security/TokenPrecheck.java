@@ -0,0 +1,168 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Verificações baratas feitas antes de qualquer cálculo de assinatura, para que tokens malformados e expirados sejam
+ * recusados sem passar pelo jjwt.
+ *
+ * {@link #checkStructure(String)} apenas percorre os caracteres do token, sem exceções: exatamente três segmentos não
+ * vazios, alfabeto base64url (o {@code =} só é aceito ao final da assinatura, como faz o jjwt), comprimentos possíveis
+ * em base64 e tamanho máximo de {@link #MAX_TOKEN_LENGTH}. {@link #checkExpiration(String, long)} decodifica o payload
+ * e lê apenas o {@code exp} de primeiro nível; {@link #peekIssuer(String)}, da mesma forma, apenas o {@code iss}. Um
+ * payload que não é base64url ou não começa como um objeto JSON é recusado sem exceções; já um payload que começa
+ * como objeto mas não é JSON válido é detectado pela exceção do parser do Jackson, tratada aqui e devolvida como
+ * {@link AuthMetrics.TokenFailure#MALFORMED}. Esse caso custa uma exceção, mas continua sem o jjwt e sem a assinatura.
+ *
+ * Como nenhuma das duas verifica a assinatura, um token forjado e expirado é classificado como expirado; de qualquer
+ * forma, ele é recusado. A verificação do alfabeto é mais estrita que a do jjwt, que ignora caracteres inválidos na
+ * assinatura: tokens assim nunca são emitidos e passam a ser recusados.
+ */
+final class TokenPrecheck {
+
+	/** Tamanho máximo aceito para um token; os tokens desta API têm poucas centenas de caracteres. */
+	static final int MAX_TOKEN_LENGTH = 8192;
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	private static final boolean[] BASE64URL = new boolean[128];
+
+	static {
+		for (char c = 'A'; c <= 'Z'; c++) {
+			BASE64URL[c] = true;
+			BASE64URL[c + ('a' - 'A')] = true;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			BASE64URL[c] = true;
+		}
+		BASE64URL['-'] = true;
+		BASE64URL['_'] = true;
+	}
+
+	private TokenPrecheck() {
+	}
+
+	/**
+	 * @param token o token JWT compacto
+	 * @return {@link AuthMetrics.TokenFailure#MALFORMED} se o token não tiver a forma de um JWS compacto, ou {@code null}
+	 */
+	static AuthMetrics.TokenFailure checkStructure(String token) {
+		int length = token.length();
+		if (length == 0 || length > MAX_TOKEN_LENGTH) {
+			return AuthMetrics.TokenFailure.MALFORMED;
+		}
+		int segment = 0;
+		int segmentStart = 0;
+		int padding = 0;
+		for (int i = 0; i < length; i++) {
+			char c = token.charAt(i);
+			if (c == '.') {
+				if (segment == 2 || !isSaneSegment(i - segmentStart)) {
+					return AuthMetrics.TokenFailure.MALFORMED;
+				}
+				segment++;
+				segmentStart = i + 1;
+			} else if (c == '=' && segment == 2) {
+				padding++;
+			} else if (c >= 128 || !BASE64URL[c] || padding > 0) {
+				return AuthMetrics.TokenFailure.MALFORMED;
+			}
+		}
+		if (segment != 2 || padding > 2 || !isSaneSegment(length - segmentStart - padding)) {
+			return AuthMetrics.TokenFailure.MALFORMED;
+		}
+		return null;
+	}
+
+	/**
+	 * Deve ser chamado apenas para tokens aprovados por {@link #checkStructure(String)}.
+	 *
+	 * @param token o token JWT compacto
+	 * @param now o instante atual, em milissegundos
+	 * @return {@link AuthMetrics.TokenFailure#EXPIRED} se o {@code exp} já tiver passado,
+	 *         {@link AuthMetrics.TokenFailure#MALFORMED} se o payload não for um objeto JSON, ou {@code null}
+	 */
+	static AuthMetrics.TokenFailure checkExpiration(String token, long now) {
+		try (JsonParser parser = payloadParser(token)) {
+			if (parser == null) {
+				return AuthMetrics.TokenFailure.MALFORMED;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if ("exp".equals(name)) {
+					// equivale a now > exp * 1000, sem estourar o long com valores de exp arbitrários
+					return value == JsonToken.VALUE_NUMBER_INT && parser.getLongValue() <= (now - 1) / 1000
+							? AuthMetrics.TokenFailure.EXPIRED : null;
+				}
+				parser.skipChildren();
+			}
+		} catch (IOException e) {
+			return AuthMetrics.TokenFailure.MALFORMED;
+		}
+		return null;
+	}
+
+	/**
+	 * Lê o {@code iss} de primeiro nível sem verificar a assinatura, apenas para escolher as chaves do tenant que o
+	 * emitiu. Deve ser chamado apenas para tokens aprovados por {@link #checkStructure(String)}.
+	 *
+	 * @param token o token JWT compacto
+	 * @return o {@code iss} do token, ou {@code null} se ausente, não textual ou se o payload não for um objeto JSON
+	 */
+	static String peekIssuer(String token) {
+		try (JsonParser parser = payloadParser(token)) {
+			if (parser == null) {
+				return null;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if ("iss".equals(name)) {
+					return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+				}
+				parser.skipChildren();
+			}
+		} catch (IOException e) {
+			return null;
+		}
+		return null;
+	}
+
+	/**
+	 * @return um parser posicionado no início do objeto do payload, ou {@code null} se o payload não for base64url
+	 *         válido ou não começar por um objeto JSON
+	 */
+	private static JsonParser payloadParser(String token) throws IOException {
+		int firstDot = token.indexOf('.');
+		int secondDot = token.indexOf('.', firstDot + 1);
+		byte[] payload = token.substring(firstDot + 1, secondDot).getBytes(StandardCharsets.ISO_8859_1);
+		ByteBuffer json;
+		try {
+			json = DECODER.decode(ByteBuffer.wrap(payload));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		if (!json.hasRemaining() || json.get(json.position()) != '{') {
+			return null;
+		}
+		JsonParser parser = JSON_FACTORY.createParser(json.array(), json.arrayOffset() + json.position(), json.remaining());
+		parser.nextToken();
+		return parser;
+	}
+
+	/**
+	 * Um segmento base64 sem preenchimento nunca tem resto 1 na divisão por 4.
+	 */
+	private static boolean isSaneSegment(int length) {
+		return length > 0 && length % 4 != 1;
+	}
+}
@@ -0,0 +1,305 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lista de tokens revogados antes da expiração, identificados pelo {@code jti}.
+ *
+ * Os tokens são agrupados em intervalos de tempo pela sua expiração. Cada intervalo possui um filtro de Bloom na frente
+ * de um conjunto exato, de modo que a consulta de um token não revogado quase sempre termina no filtro, sem acessar
+ * o conjunto e sem alocar memória. Quando todos os tokens de um intervalo expiram, o intervalo inteiro é descartado,
+ * sem percorrer as entradas. O número total de tokens revogados é limitado por {@code jwt.revocation.max-entries}: a vaga
+ * é reservada atomicamente antes da inclusão e, com o limite atingido, a revogação é recusada e o chamador deve tratar a
+ * recusa. Nenhum token já revogado é descartado para abrir espaço, pois isso o tornaria válido de novo.
+ *
+ * Também guarda as famílias de tokens de renovação revogadas por reutilização (claim {@code fid}). Elas são raras, ficam
+ * em um mapa à parte, consultado apenas na renovação, e não são recusadas pelo limite, pois deixar de revogar uma família
+ * manteria válido um token possivelmente roubado.
+ */
+@Component
+public class TokenRevocationList {
+	private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+	private static final int HASHES = 7;
+	private static final int BITS_PER_ENTRY = 10;
+	private static final int MIN_BLOOM_BITS = 1 << 10;
+	private static final int MAX_BLOOM_BITS = 1 << 24;
+
+	private final long bucketWidth;
+	private final int maxEntries;
+	private final int bloomBits;
+	private final AtomicReferenceArray<Bucket> buckets;
+	private final ConcurrentHashMap<String, Long> overflow = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Long> families = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicLong nextPurge = new AtomicLong();
+
+	/**
+	 * @param securityConstants garante que as validades dos tokens já foram configuradas
+	 * @param bucketWidth largura, em milissegundos, de cada intervalo de expiração
+	 * @param maxEntries número máximo de tokens revogados mantidos ao mesmo tempo
+	 */
+	public TokenRevocationList(SecurityConstants securityConstants,
+							   @Value("${jwt.revocation.bucket-width:3600000}") long bucketWidth,
+							   @Value("${jwt.revocation.max-entries:2000000}") int maxEntries) {
+		if (bucketWidth <= 0 || maxEntries <= 0) {
+			throw new IllegalStateException("jwt.revocation.bucket-width e jwt.revocation.max-entries devem ser positivos");
+		}
+		long maxLifetime = Math.max(SecurityConstants.getAccessTokenExpiration(), SecurityConstants.getRefreshTokenExpiration());
+		int bucketCount = (int) Math.min(Integer.MAX_VALUE - 2, maxLifetime / bucketWidth + 2);
+		long expectedPerBucket = Math.max(1, maxEntries / bucketCount);
+		this.bucketWidth = bucketWidth;
+		this.maxEntries = maxEntries;
+		this.bloomBits = (int) Math.min(MAX_BLOOM_BITS, Math.max(MIN_BLOOM_BITS, Long.highestOneBit(expectedPerBucket * BITS_PER_ENTRY - 1) << 1));
+		this.buckets = new AtomicReferenceArray<>(bucketCount);
+	}
+
+	/**
+	 * Revoga o token até a sua expiração.
+	 *
+	 * @param tokenId o {@code jti} do token
+	 * @param expiresAt o instante de expiração do token em milissegundos
+	 * @return {@code true} se o token foi revogado agora, ou {@code false} se já estava revogado, expirado ou se o limite foi atingido
+	 */
+	public boolean revoke(String tokenId, long expiresAt) {
+		long now = System.currentTimeMillis();
+		if (tokenId == null || expiresAt <= now) {
+			return false;
+		}
+		purgeExpired(now);
+		if (isRevoked(tokenId, expiresAt)) {
+			return false;
+		}
+		if (!reserve()) {
+			logger.warn("Limite de {} tokens revogados atingido; o token {} não foi revogado", maxEntries, tokenId);
+			return false;
+		}
+
+		long epoch = expiresAt / bucketWidth;
+		Bucket bucket = bucketFor(epoch, now);
+		boolean added = bucket != null
+				? bucket.add(tokenId)
+				: overflow.putIfAbsent(tokenId, expiresAt) == null;
+		if (!added) {
+			size.decrementAndGet();
+		}
+		return added;
+	}
+
+	/**
+	 * Garante que o token não seja mais aceito: revoga-o, a menos que já esteja revogado ou expirado.
+	 *
+	 * @param tokenId o {@code jti} do token
+	 * @param expiresAt o instante de expiração do token em milissegundos
+	 * @return {@code false} somente se o token continua válido porque o limite de tokens revogados foi atingido
+	 */
+	public boolean ensureRevoked(String tokenId, long expiresAt) {
+		return tokenId == null || expiresAt <= System.currentTimeMillis() || isRevoked(tokenId, expiresAt)
+				|| revoke(tokenId, expiresAt) || isRevoked(tokenId, expiresAt);
+	}
+
+	/**
+	 * Reserva uma vaga, sem ultrapassar o limite mesmo com revogações concorrentes.
+	 */
+	private boolean reserve() {
+		while (true) {
+			int current = size.get();
+			if (current >= maxEntries) {
+				return false;
+			}
+			if (size.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Verifica se o token foi revogado. Não aloca memória quando o token não está revogado.
+	 *
+	 * @param tokenId o {@code jti} do token
+	 * @param expiresAt o instante de expiração do token em milissegundos
+	 * @return {@code true} se o token estiver revogado
+	 */
+	public boolean isRevoked(String tokenId, long expiresAt) {
+		if (tokenId == null) {
+			return false;
+		}
+		long epoch = expiresAt / bucketWidth;
+		Bucket bucket = buckets.get(slot(epoch));
+		if (bucket != null && bucket.epoch == epoch) {
+			return bucket.contains(tokenId);
+		}
+		return !overflow.isEmpty() && overflow.containsKey(tokenId);
+	}
+
+	/**
+	 * Revoga todos os tokens de renovação de uma família.
+	 *
+	 * @param familyId a família (claim {@code fid})
+	 * @param expiresAt o instante, em milissegundos, em que o último token da família terá expirado
+	 * @return {@code true} se a família foi revogada agora, ou {@code false} se já estava revogada
+	 */
+	public boolean revokeFamily(String familyId, long expiresAt) {
+		long now = System.currentTimeMillis();
+		if (familyId == null || expiresAt <= now) {
+			return false;
+		}
+		purgeExpired(now);
+		if (families.putIfAbsent(familyId, expiresAt) != null) {
+			return false;
+		}
+		size.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * @param familyId a família do token de renovação (claim {@code fid}), ou {@code null}
+	 * @return {@code true} se a família foi revogada
+	 */
+	public boolean isFamilyRevoked(String familyId) {
+		return familyId != null && !families.isEmpty() && families.containsKey(familyId);
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * Obtém o intervalo da época informada, substituindo o intervalo anterior do mesmo slot se ele já expirou.
+	 *
+	 * @return o intervalo, ou {@code null} se o slot estiver ocupado por um intervalo ainda válido
+	 */
+	private Bucket bucketFor(long epoch, long now) {
+		int slot = slot(epoch);
+		while (true) {
+			Bucket current = buckets.get(slot);
+			if (current != null && current.epoch == epoch) {
+				return current;
+			}
+			if (current != null && !current.isExpired(bucketWidth, now)) {
+				return null;
+			}
+			Bucket created = new Bucket(epoch, bloomBits);
+			if (buckets.compareAndSet(slot, current, created)) {
+				if (current != null) {
+					size.addAndGet(-current.size());
+				}
+				return created;
+			}
+		}
+	}
+
+	/**
+	 * Descarta os intervalos e as entradas excedentes já expirados, no máximo uma vez por intervalo de tempo.
+	 */
+	private void purgeExpired(long now) {
+		long scheduled = nextPurge.get();
+		if (now < scheduled || !nextPurge.compareAndSet(scheduled, now + bucketWidth)) {
+			return;
+		}
+		for (int i = 0; i < buckets.length(); i++) {
+			Bucket bucket = buckets.get(i);
+			if (bucket != null && bucket.isExpired(bucketWidth, now) && buckets.compareAndSet(i, bucket, null)) {
+				size.addAndGet(-bucket.size());
+			}
+		}
+		removeExpired(overflow, now);
+		removeExpired(families, now);
+	}
+
+	private void removeExpired(ConcurrentHashMap<String, Long> entries, long now) {
+		entries.entrySet().removeIf(entry -> {
+			boolean expired = entry.getValue() <= now;
+			if (expired) {
+				size.decrementAndGet();
+			}
+			return expired;
+		});
+	}
+
+	private int slot(long epoch) {
+		return (int) Math.floorMod(epoch, (long) buckets.length());
+	}
+
+	/**
+	 * Tokens revogados que expiram dentro de um mesmo intervalo de tempo.
+	 */
+	private static final class Bucket {
+		private final long epoch;
+		private final int mask;
+		private final AtomicLongArray bloom;
+		private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+
+		private Bucket(long epoch, int bloomBits) {
+			this.epoch = epoch;
+			this.mask = bloomBits - 1;
+			this.bloom = new AtomicLongArray(bloomBits >>> 6);
+		}
+
+		private boolean isExpired(long bucketWidth, long now) {
+			return (epoch + 1) * bucketWidth <= now;
+		}
+
+		private int size() {
+			return tokenIds.size();
+		}
+
+		/**
+		 * Adiciona primeiro ao conjunto exato e só depois ao filtro, para que uma consulta concorrente que encontre os bits
+		 * marcados sempre encontre também o token no conjunto.
+		 */
+		private boolean add(String tokenId) {
+			if (!tokenIds.add(tokenId)) {
+				return false;
+			}
+			long hash = hash(tokenId);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32) | 1;
+			for (int i = 0; i < HASHES; i++) {
+				int bit = (h1 + i * h2) & mask;
+				int index = bit >>> 6;
+				long flag = 1L << bit;
+				long word = bloom.get(index);
+				while ((word & flag) == 0 && !bloom.compareAndSet(index, word, word | flag)) {
+					word = bloom.get(index);
+				}
+			}
+			return true;
+		}
+
+		private boolean contains(String tokenId) {
+			long hash = hash(tokenId);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32) | 1;
+			for (int i = 0; i < HASHES; i++) {
+				int bit = (h1 + i * h2) & mask;
+				if ((bloom.get(bit >>> 6) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return tokenIds.contains(tokenId);
+		}
+
+		/**
+		 * FNV-1a de 64 bits sobre os caracteres, sem converter a string em bytes.
+		 */
+		private static long hash(String value) {
+			long hash = 0xcbf29ce484222325L;
+			for (int i = 0; i < value.length(); i++) {
+				hash ^= value.charAt(i);
+				hash *= 0x100000001b3L;
+			}
+			return hash ^ (hash >>> 29);
+		}
+	}
+}
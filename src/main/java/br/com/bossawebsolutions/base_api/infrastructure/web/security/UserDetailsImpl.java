@@ -1,18 +1,22 @@
 package br.com.bossawebsolutions.base_api.infrastructure.web.security;
 
 import br.com.bossawebsolutions.base_api.model.AppUser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
  * Implementação personalizada da interface {@link UserDetails} do Spring Security.
  * Utilizada para fornecer informações sobre o usuário durante o processo de autenticação e autorização.
+ *
+ * Também é o principal das requisições autorizadas por token: {@code Authentication#getPrincipal()} devolve esta classe,
+ * e não mais o nome do usuário. O nome continua disponível em {@code Authentication#getName()} e em {@link #toString()}.
  */
 @Getter
 public class UserDetailsImpl implements UserDetails {
@@ -23,6 +27,8 @@ public class UserDetailsImpl implements UserDetails {
 	private final Long id;
 	private final LocalDateTime createdAt;
 	private final LocalDateTime updatedAt;
+	@Getter(AccessLevel.NONE)
+	private final List<GrantedAuthority> authorities;
 
 	public UserDetailsImpl(AppUser appUser) {
 		this.username = appUser.getUsername();
@@ -31,11 +37,47 @@ public class UserDetailsImpl implements UserDetails {
 		this.id = appUser.getId();
 		this.createdAt = appUser.getCreatedAt();
 		this.updatedAt = appUser.getUpdatedAt();
+		this.authorities = RoleAuthorities.fromRoles(roles).getAuthorities();
+	}
+
+	/**
+	 * Reconstrói o usuário a partir das claims de um token já validado, sem consultar o repositório.
+	 *
+	 * @param id o identificador do usuário
+	 * @param username o nome de usuário
+	 * @param roleAuthorities os papéis e authorities compartilhados do usuário
+	 */
+	public UserDetailsImpl(Long id, String username, RoleAuthorities roleAuthorities) {
+		this.username = username;
+		this.password = null;
+		this.roles = roleAuthorities.getRoles();
+		this.id = id;
+		this.createdAt = null;
+		this.updatedAt = null;
+		this.authorities = roleAuthorities.getAuthorities();
+	}
+
+	private UserDetailsImpl(UserDetailsImpl source, String password) {
+		this.username = source.username;
+		this.password = password;
+		this.roles = source.roles;
+		this.id = source.id;
+		this.createdAt = source.createdAt;
+		this.updatedAt = source.updatedAt;
+		this.authorities = source.authorities;
+	}
+
+	/**
+	 * @param password o novo hash da senha
+	 * @return uma cópia deste usuário com o hash de senha informado
+	 */
+	public UserDetailsImpl withPassword(String password) {
+		return new UserDetailsImpl(this, password);
 	}
 
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
-		return AuthorityUtils.createAuthorityList(roles.toArray(new String[0]));
+		return authorities;
 	}
 
 	@Override
@@ -57,4 +99,12 @@ public class UserDetailsImpl implements UserDetails {
 	public boolean isEnabled() {
 		return true;
 	}
+
+	/**
+	 * @return o nome do usuário, como o principal {@code String} usado antes desta classe
+	 */
+	@Override
+	public String toString() {
+		return username;
+	}
 }
@@ -1,11 +1,15 @@
 package br.com.bossawebsolutions.base_api.infrastructure.web.security;
 
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthAuditLog;
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthEvent;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
 import br.com.bossawebsolutions.base_api.model.AppUser;
-import br.com.bossawebsolutions.base_api.repository.AppUserRepository;
+import br.com.bossawebsolutions.base_api.repository.AppUserCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,17 +21,23 @@ import java.util.Optional;
  * Responsável por carregar as informações do usuário para o processo de autenticação baseado no nome de usuário.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 	private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
-	private final AppUserRepository appUserRepository;
+	private final AppUserCache appUserCache;
+	private final AuthMetrics authMetrics;
+	private final AuthAuditLog authAuditLog;
 
 	/**
-	 * @param appUserRepository o repositório que fornece acesso aos dados do {@link AppUser}.
+	 * @param appUserCache o cache, sobre o repositório, que fornece acesso aos dados do {@link AppUser}.
+	 * @param authMetrics as métricas em que são contados os usuários não encontrados.
+	 * @param authAuditLog o registro de auditoria em que são anotados os usuários não encontrados.
 	 */
 	@Autowired
-	public UserDetailsServiceImpl(AppUserRepository appUserRepository) {
-		this.appUserRepository = appUserRepository;
+	public UserDetailsServiceImpl(AppUserCache appUserCache, AuthMetrics authMetrics, AuthAuditLog authAuditLog) {
+		this.appUserCache = appUserCache;
+		this.authMetrics = authMetrics;
+		this.authAuditLog = authAuditLog;
 	}
 
 	/**
@@ -40,13 +50,33 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	 */
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		Optional<AppUser> appUser = appUserRepository.findByUsername(username);
+		Optional<AppUser> appUser = appUserCache.findByUsername(username);
 		
 		if (appUser.isEmpty()) {
-			logger.error("Usuário não encontrado: {}", username);
+			authMetrics.userNotFound();
+			authAuditLog.record(AuthEvent.Type.USER_NOT_FOUND, username, null, null);
+			logger.debug("Usuário não encontrado: {}", username);
 			throw new UsernameNotFoundException(username);
 		}
 		
 		return new UserDetailsImpl(appUser.get());
 	}
+
+	/**
+	 * Regrava o hash da senha após um login bem-sucedido quando o formato ou o custo do hash atual estiver desatualizado.
+	 * O hash só é salvo se o {@link br.com.bossawebsolutions.base_api.repository.AppUserRepository} implementar
+	 * {@code updatePassword}; caso contrário, o usuário segue com o hash antigo.
+	 *
+	 * @param user o usuário autenticado.
+	 * @param newPassword o novo hash da senha.
+	 * @return o usuário com o hash atualizado, ou o usuário original se o repositório não suportar a atualização.
+	 */
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		if (!appUserCache.updatePassword(user.getUsername(), newPassword)) {
+			return user;
+		}
+		logger.debug("Hash de senha atualizado para o usuário: {}", user.getUsername());
+		return user instanceof UserDetailsImpl userDetails ? userDetails.withPassword(newPassword) : user;
+	}
 }
@@ -0,0 +1,53 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import lombok.Getter;
+
+/**
+ * Resultado imutável da validação de um token JWT.
+ * Contém apenas as informações necessárias para reconstruir a autenticação sem validar o token novamente.
+ */
+@Getter
+public class VerifiedToken {
+
+	private final String subject;
+	private final String keyId;
+	private final long expiresAt;
+	private final String roles;
+	private final Long id;
+	private final String tokenType;
+	private final String tokenId;
+	private final String issuer;
+	private final String familyId;
+
+	/**
+	 * @param subject o usuário (claim {@code sub}) do token
+	 * @param keyId o {@code kid} da chave que assinou o token, ou {@code null} para tokens sem {@code kid}
+	 * @param expiresAt o instante de expiração do token em milissegundos
+	 * @param roles o valor da claim {@code roles}, com os papéis separados por vírgula
+	 * @param id o identificador do usuário (claim {@code id})
+	 * @param tokenType o tipo do token (claim {@code token_type}), ou {@code null} para tokens de acesso
+	 * @param tokenId o identificador único do token (claim {@code jti})
+	 * @param issuer o tenant que emitiu o token (claim {@code iss}), ou {@code null} para o tenant padrão
+	 * @param familyId a família do token de renovação (claim {@code fid}), ou {@code null} para tokens de acesso e tokens
+	 *                 de renovação emitidos antes das famílias
+	 */
+	public VerifiedToken(String subject, String keyId, long expiresAt, String roles, Long id, String tokenType, String tokenId,
+						 String issuer, String familyId) {
+		this.subject = subject;
+		this.keyId = keyId;
+		this.expiresAt = expiresAt;
+		this.roles = roles;
+		this.id = id;
+		this.tokenType = tokenType;
+		this.tokenId = tokenId;
+		this.issuer = issuer;
+		this.familyId = familyId;
+	}
+
+	/**
+	 * @return {@code true} se for um token de renovação, que não pode ser usado para acessar os endpoints protegidos.
+	 */
+	public boolean isRefreshToken() {
+		return JwtTokenIssuer.REFRESH_TOKEN_TYPE.equals(tokenType);
+	}
+}
@@ -0,0 +1,165 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Cache de tokens JWT já validados, indexado pelo digest SHA-256 do token.
+ * Evita repetir a verificação da assinatura e o parsing das claims quando o mesmo token é reenviado.
+ * Cada entrada expira no {@code exp} do token ou após o TTL máximo configurado, o que ocorrer primeiro.
+ *
+ * Junto com o token fica a chave que o validou, e um acerto só vale enquanto o conjunto de chaves vigente associar o
+ * mesmo {@code kid} à mesma chave: trocar o segredo de um {@code kid} invalida os tokens em cache assinados com o anterior.
+ */
+@Component
+public class VerifiedTokenCache {
+
+	private static final MessageDigest SHA_256;
+
+	static {
+		try {
+			SHA_256 = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponível", e);
+		}
+	}
+
+	private final boolean enabled;
+	private final long maxTtl;
+	private final ExpiringCache<TokenDigest, Entry> cache;
+
+	/**
+	 * @param enabled habilita ou desabilita o cache
+	 * @param maxSize número máximo de tokens mantidos
+	 * @param maxTtl tempo máximo, em milissegundos, que um token permanece em cache
+	 */
+	public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+							  @Value("${jwt.cache.max-size:10000}") int maxSize,
+							  @Value("${jwt.cache.max-ttl:300000}") long maxTtl) {
+		this.enabled = enabled;
+		this.maxTtl = maxTtl;
+		this.cache = new ExpiringCache<>(maxSize);
+	}
+
+	/**
+	 * @param token o token JWT recebido
+	 * @return o resultado de uma validação anterior ainda válida ou {@code null}; o chamador deve conferir a chave com
+	 *         {@link Entry#isVerifiedBy(SigningKeyRing)}
+	 */
+	public Entry get(String token) {
+		if (!enabled) {
+			return null;
+		}
+		return cache.get(digest(token), System.currentTimeMillis());
+	}
+
+	/**
+	 * Armazena o resultado da validação do token.
+	 *
+	 * @param token o token JWT validado
+	 * @param verifiedToken o resultado da validação
+	 * @param verificationKey a chave que validou a assinatura
+	 */
+	public void put(String token, VerifiedToken verifiedToken, Key verificationKey) {
+		if (!enabled || verificationKey == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		long expiresAt = Math.min(verifiedToken.getExpiresAt(), now + maxTtl);
+		cache.put(digest(token), new Entry(verifiedToken, verificationKey), expiresAt, now);
+	}
+
+	/**
+	 * Descarta todos os tokens em cache.
+	 */
+	public void invalidateAll() {
+		cache.clear();
+	}
+
+	public int size() {
+		return cache.size();
+	}
+
+	public long getHitCount() {
+		return cache.getHitCount();
+	}
+
+	public long getMissCount() {
+		return cache.getMissCount();
+	}
+
+	private static TokenDigest digest(String token) {
+		return new TokenDigest(newDigest().digest(token.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return (MessageDigest) SHA_256.clone();
+		} catch (CloneNotSupportedException e) {
+			try {
+				return MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException("SHA-256 indisponível", ex);
+			}
+		}
+	}
+
+	/**
+	 * Token validado e a chave que validou a sua assinatura.
+	 */
+	public static final class Entry {
+		private final VerifiedToken token;
+		private final Key verificationKey;
+
+		private Entry(VerifiedToken token, Key verificationKey) {
+			this.token = token;
+			this.verificationKey = verificationKey;
+		}
+
+		public VerifiedToken getToken() {
+			return token;
+		}
+
+		/**
+		 * @param keyRing o conjunto de chaves vigente para o emissor do token, possivelmente {@code null}
+		 * @return {@code true} se o {@code kid} do token ainda corresponder à chave que o validou
+		 */
+		public boolean isVerifiedBy(SigningKeyRing keyRing) {
+			if (keyRing == null) {
+				return false;
+			}
+			Key current = keyRing.getVerificationKey(token.getKeyId());
+			return current == verificationKey || verificationKey.equals(current);
+		}
+	}
+
+	/**
+	 * Chave do cache: o digest do token, para não manter o token em memória.
+	 */
+	private static final class TokenDigest {
+		private final byte[] bytes;
+		private final int hash;
+
+		private TokenDigest(byte[] bytes) {
+			this.bytes = bytes;
+			this.hash = Arrays.hashCode(bytes);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof TokenDigest other && Arrays.equals(bytes, other.bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
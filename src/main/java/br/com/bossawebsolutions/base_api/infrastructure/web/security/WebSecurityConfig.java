@@ -1,10 +1,16 @@
 package br.com.bossawebsolutions.base_api.infrastructure.web.security;
 
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthAuditLog;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -15,18 +21,33 @@ import org.springframework.security.web.SecurityFilterChain;
 import  org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Configuração de segurança do Spring Security para autenticação e autorização JWT.
+ * Configuração de segurança do Spring Security para autenticação e autorização JWT em aplicações servlet.
+ * Em aplicações WebFlux, a configuração equivalente é a
+ * {@link br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive.ReactiveWebSecurityConfig}.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebSecurityConfig {
 	private static final Logger logger = LoggerFactory.getLogger(WebSecurityConfig.class);
 
 	private final UserDetailsServiceImpl userDetailsService;
+	private final JwtTokenVerifier tokenVerifier;
+	private final PasswordVerificationExecutor passwordVerificationExecutor;
+	private final PasswordEncoderFactory passwordEncoderFactory;
+	private final LoginThrottle loginThrottle;
+	private final JwtTokenIssuer tokenIssuer;
+	private final TokenRevocationList revocationList;
+	private final AuthMetrics authMetrics;
+	private final AuthAuditLog authAuditLog;
+	private final TenantRegistry tenantRegistry;
 
     @Value("${open.endpoints.list:}")
     List<String> openEndpointsList;
@@ -34,11 +55,38 @@ public class WebSecurityConfig {
     @Value("${allowed.origins.list:}")
     List<String> allowedOriginsList;
 
+    @Value("${login.max-payload-bytes:8192}")
+    long loginMaxPayloadBytes;
+
+	@Value("${cors.max-age:1800}")
+	long corsMaxAge;
+
 	/**
 	 * @param userDetailsService implementação personalizada para carregar os detalhes do usuário.
+	 * @param tokenVerifier validador dos tokens JWT recebidos nas requisições.
+	 * @param passwordVerificationExecutor executor limitado para a verificação de credenciais do login.
+	 * @param passwordEncoderFactory fábrica do codificador de senhas configurado.
+	 * @param loginThrottle limite de tentativas de login por endereço e por usuário.
+	 * @param tokenIssuer emissor dos tokens de acesso e de renovação.
+	 * @param revocationList lista dos tokens revogados no logout ou já consumidos na renovação.
+	 * @param authMetrics métricas de duração das etapas de autenticação.
+	 * @param authAuditLog registro de auditoria dos logins e dos tokens recusados.
+	 * @param tenantRegistry tenants atendidos pela aplicação, cada um com as próprias chaves e origens.
 	 */
-    public WebSecurityConfig(UserDetailsServiceImpl userDetailsService) {
+    public WebSecurityConfig(UserDetailsServiceImpl userDetailsService, JwtTokenVerifier tokenVerifier,
+                             PasswordVerificationExecutor passwordVerificationExecutor, PasswordEncoderFactory passwordEncoderFactory,
+                             LoginThrottle loginThrottle, JwtTokenIssuer tokenIssuer, TokenRevocationList revocationList,
+                             AuthMetrics authMetrics, AuthAuditLog authAuditLog, TenantRegistry tenantRegistry) {
         this.userDetailsService = userDetailsService;
+        this.tokenVerifier = tokenVerifier;
+        this.passwordVerificationExecutor = passwordVerificationExecutor;
+        this.passwordEncoderFactory = passwordEncoderFactory;
+        this.loginThrottle = loginThrottle;
+        this.tokenIssuer = tokenIssuer;
+        this.revocationList = revocationList;
+        this.authMetrics = authMetrics;
+        this.authAuditLog = authAuditLog;
+        this.tenantRegistry = tenantRegistry;
     }
 
 	/**
@@ -57,20 +105,57 @@ public class WebSecurityConfig {
 	}
 
 	/**
-	 * Bean para criar o codificador de senha {@link BCryptPasswordEncoder}.
+	 * Bean para criar o codificador de senha configurado (BCrypt, Argon2 ou PBKDF2, identificados pelo prefixo do hash).
+	 * O tipo do bean passou de {@code BCryptPasswordEncoder} para {@link PasswordEncoder}; quem injetava o tipo
+	 * concreto deve passar a injetar a interface.
+	 *
+	 * @return o {@link PasswordEncoder} criado pela {@link PasswordEncoderFactory}.
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder() {
+		return passwordEncoderFactory.create();
+	}
+
+	/**
+	 * Bean com a configuração de CORS da API, montada uma única vez e compartilhada por todas as requisições.
+	 * Com tenants configurados, cada tenant tem a sua {@link CorsConfiguration}, também montada uma única vez.
 	 *
-	 * @return o codificador de senha {@link BCryptPasswordEncoder}.
+	 * @return a {@link CorsConfigurationSource} que devolve a {@link CorsConfiguration} do tenant da requisição.
 	 */
 	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	CorsConfigurationSource corsConfigurationSource() {
+		CorsConfiguration corsConfiguration = CorsPolicy.create(allowedOriginsList, corsMaxAge);
+		if (!tenantRegistry.isEnabled()) {
+			return request -> corsConfiguration;
+		}
+		Map<String, CorsConfiguration> tenantConfigurations = new HashMap<>();
+		tenantRegistry.getTenants().forEach((id, tenant) ->
+				tenantConfigurations.put(id, CorsPolicy.create(tenant.getAllowedOrigins(), corsMaxAge)));
+		return request -> {
+			Tenant tenant = tenantRegistry.resolve(request::getHeader, request.getServerName());
+			return tenant != null ? tenantConfigurations.get(tenant.getId()) : corsConfiguration;
+		};
+	}
+
+	/**
+	 * Registra o {@link CorsPreflightFilter} antes do {@code springSecurityFilterChain}, para que os preflights sejam
+	 * respondidos sem passar pelos filtros de segurança.
+	 *
+	 * @return o registro do filtro de preflight.
+	 */
+	@Bean
+	FilterRegistrationBean<CorsPreflightFilter> corsPreflightFilter() {
+		FilterRegistrationBean<CorsPreflightFilter> registration =
+				new FilterRegistrationBean<>(new CorsPreflightFilter(corsConfigurationSource()));
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+		return registration;
 	}
 
 	/**
 	 * Bean para configurar o {@link SecurityFilterChain} que define as regras de segurança HTTP.
 	 *
 	 * Configura a política de CORS, desativa o CSRF, define as permissões para a URL "/login",
-	 * e adiciona os filtros de autenticação e autorização JWT.
+	 * revoga os tokens no "/logout" e adiciona os filtros de renovação, autenticação e autorização JWT.
 	 *
 	 * @param http objeto {@link HttpSecurity} utilizado para configurar segurança da aplicação.
 	 * @return o {@link SecurityFilterChain} configurado.
@@ -78,22 +163,39 @@ public class WebSecurityConfig {
 	 */
 	@Bean
 	SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+		JWTAuthenticationFilter authenticationFilter = new JWTAuthenticationFilter(authenticationManager(http));
+		authenticationFilter.setPasswordVerificationExecutor(passwordVerificationExecutor);
+		authenticationFilter.setMaxPayloadBytes(loginMaxPayloadBytes);
+		authenticationFilter.setLoginThrottle(loginThrottle);
+		authenticationFilter.setTokenIssuer(tokenIssuer);
+		authenticationFilter.setAuthMetrics(authMetrics);
+		authenticationFilter.setAuthAuditLog(authAuditLog);
+		authenticationFilter.setTenantRegistry(tenantRegistry);
+		JWTRefreshFilter refreshFilter = new JWTRefreshFilter(tokenVerifier, tokenIssuer, revocationList);
+		refreshFilter.setTenantRegistry(tenantRegistry);
+		JWTAuthorizationFilter authorizationFilter = new JWTAuthorizationFilter(authenticationManager(http));
+		authorizationFilter.setTokenVerifier(tokenVerifier);
+		authorizationFilter.setAuthMetrics(authMetrics);
+		authorizationFilter.setAuthAuditLog(authAuditLog);
+		authorizationFilter.setTenantRegistry(tenantRegistry);
+		JwtLogoutHandler logoutHandler = new JwtLogoutHandler(tokenVerifier, tokenIssuer, revocationList);
+
 		return http
 				.csrf(AbstractHttpConfigurer::disable)
-                .cors(cors -> cors.configurationSource(request -> {
-                    CorsConfiguration config = new CorsConfiguration().applyPermitDefaultValues();
-                    config.setAllowCredentials(true);
-                    config.addExposedHeader("Set-Cookie");
-                    config.setAllowedOrigins(allowedOriginsList);
-                    return config;
-                }))
+				.cors(cors -> cors.configurationSource(corsConfigurationSource()))
 				.authorizeHttpRequests(auth -> auth
-						.requestMatchers(openEndpointsList.toArray(new String[0])).permitAll()
+						.requestMatchers(new OpenEndpointMatcher(openEndpointsList)).permitAll()
+						.requestMatchers(HttpMethod.GET, SecurityConstants.JWKS_URL).permitAll()
 						.anyRequest().authenticated()
 				)
 				.sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-				.addFilterBefore(new JWTAuthenticationFilter(authenticationManager(http)), UsernamePasswordAuthenticationFilter.class)
-				.addFilterAfter(new JWTAuthorizationFilter(authenticationManager(http)), JWTAuthenticationFilter.class)
+				.logout(logout -> logout
+						.addLogoutHandler(logoutHandler)
+						.logoutSuccessHandler(logoutHandler)
+				)
+				.addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class)
+				.addFilterBefore(refreshFilter, JWTAuthenticationFilter.class)
+				.addFilterAfter(authorizationFilter, JWTAuthenticationFilter.class)
 				.httpBasic(Customizer.withDefaults())
 				.build();
 	}
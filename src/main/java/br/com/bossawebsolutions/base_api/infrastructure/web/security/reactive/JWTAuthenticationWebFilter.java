@@ -0,0 +1,216 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthAuditLog;
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthEvent;
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JWTAuthenticationFilter;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenIssuer;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.LoginRejectedException;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.LoginThrottle;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.SecurityConstants;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.Tenant;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.TenantRegistry;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.UserDetailsImpl;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Versão reativa do {@link br.com.bossawebsolutions.base_api.infrastructure.web.security.JWTAuthenticationFilter}:
+ * atende o {@code POST /login}, valida as credenciais e entrega o token de acesso e o token de renovação em cookies.
+ *
+ * O corpo é acumulado sem bloquear, até {@code login.max-payload-bytes}, e só então desserializado em {@link AppUser}.
+ * A consulta ao repositório e a verificação da senha ficam a cargo do {@link ReactiveAuthenticationManager}, que as
+ * executa fora do event loop; quando a fila do scheduler de senhas está cheia, o login é recusado com HTTP 429.
+ */
+public class JWTAuthenticationWebFilter implements WebFilter {
+	private static final Logger logger = LoggerFactory.getLogger(JWTAuthenticationWebFilter.class);
+
+	private static final String USERNAME_ATTRIBUTE = JWTAuthenticationWebFilter.class.getName() + ".username";
+
+	private final ServerWebExchangeMatcher requestMatcher = ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/login");
+	private final ReactiveAuthenticationManager authenticationManager;
+	private final JwtTokenIssuer tokenIssuer;
+	private final LoginThrottle loginThrottle;
+	private final AuthMetrics authMetrics;
+	private final AuthAuditLog authAuditLog;
+	private final TenantRegistry tenantRegistry;
+	private final long maxPayloadBytes;
+	private final long retryAfterSeconds;
+
+	/**
+	 * @param authenticationManager o {@link ReactiveAuthenticationManager} que verifica as credenciais
+	 * @param tokenIssuer o {@link JwtTokenIssuer} que emite os tokens
+	 * @param loginThrottle o limite de tentativas de login por endereço e por usuário, ou {@code null} para não limitar
+	 * @param authMetrics as métricas em que são registradas as durações das etapas do login
+	 * @param authAuditLog o registro de auditoria em que são anotados os logins bem-sucedidos e os recusados
+	 * @param tenantRegistry os tenants da aplicação, identificados pelo header ou pelo host da requisição
+	 * @param maxPayloadBytes o tamanho máximo, em bytes, do corpo da requisição de login
+	 * @param retryAfterSeconds valor do header {@code Retry-After} enviado quando a fila de verificações está cheia
+	 */
+	public JWTAuthenticationWebFilter(ReactiveAuthenticationManager authenticationManager, JwtTokenIssuer tokenIssuer,
+			LoginThrottle loginThrottle, AuthMetrics authMetrics, AuthAuditLog authAuditLog, TenantRegistry tenantRegistry,
+			long maxPayloadBytes, long retryAfterSeconds) {
+		this.authenticationManager = authenticationManager;
+		this.tokenIssuer = tokenIssuer;
+		this.loginThrottle = loginThrottle;
+		this.authMetrics = authMetrics;
+		this.authAuditLog = authAuditLog;
+		this.tenantRegistry = tenantRegistry;
+		this.maxPayloadBytes = maxPayloadBytes;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		return requestMatcher.matches(exchange)
+				.flatMap(result -> result.isMatch() ? login(exchange) : chain.filter(exchange));
+	}
+
+	private Mono<Void> login(ServerWebExchange exchange) {
+		ServerHttpRequest request = exchange.getRequest();
+		if (request.getHeaders().getContentLength() > maxPayloadBytes) {
+			return reject(exchange, payloadTooLarge());
+		}
+		return Mono.defer(() -> {
+					if (loginThrottle != null) {
+						loginThrottle.checkClient(loginThrottle.clientAddress(clientAddress(request),
+								request.getHeaders().getFirst(LoginThrottle.FORWARDED_FOR_HEADER)));
+					}
+					return DataBufferUtils.join(request.getBody(), (int) Math.min(maxPayloadBytes, Integer.MAX_VALUE));
+				})
+				.map(this::readAppUser)
+				.switchIfEmpty(Mono.error(() -> new BadCredentialsException("Corpo da requisição de login vazio")))
+				.flatMap(appUser -> authenticate(exchange, appUser))
+				.flatMap(authentication -> onSuccess(exchange, authentication))
+				.onErrorResume(DataBufferLimitException.class, e -> reject(exchange, payloadTooLarge()))
+				.onErrorResume(RejectedExecutionException.class, e -> reject(exchange, new LoginRejectedException(
+						"Muitas tentativas de login em andamento", HttpStatus.TOO_MANY_REQUESTS.value(), retryAfterSeconds)))
+				.onErrorResume(LoginRejectedException.class, e -> reject(exchange, e))
+				.onErrorResume(AuthenticationException.class, e -> {
+					logger.debug("Falha na autenticação: {}", e.getMessage());
+					auditFailure(exchange, e);
+					exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+					return exchange.getResponse().setComplete();
+				});
+	}
+
+	private AppUser readAppUser(DataBuffer body) {
+		long parseStart = authMetrics.startTimer();
+		try (InputStream in = body.asInputStream(true)) {
+			return CustomObjectMapper.getAppUserReader().readValue(in);
+		} catch (JsonProcessingException e) {
+			logger.debug("Corpo da requisição de login inválido: {}", e.getOriginalMessage());
+			throw JWTAuthenticationFilter.invalidBody();
+		} catch (IOException e) {
+			logger.error("Erro ao tentar autenticar o usuário: {}", e.getMessage(), e);
+			throw new UncheckedIOException(e);
+		} finally {
+			authMetrics.record(AuthMetrics.Stage.LOGIN_BODY_PARSE, parseStart);
+		}
+	}
+
+	private Mono<Authentication> authenticate(ServerWebExchange exchange, AppUser appUser) {
+		exchange.getAttributes().put(USERNAME_ATTRIBUTE, appUser.getUsername());
+		if (loginThrottle != null) {
+			loginThrottle.checkUsername(appUser.getUsername());
+		}
+		UsernamePasswordAuthenticationToken upat = new UsernamePasswordAuthenticationToken(appUser.getUsername(),
+				JWTAuthenticationFilter.decodePassword(appUser.getPassword()));
+		long checkStart = authMetrics.startTimer();
+		return authenticationManager.authenticate(upat)
+				.doFinally(signal -> authMetrics.record(AuthMetrics.Stage.LOGIN_PASSWORD_CHECK, checkStart));
+	}
+
+	private Mono<Void> onSuccess(ServerWebExchange exchange, Authentication authentication) {
+		UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+		long mintStart = authMetrics.startTimer();
+		Tenant tenant = tenant(tenantRegistry, exchange.getRequest());
+		String accessToken = tokenIssuer.issueAccessToken(userDetails, tenant);
+		String refreshToken = tokenIssuer.issueRefreshToken(userDetails, tenant);
+		authMetrics.record(AuthMetrics.Stage.LOGIN_TOKEN_MINT, mintStart);
+
+		ServerHttpResponse response = exchange.getResponse();
+		boolean secure = "https".equals(exchange.getRequest().getURI().getScheme());
+		tokenIssuer.tokenCookies(accessToken, refreshToken, secure, tenant).forEach(response::addCookie);
+		response.setStatusCode(HttpStatus.OK);
+		authAuditLog.record(AuthEvent.Type.LOGIN_SUCCESS, userDetails.getUsername(), clientAddress(exchange.getRequest()), null);
+		return response.setComplete();
+	}
+
+	private void auditFailure(ServerWebExchange exchange, AuthenticationException failed) {
+		authAuditLog.record(AuthEvent.Type.LOGIN_FAILURE, exchange.getAttribute(USERNAME_ATTRIBUTE),
+				clientAddress(exchange.getRequest()), JWTAuthenticationFilter.loginFailureReason(failed));
+	}
+
+	private Mono<Void> reject(ServerWebExchange exchange, LoginRejectedException rejected) {
+		auditFailure(exchange, rejected);
+		ServerHttpResponse response = exchange.getResponse();
+		if (rejected.getRetryAfterSeconds() > 0) {
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()));
+		}
+		response.setStatusCode(HttpStatus.valueOf(rejected.getStatus()));
+		return response.setComplete();
+	}
+
+	private LoginRejectedException payloadTooLarge() {
+		return new LoginRejectedException("Corpo da requisição excede " + maxPayloadBytes + " bytes", HttpStatus.PAYLOAD_TOO_LARGE.value(), 0);
+	}
+
+	/**
+	 * @return o tenant identificado pelo header ou pelo host da requisição, ou {@code null} para o tenant padrão
+	 */
+	static Tenant tenant(TenantRegistry tenantRegistry, ServerHttpRequest request) {
+		return tenantRegistry != null ? tenantRegistry.resolve(request.getHeaders()::getFirst, request.getURI().getHost()) : null;
+	}
+
+	/**
+	 * Executa a validação de um token. Com as chaves locais ela não faz I/O e roda no próprio event loop; com
+	 * {@code jwt.jwks.uri}, um {@code kid} fora do cache provoca uma consulta HTTP ao JWKS, então ela roda no
+	 * {@code boundedElastic}.
+	 *
+	 * @param verification a validação, que não deve lançar exceções
+	 * @return o resultado da validação, vazio se ela devolver {@code null}
+	 */
+	static <T> Mono<T> verification(Callable<T> verification) {
+		Mono<T> result = Mono.fromCallable(verification);
+		return SecurityConstants.getKeyRing().getRemoteKeys() == null ? result : result.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	static String clientAddress(ServerHttpRequest request) {
+		InetSocketAddress address = request.getRemoteAddress();
+		if (address == null) {
+			return "unknown";
+		}
+		return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+	}
+}
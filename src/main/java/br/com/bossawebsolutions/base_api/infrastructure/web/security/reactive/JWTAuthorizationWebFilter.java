@@ -0,0 +1,128 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthAuditLog;
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthEvent;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenVerifier;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.RoleAuthorities;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.SecurityConstants;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.Tenant;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.TenantRegistry;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.UserDetailsImpl;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Versão reativa do {@link br.com.bossawebsolutions.base_api.infrastructure.web.security.JWTAuthorizationFilter}:
+ * extrai o token de acesso do cookie ou do header {@code Authorization}, valida-o pelo {@link JwtTokenVerifier} e
+ * publica a autenticação no contexto do Reactor. A validação roda na própria thread do event loop, exceto com um JWKS
+ * remoto, que pode exigir uma consulta HTTP (veja {@link JWTAuthenticationWebFilter#verification}).
+ */
+public class JWTAuthorizationWebFilter implements WebFilter {
+	private static final Logger logger = LoggerFactory.getLogger(JWTAuthorizationWebFilter.class);
+
+	private final JwtTokenVerifier tokenVerifier;
+	private final AuthMetrics authMetrics;
+	private final AuthAuditLog authAuditLog;
+	private final TenantRegistry tenantRegistry;
+
+	/**
+	 * @param tokenVerifier o {@link JwtTokenVerifier} que valida os tokens de acesso
+	 * @param authMetrics as métricas em que são registradas as durações e os motivos de recusa
+	 * @param authAuditLog o registro de auditoria em que os tokens recusados são anotados
+	 * @param tenantRegistry os tenants da aplicação; o token só é aceito na requisição do tenant que o emitiu
+	 */
+	public JWTAuthorizationWebFilter(JwtTokenVerifier tokenVerifier, AuthMetrics authMetrics, AuthAuditLog authAuditLog,
+			TenantRegistry tenantRegistry) {
+		this.tokenVerifier = tokenVerifier;
+		this.authMetrics = authMetrics;
+		this.authAuditLog = authAuditLog;
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	/**
+	 * Autentica a requisição quando o token for válido. Tokens recusados seguem sem autenticação, para que as regras de
+	 * autorização decidam a resposta, e removem o cookie de acesso quando vieram dele. Recusas esperadas (expiração,
+	 * assinatura, formato, revogação, tipo ou tenant) vão apenas para a auditoria; somente falhas de outra natureza incluem stack
+	 * trace no log.
+	 *
+	 * @param exchange a troca HTTP atual
+	 * @param chain a cadeia de filtros
+	 * @return a conclusão do processamento da requisição
+	 */
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		long resolveStart = authMetrics.startTimer();
+		ServerHttpRequest request = exchange.getRequest();
+		HttpCookie cookie = request.getCookies().getFirst(SecurityConstants.ACCESS_TOKEN_COOKIE);
+		String token = cookie != null ? SecurityConstants.cookieToken(cookie.getValue())
+				: SecurityConstants.headerToken(request.getHeaders().getFirst(SecurityConstants.AUTHORIZATION_HEADER));
+		authMetrics.record(AuthMetrics.Stage.TOKEN_RESOLVE, resolveStart);
+		if (token == null) {
+			return chain.filter(exchange);
+		}
+
+		boolean fromCookie = cookie != null;
+		return JWTAuthenticationWebFilter.verification(() -> authenticate(exchange, token, fromCookie))
+				.map(ReactiveSecurityContextHolder::withAuthentication)
+				.defaultIfEmpty(Context.empty())
+				.flatMap(context -> chain.filter(exchange).contextWrite(context));
+	}
+
+	/**
+	 * @return a autenticação do token, ou {@code null} se ele foi recusado
+	 */
+	private UsernamePasswordAuthenticationToken authenticate(ServerWebExchange exchange, String token, boolean fromCookie) {
+		long verifyStart = authMetrics.startTimer();
+		try {
+			Tenant tenant = JWTAuthenticationWebFilter.tenant(tenantRegistry, exchange.getRequest());
+			JwtTokenVerifier.Result result = tokenVerifier.check(token, tenant != null ? tenant.getId() : null);
+			switch (result.getOutcome()) {
+				case VERIFIED -> {
+					return getAuthentication(result.getToken());
+				}
+				case REJECTED -> reject(exchange, result, fromCookie);
+				case NO_SUBJECT -> {
+				}
+			}
+		} catch (Exception e) {
+			logger.error("Erro ao autenticar com o token JWT: {}", e.getMessage(), e);
+		} finally {
+			authMetrics.record(AuthMetrics.Stage.TOKEN_VERIFY, verifyStart);
+		}
+		return null;
+	}
+
+	private void reject(ServerWebExchange exchange, JwtTokenVerifier.Result result, boolean fromCookie) {
+		AuthMetrics.TokenFailure reason = result.getFailure();
+		authMetrics.tokenRejected(reason);
+		authAuditLog.record(AuthEvent.Type.TOKEN_REJECTED, null, JWTAuthenticationWebFilter.clientAddress(exchange.getRequest()), reason.name());
+		if (reason == AuthMetrics.TokenFailure.OTHER) {
+			Exception error = result.getError();
+			logger.error("Erro ao processar o token JWT: {}", error != null ? error.getMessage() : null, error);
+		} else {
+			logger.debug("Token JWT recusado: {}", reason);
+		}
+		if (fromCookie) {
+			exchange.getResponse().addCookie(ResponseCookie.from(SecurityConstants.ACCESS_TOKEN_COOKIE, "")
+					.path("/").maxAge(0).httpOnly(true).build());
+		}
+	}
+
+	private static UsernamePasswordAuthenticationToken getAuthentication(VerifiedToken verifiedToken) {
+		RoleAuthorities roleAuthorities = RoleAuthorities.fromClaim(verifiedToken.getRoles());
+		UserDetailsImpl principal = new UserDetailsImpl(verifiedToken.getId(), verifiedToken.getSubject(), roleAuthorities);
+		return new UsernamePasswordAuthenticationToken(principal, null, roleAuthorities.getAuthorities());
+	}
+}
@@ -0,0 +1,116 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenIssuer;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenVerifier;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.RoleAuthorities;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.SecurityConstants;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.Tenant;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.TenantRegistry;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.TokenRevocationList;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.UserDetailsImpl;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Versão reativa do {@link br.com.bossawebsolutions.base_api.infrastructure.web.security.JWTRefreshFilter}: atende o
+ * {@code POST /refresh}, consome o token de renovação recebido no cookie e emite um novo par de tokens.
+ * A renovação não consulta o repositório e roda na própria thread do event loop. Com tenants configurados, o token só
+ * é aceito na requisição do tenant que o emitiu, e os novos tokens são emitidos para o mesmo tenant.
+ */
+public class JWTRefreshWebFilter implements WebFilter {
+	private static final Logger logger = LoggerFactory.getLogger(JWTRefreshWebFilter.class);
+
+	private final ServerWebExchangeMatcher requestMatcher =
+			ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, SecurityConstants.REFRESH_URL);
+	private final JwtTokenVerifier tokenVerifier;
+	private final JwtTokenIssuer tokenIssuer;
+	private final TokenRevocationList revocationList;
+	private final TenantRegistry tenantRegistry;
+
+	/**
+	 * @param tokenVerifier o {@link JwtTokenVerifier} que valida o token de renovação
+	 * @param tokenIssuer o {@link JwtTokenIssuer} que emite os novos tokens
+	 * @param revocationList a {@link TokenRevocationList} em que os tokens consumidos são incluídos
+	 * @param tenantRegistry os tenants da aplicação
+	 */
+	public JWTRefreshWebFilter(JwtTokenVerifier tokenVerifier, JwtTokenIssuer tokenIssuer, TokenRevocationList revocationList,
+			TenantRegistry tenantRegistry) {
+		this.tokenVerifier = tokenVerifier;
+		this.tokenIssuer = tokenIssuer;
+		this.revocationList = revocationList;
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		return requestMatcher.matches(exchange)
+				.flatMap(result -> result.isMatch()
+						? JWTAuthenticationWebFilter.verification(() -> refresh(exchange)).flatMap(response -> response)
+						: chain.filter(exchange));
+	}
+
+	/**
+	 * Valida e consome o token de renovação e prepara a resposta.
+	 *
+	 * @return a conclusão da resposta
+	 */
+	private Mono<Void> refresh(ServerWebExchange exchange) {
+		ServerHttpResponse response = exchange.getResponse();
+		VerifiedToken refreshToken = null;
+		HttpCookie cookie = exchange.getRequest().getCookies().getFirst(SecurityConstants.REFRESH_TOKEN_COOKIE);
+		if (cookie != null) {
+			try {
+				refreshToken = tokenVerifier.verifyRefreshToken(cookie.getValue());
+			} catch (Exception e) {
+				logger.debug("Token de renovação inválido: {}", e.getMessage());
+			}
+		}
+		Tenant tenant = JWTAuthenticationWebFilter.tenant(tenantRegistry, exchange.getRequest());
+		if (refreshToken != null && tenantRegistry != null && tenantRegistry.isEnabled()
+				&& !Objects.equals(refreshToken.getIssuer(), tenant != null ? tenant.getId() : null)) {
+			logger.debug("Token de renovação emitido para outro tenant: {}", refreshToken.getIssuer());
+			refreshToken = null;
+		}
+		if (refreshToken == null || !consume(refreshToken)) {
+			tokenIssuer.clearedTokenCookies().forEach(response::addCookie);
+			response.setStatusCode(HttpStatus.UNAUTHORIZED);
+			return response.setComplete();
+		}
+
+		UserDetailsImpl userDetails = new UserDetailsImpl(refreshToken.getId(), refreshToken.getSubject(),
+				RoleAuthorities.fromClaim(refreshToken.getRoles()));
+		boolean secure = "https".equals(exchange.getRequest().getURI().getScheme());
+		tokenIssuer.tokenCookies(tokenIssuer.issueAccessToken(userDetails, tenant), tokenIssuer.issueRefreshToken(userDetails, tenant, refreshToken.getFamilyId()),
+				secure, tenant).forEach(response::addCookie);
+		response.setStatusCode(HttpStatus.NO_CONTENT);
+		return response.setComplete();
+	}
+
+	private boolean consume(VerifiedToken refreshToken) {
+		if (refreshToken.getTokenId() == null) {
+			return false;
+		}
+		if (revocationList.revoke(refreshToken.getTokenId(), refreshToken.getExpiresAt())) {
+			return true;
+		}
+		if (revocationList.isRevoked(refreshToken.getTokenId(), refreshToken.getExpiresAt())) {
+			tokenVerifier.revokeFamily(refreshToken);
+		} else {
+			logger.warn("Token de renovação do usuário {} não pôde ser consumido", refreshToken.getSubject());
+		}
+		return false;
+	}
+}
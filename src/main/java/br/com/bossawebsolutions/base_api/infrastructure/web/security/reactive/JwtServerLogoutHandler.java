@@ -0,0 +1,104 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenIssuer;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenVerifier;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.SecurityConstants;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.TokenRevocationList;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.WebFilterExchange;
+import org.springframework.security.web.server.authentication.logout.ServerLogoutHandler;
+import org.springframework.security.web.server.authentication.logout.ServerLogoutSuccessHandler;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão reativa do {@link br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtLogoutHandler}: revoga o
+ * token de acesso e o token de renovação recebidos no {@code /logout}, remove os cookies e responde
+ * {@code 204 No Content}, ou {@code 503 Service Unavailable} se algum token válido não pôde ser revogado porque a lista
+ * atingiu o limite.
+ */
+public class JwtServerLogoutHandler implements ServerLogoutHandler, ServerLogoutSuccessHandler {
+	private static final Logger logger = LoggerFactory.getLogger(JwtServerLogoutHandler.class);
+	private static final String REVOCATION_FAILED_ATTRIBUTE = JwtServerLogoutHandler.class.getName() + ".REVOCATION_FAILED";
+
+	private final JwtTokenVerifier tokenVerifier;
+	private final JwtTokenIssuer tokenIssuer;
+	private final TokenRevocationList revocationList;
+
+	/**
+	 * @param tokenVerifier o {@link JwtTokenVerifier} que valida os tokens antes da revogação
+	 * @param tokenIssuer o {@link JwtTokenIssuer} que monta os cookies de remoção
+	 * @param revocationList a {@link TokenRevocationList} em que os tokens são incluídos
+	 */
+	public JwtServerLogoutHandler(JwtTokenVerifier tokenVerifier, JwtTokenIssuer tokenIssuer, TokenRevocationList revocationList) {
+		this.tokenVerifier = tokenVerifier;
+		this.tokenIssuer = tokenIssuer;
+		this.revocationList = revocationList;
+	}
+
+	@Override
+	public Mono<Void> logout(WebFilterExchange exchange, Authentication authentication) {
+		ServerHttpRequest request = exchange.getExchange().getRequest();
+		return JWTAuthenticationWebFilter.verification(() -> revokeAll(request))
+				.doOnNext(revoked -> {
+					if (!revoked) {
+						exchange.getExchange().getAttributes().put(REVOCATION_FAILED_ATTRIBUTE, Boolean.TRUE);
+					}
+					tokenIssuer.clearedTokenCookies().forEach(exchange.getExchange().getResponse()::addCookie);
+				})
+				.then();
+	}
+
+	/**
+	 * @return {@code false} se algum token válido não pôde ser revogado
+	 */
+	private boolean revokeAll(ServerHttpRequest request) {
+		boolean revoked = revoke(request.getCookies().getFirst(SecurityConstants.ACCESS_TOKEN_COOKIE));
+		revoked &= revoke(request.getCookies().getFirst(SecurityConstants.REFRESH_TOKEN_COOKIE));
+		String token = SecurityConstants.headerToken(request.getHeaders().getFirst(SecurityConstants.AUTHORIZATION_HEADER));
+		if (token != null) {
+			revoked &= revoke(token);
+		}
+		return revoked;
+	}
+
+	@Override
+	public Mono<Void> onLogoutSuccess(WebFilterExchange exchange, Authentication authentication) {
+		ServerHttpResponse response = exchange.getExchange().getResponse();
+		if (exchange.getExchange().getAttribute(REVOCATION_FAILED_ATTRIBUTE) != null) {
+			response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+		} else {
+			response.setStatusCode(HttpStatus.NO_CONTENT);
+		}
+		return Mono.empty();
+	}
+
+	private boolean revoke(HttpCookie cookie) {
+		return cookie == null || revoke(SecurityConstants.cookieToken(cookie.getValue()));
+	}
+
+	/**
+	 * Apenas tokens com assinatura válida são revogados, para que a lista não possa ser preenchida com valores arbitrários.
+	 *
+	 * @return {@code false} somente se o token é válido e não pôde ser revogado
+	 */
+	private boolean revoke(String token) {
+		VerifiedToken verifiedToken;
+		try {
+			verifiedToken = tokenVerifier.verifyForRevocation(token);
+		} catch (Exception e) {
+			logger.debug("Token ignorado no logout: {}", e.getMessage());
+			return true;
+		}
+		return verifiedToken == null
+				|| revocationList.ensureRevoked(verifiedToken.getTokenId(), verifiedToken.getExpiresAt());
+	}
+}
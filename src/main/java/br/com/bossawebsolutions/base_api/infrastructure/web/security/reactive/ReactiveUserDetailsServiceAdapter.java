@@ -0,0 +1,56 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.UserDetailsServiceImpl;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Adapta o {@link UserDetailsServiceImpl}, que consulta o
+ * {@link br.com.bossawebsolutions.base_api.repository.AppUserRepository} de forma bloqueante, para o
+ * {@link ReactiveUserDetailsService} do WebFlux. As consultas e as regravações de hash são executadas no
+ * {@link Scheduler} informado, para não bloquear as threads do event loop.
+ */
+public class ReactiveUserDetailsServiceAdapter implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+	private final UserDetailsServiceImpl userDetailsService;
+	private final Scheduler repositoryScheduler;
+
+	/**
+	 * @param userDetailsService o serviço bloqueante que carrega os usuários pelo cache e pelo repositório
+	 * @param repositoryScheduler o {@link Scheduler} em que as chamadas ao repositório são executadas
+	 */
+	public ReactiveUserDetailsServiceAdapter(UserDetailsServiceImpl userDetailsService, Scheduler repositoryScheduler) {
+		this.userDetailsService = userDetailsService;
+		this.repositoryScheduler = repositoryScheduler;
+	}
+
+	/**
+	 * Carrega o usuário pelo nome. Usuários inexistentes resultam em erro
+	 * {@link org.springframework.security.core.userdetails.UsernameNotFoundException}, tratado como credencial inválida.
+	 *
+	 * @param username o nome de usuário informado no login
+	 * @return o usuário encontrado
+	 */
+	@Override
+	public Mono<UserDetails> findByUsername(String username) {
+		return Mono.fromCallable(() -> userDetailsService.loadUserByUsername(username))
+				.subscribeOn(repositoryScheduler);
+	}
+
+	/**
+	 * Regrava o hash da senha quando o formato ou o custo estiver desatualizado, conforme
+	 * {@link UserDetailsServiceImpl#updatePassword(UserDetails, String)}.
+	 *
+	 * @param user o usuário autenticado
+	 * @param newPassword o novo hash da senha
+	 * @return o usuário com o hash atualizado, ou o usuário original se o repositório não suportar a atualização
+	 */
+	@Override
+	public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+		return Mono.fromCallable(() -> userDetailsService.updatePassword(user, newPassword))
+				.subscribeOn(repositoryScheduler);
+	}
+}
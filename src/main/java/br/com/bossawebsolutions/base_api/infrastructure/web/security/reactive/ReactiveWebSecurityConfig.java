@@ -0,0 +1,191 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.audit.AuthAuditLog;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.CorsPolicy;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenIssuer;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.JwtTokenVerifier;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.LoginThrottle;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.PasswordEncoderFactory;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.SecurityConstants;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.Tenant;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.TenantRegistry;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.TokenRevocationList;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.UserDetailsServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração do Spring Security para autenticação e autorização JWT em aplicações WebFlux, selecionada
+ * automaticamente quando a aplicação é reativa. Equivale à
+ * {@link br.com.bossawebsolutions.base_api.infrastructure.web.security.WebSecurityConfig}: os mesmos endpoints, cookies,
+ * limites de login e lista de revogação, com filtros que não bloqueiam o event loop.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveWebSecurityConfig {
+
+	private final UserDetailsServiceImpl userDetailsService;
+	private final JwtTokenVerifier tokenVerifier;
+	private final PasswordEncoderFactory passwordEncoderFactory;
+	private final LoginThrottle loginThrottle;
+	private final JwtTokenIssuer tokenIssuer;
+	private final TokenRevocationList revocationList;
+	private final AuthMetrics authMetrics;
+	private final AuthAuditLog authAuditLog;
+	private final TenantRegistry tenantRegistry;
+
+	@Value("${open.endpoints.list:}")
+	List<String> openEndpointsList;
+
+	@Value("${allowed.origins.list:}")
+	List<String> allowedOriginsList;
+
+	@Value("${login.max-payload-bytes:8192}")
+	long loginMaxPayloadBytes;
+
+	@Value("${cors.max-age:1800}")
+	long corsMaxAge;
+
+	@Value("${login.executor.threads:0}")
+	int passwordThreads;
+
+	@Value("${login.executor.queue-capacity:64}")
+	int passwordQueueCapacity;
+
+	@Value("${login.executor.retry-after:1}")
+	long retryAfterSeconds;
+
+	/**
+	 * @param userDetailsService serviço que carrega os usuários pelo cache e pelo repositório.
+	 * @param tokenVerifier validador dos tokens JWT recebidos nas requisições.
+	 * @param passwordEncoderFactory fábrica do codificador de senhas configurado.
+	 * @param loginThrottle limite de tentativas de login por endereço e por usuário.
+	 * @param tokenIssuer emissor dos tokens de acesso e de renovação.
+	 * @param revocationList lista dos tokens revogados no logout ou já consumidos na renovação.
+	 * @param authMetrics métricas de duração das etapas de autenticação.
+	 * @param authAuditLog registro de auditoria dos logins e dos tokens recusados.
+	 * @param tenantRegistry tenants atendidos pela aplicação, cada um com as próprias chaves e origens.
+	 */
+	public ReactiveWebSecurityConfig(UserDetailsServiceImpl userDetailsService, JwtTokenVerifier tokenVerifier,
+			PasswordEncoderFactory passwordEncoderFactory, LoginThrottle loginThrottle, JwtTokenIssuer tokenIssuer,
+			TokenRevocationList revocationList, AuthMetrics authMetrics, AuthAuditLog authAuditLog, TenantRegistry tenantRegistry) {
+		this.userDetailsService = userDetailsService;
+		this.tokenVerifier = tokenVerifier;
+		this.passwordEncoderFactory = passwordEncoderFactory;
+		this.loginThrottle = loginThrottle;
+		this.tokenIssuer = tokenIssuer;
+		this.revocationList = revocationList;
+		this.authMetrics = authMetrics;
+		this.authAuditLog = authAuditLog;
+		this.tenantRegistry = tenantRegistry;
+	}
+
+	/**
+	 * Bean para criar o codificador de senha configurado (BCrypt, Argon2 ou PBKDF2, identificados pelo prefixo do hash).
+	 *
+	 * @return o {@link PasswordEncoder} criado pela {@link PasswordEncoderFactory}.
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder() {
+		return passwordEncoderFactory.create();
+	}
+
+	/**
+	 * Scheduler limitado em que as senhas são verificadas, dimensionado como o
+	 * {@link br.com.bossawebsolutions.base_api.infrastructure.web.security.PasswordVerificationExecutor}:
+	 * {@code login.executor.threads} threads e até {@code login.executor.queue-capacity} verificações aguardando.
+	 *
+	 * @return o {@link Scheduler} de verificação de senhas.
+	 */
+	@Bean(destroyMethod = "dispose")
+	Scheduler passwordVerificationScheduler() {
+		int threads = passwordThreads > 0 ? passwordThreads : Runtime.getRuntime().availableProcessors();
+		return Schedulers.newBoundedElastic(threads, passwordQueueCapacity, "login-verifier");
+	}
+
+	/**
+	 * Bean do {@link ReactiveAuthenticationManager} que carrega o usuário fora do event loop e verifica a senha no
+	 * scheduler de verificação, regravando o hash quando ele estiver desatualizado.
+	 *
+	 * @return o {@link ReactiveAuthenticationManager} configurado.
+	 */
+	@Bean
+	ReactiveAuthenticationManager reactiveAuthenticationManager() {
+		ReactiveUserDetailsServiceAdapter reactiveUserDetailsService =
+				new ReactiveUserDetailsServiceAdapter(userDetailsService, Schedulers.boundedElastic());
+		UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+				new UserDetailsRepositoryReactiveAuthenticationManager(reactiveUserDetailsService);
+		authenticationManager.setPasswordEncoder(passwordEncoder());
+		authenticationManager.setUserDetailsPasswordService(reactiveUserDetailsService);
+		authenticationManager.setScheduler(passwordVerificationScheduler());
+		return authenticationManager;
+	}
+
+	/**
+	 * Bean para configurar o {@link SecurityWebFilterChain}: CORS (os preflights são respondidos pelo filtro de CORS,
+	 * antes dos filtros JWT), CSRF desativado, nenhum contexto de segurança guardado entre requisições, login, renovação
+	 * e autorização JWT, e revogação dos tokens no "/logout".
+	 *
+	 * @param http objeto {@link ServerHttpSecurity} utilizado para configurar segurança da aplicação.
+	 * @return o {@link SecurityWebFilterChain} configurado.
+	 */
+	@Bean
+	SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+		JWTAuthenticationWebFilter authenticationFilter = new JWTAuthenticationWebFilter(reactiveAuthenticationManager(),
+				tokenIssuer, loginThrottle, authMetrics, authAuditLog, tenantRegistry, loginMaxPayloadBytes, retryAfterSeconds);
+		JWTRefreshWebFilter refreshFilter = new JWTRefreshWebFilter(tokenVerifier, tokenIssuer, revocationList, tenantRegistry);
+		JWTAuthorizationWebFilter authorizationFilter =
+				new JWTAuthorizationWebFilter(tokenVerifier, authMetrics, authAuditLog, tenantRegistry);
+		JwtServerLogoutHandler logoutHandler = new JwtServerLogoutHandler(tokenVerifier, tokenIssuer, revocationList);
+		CorsConfiguration corsConfiguration = CorsPolicy.create(allowedOriginsList, corsMaxAge);
+		Map<String, CorsConfiguration> tenantCorsConfigurations = new HashMap<>();
+		tenantRegistry.getTenants().forEach((id, tenant) ->
+				tenantCorsConfigurations.put(id, CorsPolicy.create(tenant.getAllowedOrigins(), corsMaxAge)));
+
+		return http
+				.csrf(ServerHttpSecurity.CsrfSpec::disable)
+				.cors(cors -> cors.configurationSource(exchange -> {
+					Tenant tenant = JWTAuthenticationWebFilter.tenant(tenantRegistry, exchange.getRequest());
+					return tenant != null ? tenantCorsConfigurations.get(tenant.getId()) : corsConfiguration;
+				}))
+				.httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+				.formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+				.securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+				.authorizeExchange(auth -> {
+					if (!openEndpointsList.isEmpty()) {
+						auth.pathMatchers(openEndpointsList.toArray(new String[0])).permitAll();
+					}
+					auth.pathMatchers(HttpMethod.POST, "/login", SecurityConstants.REFRESH_URL).permitAll()
+							.pathMatchers(HttpMethod.GET, SecurityConstants.JWKS_URL).permitAll()
+							.anyExchange().authenticated();
+				})
+				.logout(logout -> logout
+						.logoutHandler(logoutHandler)
+						.logoutSuccessHandler(logoutHandler)
+				)
+				.addFilterAt(refreshFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+				.addFilterAt(authenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+				.addFilterAt(authorizationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+				.build();
+	}
+}
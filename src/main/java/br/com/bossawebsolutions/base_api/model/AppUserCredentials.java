@@ -0,0 +1,14 @@
+package br.com.bossawebsolutions.base_api.model;
+
+import java.util.Set;
+
+/**
+ * Projeção com os dados de um usuário necessários para autenticá-lo e autorizá-lo: identificador, nome de usuário,
+ * hash da senha e papéis. Todo {@link AppUser} é também uma {@code AppUserCredentials}.
+ */
+public interface AppUserCredentials {
+	Long getId();
+	String getUsername();
+	String getPassword();
+	Set<String> getRoles();
+}
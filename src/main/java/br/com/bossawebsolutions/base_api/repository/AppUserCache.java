@@ -0,0 +1,148 @@
+package br.com.bossawebsolutions.base_api.repository;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache das consultas de usuários por nome de usuário feitas ao {@link AppUserRepository}.
+ * Mantém um cache positivo com os usuários encontrados e um cache negativo com os nomes inexistentes,
+ * para que tentativas repetidas com usuários desconhecidos não cheguem ao banco de dados.
+ *
+ * Sempre que um usuário for criado, alterado ou removido, a aplicação deve chamar {@link #evict(String)}
+ * (ou {@link #evictAll()}) para que a mudança seja vista imediatamente. Uma consulta ao repositório em andamento
+ * durante a remoção não guarda o seu resultado, que pode ser anterior à mudança.
+ */
+@Component
+public class AppUserCache {
+
+	private final AppUserRepository appUserRepository;
+	private final AuthMetrics authMetrics;
+	private final boolean enabled;
+	private final long ttl;
+	private final long negativeTtl;
+	private final ExpiringCache<String, AppUser> users;
+	private final ExpiringCache<String, Boolean> unknownUsernames;
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param appUserRepository o repositório consultado quando o usuário não está em cache
+	 * @param authMetrics as métricas em que é registrada a duração das consultas ao repositório
+	 * @param enabled habilita ou desabilita o cache
+	 * @param maxSize número máximo de usuários mantidos em cache
+	 * @param ttl tempo, em milissegundos, que um usuário encontrado permanece em cache
+	 * @param negativeMaxSize número máximo de nomes de usuário inexistentes mantidos em cache
+	 * @param negativeTtl tempo, em milissegundos, que um nome de usuário inexistente permanece em cache
+	 */
+	public AppUserCache(AppUserRepository appUserRepository, AuthMetrics authMetrics,
+						@Value("${app-user.cache.enabled:true}") boolean enabled,
+						@Value("${app-user.cache.max-size:10000}") int maxSize,
+						@Value("${app-user.cache.ttl:60000}") long ttl,
+						@Value("${app-user.cache.negative-max-size:100000}") int negativeMaxSize,
+						@Value("${app-user.cache.negative-ttl:30000}") long negativeTtl) {
+		this.appUserRepository = appUserRepository;
+		this.authMetrics = authMetrics;
+		this.enabled = enabled;
+		this.ttl = ttl;
+		this.negativeTtl = negativeTtl;
+		this.users = new ExpiringCache<>(maxSize);
+		this.unknownUsernames = new ExpiringCache<>(negativeMaxSize);
+	}
+
+	/**
+	 * Busca o usuário no cache ou, se ausente, no {@link AppUserRepository}.
+	 *
+	 * @param username o nome de usuário
+	 * @return o usuário encontrado ou {@link Optional#empty()} se ele não existir
+	 */
+	public Optional<AppUser> findByUsername(String username) {
+		if (!enabled || username == null) {
+			return lookup(username);
+		}
+		long now = System.currentTimeMillis();
+		AppUser cached = users.get(username, now);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		if (unknownUsernames.get(username, now) != null) {
+			return Optional.empty();
+		}
+
+		long observed = generation.get();
+		Optional<AppUser> appUser = lookup(username);
+		if (generation.get() != observed) {
+			return appUser;
+		}
+		if (appUser.isPresent()) {
+			users.put(username, appUser.get(), now + ttl, now);
+		} else {
+			unknownUsernames.put(username, Boolean.TRUE, now + negativeTtl, now);
+		}
+		return appUser;
+	}
+
+	private Optional<AppUser> lookup(String username) {
+		long start = authMetrics.startTimer();
+		try {
+			return appUserRepository.findByUsername(username);
+		} finally {
+			authMetrics.record(AuthMetrics.Stage.REPOSITORY_LOOKUP, start);
+		}
+	}
+
+	/**
+	 * Salva o novo hash de senha pelo {@link AppUserRepository#updatePassword(String, String)} e remove o usuário do cache.
+	 *
+	 * @param username o nome de usuário
+	 * @param encodedPassword o novo hash da senha
+	 * @return {@code true} se o repositório salvou o hash
+	 */
+	public boolean updatePassword(String username, String encodedPassword) {
+		boolean saved = appUserRepository.updatePassword(username, encodedPassword);
+		if (saved) {
+			evict(username);
+		}
+		return saved;
+	}
+
+	/**
+	 * Remove o usuário dos caches positivo e negativo. Deve ser chamado quando o usuário for criado, alterado ou removido.
+	 *
+	 * @param username o nome de usuário
+	 */
+	public void evict(String username) {
+		generation.incrementAndGet();
+		users.remove(username);
+		unknownUsernames.remove(username);
+	}
+
+	/**
+	 * Remove todos os usuários em cache.
+	 */
+	public void evictAll() {
+		generation.incrementAndGet();
+		users.clear();
+		unknownUsernames.clear();
+	}
+
+	public long getHitCount() {
+		return users.getHitCount();
+	}
+
+	public long getNegativeHitCount() {
+		return unknownUsernames.getHitCount();
+	}
+
+	public int size() {
+		return users.size();
+	}
+
+	public int negativeSize() {
+		return unknownUsernames.size();
+	}
+}
@@ -1,16 +1,51 @@
 package br.com.bossawebsolutions.base_api.repository;
 
 import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.AppUserCredentials;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Interface de repositório para manipulação de dados de usuários (AppUser).
  * O Repository que implementar a interface deve estender JpaRepository para facilitar operações de persistência e recuperação de usuários no banco de dados.
+ *
+ * O login usa apenas {@link #findByUsername(String)}. Para que ele custe uma única consulta, a implementação deve
+ * carregar os papéis junto com o usuário (por exemplo, com {@code @EntityGraph(attributePaths = "roles")} ou
+ * {@code join fetch}), como faz a implementação de referência
+ * {@link br.com.bossawebsolutions.base_api.repository.jpa.JpaAppUserRepository}.
  */
 @NoRepositoryBean
 public interface AppUserRepository {
 
 	Optional<AppUser> findByUsername(String username);
+
+	/**
+	 * Busca vários usuários de uma vez, para ferramentas administrativas. A implementação padrão chama
+	 * {@link #findByUsername(String)} para cada nome; implementações com banco de dados devem sobrescrevê-la com uma
+	 * única consulta.
+	 *
+	 * @param usernames os nomes de usuário
+	 * @return as credenciais dos usuários encontrados, em qualquer ordem; nomes inexistentes são ignorados
+	 */
+	default List<AppUserCredentials> findAllByUsernameIn(Collection<String> usernames) {
+		return usernames.stream()
+				.distinct()
+				.<AppUserCredentials>flatMap(username -> findByUsername(username).stream())
+				.toList();
+	}
+
+	/**
+	 * Gancho opcional para salvar um novo hash de senha, utilizado para atualizar hashes antigos após um login bem-sucedido
+	 * (habilitado com {@code password.encoder.upgrade-on-login=true}).
+	 *
+	 * @param username o nome de usuário
+	 * @param encodedPassword o novo hash da senha, já com o prefixo do algoritmo
+	 * @return {@code true} se o hash foi salvo; a implementação padrão não salva nada e retorna {@code false}
+	 */
+	default boolean updatePassword(String username, String encodedPassword) {
+		return false;
+	}
 }
@@ -0,0 +1,71 @@
+package br.com.bossawebsolutions.base_api.repository.jpa;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entidade de referência para o {@link JpaAppUserRepository}: o usuário na tabela {@code app_user} e os seus papéis
+ * na tabela {@code app_user_role}. Os papéis são carregados sob demanda; as consultas do repositório os trazem com
+ * {@code join fetch}, na mesma consulta do usuário.
+ */
+@Entity
+@Table(name = "app_user")
+@Getter
+@Setter
+public class JpaAppUser implements AppUser {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, unique = true)
+	private String username;
+
+	@Column(nullable = false)
+	private String password;
+
+	@ElementCollection
+	@CollectionTable(name = "app_user_role", joinColumns = @JoinColumn(name = "user_id"))
+	@Column(name = "role", nullable = false)
+	private Set<String> roles = new HashSet<>();
+
+	private LocalDateTime createdAt;
+
+	private LocalDateTime updatedAt;
+
+	public JpaAppUser() {
+	}
+
+	public JpaAppUser(String username, String password, Set<String> roles) {
+		this.username = username;
+		this.password = password;
+		this.roles = new HashSet<>(roles);
+	}
+
+	@PrePersist
+	void onCreate() {
+		createdAt = LocalDateTime.now();
+		updatedAt = createdAt;
+	}
+
+	@PreUpdate
+	void onUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+}
@@ -0,0 +1,26 @@
+package br.com.bossawebsolutions.base_api.repository.jpa;
+
+import br.com.bossawebsolutions.base_api.model.AppUserCredentials;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Credenciais montadas pela consulta de projeção do {@link JpaAppUserRepository}, sem carregar a entidade
+ * {@link JpaAppUser} no contexto de persistência.
+ */
+@Getter
+final class JpaAppUserCredentials implements AppUserCredentials {
+
+	private final Long id;
+	private final String username;
+	private final String password;
+	private final Set<String> roles;
+
+	JpaAppUserCredentials(Long id, String username, String password, Set<String> roles) {
+		this.id = id;
+		this.username = username;
+		this.password = password;
+		this.roles = roles;
+	}
+}
@@ -0,0 +1,81 @@
+package br.com.bossawebsolutions.base_api.repository.jpa;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.AppUserCredentials;
+import br.com.bossawebsolutions.base_api.repository.AppUserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementação de referência do {@link AppUserRepository} com JPA, habilitada com {@code app-user.jpa.enabled=true}.
+ * Quando habilitada, tem precedência sobre o repositório da aplicação.
+ *
+ * Cada consulta traz o usuário e os seus papéis com {@code join fetch}, então o login custa exatamente uma consulta
+ * ao banco. {@link #findAllByUsernameIn(Collection)} resolve vários usuários também em uma única consulta, mas projeta
+ * apenas as colunas das credenciais, sem carregar as entidades no contexto de persistência. A entidade
+ * {@link JpaAppUser} precisa estar no escopo do {@code @EntityScan} da aplicação.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "app-user.jpa.enabled", havingValue = "true")
+@Transactional(readOnly = true)
+public class JpaAppUserRepository implements AppUserRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Optional<AppUser> findByUsername(String username) {
+		return entityManager.createQuery(
+						"select u from JpaAppUser u left join fetch u.roles where u.username = :username", JpaAppUser.class)
+				.setParameter("username", username)
+				.getResultStream()
+				.findFirst()
+				.map(AppUser.class::cast);
+	}
+
+	@Override
+	public List<AppUserCredentials> findAllByUsernameIn(Collection<String> usernames) {
+		if (usernames.isEmpty()) {
+			return List.of();
+		}
+		List<Object[]> rows = entityManager.createQuery(
+						"select u.id, u.username, u.password, r from JpaAppUser u left join u.roles r where u.username in :usernames",
+						Object[].class)
+				.setParameter("usernames", usernames)
+				.getResultList();
+		Map<Long, JpaAppUserCredentials> credentials = new LinkedHashMap<>();
+		for (Object[] row : rows) {
+			JpaAppUserCredentials user = credentials.computeIfAbsent((Long) row[0],
+					id -> new JpaAppUserCredentials(id, (String) row[1], (String) row[2], new HashSet<>()));
+			if (row[3] != null) {
+				user.getRoles().add((String) row[3]);
+			}
+		}
+		return new ArrayList<>(credentials.values());
+	}
+
+	@Override
+	@Transactional
+	public boolean updatePassword(String username, String encodedPassword) {
+		return entityManager.createQuery(
+						"update JpaAppUser u set u.password = :password, u.updatedAt = :updatedAt where u.username = :username")
+				.setParameter("password", encodedPassword)
+				.setParameter("updatedAt", LocalDateTime.now())
+				.setParameter("username", username)
+				.executeUpdate() > 0;
+	}
+}
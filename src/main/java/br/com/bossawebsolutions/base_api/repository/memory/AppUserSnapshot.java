@@ -0,0 +1,277 @@
+package br.com.bossawebsolutions.base_api.repository.memory;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Conjunto imutável de usuários indexado pelo nome de usuário, com pouca memória por usuário.
+ *
+ * Os usuários não ficam em objetos: cada um ocupa um registro contíguo em um único {@code byte[]} (id, datas de criação
+ * e alteração, conjunto de papéis, nome de usuário e hash da senha em UTF-8), e o índice é uma tabela de endereçamento
+ * aberto de {@code int}s com a posição de cada registro. Os conjuntos de papéis, que se repetem entre os usuários, são
+ * guardados uma única vez. Assim, um usuário custa o tamanho do nome e do hash mais cerca de 40 bytes, e o coletor de
+ * lixo vê poucos objetos mesmo com milhões de usuários. O {@link AppUser} é montado a cada consulta.
+ *
+ * Como o conjunto não muda depois de construído, as consultas não usam locks; a atualização é feita trocando o conjunto
+ * inteiro (veja {@link InMemoryAppUserRepository}). As datas são mantidas com precisão de milissegundos.
+ */
+public final class AppUserSnapshot {
+
+	/** Conjunto sem usuários. */
+	public static final AppUserSnapshot EMPTY = new Builder().build();
+
+	private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle SHORTS = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+
+	private static final int ID = 0;
+	private static final int CREATED_AT = 8;
+	private static final int UPDATED_AT = 16;
+	private static final int ROLES = 24;
+	private static final int USERNAME_LENGTH = 28;
+	private static final int PASSWORD_LENGTH = 30;
+	private static final int HEADER_LENGTH = 32;
+	private static final int MAX_FIELD_LENGTH = 0xFFFF;
+	private static final long ABSENT = Long.MIN_VALUE;
+
+	private final byte[] data;
+	private final int[] table;
+	private final List<Set<String>> roleSets;
+	private final int size;
+
+	private AppUserSnapshot(byte[] data, int[] table, List<Set<String>> roleSets, int size) {
+		this.data = data;
+		this.table = table;
+		this.roleSets = roleSets;
+		this.size = size;
+	}
+
+	/**
+	 * @return um construtor de conjuntos
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @param username o nome de usuário
+	 * @return o usuário, ou {@link Optional#empty()} se ele não existir
+	 */
+	public Optional<AppUser> find(String username) {
+		if (username == null || size == 0) {
+			return Optional.empty();
+		}
+		byte[] key = username.getBytes(StandardCharsets.UTF_8);
+		int offset = lookup(key);
+		return offset >= 0 ? Optional.of(read(offset)) : Optional.empty();
+	}
+
+	/**
+	 * @return a quantidade de usuários
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return o tamanho, em bytes, dos registros e do índice
+	 */
+	public long getFootprintBytes() {
+		return (long) data.length + (long) table.length * Integer.BYTES;
+	}
+
+	private int lookup(byte[] key) {
+		int mask = table.length - 1;
+		for (int slot = hash(key, 0, key.length) & mask; ; slot = (slot + 1) & mask) {
+			int entry = table[slot];
+			if (entry == 0) {
+				return -1;
+			}
+			int offset = entry - 1;
+			int length = Short.toUnsignedInt((short) SHORTS.get(data, offset + USERNAME_LENGTH));
+			if (Arrays.equals(data, offset + HEADER_LENGTH, offset + HEADER_LENGTH + length, key, 0, key.length)) {
+				return offset;
+			}
+		}
+	}
+
+	private AppUser read(int offset) {
+		int usernameLength = Short.toUnsignedInt((short) SHORTS.get(data, offset + USERNAME_LENGTH));
+		int passwordLength = Short.toUnsignedInt((short) SHORTS.get(data, offset + PASSWORD_LENGTH));
+		long id = (long) LONGS.get(data, offset + ID);
+		int usernameStart = offset + HEADER_LENGTH;
+		return new SnapshotAppUser(
+				id != ABSENT ? id : null,
+				new String(data, usernameStart, usernameLength, StandardCharsets.UTF_8),
+				new String(data, usernameStart + usernameLength, passwordLength, StandardCharsets.UTF_8),
+				roleSets.get((int) INTS.get(data, offset + ROLES)),
+				dateTime((long) LONGS.get(data, offset + CREATED_AT)),
+				dateTime((long) LONGS.get(data, offset + UPDATED_AT)));
+	}
+
+	private static LocalDateTime dateTime(long epochMillis) {
+		if (epochMillis == ABSENT) {
+			return null;
+		}
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000), (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+	}
+
+	private static long epochMillis(LocalDateTime dateTime) {
+		return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : ABSENT;
+	}
+
+	/**
+	 * FNV-1a seguido da mistura final do MurmurHash3, para espalhar nomes de usuário sequenciais ({@code user1},
+	 * {@code user2}, ...) pela tabela.
+	 */
+	private static int hash(byte[] bytes, int from, int length) {
+		int hash = 0x811C9DC5;
+		for (int i = from, end = from + length; i < end; i++) {
+			hash = (hash ^ bytes[i]) * 0x01000193;
+		}
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		hash *= 0xC2B2AE35;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Constrói um {@link AppUserSnapshot}. Se um nome de usuário for adicionado mais de uma vez, prevalece o último.
+	 * Não é thread-safe.
+	 */
+	public static final class Builder {
+		private byte[] data = new byte[1024];
+		private int length;
+		private int[] offsets = new int[64];
+		private int count;
+		private final List<Set<String>> roleSets = new ArrayList<>();
+		private final Map<Set<String>, Integer> roleSetIds = new HashMap<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * @param id o identificador do usuário, possivelmente {@code null}
+		 * @param username o nome de usuário
+		 * @param password o hash da senha, com o prefixo do algoritmo
+		 * @param roles os papéis do usuário
+		 * @param createdAt a data de criação, possivelmente {@code null}
+		 * @param updatedAt a data da última alteração, possivelmente {@code null}
+		 * @return este construtor
+		 */
+		public Builder add(Long id, String username, String password, Set<String> roles, LocalDateTime createdAt,
+				LocalDateTime updatedAt) {
+			byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+			byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+			int offset = reserve(usernameBytes.length, passwordBytes.length);
+			System.arraycopy(usernameBytes, 0, data, offset + HEADER_LENGTH, usernameBytes.length);
+			System.arraycopy(passwordBytes, 0, data, offset + HEADER_LENGTH + usernameBytes.length, passwordBytes.length);
+			return commit(offset, id != null ? id : ABSENT, roles, epochMillis(createdAt), epochMillis(updatedAt));
+		}
+
+		/**
+		 * Adiciona um usuário copiando o nome e o hash diretamente do buffer lido do arquivo, sem criar {@code String}s.
+		 */
+		Builder add(long id, ByteBuffer source, int usernameIndex, int usernameLength, int passwordIndex, int passwordLength,
+				Set<String> roles, LocalDateTime createdAt, LocalDateTime updatedAt) {
+			int offset = reserve(usernameLength, passwordLength);
+			source.get(usernameIndex, data, offset + HEADER_LENGTH, usernameLength);
+			source.get(passwordIndex, data, offset + HEADER_LENGTH + usernameLength, passwordLength);
+			return commit(offset, id, roles, epochMillis(createdAt), epochMillis(updatedAt));
+		}
+
+		/**
+		 * @return a quantidade de registros adicionados, incluindo nomes repetidos
+		 */
+		int count() {
+			return count;
+		}
+
+		private int reserve(int usernameLength, int passwordLength) {
+			if (usernameLength == 0 || usernameLength > MAX_FIELD_LENGTH || passwordLength > MAX_FIELD_LENGTH) {
+				throw new IllegalArgumentException("Nome de usuário vazio ou campo com mais de " + MAX_FIELD_LENGTH + " bytes");
+			}
+			long required = (long) length + HEADER_LENGTH + usernameLength + passwordLength;
+			if (required >= Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("Os usuários ultrapassam o limite de 2 GB de um AppUserSnapshot");
+			}
+			if (required > data.length) {
+				data = Arrays.copyOf(data, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, (long) data.length * 2)));
+			}
+			int offset = length;
+			SHORTS.set(data, offset + USERNAME_LENGTH, (short) usernameLength);
+			SHORTS.set(data, offset + PASSWORD_LENGTH, (short) passwordLength);
+			return offset;
+		}
+
+		private Builder commit(int offset, long id, Set<String> roles, long createdAt, long updatedAt) {
+			LONGS.set(data, offset + ID, id);
+			LONGS.set(data, offset + CREATED_AT, createdAt);
+			LONGS.set(data, offset + UPDATED_AT, updatedAt);
+			INTS.set(data, offset + ROLES, roleSetId(roles));
+			length = offset + HEADER_LENGTH
+					+ Short.toUnsignedInt((short) SHORTS.get(data, offset + USERNAME_LENGTH))
+					+ Short.toUnsignedInt((short) SHORTS.get(data, offset + PASSWORD_LENGTH));
+			if (count == offsets.length) {
+				offsets = Arrays.copyOf(offsets, count * 2);
+			}
+			offsets[count++] = offset;
+			return this;
+		}
+
+		private int roleSetId(Set<String> roles) {
+			Set<String> roleSet = roles != null ? Set.copyOf(roles) : Set.of();
+			Integer id = roleSetIds.get(roleSet);
+			if (id == null) {
+				id = roleSets.size();
+				roleSets.add(roleSet);
+				roleSetIds.put(roleSet, id);
+			}
+			return id;
+		}
+
+		/**
+		 * @return o conjunto com os usuários adicionados
+		 */
+		public AppUserSnapshot build() {
+			int[] table = new int[Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1];
+			int mask = table.length - 1;
+			int size = 0;
+			for (int i = 0; i < count; i++) {
+				int offset = offsets[i];
+				int usernameLength = Short.toUnsignedInt((short) SHORTS.get(data, offset + USERNAME_LENGTH));
+				int usernameStart = offset + HEADER_LENGTH;
+				int slot = hash(data, usernameStart, usernameLength) & mask;
+				while (table[slot] != 0) {
+					int other = table[slot] - 1;
+					int otherLength = Short.toUnsignedInt((short) SHORTS.get(data, other + USERNAME_LENGTH));
+					if (Arrays.equals(data, usernameStart, usernameStart + usernameLength,
+							data, other + HEADER_LENGTH, other + HEADER_LENGTH + otherLength)) {
+						break;
+					}
+					slot = (slot + 1) & mask;
+				}
+				if (table[slot] == 0) {
+					size++;
+				}
+				table[slot] = offset + 1;
+			}
+			return new AppUserSnapshot(Arrays.copyOf(data, length), table, List.copyOf(roleSets), size);
+		}
+	}
+}
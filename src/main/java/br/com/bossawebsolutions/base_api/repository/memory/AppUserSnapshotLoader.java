@@ -0,0 +1,308 @@
+package br.com.bossawebsolutions.base_api.repository.memory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lê um {@link AppUserSnapshot} de um arquivo mapeado em memória, sem carregá-lo inteiro no heap. O formato é
+ * reconhecido pelo primeiro caractere: {@code [} para JSON, qualquer outro para CSV.
+ *
+ * <ul>
+ *     <li>JSON: um array de objetos com {@code username}, {@code password} e, opcionalmente, {@code id},
+ *     {@code roles} (array ou texto separado por vírgulas), {@code createdAt} e {@code updatedAt} (ISO-8601).
+ *     Outros campos são ignorados.</li>
+ *     <li>CSV: uma linha de cabeçalho com os mesmos nomes de colunas, em qualquer ordem, e uma linha por usuário.
+ *     Os papéis são separados por {@code |}. Os campos não podem conter vírgulas nem aspas; espaços e tabulações
+ *     em volta de cada campo são ignorados.</li>
+ * </ul>
+ *
+ * No CSV, o nome de usuário e o hash da senha são copiados do arquivo mapeado direto para o conjunto, sem criar
+ * {@code String}s. O arquivo deve ter menos de 2 GB.
+ */
+final class AppUserSnapshotLoader {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final String[] COLUMNS = {"id", "username", "password", "roles", "createdAt", "updatedAt"};
+	private static final int ID = 0;
+	private static final int USERNAME = 1;
+	private static final int PASSWORD = 2;
+	private static final int ROLES = 3;
+	private static final int CREATED_AT = 4;
+	private static final int UPDATED_AT = 5;
+
+	private AppUserSnapshotLoader() {
+	}
+
+	/**
+	 * @param file o arquivo JSON ou CSV
+	 * @return o conjunto com os usuários do arquivo
+	 * @throws IOException se o arquivo não puder ser lido ou estiver em um formato inválido
+	 */
+	static AppUserSnapshot load(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size >= Integer.MAX_VALUE) {
+				throw new IOException("Arquivo de usuários com mais de 2 GB: " + file);
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			int start = skipWhitespace(buffer, skipByteOrderMark(buffer));
+			if (start < buffer.limit() && buffer.get(start) == '[') {
+				return readJson(buffer.position(start));
+			}
+			return readCsv(buffer, start);
+		}
+	}
+
+	static AppUserSnapshot readJson(ByteBuffer buffer) throws IOException {
+		AppUserSnapshot.Builder builder = AppUserSnapshot.builder();
+		try (JsonParser parser = JSON_FACTORY.createParser(new ByteBufferBackedInputStream(buffer))) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException("O arquivo JSON de usuários deve conter um array");
+			}
+			JsonToken token;
+			while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+				Long id = null;
+				String username = null;
+				String password = null;
+				Set<String> roles = Set.of();
+				LocalDateTime createdAt = null;
+				LocalDateTime updatedAt = null;
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String name = parser.currentName();
+					JsonToken value = parser.nextToken();
+					switch (name) {
+						case "id" -> id = value == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+						case "username" -> username = parser.getValueAsString();
+						case "password" -> password = parser.getValueAsString();
+						case "roles" -> roles = readRoles(parser, value);
+						case "createdAt" -> createdAt = dateTime(parser.getValueAsString(), parser.currentLocation().getLineNr());
+						case "updatedAt" -> updatedAt = dateTime(parser.getValueAsString(), parser.currentLocation().getLineNr());
+						default -> parser.skipChildren();
+					}
+				}
+				if (username == null || password == null) {
+					throw new IOException("Usuário sem username ou password na linha " + parser.currentLocation().getLineNr());
+				}
+				add(builder, id, username, password, roles, createdAt, updatedAt, parser.currentLocation().getLineNr());
+			}
+			if (token != JsonToken.END_ARRAY) {
+				throw new IOException("Esperado um objeto de usuário na linha " + parser.currentLocation().getLineNr());
+			}
+		}
+		return builder.build();
+	}
+
+	private static Set<String> readRoles(JsonParser parser, JsonToken value) throws IOException {
+		if (value == JsonToken.VALUE_NULL) {
+			return Set.of();
+		}
+		if (value == JsonToken.VALUE_STRING) {
+			return split(parser.getText(), ',');
+		}
+		if (value != JsonToken.START_ARRAY) {
+			throw new IOException("roles deve ser um array ou um texto, na linha " + parser.currentLocation().getLineNr());
+		}
+		Set<String> roles = new LinkedHashSet<>();
+		while (parser.nextToken() == JsonToken.VALUE_STRING) {
+			roles.add(parser.getText());
+		}
+		if (parser.currentToken() != JsonToken.END_ARRAY) {
+			throw new IOException("roles deve conter apenas textos, na linha " + parser.currentLocation().getLineNr());
+		}
+		return roles;
+	}
+
+	static AppUserSnapshot readCsv(ByteBuffer buffer, int start) throws IOException {
+		int limit = buffer.limit();
+		int headerEnd = lineEnd(buffer, start);
+		int[] columns = header(text(buffer, start, contentEnd(buffer, start, headerEnd)));
+		int fieldCount = columns.length;
+		int[] fieldStarts = new int[fieldCount];
+		int[] fieldEnds = new int[fieldCount];
+		int[] fieldOf = new int[COLUMNS.length];
+		Arrays.fill(fieldOf, -1);
+		for (int i = 0; i < fieldCount; i++) {
+			if (columns[i] >= 0) {
+				fieldOf[columns[i]] = i;
+			}
+		}
+
+		AppUserSnapshot.Builder builder = AppUserSnapshot.builder();
+		Map<String, Set<String>> roleSets = new HashMap<>();
+		int lineNumber = 1;
+		for (int position = headerEnd + 1; position < limit; ) {
+			lineNumber++;
+			int end = lineEnd(buffer, position);
+			int contentEnd = contentEnd(buffer, position, end);
+			if (contentEnd > position) {
+				int fields = 0;
+				int fieldStart = position;
+				for (int i = position; i <= contentEnd; i++) {
+					if (i == contentEnd || buffer.get(i) == ',') {
+						if (fields == fieldCount) {
+							throw new IOException("Linha " + lineNumber + " com mais de " + fieldCount + " campos");
+						}
+						int fieldEnd = i;
+						while (fieldStart < fieldEnd && isBlank(buffer.get(fieldStart))) {
+							fieldStart++;
+						}
+						while (fieldEnd > fieldStart && isBlank(buffer.get(fieldEnd - 1))) {
+							fieldEnd--;
+						}
+						fieldStarts[fields] = fieldStart;
+						fieldEnds[fields++] = fieldEnd;
+						fieldStart = i + 1;
+					} else if (buffer.get(i) == '"') {
+						throw new IOException("Linha " + lineNumber + ": aspas não são suportadas no CSV de usuários");
+					}
+				}
+				if (fields != fieldCount) {
+					throw new IOException("Linha " + lineNumber + " com " + fields + " campos; esperados " + fieldCount);
+				}
+				int username = fieldOf[USERNAME];
+				int password = fieldOf[PASSWORD];
+				String roles = field(buffer, fieldOf[ROLES], fieldStarts, fieldEnds);
+				try {
+					builder.add(id(buffer, fieldOf[ID], fieldStarts, fieldEnds, lineNumber), buffer,
+							fieldStarts[username], fieldEnds[username] - fieldStarts[username],
+							fieldStarts[password], fieldEnds[password] - fieldStarts[password],
+							roles == null ? Set.of() : roleSets.computeIfAbsent(roles, value -> split(value, '|')),
+							dateTime(field(buffer, fieldOf[CREATED_AT], fieldStarts, fieldEnds), lineNumber),
+							dateTime(field(buffer, fieldOf[UPDATED_AT], fieldStarts, fieldEnds), lineNumber));
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Linha " + lineNumber + ": " + e.getMessage(), e);
+				}
+			}
+			position = end + 1;
+		}
+		return builder.build();
+	}
+
+	/**
+	 * @return para cada campo do cabeçalho, o índice da coluna conhecida correspondente, ou {@code -1} para ignorá-lo
+	 */
+	private static int[] header(String header) throws IOException {
+		String[] names = header.split(",", -1);
+		int[] columns = new int[names.length];
+		boolean username = false;
+		boolean password = false;
+		for (int i = 0; i < names.length; i++) {
+			columns[i] = -1;
+			for (int column = 0; column < COLUMNS.length; column++) {
+				if (COLUMNS[column].equalsIgnoreCase(names[i].trim())) {
+					columns[i] = column;
+					username |= column == USERNAME;
+					password |= column == PASSWORD;
+				}
+			}
+		}
+		if (!username || !password) {
+			throw new IOException("O cabeçalho do CSV de usuários deve ter as colunas username e password: " + header);
+		}
+		return columns;
+	}
+
+	private static void add(AppUserSnapshot.Builder builder, Long id, String username, String password, Set<String> roles,
+			LocalDateTime createdAt, LocalDateTime updatedAt, int lineNumber) throws IOException {
+		try {
+			builder.add(id, username, password, roles, createdAt, updatedAt);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Linha " + lineNumber + ": " + e.getMessage(), e);
+		}
+	}
+
+	private static boolean isBlank(byte value) {
+		return value == ' ' || value == '\t';
+	}
+
+	private static long id(ByteBuffer buffer, int field, int[] starts, int[] ends, int lineNumber) throws IOException {
+		if (field < 0 || starts[field] == ends[field]) {
+			return Long.MIN_VALUE;
+		}
+		String value = text(buffer, starts[field], ends[field]);
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new IOException("Linha " + lineNumber + ": id inválido: " + value);
+		}
+	}
+
+	private static String field(ByteBuffer buffer, int field, int[] starts, int[] ends) {
+		return field >= 0 && starts[field] < ends[field] ? text(buffer, starts[field], ends[field]) : null;
+	}
+
+	private static LocalDateTime dateTime(String value, int lineNumber) throws IOException {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			return LocalDateTime.parse(value.trim());
+		} catch (DateTimeParseException e) {
+			throw new IOException("Linha " + lineNumber + ": data inválida: " + value);
+		}
+	}
+
+	private static Set<String> split(String value, char separator) {
+		Set<String> roles = new LinkedHashSet<>();
+		int start = 0;
+		for (int i = 0; i <= value.length(); i++) {
+			if (i == value.length() || value.charAt(i) == separator) {
+				String role = value.substring(start, i).trim();
+				if (!role.isEmpty()) {
+					roles.add(role);
+				}
+				start = i + 1;
+			}
+		}
+		return Set.copyOf(roles);
+	}
+
+	private static String text(ByteBuffer buffer, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		buffer.get(start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int lineEnd(ByteBuffer buffer, int position) {
+		int limit = buffer.limit();
+		while (position < limit && buffer.get(position) != '\n') {
+			position++;
+		}
+		return position;
+	}
+
+	/**
+	 * @return o fim da linha sem o {@code \r} de arquivos gerados no Windows
+	 */
+	private static int contentEnd(ByteBuffer buffer, int start, int lineEnd) {
+		return lineEnd > start && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+	}
+
+	private static int skipByteOrderMark(ByteBuffer buffer) {
+		return buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF ? 3 : 0;
+	}
+
+	private static int skipWhitespace(ByteBuffer buffer, int position) {
+		while (position < buffer.limit() && Character.isWhitespace(buffer.get(position))) {
+			position++;
+		}
+		return position;
+	}
+}
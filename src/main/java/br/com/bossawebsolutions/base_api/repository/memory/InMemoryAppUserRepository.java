@@ -0,0 +1,231 @@
+package br.com.bossawebsolutions.base_api.repository.memory;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.AppUserCredentials;
+import br.com.bossawebsolutions.base_api.repository.AppUserCache;
+import br.com.bossawebsolutions.base_api.repository.AppUserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementação do {@link AppUserRepository} em memória, carregada de um arquivo JSON ou CSV (veja
+ * {@link AppUserSnapshotLoader}) e habilitada com {@code app-user.memory.enabled=true} e {@code app-user.memory.file}.
+ * Quando habilitada, tem precedência sobre o repositório da aplicação e não pode ser combinada com
+ * {@code app-user.jpa.enabled=true}.
+ *
+ * Os usuários ficam em um {@link AppUserSnapshot} imutável publicado por uma referência volátil: o login consulta uma
+ * tabela de hash sem locks e sem acessar o banco. A cada {@code app-user.memory.reload-interval} milissegundos, uma
+ * thread verifica se o arquivo mudou e, nesse caso, lê um novo conjunto e o troca de uma só vez; as consultas em
+ * andamento continuam com o conjunto anterior. Se a leitura falhar, o conjunto anterior é mantido. Para que a troca não
+ * leia um arquivo pela metade, ele deve ser substituído atomicamente (gravado ao lado e renomeado).
+ *
+ * Cada troca do conjunto esvazia o {@link AppUserCache}, para que usuários removidos, senhas trocadas e usuários novos
+ * valham a partir do login seguinte, e não só depois de {@code app-user.cache.ttl}.
+ *
+ * O arquivo é a fonte dos dados, então {@link #updatePassword(String, String)} não salva nada.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "app-user.memory.enabled", havingValue = "true")
+@Conditional(InMemoryAppUserRepository.NotWithJpaRepository.class)
+public class InMemoryAppUserRepository implements AppUserRepository {
+
+	private static final Logger logger = LoggerFactory.getLogger(InMemoryAppUserRepository.class);
+
+	private final Path file;
+	private final ObjectProvider<AppUserCache> appUserCache;
+	private final ScheduledExecutorService reloader;
+	private volatile AppUserSnapshot snapshot;
+	private Object fileVersion;
+
+	/**
+	 * Carrega o arquivo e, com um intervalo positivo, passa a recarregá-lo quando ele mudar.
+	 *
+	 * @param file o arquivo de usuários
+	 * @param reloadInterval o intervalo, em milissegundos, entre as verificações do arquivo; {@code 0} desliga a recarga
+	 * @throws UncheckedIOException se a primeira leitura falhar, impedindo a aplicação de subir sem usuários
+	 */
+	public InMemoryAppUserRepository(Path file, long reloadInterval) {
+		this(file, reloadInterval, null);
+	}
+
+	/**
+	 * Como {@link #InMemoryAppUserRepository(Path, long)}, esvaziando o {@link AppUserCache} a cada troca do conjunto.
+	 *
+	 * @param file o arquivo de usuários
+	 * @param reloadInterval o intervalo, em milissegundos, entre as verificações do arquivo; {@code 0} desliga a recarga
+	 * @param appUserCache o cache esvaziado a cada troca do conjunto, obtido só na troca porque ele depende deste
+	 *                     repositório; pode ser {@code null}
+	 * @throws UncheckedIOException se a primeira leitura falhar, impedindo a aplicação de subir sem usuários
+	 */
+	@Autowired
+	public InMemoryAppUserRepository(@Value("${app-user.memory.file}") Path file,
+			@Value("${app-user.memory.reload-interval:5000}") long reloadInterval, ObjectProvider<AppUserCache> appUserCache) {
+		this.file = file;
+		this.appUserCache = appUserCache;
+		try {
+			this.fileVersion = version(file);
+			this.snapshot = AppUserSnapshotLoader.load(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível carregar os usuários de " + file, e);
+		}
+		logger.info("{} usuários carregados de {} ({} bytes)", snapshot.size(), file, snapshot.getFootprintBytes());
+		if (reloadInterval > 0) {
+			reloader = Executors.newSingleThreadScheduledExecutor(
+					Thread.ofPlatform().name("app-user-snapshot-reloader").daemon().factory());
+			reloader.scheduleWithFixedDelay(this::reloadIfChanged, reloadInterval, reloadInterval, TimeUnit.MILLISECONDS);
+		} else {
+			reloader = null;
+		}
+	}
+
+	/**
+	 * Usa um conjunto montado pela aplicação, sem arquivo; atualizações são feitas com {@link #setSnapshot(AppUserSnapshot)}.
+	 *
+	 * @param snapshot o conjunto inicial de usuários
+	 */
+	public InMemoryAppUserRepository(AppUserSnapshot snapshot) {
+		this(snapshot, null);
+	}
+
+	/**
+	 * Usa um conjunto montado pela aplicação, sem arquivo; atualizações são feitas com {@link #setSnapshot(AppUserSnapshot)}.
+	 *
+	 * @param snapshot o conjunto inicial de usuários
+	 * @param appUserCache o cache esvaziado a cada troca do conjunto; pode ser {@code null}
+	 */
+	public InMemoryAppUserRepository(AppUserSnapshot snapshot, ObjectProvider<AppUserCache> appUserCache) {
+		this.file = null;
+		this.appUserCache = appUserCache;
+		this.reloader = null;
+		this.snapshot = Objects.requireNonNull(snapshot);
+	}
+
+	@Override
+	public Optional<AppUser> findByUsername(String username) {
+		return snapshot.find(username);
+	}
+
+	@Override
+	public List<AppUserCredentials> findAllByUsernameIn(Collection<String> usernames) {
+		AppUserSnapshot current = snapshot;
+		List<AppUserCredentials> users = new ArrayList<>(usernames.size());
+		for (String username : usernames.stream().distinct().toList()) {
+			current.find(username).ifPresent(users::add);
+		}
+		return users;
+	}
+
+	/**
+	 * Relê o arquivo se a data de alteração, o tamanho ou o próprio arquivo (no caso de uma troca por renomeação) mudaram.
+	 * Um arquivo inválido só é lido de novo depois de mudar outra vez.
+	 *
+	 * @return {@code true} se um novo conjunto foi publicado
+	 */
+	public synchronized boolean reloadIfChanged() {
+		if (file == null) {
+			return false;
+		}
+		try {
+			Object version = version(file);
+			if (version.equals(fileVersion)) {
+				return false;
+			}
+			fileVersion = version;
+			AppUserSnapshot loaded = AppUserSnapshotLoader.load(file);
+			snapshot = loaded;
+			evictCache();
+			logger.info("{} usuários recarregados de {} ({} bytes)", loaded.size(), file, loaded.getFootprintBytes());
+			return true;
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Não foi possível recarregar os usuários de {}; mantendo os {} usuários atuais: {}",
+					file, snapshot.size(), e.getMessage());
+			return false;
+		}
+	}
+
+	private static Object version(Path file) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		return List.of(attributes.lastModifiedTime(), attributes.size(), Objects.requireNonNullElse(attributes.fileKey(), ""));
+	}
+
+	/**
+	 * @return o conjunto de usuários atual
+	 */
+	public AppUserSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Publica um novo conjunto de usuários, visível às consultas seguintes.
+	 *
+	 * @param snapshot o novo conjunto
+	 */
+	public void setSnapshot(AppUserSnapshot snapshot) {
+		this.snapshot = Objects.requireNonNull(snapshot);
+		evictCache();
+	}
+
+	/**
+	 * Esvazia o cache depois de publicar o conjunto; uma consulta iniciada antes da troca não guarda o usuário do
+	 * conjunto anterior.
+	 */
+	private void evictCache() {
+		AppUserCache cache = appUserCache != null ? appUserCache.getIfAvailable() : null;
+		if (cache != null) {
+			cache.evictAll();
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		if (reloader != null) {
+			reloader.shutdownNow();
+		}
+	}
+
+	/**
+	 * Recusa {@code app-user.memory.enabled} junto com {@code app-user.jpa.enabled}: os dois repositórios têm precedência
+	 * sobre o da aplicação, e o Spring só falharia ao injetar o repositório, com uma mensagem sobre beans primários.
+	 */
+	static class NotWithJpaRepository implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			if (enabled(context, "app-user.memory.enabled") && enabled(context, "app-user.jpa.enabled")) {
+				throw new IllegalStateException("app-user.memory.enabled e app-user.jpa.enabled não podem ser habilitados "
+						+ "juntos: ambos os repositórios têm precedência sobre o da aplicação; habilite apenas um deles");
+			}
+			return true;
+		}
+
+		private static boolean enabled(ConditionContext context, String property) {
+			return "true".equalsIgnoreCase(context.getEnvironment().getProperty(property, "").trim());
+		}
+	}
+}
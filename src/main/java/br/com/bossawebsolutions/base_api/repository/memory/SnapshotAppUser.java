@@ -0,0 +1,63 @@
+package br.com.bossawebsolutions.base_api.repository.memory;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * {@link AppUser} imutável montado a partir de um registro do {@link AppUserSnapshot}.
+ */
+final class SnapshotAppUser implements AppUser {
+
+	private final Long id;
+	private final String username;
+	private final String password;
+	private final Set<String> roles;
+	private final LocalDateTime createdAt;
+	private final LocalDateTime updatedAt;
+
+	SnapshotAppUser(Long id, String username, String password, Set<String> roles, LocalDateTime createdAt, LocalDateTime updatedAt) {
+		this.id = id;
+		this.username = username;
+		this.password = password;
+		this.roles = roles;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public Long getId() {
+		return id;
+	}
+
+	@Override
+	public String getUsername() {
+		return username;
+	}
+
+	@Override
+	public String getPassword() {
+		return password;
+	}
+
+	@Override
+	public Set<String> getRoles() {
+		return roles;
+	}
+
+	@Override
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	@Override
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	@Override
+	public String toString() {
+		return "SnapshotAppUser[" + username + "]";
+	}
+}
@@ -0,0 +1,64 @@
+package br.com.bossawebsolutions.base_api.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link InputStream} que falha com {@link LimitExceededException} ao ultrapassar um número máximo de bytes lidos.
+ */
+public class BoundedInputStream extends FilterInputStream {
+
+	private final long maxBytes;
+	private long count;
+
+	/**
+	 * @param in o stream original
+	 * @param maxBytes o número máximo de bytes que podem ser lidos
+	 */
+	public BoundedInputStream(InputStream in, long maxBytes) {
+		super(in);
+		this.maxBytes = maxBytes;
+	}
+
+	@Override
+	public int read() throws IOException {
+		int b = super.read();
+		if (b >= 0) {
+			count(1);
+		}
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int read = super.read(b, off, len);
+		if (read > 0) {
+			count(read);
+		}
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = super.skip(n);
+		count(skipped);
+		return skipped;
+	}
+
+	private void count(long bytes) throws LimitExceededException {
+		count += bytes;
+		if (count > maxBytes) {
+			throw new LimitExceededException(maxBytes);
+		}
+	}
+
+	/**
+	 * Lançada quando o conteúdo ultrapassa o limite configurado.
+	 */
+	public static class LimitExceededException extends IOException {
+		public LimitExceededException(long maxBytes) {
+			super("Conteúdo excede o limite de " + maxBytes + " bytes");
+		}
+	}
+}
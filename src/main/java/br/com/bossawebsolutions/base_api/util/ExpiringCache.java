@@ -0,0 +1,199 @@
+package br.com.bossawebsolutions.base_api.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache concorrente e limitado em que cada entrada possui o seu próprio instante de expiração.
+ * Leituras não bloqueiam; entradas vencidas são descartadas na leitura ou em uma varredura feita
+ * quando o limite de tamanho é atingido.
+ *
+ * O limite é estrito: cada nova chave reserva uma vaga antes de ser incluída. Com o cache cheio, a varredura remove
+ * primeiro as entradas expiradas e, se não bastar, as que expiram primeiro, nunca entradas escolhidas ao acaso. Se
+ * outra thread já estiver varrendo, a inclusão é descartada em vez de esperar.
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor
+ */
+public class ExpiringCache<K, V> {
+
+	private final ConcurrentHashMap<K, Entry<V>> entries;
+	private final int maxSize;
+	private final AtomicInteger reserved = new AtomicInteger();
+	private final ReentrantLock sweepLock = new ReentrantLock();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param maxSize número máximo de entradas mantidas no cache
+	 */
+	public ExpiringCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize deve ser maior que zero");
+		}
+		this.maxSize = maxSize;
+		this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+	}
+
+	/**
+	 * Obtém o valor associado à chave, desde que ainda não tenha expirado.
+	 *
+	 * @param key a chave procurada
+	 * @param now instante atual em milissegundos
+	 * @return o valor em cache ou {@code null} se ausente ou expirado
+	 */
+	public V get(K key, long now) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		if (entry.expiresAt <= now) {
+			evict(key, entry);
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.value;
+	}
+
+	/**
+	 * Armazena o valor até o instante de expiração informado. Com o cache cheio, abre espaço antes de incluir uma
+	 * nova chave ou, se outra thread já estiver fazendo isso, descarta a inclusão.
+	 *
+	 * @param key a chave
+	 * @param value o valor
+	 * @param expiresAt instante de expiração em milissegundos
+	 * @param now instante atual em milissegundos
+	 */
+	public void put(K key, V value, long expiresAt, long now) {
+		if (expiresAt <= now) {
+			return;
+		}
+		Entry<V> entry = new Entry<>(value, expiresAt);
+		if (entries.replace(key, entry) != null || !reserve(now)) {
+			return;
+		}
+		if (entries.put(key, entry) != null) {
+			reserved.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Remove a entrada associada à chave.
+	 *
+	 * @param key a chave
+	 */
+	public void remove(K key) {
+		if (entries.remove(key) != null) {
+			reserved.decrementAndGet();
+			evictions.increment();
+		}
+	}
+
+	/**
+	 * Remove todas as entradas do cache.
+	 */
+	public void clear() {
+		for (K key : entries.keySet()) {
+			if (entries.remove(key) != null) {
+				reserved.decrementAndGet();
+			}
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Reserva a vaga de uma nova chave, abrindo espaço uma vez se o cache estiver cheio.
+	 *
+	 * @return {@code false} se não houver vaga
+	 */
+	private boolean reserve(long now) {
+		boolean swept = false;
+		while (true) {
+			int current = reserved.get();
+			if (current < maxSize) {
+				if (reserved.compareAndSet(current, current + 1)) {
+					return true;
+				}
+			} else if (swept || !(swept = makeRoom(now))) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Descarta as entradas expiradas e, se ainda assim restar menos de um oitavo da capacidade livre, as que expiram
+	 * primeiro. Apenas uma thread varre por vez.
+	 *
+	 * @return {@code false} se outra thread já estava varrendo
+	 */
+	private boolean makeRoom(long now) {
+		if (!sweepLock.tryLock()) {
+			return false;
+		}
+		try {
+			for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+				if (candidate.getValue().expiresAt <= now) {
+					evict(candidate.getKey(), candidate.getValue());
+				}
+			}
+			int excess = entries.size() - (maxSize - Math.max(1, maxSize / 8));
+			if (excess > 0) {
+				long[] expirations = entries.values().stream().mapToLong(entry -> entry.expiresAt).toArray();
+				Arrays.sort(expirations);
+				long threshold = expirations[Math.min(excess, expirations.length) - 1];
+				for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+					if (excess <= 0) {
+						break;
+					}
+					if (candidate.getValue().expiresAt <= threshold && evict(candidate.getKey(), candidate.getValue())) {
+						excess--;
+					}
+				}
+			}
+			return true;
+		} finally {
+			sweepLock.unlock();
+		}
+	}
+
+	private boolean evict(K key, Entry<V> entry) {
+		if (entries.remove(key, entry)) {
+			reserved.decrementAndGet();
+			evictions.increment();
+			return true;
+		}
+		return false;
+	}
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que o {@link AsyncAuthAuditLog} grava ou conta como descartado cada evento registrado, inclusive durante e
+ * depois do {@link AsyncAuthAuditLog#close()}, e que só fecha o destino que lhe pertence.
+ */
+public class AsyncAuthAuditLogTest {
+
+	@Test
+	public void testWritesEventsInBatches() {
+		CollectingSink sink = new CollectingSink();
+		AsyncAuthAuditLog auditLog = new AsyncAuthAuditLog(sink, 1024, 16, 10);
+		for (int i = 0; i < 100; i++) {
+			auditLog.record(AuthEvent.Type.LOGIN_FAILURE, "user" + i, "127.0.0.1", "BadCredentialsException");
+		}
+
+		auditLog.close();
+
+		assertEquals(100, sink.events.size());
+		assertEquals("user0", sink.events.get(0).getUsername());
+		assertEquals("user99", sink.events.get(99).getUsername());
+		assertTrue(sink.largestBatch <= 16);
+		assertEquals(0, auditLog.getDroppedCount());
+	}
+
+	@Test
+	public void testCountsEventsRecordedAfterClose() {
+		CollectingSink sink = new CollectingSink();
+		AsyncAuthAuditLog auditLog = new AsyncAuthAuditLog(sink, 1024, 16, 10);
+		auditLog.close();
+
+		auditLog.record(AuthEvent.Type.TOKEN_REJECTED, null, "127.0.0.1", "EXPIRED");
+		auditLog.record(AuthEvent.Type.TOKEN_REJECTED, null, "127.0.0.1", "EXPIRED");
+
+		assertEquals(2, auditLog.getDroppedCount());
+		assertTrue(sink.events.isEmpty());
+	}
+
+	@Test
+	public void testEveryEventRacingCloseIsWrittenOrDropped() throws Exception {
+		CollectingSink sink = new CollectingSink();
+		AsyncAuthAuditLog auditLog = new AsyncAuthAuditLog(sink, 256, 32, 1);
+		int producers = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch started = new CountDownLatch(producers);
+		List<Future<Integer>> recorded = new ArrayList<>();
+		for (int producer = 0; producer < producers; producer++) {
+			recorded.add(executor.submit(() -> {
+				started.countDown();
+				int count = 0;
+				for (; count < 200_000; count++) {
+					auditLog.record(AuthEvent.Type.LOGIN_FAILURE, "bot", "10.0.0.1", "UsernameNotFoundException");
+				}
+				return count;
+			}));
+		}
+		started.await();
+		Thread.sleep(20);
+		auditLog.close();
+
+		long total = 0;
+		for (Future<Integer> future : recorded) {
+			total += future.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		assertEquals(total, sink.events.size() + auditLog.getDroppedCount());
+	}
+
+	@Test
+	public void testClosesOnlyOwnedSink() {
+		CollectingSink owned = new CollectingSink();
+		new AsyncAuthAuditLog(owned, 16, 4, 10).close();
+		assertTrue(owned.closed);
+
+		CollectingSink shared = new CollectingSink();
+		new AsyncAuthAuditLog(shared, 16, 4, 10, false).close();
+		assertFalse(shared.closed);
+	}
+
+	private static class CollectingSink implements AuthEventSink {
+		final List<AuthEvent> events = Collections.synchronizedList(new ArrayList<>());
+		volatile int largestBatch;
+		volatile boolean closed;
+
+		@Override
+		public void write(List<AuthEvent> batch) {
+			largestBatch = Math.max(largestBatch, batch.size());
+			events.addAll(batch);
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}
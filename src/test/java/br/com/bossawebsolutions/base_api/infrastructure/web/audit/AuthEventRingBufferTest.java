@@ -0,0 +1,136 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a capacidade, o limite e a ordem do {@link AuthEventRingBuffer}, inclusive com vários produtores
+ * concorrentes e o consumidor esvaziando a fila ao mesmo tempo.
+ */
+public class AuthEventRingBufferTest {
+
+	@Test
+	public void testRoundsCapacityToPowerOfTwo() {
+		assertEquals(2, new AuthEventRingBuffer(1).capacity());
+		assertEquals(8, new AuthEventRingBuffer(5).capacity());
+		assertEquals(8, new AuthEventRingBuffer(8).capacity());
+		assertThrows(IllegalArgumentException.class, () -> new AuthEventRingBuffer(0));
+	}
+
+	@Test
+	public void testRejectsOfferWhenFullAndKeepsOrder() {
+		AuthEventRingBuffer buffer = new AuthEventRingBuffer(4);
+		assertTrue(buffer.isEmpty());
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(event(0, i)));
+		}
+		assertFalse(buffer.offer(event(0, 4)));
+
+		List<AuthEvent> batch = new ArrayList<>();
+		assertEquals(3, buffer.drainTo(batch, 3));
+		assertTrue(buffer.offer(event(0, 5)));
+		assertTrue(buffer.offer(event(0, 6)));
+		assertTrue(buffer.offer(event(0, 7)));
+		assertFalse(buffer.offer(event(0, 8)));
+		assertEquals(4, buffer.drainTo(batch, 10));
+		assertTrue(buffer.isEmpty());
+		assertEquals(0, buffer.drainTo(batch, 10));
+
+		assertEquals(List.of(0L, 1L, 2L, 3L, 5L, 6L, 7L), batch.stream().map(AuthEvent::getTimestamp).toList());
+	}
+
+	@Test
+	public void testConcurrentProducersWithDrainingConsumer() throws Exception {
+		int producers = 8;
+		int eventsPerProducer = 20_000;
+		AuthEventRingBuffer buffer = new AuthEventRingBuffer(1024);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> rejected = new ArrayList<>();
+		for (int producer = 0; producer < producers; producer++) {
+			int id = producer;
+			rejected.add(executor.submit(() -> {
+				start.await();
+				int refused = 0;
+				for (int i = 0; i < eventsPerProducer; i++) {
+					while (!buffer.offer(event(id, i))) {
+						refused++;
+						Thread.onSpinWait();
+					}
+				}
+				return refused;
+			}));
+		}
+
+		start.countDown();
+		long[] next = new long[producers];
+		List<AuthEvent> batch = new ArrayList<>();
+		int received = 0;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (received < producers * eventsPerProducer) {
+			assertTrue(System.nanoTime() < deadline, "Eventos recebidos: " + received);
+			batch.clear();
+			buffer.drainTo(batch, 256);
+			for (AuthEvent event : batch) {
+				int producer = Integer.parseInt(event.getUsername());
+				assertEquals(next[producer]++, event.getTimestamp(), "Ordem do produtor " + producer);
+			}
+			received += batch.size();
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		for (Future<Integer> future : rejected) {
+			future.get();
+		}
+		assertTrue(buffer.isEmpty());
+		for (long count : next) {
+			assertEquals(eventsPerProducer, count);
+		}
+	}
+
+	@Test
+	public void testConcurrentOverflowNeverExceedsCapacity() throws Exception {
+		AuthEventRingBuffer buffer = new AuthEventRingBuffer(64);
+		int producers = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> accepted = new ArrayList<>();
+		for (int producer = 0; producer < producers; producer++) {
+			int id = producer;
+			accepted.add(executor.submit(() -> {
+				start.await();
+				int count = 0;
+				for (int i = 0; i < 1_000; i++) {
+					if (buffer.offer(event(id, i))) {
+						count++;
+					}
+				}
+				return count;
+			}));
+		}
+		start.countDown();
+		int total = 0;
+		for (Future<Integer> future : accepted) {
+			total += future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		assertEquals(64, total);
+		List<AuthEvent> batch = new ArrayList<>();
+		assertEquals(64, buffer.drainTo(batch, 1_000));
+		assertTrue(batch.stream().allMatch(event -> event != null));
+	}
+
+	private static AuthEvent event(int producer, long sequence) {
+		return new AuthEvent(sequence, AuthEvent.Type.TOKEN_REJECTED, Integer.toString(producer), "127.0.0.1", null);
+	}
+}
@@ -0,0 +1,72 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que o {@link RollingFileAuthEventSink} mede os arquivos em bytes, inclusive com nomes de usuário fora do
+ * ASCII, e mantém a quantidade configurada de arquivos rotacionados.
+ */
+public class RollingFileAuthEventSinkTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void testCountsUtf8Bytes() {
+		for (String text : List.of("", "ascii", "João Conceição", "用户", "😀 emoji")) {
+			assertEquals(text.getBytes(StandardCharsets.UTF_8).length, RollingFileAuthEventSink.utf8Length(text), text);
+		}
+	}
+
+	@Test
+	public void testRollsByEncodedSize() throws IOException {
+		Path file = dir.resolve("audit/auth.log");
+		List<AuthEvent> events = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			events.add(new AuthEvent(i, AuthEvent.Type.LOGIN_FAILURE, "usuário-ção-用户-" + i, "::1", "BadCredentialsException"));
+		}
+		long lineBytes = RollingFileAuthEventSink.utf8Length(events.get(10).appendJson(new StringBuilder()).append('\n'));
+		long maxBytes = lineBytes * 3;
+		RollingFileAuthEventSink sink = new RollingFileAuthEventSink(file, maxBytes, 20);
+
+		sink.write(events.subList(0, 15));
+		sink.write(events.subList(15, 30));
+		sink.close();
+
+		List<Path> files = new ArrayList<>(List.of(file));
+		for (int i = 1; Files.exists(file.resolveSibling("auth.log." + i)); i++) {
+			files.add(file.resolveSibling("auth.log." + i));
+		}
+		int lines = 0;
+		for (Path path : files) {
+			assertTrue(Files.size(path) <= maxBytes, path + " com " + Files.size(path) + " bytes");
+			lines += Files.readAllLines(path, StandardCharsets.UTF_8).size();
+		}
+		assertEquals(30, lines);
+		assertEquals(10, files.size());
+	}
+
+	@Test
+	public void testKeepsAtMostMaxFiles() throws IOException {
+		Path file = dir.resolve("auth.log");
+		RollingFileAuthEventSink sink = new RollingFileAuthEventSink(file, 1, 2);
+		for (int i = 0; i < 5; i++) {
+			sink.write(List.of(new AuthEvent(i, AuthEvent.Type.LOGIN_SUCCESS, "ana", "::1", null)));
+		}
+		sink.close();
+
+		assertTrue(Files.exists(file.resolveSibling("auth.log.2")));
+		assertFalse(Files.exists(file.resolveSibling("auth.log.3")));
+		assertTrue(Files.readString(file).contains("\"ts\":"));
+	}
+}
@@ -0,0 +1,49 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a escolha do {@link AuthMetrics} pela {@link AuthMetricsConfiguration}: {@link AuthMetrics#NOOP} sem um
+ * {@link MeterRegistry} ou com as métricas desabilitadas, e {@link MicrometerAuthMetrics} com o registro.
+ */
+public class AuthMetricsConfigurationTest {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(AuthMetricsConfiguration.class);
+
+	@Test
+	public void testUsesNoopWithoutMeterRegistry() {
+		contextRunner.run(context -> {
+			assertSame(AuthMetrics.NOOP, context.getBean(AuthMetrics.class));
+			assertSame(AuthMetrics.NOOP, readEndpointMetrics(context.getBean(AuthMetricsEndpoint.class)));
+		});
+	}
+
+	@Test
+	public void testUsesNoopWhenDisabled() {
+		contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+				.withPropertyValues("auth.metrics.enabled=false")
+				.run(context -> assertSame(AuthMetrics.NOOP, context.getBean(AuthMetrics.class)));
+	}
+
+	@Test
+	public void testUsesMicrometerWithMeterRegistry() {
+		contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+				.run(context -> {
+					AuthMetrics authMetrics = context.getBean(AuthMetrics.class);
+					assertInstanceOf(MicrometerAuthMetrics.class, authMetrics);
+					assertSame(authMetrics, readEndpointMetrics(context.getBean(AuthMetricsEndpoint.class)));
+					assertNotNull(context.getBean(MeterRegistry.class).find("bws.auth.duration").timer());
+				});
+	}
+
+	private static AuthMetrics readEndpointMetrics(AuthMetricsEndpoint endpoint) {
+		return (AuthMetrics) ReflectionTestUtils.getField(endpoint, "authMetrics");
+	}
+}
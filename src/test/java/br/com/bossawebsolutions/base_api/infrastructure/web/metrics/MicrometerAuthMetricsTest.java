@@ -0,0 +1,108 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.pause.PauseDetector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica os medidores criados pelo {@link MicrometerAuthMetrics}, o resumo exposto pelo {@link AuthMetricsEndpoint}
+ * e o {@link AuthMetrics#NOOP}.
+ */
+public class MicrometerAuthMetricsTest {
+
+	@Test
+	public void testRecordsStageTimersWithPercentileHistogram() {
+		ConfigCapturingRegistry registry = new ConfigCapturingRegistry();
+		MicrometerAuthMetrics metrics = new MicrometerAuthMetrics(registry);
+
+		metrics.record(AuthMetrics.Stage.TOKEN_VERIFY, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+		metrics.record(AuthMetrics.Stage.TOKEN_VERIFY, metrics.startTimer());
+
+		for (AuthMetrics.Stage stage : AuthMetrics.Stage.values()) {
+			Timer timer = registry.find("bws.auth.duration").tag("stage", stage.name().toLowerCase()).timer();
+			assertNotNull(timer, stage.name());
+			DistributionStatisticConfig config = registry.configs.get(timer.getId());
+			assertTrue(config.isPercentileHistogram(), stage.name());
+			assertArrayEquals(new double[] {0.5, 0.95, 0.99}, config.getPercentiles());
+		}
+		Timer verify = registry.get("bws.auth.duration").tag("stage", "token_verify").timer();
+		assertEquals(2, verify.count());
+		assertTrue(verify.max(TimeUnit.MILLISECONDS) >= 5);
+		assertEquals(3, verify.takeSnapshot().percentileValues().length);
+		assertEquals(0, registry.get("bws.auth.duration").tag("stage", "login_password_check").timer().count());
+	}
+
+	@Test
+	public void testCountsRejectionsAndUnknownUsers() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MicrometerAuthMetrics metrics = new MicrometerAuthMetrics(registry);
+
+		metrics.tokenRejected(AuthMetrics.TokenFailure.EXPIRED);
+		metrics.tokenRejected(AuthMetrics.TokenFailure.EXPIRED);
+		metrics.tokenRejected(AuthMetrics.TokenFailure.WRONG_TENANT);
+		metrics.userNotFound();
+
+		assertEquals(2, registry.get("bws.auth.token.rejected").tag("reason", "expired").counter().count());
+		assertEquals(1, registry.get("bws.auth.token.rejected").tag("reason", "wrong_tenant").counter().count());
+		assertEquals(0, registry.get("bws.auth.token.rejected").tag("reason", "revoked").counter().count());
+		assertEquals(1, registry.get("bws.auth.user.not-found").counter().count());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testEndpointReportsSnapshot() {
+		MicrometerAuthMetrics metrics = new MicrometerAuthMetrics(new SimpleMeterRegistry());
+		metrics.record(AuthMetrics.Stage.LOGIN_TOKEN_MINT, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(2));
+		metrics.tokenRejected(AuthMetrics.TokenFailure.MALFORMED);
+		metrics.userNotFound();
+
+		Map<String, Object> snapshot = new AuthMetricsEndpoint(metrics).metrics();
+
+		Map<String, Object> stages = (Map<String, Object>) snapshot.get("stages");
+		assertEquals(AuthMetrics.Stage.values().length, stages.size());
+		Map<String, Object> mint = (Map<String, Object>) stages.get("login_token_mint");
+		assertEquals(1L, mint.get("count"));
+		assertTrue(mint.keySet().containsAll(List.of("meanMs", "p50Ms", "p95Ms", "p99Ms", "maxMs")), mint.keySet().toString());
+		assertTrue((double) mint.get("maxMs") >= 2);
+		assertEquals(0L, ((Map<String, Object>) stages.get("token_verify")).get("count"));
+		Map<String, Object> rejected = (Map<String, Object>) snapshot.get("tokenRejected");
+		assertEquals(1L, rejected.get("malformed"));
+		assertEquals(0L, rejected.get("expired"));
+		assertEquals(1L, snapshot.get("userNotFound"));
+	}
+
+	@Test
+	public void testNoopRecordsNothing() {
+		assertEquals(0, AuthMetrics.NOOP.startTimer());
+		AuthMetrics.NOOP.record(AuthMetrics.Stage.TOKEN_VERIFY, 0);
+		AuthMetrics.NOOP.tokenRejected(AuthMetrics.TokenFailure.OTHER);
+		AuthMetrics.NOOP.userNotFound();
+
+		assertEquals(Map.of(), AuthMetrics.NOOP.snapshot());
+		assertEquals(Map.of(), new AuthMetricsEndpoint(AuthMetrics.NOOP).metrics());
+	}
+
+	/**
+	 * Guarda a configuração de distribuição de cada timer, pois o {@link SimpleMeterRegistry} não publica os baldes do
+	 * histograma.
+	 */
+	private static final class ConfigCapturingRegistry extends SimpleMeterRegistry {
+		private final Map<Meter.Id, DistributionStatisticConfig> configs = new HashMap<>();
+
+		@Override
+		protected Timer newTimer(Meter.Id id, DistributionStatisticConfig config, PauseDetector pauseDetector) {
+			configs.put(id, config);
+			return super.newTimer(id, config, pauseDetector);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a leitura em streaming do {@link AppUserDeserializer}, com o campo {@code type} em qualquer posição, e o limite
+ * de tamanho e a recusa de corpos inválidos no login do {@link JWTAuthenticationFilter}.
+ */
+public class AppUserDeserializerTest {
+
+	private final ObjectMapper mapper = new ObjectMapper()
+			.registerModule(new SimpleModule().addDeserializer(AppUser.class, new AppUserDeserializer(Map.of("user", LoginUser.class))));
+
+	@Test
+	public void testReadsTypeAsFirstField() throws IOException {
+		AppUser user = read("{\"type\":\"user\",\"username\":\"ana\",\"password\":\"c2VuaGE=\",\"roles\":[\"ADMIN\"]}");
+
+		assertInstanceOf(LoginUser.class, user);
+		assertEquals("ana", user.getUsername());
+		assertEquals("c2VuaGE=", user.getPassword());
+		assertEquals(Set.of("ADMIN"), user.getRoles());
+	}
+
+	@Test
+	public void testReadsTypeAfterOtherFields() throws IOException {
+		AppUser user = read("{\"username\":\"ana\",\"roles\":[\"ADMIN\",\"USER\"],\"profile\":{\"tags\":[1,2]},"
+				+ "\"type\":\"user\",\"password\":\"c2VuaGE=\"}");
+
+		assertEquals("ana", user.getUsername());
+		assertEquals("c2VuaGE=", user.getPassword());
+		assertEquals(Set.of("ADMIN", "USER"), user.getRoles());
+		assertEquals(Map.of("tags", List.of(1, 2)), ((LoginUser) user).profile);
+	}
+
+	@Test
+	public void testReadsUsersInsideArray() throws IOException {
+		AppUser[] users = mapper.readValue("[{\"username\":\"ana\",\"type\":\"user\"},{\"type\":\"user\",\"username\":\"bruno\"}]",
+				AppUser[].class);
+
+		assertEquals(List.of("ana", "bruno"), List.of(users[0].getUsername(), users[1].getUsername()));
+	}
+
+	@Test
+	public void testRejectsMissingOrUnknownType() {
+		IOException missing = assertThrows(IOException.class, () -> read("{\"username\":\"ana\",\"password\":\"c2VuaGE=\"}"));
+		assertTrue(missing.getMessage().contains("type"), missing.getMessage());
+
+		IOException unknown = assertThrows(IOException.class, () -> read("{\"username\":\"ana\",\"type\":\"admin\"}"));
+		assertTrue(unknown.getMessage().contains("admin"), unknown.getMessage());
+
+		assertThrows(IOException.class, () -> read("{\"type\":null,\"username\":\"ana\"}"));
+		assertThrows(IOException.class, () -> read("[\"ana\"]"));
+	}
+
+	@Test
+	public void testLoginRejectsOversizedBody() {
+		JWTAuthenticationFilter filter = new JWTAuthenticationFilter(authentication -> authentication);
+		filter.setMaxPayloadBytes(64);
+		byte[] body = ("{\"type\":\"user\",\"username\":\"" + "a".repeat(200) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+		MockHttpServletRequest declared = new MockHttpServletRequest("POST", "/login");
+		declared.setContent(body);
+		LoginRejectedException e = assertThrows(LoginRejectedException.class,
+				() -> filter.attemptAuthentication(declared, new MockHttpServletResponse()));
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getStatus());
+
+		MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/login") {
+			@Override
+			public long getContentLengthLong() {
+				return -1;
+			}
+		};
+		chunked.setContent(body);
+		e = assertThrows(LoginRejectedException.class, () -> filter.attemptAuthentication(chunked, new MockHttpServletResponse()));
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getStatus());
+	}
+
+	@Test
+	public void testLoginRejectsMalformedBody() {
+		JWTAuthenticationFilter filter = new JWTAuthenticationFilter(authentication -> authentication);
+		for (String body : new String[] {"{\"username\":", "{\"username\":\"ana\"}", "[]"}) {
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+			request.setContent(body.getBytes(StandardCharsets.UTF_8));
+			LoginRejectedException e = assertThrows(LoginRejectedException.class,
+					() -> filter.attemptAuthentication(request, new MockHttpServletResponse()), body);
+			assertEquals(HttpStatus.BAD_REQUEST.value(), e.getStatus(), body);
+		}
+		assertThrows(LoginRejectedException.class, () -> JWTAuthenticationFilter.decodePassword("não é base64"));
+		assertThrows(LoginRejectedException.class, () -> JWTAuthenticationFilter.decodePassword(null));
+		assertEquals("senha", JWTAuthenticationFilter.decodePassword("c2VuaGE="));
+	}
+
+	private AppUser read(String json) throws IOException {
+		return mapper.readValue(json, AppUser.class);
+	}
+
+	public static class LoginUser implements AppUser {
+		public String username;
+		public String password;
+		public Set<String> roles;
+		public Map<String, Object> profile;
+
+		@Override
+		public Long getId() {
+			return null;
+		}
+
+		@Override
+		public String getUsername() {
+			return username;
+		}
+
+		@Override
+		public String getPassword() {
+			return password;
+		}
+
+		@Override
+		public Set<String> getRoles() {
+			return roles;
+		}
+
+		@Override
+		public LocalDateTime getCreatedAt() {
+			return null;
+		}
+
+		@Override
+		public LocalDateTime getUpdatedAt() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.MicrometerAuthMetrics;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que o login no {@link JWTAuthenticationFilter} e a validação de tokens no {@link JWTAuthorizationFilter}
+ * registram as durações das etapas e as recusas no {@link MicrometerAuthMetrics}.
+ */
+public class AuthMetricsInstrumentationTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	private Map<String, Class<? extends AppUser>> originalImplementations;
+	private MeterRegistry registry;
+	private MicrometerAuthMetrics authMetrics;
+
+	@BeforeEach
+	public void setUp() {
+		originalImplementations = CustomObjectMapper.getAppUserImplementations();
+		registry = new SimpleMeterRegistry();
+		authMetrics = new MicrometerAuthMetrics(registry);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		CustomObjectMapper.registerAppUserImplementations(originalImplementations);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void testLoginRecordsStages() throws Exception {
+		CustomObjectMapper.registerAppUserImplementations(Map.of("user", AppUserDeserializerTest.LoginUser.class));
+		UserDetailsImpl user = TestKeyRing.user("USER");
+		JWTAuthenticationFilter filter = new JWTAuthenticationFilter(authentication ->
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+		filter.setAuthMetrics(authMetrics);
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+		request.setServletPath("/login");
+		request.setContent("{\"type\":\"user\",\"username\":\"ana\",\"password\":\"c2VuaGE=\"}".getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, new MockFilterChain());
+
+		assertNotNull(response.getCookie(SecurityConstants.ACCESS_TOKEN_COOKIE));
+		assertEquals(1, count("login_body_parse"));
+		assertEquals(1, count("login_password_check"));
+		assertEquals(1, count("login_token_mint"));
+		assertEquals(0, count("token_verify"));
+	}
+
+	@Test
+	public void testTokenVerificationRecordsStagesAndRejections() throws Exception {
+		JWTAuthorizationFilter filter = new JWTAuthorizationFilter(authentication -> authentication);
+		filter.setAuthMetrics(authMetrics);
+
+		filter.doFilter(request(JwtTokenVerifierTest.mint(TestKeyRing.KEY_ID, keyRing.getKey())), new MockHttpServletResponse(), new MockFilterChain());
+		assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+		SecurityContextHolder.clearContext();
+		filter.doFilter(request("not-a-token"), new MockHttpServletResponse(), new MockFilterChain());
+		filter.doFilter(new MockHttpServletRequest("GET", "/api"), new MockHttpServletResponse(), new MockFilterChain());
+
+		assertEquals(3, count("token_resolve"));
+		assertEquals(2, count("token_verify"));
+		assertEquals(1, registry.get("bws.auth.token.rejected").tag("reason", "malformed").counter().count());
+		assertEquals(0, registry.get("bws.auth.token.rejected").tag("reason", "expired").counter().count());
+	}
+
+	private long count(String stage) {
+		return registry.get("bws.auth.duration").tag("stage", stage).timer().count();
+	}
+
+	private static MockHttpServletRequest request(String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api");
+		request.setCookies(new Cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, token));
+		return request;
+	}
+}
@@ -0,0 +1,79 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que o {@link CorsPreflightFilter} responde somente os preflights de CORS e deixa as demais requisições,
+ * inclusive outros {@code OPTIONS}, seguirem para a cadeia de segurança.
+ */
+public class CorsPreflightFilterTest {
+
+	private final CorsConfiguration configuration = CorsPolicy.create(List.of("https://app.exemplo.com"), 1800);
+	private final CorsPreflightFilter filter = new CorsPreflightFilter(request -> configuration);
+
+	@Test
+	public void testAnswersPreflightWithoutChain() throws ServletException, IOException {
+		MockHttpServletRequest request = preflight("https://app.exemplo.com");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, response, chain);
+
+		assertNull(chain.getRequest());
+		assertEquals(200, response.getStatus());
+		assertEquals("https://app.exemplo.com", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+		assertEquals("1800", response.getHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE));
+		assertEquals("true", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+	}
+
+	@Test
+	public void testRejectsPreflightFromUnknownOrigin() throws ServletException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(preflight("https://outro.exemplo.com"), response, chain);
+
+		assertNull(chain.getRequest());
+		assertEquals(403, response.getStatus());
+		assertNull(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+	}
+
+	@Test
+	public void testPassesOtherRequestsToChain() throws ServletException, IOException {
+		MockHttpServletRequest withoutRequestMethod = new MockHttpServletRequest("OPTIONS", "/login");
+		withoutRequestMethod.addHeader(HttpHeaders.ORIGIN, "https://app.exemplo.com");
+		MockHttpServletRequest withoutOrigin = new MockHttpServletRequest("OPTIONS", "/login");
+		withoutOrigin.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+		MockHttpServletRequest get = new MockHttpServletRequest("GET", "/usuarios");
+		get.addHeader(HttpHeaders.ORIGIN, "https://app.exemplo.com");
+		get.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET");
+
+		for (MockHttpServletRequest request : List.of(withoutRequestMethod, withoutOrigin, get)) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			MockFilterChain chain = new MockFilterChain();
+
+			filter.doFilter(request, response, chain);
+
+			assertSame(request, chain.getRequest());
+			assertNull(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+		}
+	}
+
+	private static MockHttpServletRequest preflight(String origin) {
+		MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/login");
+		request.addHeader(HttpHeaders.ORIGIN, origin);
+		request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+		return request;
+	}
+}
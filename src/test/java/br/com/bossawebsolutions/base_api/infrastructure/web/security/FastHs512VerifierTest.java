@@ -0,0 +1,189 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o {@link FastHs512Verifier} com o jjwt: todo token aceito pelo caminho rápido deve ser aceito pelo jjwt
+ * com as mesmas claims, e todo token recusado pelo jjwt nunca pode ser aceito pelo caminho rápido.
+ */
+public class FastHs512VerifierTest {
+
+	private SecretKey activeKey;
+	private SecretKey previousKey;
+	private SigningKeyRing keyRing;
+	private FastHs512Verifier verifier;
+
+	@BeforeEach
+	public void setUp() {
+		activeKey = Jwts.SIG.HS512.key().build();
+		previousKey = Jwts.SIG.HS512.key().build();
+		keyRing = new SigningKeyRing("k2", Map.of("k2", activeKey, "k1", previousKey));
+		verifier = new FastHs512Verifier();
+	}
+
+	@Test
+	public void testValidTokenMatchesJjwt() {
+		String token = mint("k2", activeKey, 60_000);
+
+		FastHs512Verifier.Result result = verifier.verify(token, keyRing);
+		Claims claims = keyRing.getParser().parseSignedClaims(token).getPayload();
+
+		assertEquals(FastHs512Verifier.Outcome.VERIFIED, result.getOutcome());
+		VerifiedToken verified = result.getToken();
+		assertEquals(claims.getSubject(), verified.getSubject());
+		assertEquals(claims.getExpiration().getTime(), verified.getExpiresAt());
+		assertEquals(claims.get("roles", String.class), verified.getRoles());
+		assertEquals(((Number) claims.get("id")).longValue(), verified.getId());
+		assertEquals("k2", verified.getKeyId());
+	}
+
+	@Test
+	public void testTokenSignedWithPreviousKeyIsAccepted() {
+		String token = mint("k1", previousKey, 60_000);
+
+		assertEquals(FastHs512Verifier.Outcome.VERIFIED, verifier.verify(token, keyRing).getOutcome());
+		assertDoesNotThrow(() -> keyRing.getParser().parseSignedClaims(token));
+	}
+
+	@Test
+	public void testTokenWithoutKidUsesActiveKey() {
+		String token = Jwts.builder()
+				.subject("user")
+				.expiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(activeKey, Jwts.SIG.HS512)
+				.compact();
+
+		assertEquals(FastHs512Verifier.Outcome.VERIFIED, verifier.verify(token, keyRing).getOutcome());
+		assertDoesNotThrow(() -> keyRing.getParser().parseSignedClaims(token));
+	}
+
+	@Test
+	public void testRepeatedVerificationReusesMacInstances() {
+		String token = mint("k2", activeKey, 60_000);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(FastHs512Verifier.Outcome.VERIFIED, verifier.verify(token, keyRing).getOutcome());
+		}
+		assertEquals(Set.of(activeKey), keyRing.getMacPools().keySet());
+	}
+
+	@Test
+	public void testMacPoolsBelongToTheKeyRing() {
+		verifier.verify(mint("k2", activeKey, 60_000), keyRing);
+		verifier.verify(mint("k1", previousKey, 60_000), keyRing);
+		assertEquals(Set.of(activeKey, previousKey), keyRing.getMacPools().keySet());
+
+		SecretKey nextKey = Jwts.SIG.HS512.key().build();
+		SigningKeyRing rotated = new SigningKeyRing("k3", Map.of("k3", nextKey, "k2", activeKey));
+		assertEquals(FastHs512Verifier.Outcome.VERIFIED, verifier.verify(mint("k3", nextKey, 60_000), rotated).getOutcome());
+		assertEquals(FastHs512Verifier.Outcome.VERIFIED, verifier.verify(mint("k2", activeKey, 60_000), rotated).getOutcome());
+
+		assertEquals(Set.of(nextKey, activeKey), rotated.getMacPools().keySet());
+		assertNotSame(keyRing.getMacPools().get(activeKey), rotated.getMacPools().get(activeKey));
+	}
+
+	@Test
+	public void testTamperedTokensAreNeverAccepted() {
+		String token = mint("k2", activeKey, 60_000);
+		String[] parts = token.split("\\.");
+		String forgedPayload = encode("{\"sub\":\"admin\",\"exp\":" + (System.currentTimeMillis() / 1000 + 60) + ",\"roles\":\"ADMIN\"}");
+		String lastChar = parts[2].substring(parts[2].length() - 1);
+
+		List<String> tampered = List.of(
+				parts[0] + "." + forgedPayload + "." + parts[2],
+				parts[0] + "." + parts[1] + "." + parts[2].substring(0, parts[2].length() - 1) + ("A".equals(lastChar) ? "Q" : "A"),
+				encode("{\"kid\":\"k1\",\"alg\":\"HS512\"}") + "." + parts[1] + "." + parts[2],
+				mint("k2", Jwts.SIG.HS512.key().build(), 60_000));
+
+		for (String candidate : tampered) {
+			assertRejectedByBoth(candidate);
+		}
+	}
+
+	@Test
+	public void testExpiredTokenIsRejected() {
+		String token = mint("k2", activeKey, -1_000);
+
+		assertEquals(FastHs512Verifier.Outcome.REJECTED, verifier.verify(token, keyRing).getOutcome());
+		assertThrows(JwtException.class, () -> keyRing.getParser().parseSignedClaims(token));
+	}
+
+	@Test
+	public void testMalformedTokensAreNeverAccepted() {
+		String token = mint("k2", activeKey, 60_000);
+		String[] parts = token.split("\\.");
+
+		List<String> malformed = List.of(
+				"",
+				"garbage",
+				"a.b",
+				"a..c",
+				token + ".extra",
+				parts[0] + "." + parts[1] + ".",
+				"%%%." + parts[1] + "." + parts[2],
+				parts[0] + ".%%%." + parts[2],
+				encode("not json") + "." + parts[1] + "." + parts[2],
+				encode("{\"alg\":\"none\"}") + "." + parts[1] + ".",
+				parts[0] + "." + encode("[1,2,3]") + "." + parts[2]);
+
+		for (String candidate : malformed) {
+			assertRejectedByBoth(candidate);
+		}
+	}
+
+	@Test
+	public void testUnsupportedFormatsFallBackToJjwt() {
+		String hs256 = Jwts.builder()
+				.header().keyId("k2").and()
+				.subject("user")
+				.signWith(Jwts.SIG.HS256.key().build(), Jwts.SIG.HS256)
+				.compact();
+		String unknownKid = mint("k9", activeKey, 60_000);
+
+		assertEquals(FastHs512Verifier.Outcome.FALLBACK, verifier.verify(hs256, keyRing).getOutcome());
+		assertEquals(FastHs512Verifier.Outcome.FALLBACK, verifier.verify(unknownKid, keyRing).getOutcome());
+		assertThrows(JwtException.class, () -> keyRing.getParser().parseSignedClaims(unknownKid));
+	}
+
+	private void assertRejectedByBoth(String token) {
+		assertNotEquals(FastHs512Verifier.Outcome.VERIFIED, verifier.verify(token, keyRing).getOutcome(), token);
+		assertThrows(Exception.class, () -> keyRing.getParser().parseSignedClaims(token), token);
+	}
+
+	/**
+	 * Emite um token no mesmo formato de {@link JWTAuthenticationFilter}.
+	 */
+	private static String mint(String keyId, SecretKey key, long expiresIn) {
+		return Jwts.builder()
+				.header().keyId(keyId).and()
+				.subject("user")
+				.expiration(new Date(System.currentTimeMillis() + expiresIn))
+				.claim("username", "user")
+				.claim("roles", "ADMIN,USER")
+				.claim("createdAt", "2024-01-01T00:00")
+				.claim("updatedAt", "2024-01-01T00:00")
+				.claim("id", 42L)
+				.claim("iat", new Date())
+				.claim("jti", UUID.randomUUID().toString())
+				.signWith(key, Jwts.SIG.HS512)
+				.compact();
+	}
+
+	private static String encode(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
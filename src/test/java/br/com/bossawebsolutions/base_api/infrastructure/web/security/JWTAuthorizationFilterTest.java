@@ -0,0 +1,46 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fixa o contrato do principal montado pelo {@link JWTAuthorizationFilter} a partir de um token validado.
+ */
+public class JWTAuthorizationFilterTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	@Test
+	public void testPrincipalIsUserDetailsBuiltFromClaims() {
+		JwtTokenVerifier.Result result = new JwtTokenVerifier(null, null, false).check(JwtTokenVerifierTest.mint(TestKeyRing.KEY_ID, keyRing.getKey()));
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, result.getOutcome());
+
+		JWTAuthorizationFilter filter = new JWTAuthorizationFilter(authentication -> authentication);
+		UsernamePasswordAuthenticationToken authentication = filter.getAuthentication(result.getToken());
+
+		assertTrue(authentication.isAuthenticated());
+		assertEquals("user", authentication.getName());
+		assertNull(authentication.getCredentials());
+		UserDetailsImpl principal = assertInstanceOf(UserDetailsImpl.class, authentication.getPrincipal());
+		assertEquals("user", principal.getUsername());
+		assertEquals("user", principal.toString());
+		assertEquals(42L, principal.getId());
+		assertEquals(Set.of("ADMIN"), principal.getRoles());
+		assertNull(principal.getPassword());
+		assertEquals(Set.of("ADMIN"), authorities(authentication));
+		assertEquals(authorities(authentication),
+				principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+	}
+
+	private static Set<String> authorities(UsernamePasswordAuthenticationToken authentication) {
+		return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,82 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a rotação dos tokens de renovação no {@link JWTRefreshFilter}: cada token vale uma única vez, e a reutilização
+ * de um token já consumido revoga a sua família, inclusive o token mais recente.
+ */
+public class JWTRefreshFilterTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	private JwtTokenIssuer tokenIssuer;
+	private TokenRevocationList revocationList;
+	private UserDetailsImpl user;
+
+	@BeforeEach
+	public void setUp() {
+		tokenIssuer = new JwtTokenIssuer();
+		revocationList = new TokenRevocationList(null, 3_600_000, 1000);
+		user = TestKeyRing.user("USER");
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	public void testRotatedTokenKeepsFamilyAndCannotBeReused(boolean fastVerifier) throws Exception {
+		JWTRefreshFilter filter = filter(fastVerifier);
+		String first = tokenIssuer.issueRefreshToken(user);
+
+		MockHttpServletResponse rotated = refresh(filter, first);
+		assertEquals(HttpStatus.NO_CONTENT.value(), rotated.getStatus());
+		String second = rotated.getCookie(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue();
+		assertNotEquals(first, second);
+		JwtTokenVerifier verifier = new JwtTokenVerifier(null, null, fastVerifier);
+		assertEquals(verifier.verifyRefreshToken(first).getTokenId(), verifier.verifyRefreshToken(second).getFamilyId());
+
+		MockHttpServletResponse reused = refresh(filter, first);
+		assertEquals(HttpStatus.UNAUTHORIZED.value(), reused.getStatus());
+		assertEquals("", reused.getCookie(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue());
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	public void testReuseRevokesWholeFamily(boolean fastVerifier) throws Exception {
+		JWTRefreshFilter filter = filter(fastVerifier);
+		String first = tokenIssuer.issueRefreshToken(user);
+		String second = refresh(filter, first).getCookie(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue();
+		String otherSession = tokenIssuer.issueRefreshToken(user);
+
+		assertEquals(HttpStatus.UNAUTHORIZED.value(), refresh(filter, first).getStatus());
+
+		assertEquals(HttpStatus.UNAUTHORIZED.value(), refresh(filter, second).getStatus());
+		assertEquals(HttpStatus.NO_CONTENT.value(), refresh(filter, otherSession).getStatus());
+	}
+
+	private JWTRefreshFilter filter(boolean fastVerifier) {
+		return new JWTRefreshFilter(new JwtTokenVerifier(null, revocationList, fastVerifier), tokenIssuer, revocationList);
+	}
+
+	private static MockHttpServletResponse refresh(JWTRefreshFilter filter, String refreshToken) throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", SecurityConstants.REFRESH_URL);
+		request.setServletPath(SecurityConstants.REFRESH_URL);
+		request.setCookies(new Cookie(SecurityConstants.REFRESH_TOKEN_COOKIE, refreshToken));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
@@ -0,0 +1,64 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que o {@link JwksController} publica apenas as chaves públicas do conjunto, nunca os segredos HMAC ou as
+ * chaves privadas, e que o documento acompanha a troca do conjunto.
+ */
+public class JwksControllerTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	@Test
+	public void testPublishesOnlyPublicKeys() {
+		KeyPair active = AsymmetricSigningKeys.generate("ES256");
+		KeyPair previous = AsymmetricSigningKeys.generate("EdDSA");
+		Map<String, Key> keys = new LinkedHashMap<>();
+		keys.put("hmac", Jwts.SIG.HS512.key().build());
+		keys.put("ec", active.getPublic());
+		keys.put("ed", previous.getPublic());
+		SecurityConstants.setKeyRing(new SigningKeyRing("ec", active.getPrivate(), keys, null));
+
+		String json = new JwksController().jwks();
+		JwkSet jwkSet = Jwks.setParser().build().parse(json);
+
+		assertEquals(2, jwkSet.getKeys().size());
+		for (Jwk<?> jwk : jwkSet) {
+			assertInstanceOf(PublicJwk.class, jwk);
+			assertEquals("sig", jwk.get("use"));
+			assertEquals(keys.get(jwk.getId()), jwk.toKey());
+		}
+		assertFalse(json.contains("hmac"));
+		assertFalse(json.contains("\"k\""));
+		assertFalse(json.contains("\"d\""));
+	}
+
+	@Test
+	public void testFollowsKeyRingRotation() {
+		SecurityConstants.setKeyRing(SigningKeyRing.of("k1", Jwts.SIG.HS512.key().build()));
+		JwksController controller = new JwksController();
+
+		String json = controller.jwks();
+		assertEquals("{\"keys\":[]}", json);
+		assertSame(json, controller.jwks());
+
+		KeyPair keyPair = AsymmetricSigningKeys.generate("ES256");
+		SecurityConstants.setKeyRing(new SigningKeyRing("ec", keyPair.getPrivate(), Map.of("ec", keyPair.getPublic()), null));
+		assertEquals(1, Jwks.setParser().build().parse(controller.jwks()).getKeys().size());
+	}
+}
@@ -0,0 +1,182 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o cache, a renovação em segundo plano, a limitação das consultas e a consulta compartilhada do
+ * {@link JwksKeyLocator} contra um JWKS servido localmente.
+ */
+public class JwksKeyLocatorTest {
+
+	private HttpServer server;
+	private URI jwksUri;
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger status = new AtomicInteger(200);
+	private final AtomicReference<String> jwks = new AtomicReference<>();
+	private final AtomicReference<CountDownLatch> gate = new AtomicReference<>();
+	private final CountDownLatch received = new CountDownLatch(1);
+	private final KeyPair first = AsymmetricSigningKeys.generate("ES256");
+	private final KeyPair second = AsymmetricSigningKeys.generate("EdDSA");
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/jwks.json", exchange -> {
+			requests.incrementAndGet();
+			received.countDown();
+			CountDownLatch latch = gate.get();
+			try {
+				if (latch != null) {
+					latch.await(10, TimeUnit.SECONDS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = jwks.get().getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status.get(), body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		});
+		server.setExecutor(null);
+		server.start();
+		jwksUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/jwks.json");
+		jwks.set(jwks(Map.of("a", first.getPublic())));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		CountDownLatch latch = gate.get();
+		if (latch != null) {
+			latch.countDown();
+		}
+		server.stop(0);
+	}
+
+	@Test
+	public void testCachesKeys() {
+		JwksKeyLocator locator = new JwksKeyLocator(jwksUri, 60_000, 0);
+
+		assertEquals(first.getPublic(), locator.getKey("a"));
+		assertEquals(first.getPublic(), locator.getKey("a"));
+		assertEquals(1, requests.get());
+		assertEquals(Set.of("a"), locator.getKeyIds());
+		assertNull(locator.getKey(null));
+	}
+
+	@Test
+	public void testUnknownKeyIdRefreshesAtMostOncePerInterval() {
+		JwksKeyLocator limited = new JwksKeyLocator(jwksUri, 60_000, 60_000);
+		JwksKeyLocator unlimited = new JwksKeyLocator(jwksUri, 60_000, 0);
+		assertNotNull(limited.getKey("a"));
+		assertNotNull(unlimited.getKey("a"));
+		jwks.set(jwks(Map.of("a", first.getPublic(), "b", second.getPublic())));
+
+		assertNull(limited.getKey("b"));
+		assertNull(limited.getKey("c"));
+		assertEquals(2, requests.get());
+
+		assertEquals(second.getPublic(), unlimited.getKey("b"));
+		assertEquals(3, requests.get());
+	}
+
+	@Test
+	public void testFailedRefreshKeepsKeys() {
+		JwksKeyLocator locator = new JwksKeyLocator(jwksUri, 0, 0);
+		assertNotNull(locator.getKey("a"));
+
+		status.set(500);
+		assertEquals(Set.of("a"), locator.refresh().join().keySet());
+		jwks.set("não é JSON");
+		status.set(200);
+		assertEquals(Set.of("a"), locator.refresh().join().keySet());
+		assertEquals(3, requests.get());
+		assertEquals(first.getPublic(), locator.getKey("a"));
+	}
+
+	@Test
+	public void testExpiredKeyIsServedWhileRefreshing() throws Exception {
+		JwksKeyLocator locator = new JwksKeyLocator(jwksUri, 0, 0);
+		assertEquals(first.getPublic(), locator.getKey("a"));
+		CountDownLatch latch = new CountDownLatch(1);
+		gate.set(latch);
+		jwks.set(jwks(Map.of("a", first.getPublic(), "b", second.getPublic())));
+
+		long start = System.nanoTime();
+		assertEquals(first.getPublic(), locator.getKey("a"));
+		assertEquals(first.getPublic(), locator.getKey("a"));
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+		CompletableFuture<Map<String, PublicKey>> refresh = locator.refresh();
+		assertFalse(refresh.isDone());
+
+		latch.countDown();
+		assertEquals(Set.of("a", "b"), refresh.get(10, TimeUnit.SECONDS).keySet());
+		assertEquals(2, requests.get());
+		assertEquals(second.getPublic(), locator.getKey("b"));
+	}
+
+	@Test
+	public void testAcceptsOnlyPublicSigningKeys() {
+		String encryption = Jwks.json(Jwks.builder().key(second.getPublic()).id("enc").publicKeyUse("enc").build());
+		String secret = "{\"kty\":\"oct\",\"kid\":\"hmac\",\"k\":\"" + Encoders.BASE64URL.encode(new byte[64]) + "\"}";
+		String signing = Jwks.json(Jwks.builder().key(first.getPublic()).id("a").publicKeyUse("sig").build());
+		jwks.set("{\"keys\":[" + encryption + "," + secret + "," + signing + "]}");
+		JwksKeyLocator locator = new JwksKeyLocator(jwksUri, 60_000, 0);
+
+		assertNotNull(locator.getKey("a"));
+		assertNull(locator.getKey("enc"));
+		assertNull(locator.getKey("hmac"));
+		assertEquals(Set.of("a"), locator.getKeyIds());
+	}
+
+	@Test
+	public void testConcurrentCallersShareOneRefresh() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		gate.set(latch);
+		JwksKeyLocator locator = new JwksKeyLocator(jwksUri, 60_000, 0);
+
+		CompletableFuture<Map<String, PublicKey>> refresh = locator.refresh();
+		assertTrue(received.await(10, TimeUnit.SECONDS));
+		assertSame(refresh, locator.refresh());
+		CompletableFuture<PublicKey> waiting = CompletableFuture.supplyAsync(() -> locator.getKey("a"));
+		assertFalse(waiting.isDone());
+
+		latch.countDown();
+		assertEquals(first.getPublic(), waiting.get(10, TimeUnit.SECONDS));
+		assertEquals(Set.of("a"), refresh.get(10, TimeUnit.SECONDS).keySet());
+		assertEquals(1, requests.get());
+	}
+
+	private static String jwks(Map<String, PublicKey> keys) {
+		StringBuilder json = new StringBuilder("{\"keys\":[");
+		keys.forEach((keyId, key) -> {
+			if (json.length() > 9) {
+				json.append(',');
+			}
+			json.append(Jwks.json(Jwks.builder().key(key).id(keyId).publicKeyUse("sig").build()));
+		});
+		return json.append("]}").toString();
+	}
+}
@@ -0,0 +1,71 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a resposta do {@link JwtLogoutHandler}: {@code 204} quando os tokens foram revogados e {@code 503} quando a
+ * {@link TokenRevocationList} atingiu o limite e um token válido continuaria aceito.
+ */
+public class JwtLogoutHandlerTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	private JwtTokenIssuer tokenIssuer;
+	private UserDetailsImpl user;
+
+	@BeforeEach
+	public void setUp() {
+		tokenIssuer = new JwtTokenIssuer();
+		user = TestKeyRing.user("USER");
+	}
+
+	@Test
+	public void testRevokesTokensAndAnswersNoContent() {
+		TokenRevocationList revocationList = new TokenRevocationList(null, 3_600_000, 10);
+		String accessToken = tokenIssuer.issueAccessToken(user);
+
+		MockHttpServletResponse response = logout(revocationList, accessToken, tokenIssuer.issueRefreshToken(user));
+
+		assertEquals(HttpStatus.NO_CONTENT.value(), response.getStatus());
+		assertEquals(2, revocationList.size());
+		assertEquals("", response.getCookie(SecurityConstants.ACCESS_TOKEN_COOKIE).getValue());
+		RejectedTokenException rejected = assertThrows(RejectedTokenException.class,
+				() -> new JwtTokenVerifier(null, revocationList, false).verify(accessToken));
+		assertEquals(AuthMetrics.TokenFailure.REVOKED, rejected.getReason());
+	}
+
+	@Test
+	public void testAnswersServiceUnavailableWhenLimitIsReached() {
+		TokenRevocationList revocationList = new TokenRevocationList(null, 3_600_000, 1);
+
+		MockHttpServletResponse response = logout(revocationList, tokenIssuer.issueAccessToken(user),
+				tokenIssuer.issueRefreshToken(user));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+		assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, revocationList.size());
+	}
+
+	private MockHttpServletResponse logout(TokenRevocationList revocationList, String accessToken, String refreshToken) {
+		JwtLogoutHandler handler = new JwtLogoutHandler(new JwtTokenVerifier(null, revocationList, false), tokenIssuer,
+				revocationList);
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/logout");
+		request.setCookies(new Cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, accessToken),
+				new Cookie(SecurityConstants.REFRESH_TOKEN_COOKIE, refreshToken));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		handler.logout(request, response, null);
+		handler.onLogoutSuccess(request, response, null);
+		return response;
+	}
+}
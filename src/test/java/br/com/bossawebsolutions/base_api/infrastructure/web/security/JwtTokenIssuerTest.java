@@ -0,0 +1,91 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica as claims emitidas pelo {@link JwtTokenIssuer} em cada {@link JwtTokenIssuer.ClaimProfile} e que os tokens
+ * dos dois perfis são aceitos pelas duas formas de validação.
+ */
+public class JwtTokenIssuerTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	private UserDetailsImpl user;
+
+	@BeforeEach
+	public void setUp() {
+		user = TestKeyRing.user("ADMIN", "USER");
+	}
+
+	@Test
+	public void testFullProfileKeepsHistoricClaims() {
+		JwtTokenIssuer issuer = new JwtTokenIssuer("full");
+
+		Claims claims = parse(issuer.issueAccessToken(user));
+
+		assertEquals("ana", claims.getSubject());
+		assertEquals("ana", claims.get("username"));
+		assertEquals(42L, claims.get("id", Long.class));
+		assertNotNull(claims.get("createdAt"));
+		assertNotNull(claims.get("updatedAt"));
+		assertNotNull(claims.get("iat"));
+		assertEquals(36, claims.getId().length());
+		assertNotNull(claims.getExpiration());
+	}
+
+	@Test
+	public void testCompactProfileKeepsOnlyValidatedClaims() {
+		JwtTokenIssuer full = new JwtTokenIssuer("full");
+		JwtTokenIssuer compact = new JwtTokenIssuer(" Compact ");
+		String compactToken = compact.issueAccessToken(user);
+
+		Claims claims = parse(compactToken);
+
+		assertEquals(Set.of("sub", "exp", "roles", "id", "jti"), claims.keySet());
+		assertEquals("ana", claims.getSubject());
+		assertEquals(42L, claims.get("id", Long.class));
+		assertEquals(16, claims.getId().length());
+		assertTrue(compactToken.length() < full.issueAccessToken(user).length());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"full", "compact"})
+	public void testBothVerifiersAcceptEachProfile(String profile) {
+		JwtTokenIssuer issuer = new JwtTokenIssuer(profile);
+		String accessToken = issuer.issueAccessToken(user);
+		String refreshToken = issuer.issueRefreshToken(user);
+
+		for (boolean fastVerifier : new boolean[] {false, true}) {
+			JwtTokenVerifier verifier = new JwtTokenVerifier(null, null, fastVerifier);
+			VerifiedToken verified = verifier.verify(accessToken);
+			assertEquals("ana", verified.getSubject());
+			assertEquals(42L, verified.getId());
+			assertEquals(Set.of("ADMIN", "USER"), RoleAuthorities.fromClaim(verified.getRoles()).getRoles());
+			assertFalse(verified.isRefreshToken());
+			assertEquals("ana", verifier.verifyRefreshToken(refreshToken).getSubject());
+		}
+	}
+
+	@Test
+	public void testRejectsUnknownProfile() {
+		IllegalStateException e = assertThrows(IllegalStateException.class, () -> new JwtTokenIssuer("minimal"));
+
+		assertTrue(e.getMessage().contains("jwt.claims.profile"), e.getMessage());
+		assertTrue(e.getMessage().contains("minimal"), e.getMessage());
+	}
+
+	private Claims parse(String token) {
+		return Jwts.parser().verifyWith(keyRing.getKey()).build().parseSignedClaims(token).getPayload();
+	}
+}
@@ -0,0 +1,102 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o {@link JwtTokenVerifier} com o {@link VerifiedTokenCache}: acertos e faltas do cache e a troca do conjunto
+ * de chaves, inclusive de um segredo mantendo o mesmo {@code kid}.
+ */
+public class JwtTokenVerifierTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	private VerifiedTokenCache cache;
+	private JwtTokenVerifier verifier;
+
+	@BeforeEach
+	public void setUp() {
+		cache = new VerifiedTokenCache(true, 100, 60_000);
+		verifier = new JwtTokenVerifier(cache, null, false);
+	}
+
+	@Test
+	public void testSecondCheckIsServedFromCache() {
+		String token = mint("k1", keyRing.getKey());
+
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verifier.check(token).getOutcome());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		JwtTokenVerifier.Result result = verifier.check(token);
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, result.getOutcome());
+		assertEquals("user", result.getToken().getSubject());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testRejectedTokensAreNotCached() {
+		String forged = mint("k1", Jwts.SIG.HS512.key().build());
+
+		assertEquals(AuthMetrics.TokenFailure.INVALID_SIGNATURE, verifier.check(forged).getFailure());
+		assertEquals(AuthMetrics.TokenFailure.INVALID_SIGNATURE, verifier.check(forged).getFailure());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testCachedTokenIsRejectedAfterSecretChangesUnderSameKid() {
+		String token = mint("k1", keyRing.getKey());
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verifier.check(token).getOutcome());
+
+		SecurityConstants.setKeyRing(SigningKeyRing.of("k1", Jwts.SIG.HS512.key().build()));
+
+		assertEquals(AuthMetrics.TokenFailure.INVALID_SIGNATURE, verifier.check(token).getFailure());
+	}
+
+	@Test
+	public void testCachedTokenSurvivesRingRebuiltWithSameSecret() {
+		String token = mint("k1", keyRing.getKey());
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verifier.check(token).getOutcome());
+
+		SecretKey sameSecret = new SecretKeySpec(keyRing.getKey().getEncoded(), keyRing.getKey().getAlgorithm());
+		SecretKey next = Jwts.SIG.HS512.key().build();
+		SecurityConstants.setKeyRing(new SigningKeyRing("k2", Map.of("k1", sameSecret, "k2", next)));
+
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verifier.check(token).getOutcome());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testCachedTokenIsRejectedAfterKidIsRemoved() {
+		String token = mint("k1", keyRing.getKey());
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verifier.check(token).getOutcome());
+
+		SecurityConstants.setKeyRing(SigningKeyRing.of("k2", Jwts.SIG.HS512.key().build()));
+
+		assertEquals(JwtTokenVerifier.Outcome.REJECTED, verifier.check(token).getOutcome());
+	}
+
+	static String mint(String keyId, SecretKey key) {
+		return Jwts.builder()
+				.header().keyId(keyId).and()
+				.subject("user")
+				.expiration(new Date(System.currentTimeMillis() + 60_000))
+				.claim("roles", "ADMIN")
+				.claim("id", 42L)
+				.claim("jti", UUID.randomUUID().toString())
+				.signWith(key, Jwts.SIG.HS512)
+				.compact();
+	}
+}
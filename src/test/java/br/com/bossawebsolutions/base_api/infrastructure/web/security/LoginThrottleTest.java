@@ -0,0 +1,121 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.MicrometerAuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o {@link LoginThrottle}: recusa por endereço e por nome de usuário, varredura das chaves ociosas, métricas
+ * e identificação do cliente atrás de proxies confiáveis.
+ */
+public class LoginThrottleTest {
+
+	@Test
+	public void testRejectsClientAboveBurst() {
+		LoginThrottle throttle = throttle(true);
+		for (int i = 0; i < 3; i++) {
+			throttle.checkClient("203.0.113.7");
+		}
+
+		LoginRejectedException e = assertThrows(LoginRejectedException.class, () -> throttle.checkClient("203.0.113.7"));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), e.getStatus());
+		assertTrue(e.getRetryAfterSeconds() >= 1);
+		assertEquals(1, throttle.getRejectedClientCount());
+		throttle.checkClient("203.0.113.8");
+	}
+
+	@Test
+	public void testRejectsUsernameAboveBurstWithoutWaiting() {
+		LoginThrottle throttle = throttle(true);
+		throttle.checkUsername("ana");
+		throttle.checkUsername("ana");
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 10; i++) {
+			LoginRejectedException e = assertThrows(LoginRejectedException.class, () -> throttle.checkUsername("ana"));
+			assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), e.getStatus());
+			assertTrue(e.getRetryAfterSeconds() >= 1);
+		}
+		assertTrue(System.nanoTime() - start < 100_000_000L);
+		assertEquals(10, throttle.getRejectedUsernameCount());
+		assertEquals(0, throttle.getRejectedClientCount());
+		throttle.checkUsername("bruno");
+	}
+
+	@Test
+	public void testDisabledThrottleNeverLimits() {
+		LoginThrottle throttle = throttle(false);
+		for (int i = 0; i < 20; i++) {
+			throttle.checkClient("203.0.113.7");
+			throttle.checkUsername("ana");
+		}
+		assertEquals(0, throttle.getTrackedClientCount());
+	}
+
+	@Test
+	public void testFullMapSharesBucketsUntilSweep() throws InterruptedException {
+		LoginThrottle throttle = new LoginThrottle(true, 60_000, 1000, 60_000, 1000, 2, 0, new String[0], AuthMetrics.NOOP);
+		for (int i = 0; i < 10; i++) {
+			throttle.checkClient("203.0.113." + i);
+		}
+		assertEquals(2, throttle.getTrackedClientCount());
+
+		Thread.sleep(10);
+		throttle.evictIdle();
+		assertEquals(0, throttle.getTrackedClientCount());
+		throttle.checkClient("203.0.113.20");
+		assertEquals(1, throttle.getTrackedClientCount());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testRegistersRejectionsAndTrackedKeys() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		MicrometerAuthMetrics authMetrics = new MicrometerAuthMetrics(registry);
+		LoginThrottle throttle = new LoginThrottle(true, 60, 1, 10, 1, 1000, 0, new String[0], authMetrics);
+		throttle.checkClient("203.0.113.7");
+		assertThrows(LoginRejectedException.class, () -> throttle.checkClient("203.0.113.7"));
+		throttle.checkUsername("ana");
+		throttle.checkUsername("bruno");
+
+		assertEquals(1, registry.get("bws.auth.login.throttle.rejected").tag("key", "client").functionCounter().count());
+		assertEquals(0, registry.get("bws.auth.login.throttle.rejected").tag("key", "username").functionCounter().count());
+		assertEquals(1, registry.get("bws.auth.login.throttle.tracked").tag("key", "client").gauge().value());
+		assertEquals(2, registry.get("bws.auth.login.throttle.tracked").tag("key", "username").gauge().value());
+		Map<String, Object> components = (Map<String, Object>) authMetrics.snapshot().get("components");
+		assertEquals(1.0, components.get("bws.auth.login.throttle.rejected.client"));
+		assertEquals(2.0, components.get("bws.auth.login.throttle.tracked.username"));
+	}
+
+	@Test
+	public void testForwardedForIsIgnoredWithoutTrustedProxies() {
+		LoginThrottle throttle = throttle(true);
+
+		assertEquals("10.0.0.5", throttle.clientAddress("10.0.0.5", "198.51.100.1"));
+		assertEquals("10.0.0.5", throttle.clientAddress("10.0.0.5", null));
+	}
+
+	@Test
+	public void testResolvesClientBehindTrustedProxies() {
+		LoginThrottle throttle = new LoginThrottle(true, 60, 3, 10, 2, 1000, 0, new String[] {" 10.0.0.0/8", "127.0.0.1 ", ""},
+				AuthMetrics.NOOP);
+
+		assertEquals("198.51.100.1", throttle.clientAddress("10.0.0.5", "198.51.100.1"));
+		assertEquals("198.51.100.1", throttle.clientAddress("127.0.0.1", "203.0.113.9, 198.51.100.1, 10.1.2.3"));
+		assertEquals("10.0.0.9", throttle.clientAddress("10.0.0.5", "10.0.0.9, 10.0.0.8"));
+		assertEquals("10.0.0.5", throttle.clientAddress("10.0.0.5", ""));
+		assertEquals("unknown", throttle.clientAddress("10.0.0.5", "unknown"));
+		assertEquals("192.0.2.4", throttle.clientAddress("192.0.2.4", "198.51.100.1"));
+		assertEquals("192.0.2.4", throttle.clientAddress("192.0.2.4", null));
+	}
+
+	private static LoginThrottle throttle(boolean enabled) {
+		return new LoginThrottle(enabled, 60, 3, 10, 2, 1000, 0, new String[0], AuthMetrics.NOOP);
+	}
+}
@@ -0,0 +1,93 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o {@link OpenEndpointMatcher} com o {@link org.springframework.web.util.pattern.PathPattern} de cada entrada
+ * e verifica o caminho lido da requisição.
+ */
+public class OpenEndpointMatcherTest {
+
+	@ParameterizedTest
+	@CsvSource({
+			"/login, /login, true",
+			"/login, /login/, false",
+			"/login, /login/x, false",
+			"/login, /logi, false",
+			"/login, /LOGIN, false",
+			"/public/**, /public, true",
+			"/public/**, /public/, true",
+			"/public/**, /public/a/b, true",
+			"/public/**, /publicidade, false",
+			"/public/**, /, false",
+			"/**, /, true",
+			"/**, /qualquer/coisa, true",
+			"/usuarios/{id}/foto, /usuarios/42/foto, true",
+			"/usuarios/{id}/foto, /usuarios/42/foto/, false",
+			"/usuarios/{id}/foto, /usuarios//foto, false",
+			"/usuarios/{id}/foto, /usuarios/42/7/foto, false",
+			"/docs/*.html, /docs/a.html, true",
+			"/docs/*.html, /docs/a/b.html, false",
+			"/api/v?/status, /api/v1/status, true",
+			"/api/v?/status, /api/v10/status, false",
+			"/api/*/status/**, /api/v1/status, true",
+			"/api/*/status/**, /api/v1/status/x, true",
+			"/api/*/status/**, /api/v1/outro, false",
+	})
+	public void testMatchesLikePathPattern(String endpoint, String path, boolean expected) {
+		OpenEndpointMatcher matcher = new OpenEndpointMatcher(List.of(endpoint));
+
+		assertEquals(expected, matcher.matches(path));
+		assertEquals(expected, PathPatternParser.defaultInstance.parse(endpoint).matches(PathContainer.parsePath(path)));
+	}
+
+	@Test
+	public void testCombinesEndpoints() {
+		OpenEndpointMatcher matcher = new OpenEndpointMatcher(List.of(" /login ", "", "/public/**", "/usuarios/{id}/foto"));
+
+		assertFalse(matcher.isEmpty());
+		assertTrue(matcher.matches("/login"));
+		assertTrue(matcher.matches("/public/x"));
+		assertTrue(matcher.matches("/usuarios/1/foto"));
+		assertFalse(matcher.matches("/usuarios/1"));
+		assertFalse(matcher.matches("/admin"));
+		assertTrue(new OpenEndpointMatcher(List.of(" ")).isEmpty());
+		assertFalse(new OpenEndpointMatcher(List.of()).matches("/"));
+	}
+
+	@Test
+	public void testReadsServletPathAndPathInfo() {
+		OpenEndpointMatcher matcher = new OpenEndpointMatcher(List.of("/public/**", "/usuarios/{id}/foto"));
+
+		assertTrue(matcher.matches(request("/app", "/public", "/a", "/app/public/a")));
+		assertTrue(matcher.matches(request("/app", "/public/a", null, "/app/public/a")));
+		assertFalse(matcher.matches(request("/public", "/a", null, "/public/a")));
+		assertTrue(matcher.matches(request("", "/usuarios/a b/foto", null, "/usuarios/a%20b/foto")));
+	}
+
+	@Test
+	public void testDoesNotDecodeTwice() {
+		OpenEndpointMatcher matcher = new OpenEndpointMatcher(List.of("/docs/*.html", "/files/{name}"));
+
+		assertFalse(matcher.matches(request("", "/docs/a%2Ehtml", null, "/docs/a%252Ehtml")));
+		assertTrue(matcher.matches(request("", "/files/a%2Fb", null, "/files/a%252Fb")));
+		assertFalse(matcher.matches(request("", "/files/a/b", null, "/files/a%2Fb")));
+	}
+
+	private static MockHttpServletRequest request(String contextPath, String servletPath, String pathInfo, String requestUri) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+		request.setContextPath(contextPath);
+		request.setServletPath(servletPath);
+		request.setPathInfo(pathInfo);
+		return request;
+	}
+}
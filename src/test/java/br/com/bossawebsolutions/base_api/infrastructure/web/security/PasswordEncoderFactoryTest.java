@@ -0,0 +1,97 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o {@link PasswordEncoder} criado pela {@link PasswordEncoderFactory}: prefixos dos hashes, hashes antigos sem
+ * prefixo e a regravação de hashes desatualizados após o login.
+ */
+public class PasswordEncoderFactoryTest {
+
+	@Test
+	public void testEncodesWithConfiguredAlgorithmPrefix() {
+		PasswordEncoder encoder = encoder("bcrypt", false);
+
+		String hash = encoder.encode("senha");
+		assertTrue(hash.startsWith("{bcrypt}$2a$04$"), hash);
+		assertTrue(encoder.matches("senha", hash));
+		assertFalse(encoder.matches("outra", hash));
+
+		String pbkdf2 = encoder("pbkdf2", false).encode("senha");
+		assertTrue(pbkdf2.startsWith("{pbkdf2}"), pbkdf2);
+		assertTrue(encoder.matches("senha", pbkdf2));
+	}
+
+	@Test
+	public void testAcceptsLegacyUnprefixedBcryptHashes() {
+		PasswordEncoder encoder = encoder("pbkdf2", true);
+		String legacy = new BCryptPasswordEncoder(4).encode("senha");
+
+		assertTrue(encoder.matches("senha", legacy));
+		assertFalse(encoder.matches("outra", legacy));
+		assertTrue(encoder.upgradeEncoding(legacy));
+	}
+
+	@Test
+	public void testUpgradeEncodingFollowsConfiguration() {
+		String legacy = new BCryptPasswordEncoder(4).encode("senha");
+		String otherAlgorithm = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("senha");
+
+		PasswordEncoder disabled = encoder("bcrypt", false);
+		assertFalse(disabled.upgradeEncoding(legacy));
+		assertFalse(disabled.upgradeEncoding(otherAlgorithm));
+
+		PasswordEncoder enabled = encoder("bcrypt", true);
+		assertTrue(enabled.upgradeEncoding(legacy));
+		assertTrue(enabled.upgradeEncoding(otherAlgorithm));
+		assertFalse(enabled.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("senha")));
+	}
+
+	@Test
+	public void testLoginUpgradesOutdatedHash() {
+		PasswordEncoder encoder = encoder("bcrypt", true);
+		AtomicReference<String> saved = new AtomicReference<>();
+		UserDetails user = User.withUsername("ana").password(new BCryptPasswordEncoder(4).encode("senha")).build();
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(encoder);
+		provider.setUserDetailsService(username -> user);
+		provider.setUserDetailsPasswordService((details, newPassword) -> {
+			saved.set(newPassword);
+			return User.withUserDetails(details).password(newPassword).build();
+		});
+
+		provider.authenticate(new UsernamePasswordAuthenticationToken("ana", "senha"));
+
+		assertNotNull(saved.get());
+		assertTrue(saved.get().startsWith("{bcrypt}"), saved.get());
+		assertTrue(encoder.matches("senha", saved.get()));
+	}
+
+	@Test
+	public void testRejectsUnknownAlgorithm() {
+		assertThrows(IllegalStateException.class, () -> encoder("md5", false));
+	}
+
+	private static PasswordEncoder encoder(String algorithm, boolean upgradeOnLogin) {
+		PasswordEncoderFactory factory = new PasswordEncoderFactory(AuthMetrics.NOOP);
+		ReflectionTestUtils.setField(factory, "algorithm", algorithm);
+		ReflectionTestUtils.setField(factory, "upgradeOnLogin", upgradeOnLogin);
+		ReflectionTestUtils.setField(factory, "bcryptStrength", 4);
+		ReflectionTestUtils.setField(factory, "pbkdf2Iterations", 1000);
+		ReflectionTestUtils.setField(factory, "argon2Iterations", 2);
+		ReflectionTestUtils.setField(factory, "argon2Memory", 1024);
+		return factory.create();
+	}
+}
@@ -0,0 +1,132 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.MicrometerAuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica o {@link PasswordVerificationExecutor} nos modos de pool dedicado e de threads virtuais: resultado, recusa com
+ * a fila cheia (429), recusa por tempo máximo excedido (503) e as métricas da fila e das recusas.
+ */
+public class PasswordVerificationExecutorTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final List<Thread> threads = new ArrayList<>();
+	private PasswordVerificationExecutor executor;
+
+	@AfterEach
+	public void tearDown() throws InterruptedException {
+		release.countDown();
+		for (Thread thread : threads) {
+			thread.join(5_000);
+		}
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testReturnsAuthenticationAndPropagatesFailures() {
+		executor = new PasswordVerificationExecutor(1, 4, 1, false, 5_000, AuthMetrics.NOOP);
+		Authentication credentials = new UsernamePasswordAuthenticationToken("ana", "senha");
+
+		assertSame(credentials, executor.authenticate(authentication -> authentication, credentials));
+		assertThrows(BadCredentialsException.class, () -> executor.authenticate(authentication -> {
+			throw new BadCredentialsException("senha inválida");
+		}, credentials));
+	}
+
+	@Test
+	public void testRejectsWhenQueueIsFull() throws InterruptedException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		executor = new PasswordVerificationExecutor(1, 1, 2, false, 5_000, new MicrometerAuthMetrics(registry));
+		start(this::blocked);
+		start(this::blocked);
+		await(() -> executor.getActiveCount() == 1 && executor.getQueueDepth() == 1);
+		assertEquals(1, registry.get("bws.auth.login.executor.queued").gauge().value());
+		assertEquals(1, registry.get("bws.auth.login.executor.active").gauge().value());
+
+		LoginRejectedException e = assertThrows(LoginRejectedException.class,
+				() -> executor.authenticate(authentication -> authentication, credentials()));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), e.getStatus());
+		assertEquals(2, e.getRetryAfterSeconds());
+		assertEquals(1, executor.getRejectedCount());
+		assertEquals(1, registry.get("bws.auth.login.executor.rejected").tag("reason", "queue_full").functionCounter().count());
+		assertEquals(0, registry.get("bws.auth.login.executor.rejected").tag("reason", "timeout").functionCounter().count());
+	}
+
+	@Test
+	public void testTimesOutStuckVerification() {
+		executor = new PasswordVerificationExecutor(1, 4, 1, false, 50, AuthMetrics.NOOP);
+
+		LoginRejectedException e = assertThrows(LoginRejectedException.class,
+				() -> executor.authenticate(this::blocked, credentials()));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getStatus());
+		assertEquals(1, executor.getTimedOutCount());
+	}
+
+	@Test
+	public void testTimesOutWaitingForPermitInVirtualThreadMode() throws InterruptedException {
+		executor = new PasswordVerificationExecutor(1, 4, 1, true, 50, AuthMetrics.NOOP);
+		start(this::blocked);
+		await(() -> executor.getActiveCount() == 1);
+
+		LoginRejectedException e = assertThrows(LoginRejectedException.class,
+				() -> executor.authenticate(authentication -> authentication, credentials()));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getStatus());
+		assertEquals(1, executor.getTimedOutCount());
+		assertEquals(0, executor.getQueueDepth());
+	}
+
+	@Test
+	public void testRejectsNonPositiveTimeout() {
+		assertThrows(IllegalArgumentException.class, () -> new PasswordVerificationExecutor(1, 4, 1, false, 0, AuthMetrics.NOOP));
+	}
+
+	private Authentication blocked(Authentication authentication) {
+		try {
+			release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return authentication;
+	}
+
+	private void start(AuthenticationManager authenticationManager) {
+		Thread thread = Thread.ofVirtual().start(() -> {
+			try {
+				executor.authenticate(authenticationManager, credentials());
+			} catch (RuntimeException ignored) {
+				// a recusa de uma verificação bloqueada não interessa ao teste
+			}
+		});
+		threads.add(thread);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condição não atingida em 5 s");
+			Thread.sleep(5);
+		}
+	}
+
+	private static Authentication credentials() {
+		return new UsernamePasswordAuthenticationToken("ana", "senha");
+	}
+}
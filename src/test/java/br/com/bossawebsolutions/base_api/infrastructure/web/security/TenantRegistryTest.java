@@ -0,0 +1,159 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a identificação do tenant de uma requisição e o isolamento dos tokens entre tenants, cada um com as
+ * próprias chaves.
+ */
+public class TenantRegistryTest {
+
+	@RegisterExtension
+	final TestKeyRing keyRing = new TestKeyRing();
+
+	private SecretKey keyA;
+	private SecretKey keyB;
+	private MockEnvironment environment;
+	private TenantRegistry registry;
+	private UserDetailsImpl user;
+
+	@BeforeEach
+	public void setUp() {
+		keyA = Jwts.SIG.HS512.key().build();
+		keyB = Jwts.SIG.HS512.key().build();
+		environment = new MockEnvironment()
+				.withProperty("tenants.a.secret-key", Encoders.BASE64.encode(keyA.getEncoded()))
+				.withProperty("tenants.a.hosts", "a.example.com")
+				.withProperty("tenants.a.access-token.expiration", "60000")
+				.withProperty("tenants.a.refresh-token.expiration", "120000")
+				.withProperty("tenants.b.secret-key", Encoders.BASE64.encode(keyB.getEncoded()))
+				.withProperty("tenants.b.hosts", "b.example.com")
+				.withProperty("tenants.b.access-token.expiration", "60000")
+				.withProperty("tenants.b.refresh-token.expiration", "120000");
+		registry = registry(environment);
+		user = TestKeyRing.user("USER");
+	}
+
+	@Test
+	public void testHostIsAuthoritativeOverHeader() {
+		assertEquals("a", resolve("a.example.com", null));
+		assertEquals("a", resolve("A.Example.com", null));
+		assertEquals("a", resolve("a.example.com", "b"));
+		assertEquals("b", resolve("b.example.com", "a"));
+
+		assertEquals("b", resolve("api.example.com", "b"));
+		assertEquals("a", resolve("api.example.com", " a "));
+		assertNull(resolve("api.example.com", "z"));
+		assertNull(resolve("api.example.com", null));
+		assertNull(resolve(null, null));
+	}
+
+	@Test
+	public void testTokenIsAcceptedOnlyOnIssuingTenant() {
+		String token = new JwtTokenIssuer("full").issueAccessToken(user, registry.get("a"));
+
+		for (VerifiedTokenCache cache : new VerifiedTokenCache[]{null, new VerifiedTokenCache(true, 100, 60_000)}) {
+			JwtTokenVerifier verifier = new JwtTokenVerifier(cache, null, false, registry);
+			for (int attempt = 0; attempt < 2; attempt++) {
+				JwtTokenVerifier.Result verified = verifier.check(token, "a");
+				assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verified.getOutcome());
+				assertEquals("ana", verified.getToken().getSubject());
+				assertWrongTenant(verifier.check(token, "b"));
+				assertWrongTenant(verifier.check(token, null));
+			}
+		}
+	}
+
+	@Test
+	public void testTenantsDoNotShareKeys() {
+		JwtTokenVerifier verifier = new JwtTokenVerifier(null, null, false, registry);
+
+		String signedWithOtherTenant = token(SecurityConstants.DEFAULT_KEY_ID, "a", keyB);
+		assertEquals(JwtTokenVerifier.Outcome.REJECTED, verifier.check(signedWithOtherTenant, "a").getOutcome());
+
+		String signedWithDefaultKey = token("k1", "a", keyRing.getKey());
+		assertEquals(JwtTokenVerifier.Outcome.REJECTED, verifier.check(signedWithDefaultKey, "a").getOutcome());
+
+		String defaultToken = JwtTokenVerifierTest.mint("k1", keyRing.getKey());
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verifier.check(defaultToken, null).getOutcome());
+		assertWrongTenant(verifier.check(defaultToken, "a"));
+
+		String unknownTenant = token(SecurityConstants.DEFAULT_KEY_ID, "z", keyA);
+		assertEquals(JwtTokenVerifier.Outcome.REJECTED, verifier.check(unknownTenant, null).getOutcome());
+		assertEquals(JwtTokenVerifier.Outcome.REJECTED, verifier.check(unknownTenant, "a").getOutcome());
+	}
+
+	@Test
+	public void testSetKeyRingReplacesOnlyThatTenant() {
+		JwtTokenVerifier verifier = new JwtTokenVerifier(null, null, false, registry);
+		String tokenA = new JwtTokenIssuer("full").issueAccessToken(user, registry.get("a"));
+		String tokenB = new JwtTokenIssuer("full").issueAccessToken(user, registry.get("b"));
+
+		SecretKey rotated = Jwts.SIG.HS512.key().build();
+		registry.setKeyRing("a", new SigningKeyRing("2026-10", Map.of("2026-10", rotated)));
+
+		assertEquals(JwtTokenVerifier.Outcome.REJECTED, verifier.check(tokenA, "a").getOutcome());
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED, verifier.check(tokenB, "b").getOutcome());
+		assertEquals(JwtTokenVerifier.Outcome.VERIFIED,
+				verifier.check(new JwtTokenIssuer("full").issueAccessToken(user, registry.get("a")), "a").getOutcome());
+		assertEquals(Set.of("a.example.com"), registry.get("a").getHosts());
+		assertEquals("a", resolve("a.example.com", null));
+		assertThrows(IllegalArgumentException.class, () -> registry.setKeyRing("z", SigningKeyRing.of("k1", rotated)));
+	}
+
+	@Test
+	public void testRejectsInvalidConfiguration() {
+		environment.setProperty("tenants.b.hosts", "a.example.com");
+		assertThrows(IllegalStateException.class, () -> registry(environment));
+
+		environment.setProperty("tenants.b.hosts", "b.example.com");
+		environment.setProperty("tenants.b.secret-key", "");
+		IllegalStateException missingKey = assertThrows(IllegalStateException.class, () -> registry(environment));
+		assertTrue(missingKey.getMessage().contains("tenants.b.secret-key"));
+	}
+
+	private String resolve(String host, String header) {
+		Tenant tenant = registry.resolve(name -> name.equals("X-Tenant-Id") ? header : null, host);
+		return tenant != null ? tenant.getId() : null;
+	}
+
+	private static TenantRegistry registry(MockEnvironment environment) {
+		TenantRegistry registry = new TenantRegistry(environment);
+		registry.tenantIds = List.of("a", "b");
+		registry.headerName = "X-Tenant-Id";
+		registry.defaultAllowedOrigins = List.of();
+		registry.init();
+		return registry;
+	}
+
+	private static String token(String keyId, String issuer, SecretKey key) {
+		return Jwts.builder()
+				.header().keyId(keyId).and()
+				.issuer(issuer)
+				.subject("ana")
+				.expiration(new Date(System.currentTimeMillis() + 60_000))
+				.claim("roles", "USER")
+				.claim("id", 42L)
+				.signWith(key, Jwts.SIG.HS512)
+				.compact();
+	}
+
+	private static void assertWrongTenant(JwtTokenVerifier.Result result) {
+		assertEquals(JwtTokenVerifier.Outcome.REJECTED, result.getOutcome());
+		assertEquals(AuthMetrics.TokenFailure.WRONG_TENANT, result.getFailure());
+	}
+}
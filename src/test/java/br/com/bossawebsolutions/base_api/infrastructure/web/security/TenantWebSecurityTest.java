@@ -0,0 +1,147 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.TestAppUser;
+import br.com.bossawebsolutions.base_api.repository.AppUserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Sobe a aplicação com dois tenants e verifica, pela cadeia de filtros, que o host decide o tenant da requisição: um
+ * token só é aceito no host do tenant que o emitiu, o CORS segue as origens desse tenant e o header de tenant enviado
+ * pelo cliente não substitui o host.
+ */
+@SpringBootTest(properties = "login.throttle.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TenantWebSecurityTest {
+
+	private static final String HOST_A = "a.example.com";
+	private static final String HOST_B = "b.example.com";
+	private static final String ORIGIN_A = "https://app.a.example.com";
+	private static final String ORIGIN_B = "https://app.b.example.com";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@MockBean
+	private AppUserRepository appUserRepository;
+
+	private Map<String, Class<? extends AppUser>> originalImplementations;
+
+	@DynamicPropertySource
+	static void tenants(DynamicPropertyRegistry registry) {
+		registry.add("tenants.list", () -> "a,b");
+		registry.add("tenants.a.secret-key", () -> Encoders.BASE64.encode(Jwts.SIG.HS512.key().build().getEncoded()));
+		registry.add("tenants.a.hosts", () -> HOST_A);
+		registry.add("tenants.a.allowed-origins", () -> ORIGIN_A);
+		registry.add("tenants.b.secret-key", () -> Encoders.BASE64.encode(Jwts.SIG.HS512.key().build().getEncoded()));
+		registry.add("tenants.b.hosts", () -> HOST_B);
+		registry.add("tenants.b.allowed-origins", () -> ORIGIN_B);
+	}
+
+	@BeforeEach
+	public void setUp() {
+		originalImplementations = CustomObjectMapper.getAppUserImplementations();
+		CustomObjectMapper.registerAppUserImplementations(Map.of("TestAppUser", TestAppUser.class));
+		TestAppUser user = new TestAppUser("user", passwordEncoder.encode("password"), Set.of("ADMIN"));
+		Mockito.when(appUserRepository.findByUsername("user")).thenReturn(Optional.of(user));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		CustomObjectMapper.registerAppUserImplementations(originalImplementations);
+	}
+
+	@Test
+	public void testTokenIsAcceptedOnlyOnIssuingTenantHost() throws Exception {
+		MockHttpServletResponse login = mockMvc.perform(post("/login").with(host(HOST_A))
+				.header("X-Tenant-Id", "b")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"type\":\"TestAppUser\", \"username\":\"user\", \"password\":\"cGFzc3dvcmQ=\"}"))
+				.andReturn().getResponse();
+		assertEquals(200, login.getStatus());
+		Cookie accessToken = login.getCookie(SecurityConstants.ACCESS_TOKEN_COOKIE);
+		assertNotNull(accessToken);
+		assertEquals("a", TokenPrecheck.peekIssuer(accessToken.getValue()));
+
+		assertEquals(404, status(get("/ping").with(host(HOST_A)).cookie(accessToken)));
+		assertEquals(404, status(get("/ping").with(host(HOST_A)).header("X-Tenant-Id", "b").cookie(accessToken)));
+		assertEquals(401, status(get("/ping").with(host(HOST_B)).cookie(accessToken)));
+		assertEquals(401, status(get("/ping").with(host(HOST_B)).header("X-Tenant-Id", "a").cookie(accessToken)));
+
+		assertEquals(404, status(get("/ping").with(host("api.example.com")).header("X-Tenant-Id", "a").cookie(accessToken)));
+		assertEquals(401, status(get("/ping").with(host("api.example.com")).header("X-Tenant-Id", "b").cookie(accessToken)));
+		assertEquals(401, status(get("/ping").with(host("api.example.com")).cookie(accessToken)));
+	}
+
+	@Test
+	public void testCorsFollowsTenantOfHost() throws Exception {
+		MockHttpServletResponse allowed = preflight(HOST_A, ORIGIN_A, null);
+		assertEquals(200, allowed.getStatus());
+		assertEquals(ORIGIN_A, allowed.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+
+		assertEquals(200, preflight(HOST_B, ORIGIN_B, null).getStatus());
+
+		MockHttpServletResponse otherTenant = preflight(HOST_A, ORIGIN_B, null);
+		assertEquals(403, otherTenant.getStatus());
+		assertNull(otherTenant.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+
+		assertEquals(403, preflight(HOST_A, ORIGIN_B, "b").getStatus());
+		assertEquals(200, preflight("api.example.com", ORIGIN_B, "b").getStatus());
+	}
+
+	private MockHttpServletResponse preflight(String host, String origin, String tenantHeader) throws Exception {
+		MockHttpServletRequestBuilder request = options("/login").with(host(host))
+				.header(HttpHeaders.ORIGIN, origin)
+				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+		if (tenantHeader != null) {
+			request.header("X-Tenant-Id", tenantHeader);
+		}
+		return mockMvc.perform(request).andReturn().getResponse();
+	}
+
+	private int status(RequestBuilder request) throws Exception {
+		return mockMvc.perform(request).andReturn().getResponse().getStatus();
+	}
+
+	private static RequestPostProcessor host(String host) {
+		return request -> {
+			request.setServerName(host);
+			return request;
+		};
+	}
+}
@@ -0,0 +1,49 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import javax.crypto.SecretKey;
+import java.util.Set;
+
+/**
+ * Extensão para testes que emitem ou validam tokens: antes de cada teste instala no {@link SecurityConstants} um
+ * {@link SigningKeyRing} HS512 novo, com o {@code kid} {@link #KEY_ID}, e depois dele restaura o conjunto anterior.
+ * Registrada com {@code @RegisterExtension final TestKeyRing keyRing = new TestKeyRing();}.
+ */
+public class TestKeyRing implements BeforeEachCallback, AfterEachCallback {
+
+	public static final String KEY_ID = "k1";
+
+	private SigningKeyRing originalKeyRing;
+	private SecretKey key;
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		originalKeyRing = SecurityConstants.getKeyRing();
+		key = Jwts.SIG.HS512.key().build();
+		SecurityConstants.setKeyRing(SigningKeyRing.of(KEY_ID, key));
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		SecurityConstants.setKeyRing(originalKeyRing);
+	}
+
+	/**
+	 * @return o segredo instalado para o teste atual
+	 */
+	public SecretKey getKey() {
+		return key;
+	}
+
+	/**
+	 * @param roles os papéis do usuário
+	 * @return o usuário {@code ana}, de id {@code 42}, com os papéis informados
+	 */
+	public static UserDetailsImpl user(String... roles) {
+		return new UserDetailsImpl(42L, "ana", RoleAuthorities.fromRoles(Set.of(roles)));
+	}
+}
@@ -0,0 +1,119 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica as recusas do {@link TokenPrecheck}: estrutura, alfabeto e comprimentos dos segmentos, {@code exp} expirado,
+ * {@code iss} lido do payload e payloads que não são base64url ou JSON.
+ */
+public class TokenPrecheckTest {
+
+	private static final String HEADER = encode("{\"alg\":\"HS512\",\"kid\":\"k1\"}");
+	private static final String SIGNATURE = "c2lnbmF0dXJh";
+	private static final long NOW = 1_800_000_000_000L;
+
+	@Test
+	public void testAcceptsIssuedToken() {
+		String token = Jwts.builder().subject("ana").issuer("t1").expiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Jwts.SIG.HS512.key().build()).compact();
+
+		assertNull(TokenPrecheck.checkStructure(token));
+		assertNull(TokenPrecheck.checkExpiration(token, System.currentTimeMillis()));
+		assertEquals("t1", TokenPrecheck.peekIssuer(token));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"",
+			"abcd",
+			"abcd.efgh",
+			"abcd.efgh.ijkl.mnop",
+			".efgh.ijkl",
+			"abcd..ijkl",
+			"abcd.efgh.",
+			"ab+d.efgh.ijkl",
+			"abcd.ef/h.ijkl",
+			"abcd.efgh.ij kl",
+			"abçd.efgh.ijkl",
+			"abcd=.efgh.ijkl",
+			"abcd.efgh=.ijkl",
+			"abcd.efgh.ij=kl",
+			"abcd.efgh.ijkl===",
+			"abcde.efgh.ijkl",
+			"abcd.efghi.ijkl",
+			"abcd.efgh.ijklm",
+	})
+	public void testRejectsMalformedStructure(String token) {
+		assertEquals(AuthMetrics.TokenFailure.MALFORMED, TokenPrecheck.checkStructure(token));
+	}
+
+	@Test
+	public void testAcceptsSignaturePaddingAndRejectsOversizedToken() {
+		assertNull(TokenPrecheck.checkStructure("abcd.efgh.ijk="));
+		assertNull(TokenPrecheck.checkStructure("abcd.efgh.ij=="));
+		assertNull(TokenPrecheck.checkStructure("ab-_.ef.ijk"));
+
+		String payload = "a".repeat(TokenPrecheck.MAX_TOKEN_LENGTH);
+		assertEquals(AuthMetrics.TokenFailure.MALFORMED, TokenPrecheck.checkStructure("abcd." + payload + ".ijkl"));
+	}
+
+	@Test
+	public void testChecksExpiration() {
+		long nowSeconds = NOW / 1000;
+
+		assertEquals(AuthMetrics.TokenFailure.EXPIRED, TokenPrecheck.checkExpiration(token("{\"exp\":" + (nowSeconds - 1) + "}"), NOW));
+		assertEquals(AuthMetrics.TokenFailure.EXPIRED, TokenPrecheck.checkExpiration(token("{\"exp\":" + nowSeconds + "}"), NOW + 1));
+		assertNull(TokenPrecheck.checkExpiration(token("{\"exp\":" + nowSeconds + "}"), NOW));
+		assertNull(TokenPrecheck.checkExpiration(token("{\"sub\":\"ana\",\"roles\":[\"A\"],\"exp\":" + (nowSeconds + 60) + "}"), NOW));
+		assertEquals(AuthMetrics.TokenFailure.EXPIRED, TokenPrecheck.checkExpiration(token("{\"exp\":" + Long.MIN_VALUE + "}"), NOW));
+		assertNull(TokenPrecheck.checkExpiration(token("{\"exp\":" + Long.MAX_VALUE + "}"), NOW));
+		assertNull(TokenPrecheck.checkExpiration(token("{\"sub\":\"ana\"}"), NOW));
+		assertNull(TokenPrecheck.checkExpiration(token("{\"exp\":\"ontem\"}"), NOW));
+		assertNull(TokenPrecheck.checkExpiration(token("{\"claims\":{\"exp\":1}}"), NOW));
+	}
+
+	@Test
+	public void testReadsTopLevelIssuer() {
+		assertEquals("t1", TokenPrecheck.peekIssuer(token("{\"sub\":\"ana\",\"iss\":\"t1\"}")));
+		assertEquals("outro", TokenPrecheck.peekIssuer(token("{\"roles\":[\"A\",{\"iss\":\"t1\"}],\"iss\":\"outro\"}")));
+		assertNull(TokenPrecheck.peekIssuer(token("{\"sub\":\"ana\"}")));
+		assertNull(TokenPrecheck.peekIssuer(token("{\"iss\":42}")));
+		assertNull(TokenPrecheck.peekIssuer(token("{\"claims\":{\"iss\":\"t1\"}}")));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "null", "[1,2]", "\"texto\"", "não é JSON", "{", "{\"exp\":", "{\"exp\" 1}", "{\"a\":[1,2}", "{\"a\":tru}"})
+	public void testRejectsGarbagePayload(String payload) {
+		String token = payload.isEmpty() ? HEADER + ".AA." + SIGNATURE : token(payload);
+
+		assertEquals(AuthMetrics.TokenFailure.MALFORMED, TokenPrecheck.checkExpiration(token, NOW));
+		assertNull(TokenPrecheck.peekIssuer(token));
+	}
+
+	@Test
+	public void testRejectsInvalidBase64Payload() {
+		String token = HEADER + ".e30+." + SIGNATURE;
+
+		assertEquals(AuthMetrics.TokenFailure.MALFORMED, TokenPrecheck.checkStructure(token));
+		assertEquals(AuthMetrics.TokenFailure.MALFORMED, TokenPrecheck.checkExpiration(token, NOW));
+		assertNull(TokenPrecheck.peekIssuer(token));
+	}
+
+	private static String token(String payload) {
+		return HEADER + "." + encode(payload) + "." + SIGNATURE;
+	}
+
+	private static String encode(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,151 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a {@link TokenRevocationList}: consulta pelo filtro de Bloom e pelo conjunto exato, descarte dos intervalos
+ * expirados, o limite de tokens revogados, inclusive com revogações concorrentes, e as famílias de tokens de renovação.
+ */
+public class TokenRevocationListTest {
+
+	private static final long BUCKET_WIDTH = 1000;
+	private static final long HOUR = 3_600_000;
+
+	@Test
+	public void testFindsOnlyRevokedTokens() {
+		TokenRevocationList revocationList = new TokenRevocationList(null, BUCKET_WIDTH, 10_000);
+		long expiresAt = System.currentTimeMillis() + HOUR;
+		List<String> revoked = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			String tokenId = UUID.randomUUID().toString();
+			assertTrue(revocationList.revoke(tokenId, expiresAt));
+			revoked.add(tokenId);
+		}
+
+		assertEquals(1000, revocationList.size());
+		revoked.forEach(tokenId -> assertTrue(revocationList.isRevoked(tokenId, expiresAt)));
+		for (int i = 0; i < 10_000; i++) {
+			assertFalse(revocationList.isRevoked(UUID.randomUUID().toString(), expiresAt));
+		}
+		assertFalse(revocationList.revoke(revoked.get(0), expiresAt));
+		assertEquals(1000, revocationList.size());
+	}
+
+	@Test
+	public void testIgnoresExpiredAndAnonymousTokens() {
+		TokenRevocationList revocationList = new TokenRevocationList(null, BUCKET_WIDTH, 10);
+		long expired = System.currentTimeMillis() - 1;
+
+		assertFalse(revocationList.revoke("expired", expired));
+		assertFalse(revocationList.revoke(null, expired + HOUR));
+		assertFalse(revocationList.isRevoked(null, expired + HOUR));
+		assertEquals(0, revocationList.size());
+	}
+
+	@Test
+	public void testKeepsTokensOfSameSlotInOverflow() {
+		TokenRevocationList revocationList = new TokenRevocationList(null, BUCKET_WIDTH, 10);
+		long bucketCount = SecurityConstants.getRefreshTokenExpiration() / BUCKET_WIDTH + 2;
+		long expiresAt = System.currentTimeMillis() + HOUR;
+		long sameSlot = expiresAt + bucketCount * BUCKET_WIDTH;
+
+		assertTrue(revocationList.revoke("a", expiresAt));
+		assertTrue(revocationList.revoke("b", sameSlot));
+
+		assertTrue(revocationList.isRevoked("a", expiresAt));
+		assertTrue(revocationList.isRevoked("b", sameSlot));
+		assertFalse(revocationList.isRevoked("c", sameSlot));
+		assertEquals(2, revocationList.size());
+	}
+
+	@Test
+	public void testDropsExpiredBuckets() throws InterruptedException {
+		TokenRevocationList revocationList = new TokenRevocationList(null, BUCKET_WIDTH, 10);
+		long now = System.currentTimeMillis();
+		long expiresAt = now + 50;
+		assertTrue(revocationList.revoke("short", expiresAt));
+		assertTrue(revocationList.isRevoked("short", expiresAt));
+
+		long bucketEnd = (expiresAt / BUCKET_WIDTH + 1) * BUCKET_WIDTH;
+		Thread.sleep(Math.max(bucketEnd, now + BUCKET_WIDTH) - System.currentTimeMillis() + 50);
+		assertTrue(revocationList.revoke("long", System.currentTimeMillis() + HOUR));
+
+		assertEquals(1, revocationList.size());
+		assertFalse(revocationList.isRevoked("short", expiresAt));
+	}
+
+	@Test
+	public void testRefusesRevocationAtLimit() {
+		TokenRevocationList revocationList = new TokenRevocationList(null, BUCKET_WIDTH, 2);
+		long expiresAt = System.currentTimeMillis() + HOUR;
+		assertTrue(revocationList.revoke("a", expiresAt));
+		assertTrue(revocationList.ensureRevoked("b", expiresAt));
+
+		assertFalse(revocationList.revoke("c", expiresAt));
+		assertFalse(revocationList.ensureRevoked("c", expiresAt));
+		assertFalse(revocationList.isRevoked("c", expiresAt));
+		assertTrue(revocationList.isRevoked("a", expiresAt));
+		assertTrue(revocationList.ensureRevoked("a", expiresAt));
+		assertTrue(revocationList.ensureRevoked("c", System.currentTimeMillis() - 1));
+		assertEquals(2, revocationList.size());
+	}
+
+	@Test
+	public void testConcurrentRevocationsDoNotExceedLimit() throws Exception {
+		int maxEntries = 500;
+		int threads = 8;
+		TokenRevocationList revocationList = new TokenRevocationList(null, BUCKET_WIDTH, maxEntries);
+		long expiresAt = System.currentTimeMillis() + HOUR;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					int revoked = 0;
+					for (int i = 0; i < 200; i++) {
+						if (revocationList.revoke(UUID.randomUUID().toString(), expiresAt)) {
+							revoked++;
+						}
+					}
+					return revoked;
+				}));
+			}
+			start.countDown();
+			int revoked = 0;
+			for (Future<Integer> result : results) {
+				revoked += result.get();
+			}
+
+			assertEquals(maxEntries, revoked);
+			assertEquals(maxEntries, revocationList.size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRevokesFamilyBeyondLimit() {
+		TokenRevocationList revocationList = new TokenRevocationList(null, BUCKET_WIDTH, 1);
+		long expiresAt = System.currentTimeMillis() + HOUR;
+		assertTrue(revocationList.revoke("a", expiresAt));
+
+		assertTrue(revocationList.revokeFamily("family", expiresAt));
+		assertFalse(revocationList.revokeFamily("family", expiresAt));
+		assertTrue(revocationList.isFamilyRevoked("family"));
+		assertFalse(revocationList.isFamilyRevoked("other"));
+		assertFalse(revocationList.isFamilyRevoked(null));
+		assertEquals(2, revocationList.size());
+	}
+}
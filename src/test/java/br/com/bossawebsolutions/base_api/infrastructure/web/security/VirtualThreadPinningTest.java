@@ -0,0 +1,141 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.model.TestAppUser;
+import br.com.bossawebsolutions.base_api.repository.AppUserRepository;
+import jakarta.servlet.http.Cookie;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Executa login, requisições autenticadas, renovação e logout em threads virtuais, com o repositório bloqueando como
+ * um banco de dados, e usa o JFR ({@code jdk.VirtualThreadPinned}) para garantir que nenhuma thread virtual fica presa
+ * à thread portadora enquanto passa pelo código da API. O JFR não informa qual quadro mantém o monitor, por isso
+ * qualquer evento cuja pilha passe pela API é considerado uma falha e a pilha é reportada.
+ */
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "login.throttle.enabled=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VirtualThreadPinningTest {
+
+	private static final String API_PACKAGE = "br.com.bossawebsolutions.base_api.";
+	private static final int CLIENTS = 32;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private PasswordVerificationExecutor passwordVerificationExecutor;
+
+	@MockBean
+	private AppUserRepository appUserRepository;
+
+	@BeforeEach
+	public void setUp() {
+		CustomObjectMapper.registerAppUserImplementations(Map.of("TestAppUser", TestAppUser.class));
+		TestAppUser user = new TestAppUser("user", passwordEncoder.encode("password"), Set.of("ADMIN"));
+		Mockito.when(appUserRepository.findByUsername(anyString())).thenAnswer(invocation -> {
+			Thread.sleep(5);
+			return Optional.of(user);
+		});
+	}
+
+	@Test
+	public void testAuthenticationFlowDoesNotPinCarrierThreads() throws Exception {
+		assertTrue(passwordVerificationExecutor.isVirtualThreadMode());
+
+		ConcurrentLinkedQueue<String> pinned = new ConcurrentLinkedQueue<>();
+		try (RecordingStream recording = new RecordingStream()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.onEvent("jdk.VirtualThreadPinned", event -> {
+				String stack = apiStack(event);
+				if (stack != null) {
+					pinned.add(stack);
+				}
+			});
+			recording.startAsync();
+
+			try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+				List<Future<?>> results = new ArrayList<>();
+				for (int i = 0; i < CLIENTS; i++) {
+					results.add(clients.submit(() -> {
+						runClient();
+						return null;
+					}));
+				}
+				for (Future<?> result : results) {
+					result.get();
+				}
+			}
+			recording.stop();
+		}
+
+		assertTrue(pinned.isEmpty(), "Threads virtuais presas à portadora:\n" + String.join("\n\n", pinned));
+	}
+
+	private void runClient() throws Exception {
+		MvcResult login = mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"type\":\"TestAppUser\", \"username\":\"user\", \"password\":\"cGFzc3dvcmQ=\"}")).andReturn();
+		assertEquals(200, login.getResponse().getStatus());
+		Cookie accessToken = login.getResponse().getCookie(SecurityConstants.ACCESS_TOKEN_COOKIE);
+		Cookie refreshToken = login.getResponse().getCookie(SecurityConstants.REFRESH_TOKEN_COOKIE);
+
+		assertEquals(404, mockMvc.perform(get("/ping").cookie(accessToken)).andReturn().getResponse().getStatus());
+		MvcResult refresh = mockMvc.perform(post(SecurityConstants.REFRESH_URL).cookie(refreshToken)).andReturn();
+		assertEquals(204, refresh.getResponse().getStatus());
+		assertEquals(204, mockMvc.perform(post("/logout").cookie(refresh.getResponse().getCookies()))
+				.andReturn().getResponse().getStatus());
+	}
+
+	/**
+	 * @return os quadros fora do JDK da pilha do evento, ou {@code null} se a pilha não passar pela API
+	 */
+	private static String apiStack(RecordedEvent event) {
+		if (event.getStackTrace() == null) {
+			return null;
+		}
+		StringBuilder stack = new StringBuilder();
+		boolean api = false;
+		for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+			String type = frame.getMethod().getType().getName();
+			if (type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.")) {
+				continue;
+			}
+			api |= type.startsWith(API_PACKAGE) && !type.endsWith("Test") && !type.contains("Test$");
+			stack.append("  at ").append(type).append('.').append(frame.getMethod().getName()).append('\n');
+		}
+		return api ? stack.toString() : null;
+	}
+}
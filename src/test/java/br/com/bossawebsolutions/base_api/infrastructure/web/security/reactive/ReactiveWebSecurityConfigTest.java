@@ -0,0 +1,181 @@
+package br.com.bossawebsolutions.base_api.infrastructure.web.security.reactive;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.infrastructure.web.security.SecurityConstants;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.TestAppUser;
+import br.com.bossawebsolutions.base_api.repository.AppUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Exercita a {@link ReactiveWebSecurityConfig} em uma aplicação WebFlux: login, autorização pelo cookie ou pelo header,
+ * renovação com rotação, logout e as recusas com {@code 401} e {@code 400}.
+ */
+@SpringBootTest(properties = {"spring.main.web-application-type=reactive", "login.throttle.enabled=false",
+		"password.encoder.bcrypt.strength=4"})
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@Import(ReactiveWebSecurityConfigTest.PingController.class)
+public class ReactiveWebSecurityConfigTest {
+
+	private static final String PASSWORD = "senha";
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@MockBean
+	private AppUserRepository appUserRepository;
+
+	private Map<String, Class<? extends AppUser>> originalImplementations;
+
+	@BeforeEach
+	public void setUp() {
+		originalImplementations = CustomObjectMapper.getAppUserImplementations();
+		CustomObjectMapper.registerAppUserImplementations(Map.of("TestAppUser", TestAppUser.class));
+		TestAppUser user = new TestAppUser("user", passwordEncoder.encode(PASSWORD), Set.of("ADMIN"));
+		Mockito.when(appUserRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+		Mockito.when(appUserRepository.findByUsername("user")).thenReturn(Optional.of(user));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		CustomObjectMapper.registerAppUserImplementations(originalImplementations);
+	}
+
+	@Test
+	public void testLoginAuthorizesByCookieAndHeader() {
+		MultiValueMap<String, ResponseCookie> cookies = login("user", PASSWORD);
+		String accessToken = cookies.getFirst(SecurityConstants.ACCESS_TOKEN_COOKIE).getValue();
+		assertFalse(accessToken.isEmpty());
+		assertFalse(cookies.getFirst(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue().isEmpty());
+
+		webTestClient.get().uri("/reactive/ping").cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, accessToken).exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo("pong user");
+		webTestClient.get().uri("/reactive/ping").cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, SecurityConstants.TOKEN_PREFIX + accessToken)
+				.exchange()
+				.expectStatus().isOk();
+		webTestClient.get().uri("/reactive/ping").header(SecurityConstants.AUTHORIZATION_HEADER, SecurityConstants.TOKEN_PREFIX + accessToken)
+				.exchange()
+				.expectStatus().isOk();
+	}
+
+	@Test
+	public void testRejectsMissingOrInvalidToken() {
+		webTestClient.get().uri("/reactive/ping").exchange()
+				.expectStatus().isUnauthorized();
+		webTestClient.get().uri("/reactive/ping").cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, "not-a-token").exchange()
+				.expectStatus().isUnauthorized();
+		String refreshToken = login("user", PASSWORD).getFirst(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue();
+		webTestClient.get().uri("/reactive/ping").cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, refreshToken).exchange()
+				.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	public void testRejectsWrongCredentials() {
+		loginRequest("user", "errada").expectStatus().isUnauthorized();
+		loginRequest("ninguem", PASSWORD).expectStatus().isUnauthorized();
+	}
+
+	@Test
+	public void testRejectsMalformedLoginBody() {
+		for (String body : new String[] {"{\"type\":\"TestAppUser\",\"username\":", "{\"username\":\"user\",\"password\":\"c2VuaGE=\"}",
+				"{\"type\":\"TestAppUser\",\"username\":\"user\",\"password\":\"não é base64\"}", "[]"}) {
+			webTestClient.post().uri("/login").contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange()
+					.expectStatus().isBadRequest();
+		}
+	}
+
+	@Test
+	public void testRefreshRotatesTokensAndRejectsReuse() {
+		String refreshToken = login("user", PASSWORD).getFirst(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue();
+
+		MultiValueMap<String, ResponseCookie> rotated = refresh(refreshToken)
+				.expectStatus().isNoContent()
+				.returnResult(Void.class).getResponseCookies();
+		String newRefreshToken = rotated.getFirst(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue();
+		assertNotEquals(refreshToken, newRefreshToken);
+		webTestClient.get().uri("/reactive/ping")
+				.cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, rotated.getFirst(SecurityConstants.ACCESS_TOKEN_COOKIE).getValue())
+				.exchange()
+				.expectStatus().isOk();
+
+		refresh(refreshToken).expectStatus().isUnauthorized();
+		refresh(newRefreshToken).expectStatus().isUnauthorized();
+		refresh("not-a-token").expectStatus().isUnauthorized();
+	}
+
+	@Test
+	public void testLogoutRevokesTokens() {
+		MultiValueMap<String, ResponseCookie> cookies = login("user", PASSWORD);
+		String accessToken = cookies.getFirst(SecurityConstants.ACCESS_TOKEN_COOKIE).getValue();
+		String refreshToken = cookies.getFirst(SecurityConstants.REFRESH_TOKEN_COOKIE).getValue();
+
+		MultiValueMap<String, ResponseCookie> cleared = webTestClient.post().uri("/logout")
+				.cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, accessToken)
+				.cookie(SecurityConstants.REFRESH_TOKEN_COOKIE, refreshToken)
+				.exchange()
+				.expectStatus().isNoContent()
+				.returnResult(Void.class).getResponseCookies();
+		assertEquals("", cleared.getFirst(SecurityConstants.ACCESS_TOKEN_COOKIE).getValue());
+
+		webTestClient.get().uri("/reactive/ping").cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, accessToken).exchange()
+				.expectStatus().isUnauthorized();
+		refresh(refreshToken).expectStatus().isUnauthorized();
+	}
+
+	private MultiValueMap<String, ResponseCookie> login(String username, String password) {
+		return loginRequest(username, password)
+				.expectStatus().isOk()
+				.returnResult(Void.class).getResponseCookies();
+	}
+
+	private WebTestClient.ResponseSpec loginRequest(String username, String password) {
+		String body = "{\"type\":\"TestAppUser\",\"username\":\"" + username + "\",\"password\":\""
+				+ Base64.getEncoder().encodeToString(password.getBytes()) + "\"}";
+		return webTestClient.post().uri("/login").contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange();
+	}
+
+	private WebTestClient.ResponseSpec refresh(String refreshToken) {
+		return webTestClient.post().uri(SecurityConstants.REFRESH_URL)
+				.cookie(SecurityConstants.REFRESH_TOKEN_COOKIE, refreshToken)
+				.exchange();
+	}
+
+	@RestController
+	static class PingController {
+		@GetMapping("/reactive/ping")
+		String ping(Principal principal) {
+			return "pong " + principal.getName();
+		}
+	}
+}
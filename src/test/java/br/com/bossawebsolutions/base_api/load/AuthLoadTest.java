@@ -0,0 +1,299 @@
+package br.com.bossawebsolutions.base_api.load;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.model.TestAppUser;
+import br.com.bossawebsolutions.base_api.repository.memory.InMemoryAppUserRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação em uma porta aleatória, com o {@link InMemoryAppUserRepository},
+ * e envia logins e requisições autenticadas em taxas fixas pelo {@link HttpClient} do JDK, sem ferramentas externas.
+ *
+ * A carga é de modelo aberto: cada requisição tem um instante de partida programado e a latência é medida a partir
+ * dele, e não do envio efetivo, para que um servidor lento não reduza a carga e esconda a própria lentidão. As
+ * latências vão para histogramas do HdrHistogram; o relatório com p50, p99, p99,9, vazão e alocação é gravado em
+ * {@code load.report.dir}, junto com a distribuição completa de cada operação (arquivos {@code .hgrm}).
+ *
+ * Fica fora do build padrão; execute com {@code mvn -Pload test -Dtest=AuthLoadTest}. As taxas e a duração são
+ * configuradas por propriedades de sistema ({@code -Dload.login.rate=100}, por exemplo):
+ * <ul>
+ *     <li>{@code load.duration}: segundos de medição (padrão {@code 20});</li>
+ *     <li>{@code load.warmup}: segundos de aquecimento, descartados (padrão {@code 5});</li>
+ *     <li>{@code load.login.rate}: logins por segundo (padrão {@code 50});</li>
+ *     <li>{@code load.authenticated.rate}: requisições autenticadas por segundo (padrão {@code 500});</li>
+ *     <li>{@code load.users}: usuários distintos (padrão {@code 100});</li>
+ *     <li>{@code load.report.dir}: diretório do relatório (padrão {@code target/load-reports});</li>
+ *     <li>{@code load.max-p99-ms}: se maior que zero, falha quando o p99 de alguma operação o ultrapassar.</li>
+ * </ul>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"login.throttle.enabled=false", "login.executor.queue-capacity=1024", "password.encoder.bcrypt.strength=4",
+		"auth.audit.enabled=false"})
+@ActiveProfiles("test")
+@Import(PingController.class)
+public class AuthLoadTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuthLoadTest.class);
+
+	private static final String PASSWORD = "password";
+	private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	private final long durationSeconds = Long.getLong("load.duration", 20);
+	private final long warmupSeconds = Long.getLong("load.warmup", 5);
+	private final int loginRate = Integer.getInteger("load.login.rate", 50);
+	private final int authenticatedRate = Integer.getInteger("load.authenticated.rate", 500);
+	private final int users = Integer.getInteger("load.users", 100);
+	private final Path reportDir = Path.of(System.getProperty("load.report.dir", "target/load-reports"));
+	private final long maxP99Millis = Long.getLong("load.max-p99-ms", 0);
+
+	@LocalServerPort
+	int port;
+
+	private HttpClient http;
+	private List<String> accessTokens;
+
+	@Test
+	public void testLoad() throws Exception {
+		CustomObjectMapper.registerAppUserImplementations(Map.of("TestAppUser", TestAppUser.class));
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			http = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(10)).build();
+			accessTokens = new ArrayList<>(users);
+			for (int i = 0; i < users; i++) {
+				String accessToken = login(i);
+				assertNotNull(accessToken, "login inicial de user" + i + " falhou");
+				accessTokens.add(accessToken);
+			}
+
+			run(clients, warmupSeconds);
+			Phase measured = run(clients, durationSeconds);
+			Path report = writeReport(measured);
+
+			assertEquals(0, measured.login.failures.get() + measured.authenticated.failures.get(), "Requisições falharam; veja " + report);
+			if (maxP99Millis > 0) {
+				for (Operation operation : List.of(measured.login, measured.authenticated)) {
+					long p99 = TimeUnit.NANOSECONDS.toMillis(operation.latencies.getValueAtPercentile(99));
+					assertTrue(p99 <= maxP99Millis, operation.name + ": p99 de " + p99 + " ms acima de " + maxP99Millis + " ms; veja " + report);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Executa as duas operações nas taxas configuradas durante o intervalo informado e aguarda as requisições pendentes.
+	 */
+	private Phase run(ExecutorService clients, long seconds) throws InterruptedException {
+		Phase phase = new Phase();
+		Phaser pending = new Phaser(1);
+		long start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos(seconds);
+		long allocatedBefore = allocatedBytes();
+		long[] gcBefore = gcCountAndTime();
+		List<Thread> generators = List.of(
+				Thread.ofVirtual().start(() -> generate(clients, pending, phase.login, loginRate, start, end, i -> login(i % users) != null)),
+				Thread.ofVirtual().start(() -> generate(clients, pending, phase.authenticated, authenticatedRate, start, end,
+						i -> authenticated(accessTokens.get((int) (i % users))))));
+		for (Thread generator : generators) {
+			generator.join();
+		}
+		pending.arriveAndAwaitAdvance();
+		phase.elapsedNanos = System.nanoTime() - start;
+		phase.allocatedBytes = allocatedBytes() - allocatedBefore;
+		long[] gcAfter = gcCountAndTime();
+		phase.gcCount = gcAfter[0] - gcBefore[0];
+		phase.gcMillis = gcAfter[1] - gcBefore[1];
+		return phase;
+	}
+
+	/**
+	 * Dispara uma requisição a cada {@code 1 / rate} segundos a partir de {@code start}. A latência de cada requisição
+	 * conta a partir do instante programado, o que corrige a omissão coordenada.
+	 */
+	private static void generate(ExecutorService clients, Phaser pending, Operation operation, int rate, long start, long end,
+			Request request) {
+		if (rate <= 0) {
+			return;
+		}
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+		for (long i = 0; ; i++) {
+			long intended = start + i * intervalNanos;
+			if (intended >= end) {
+				return;
+			}
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			long sequence = i;
+			pending.register();
+			clients.execute(() -> {
+				try {
+					if (!request.send(sequence)) {
+						operation.failures.incrementAndGet();
+					}
+				} catch (Exception e) {
+					operation.failures.incrementAndGet();
+				} finally {
+					operation.latencies.recordValue(Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS));
+					pending.arriveAndDeregister();
+				}
+			});
+		}
+	}
+
+	private String login(long user) throws IOException, InterruptedException {
+		String body = "{\"type\":\"TestAppUser\",\"username\":\"user" + user + "\",\"password\":\""
+				+ Base64.getEncoder().encodeToString(PASSWORD.getBytes(StandardCharsets.UTF_8)) + "\"}";
+		HttpResponse<Void> response = http.send(request("/login").header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() != 200) {
+			return null;
+		}
+		return response.headers().allValues("Set-Cookie").stream()
+				.filter(cookie -> cookie.startsWith("access_token="))
+				.map(cookie -> cookie.substring("access_token=".length(), cookie.indexOf(';')))
+				.findFirst()
+				.orElse(null);
+	}
+
+	private boolean authenticated(String accessToken) throws IOException, InterruptedException {
+		return http.send(request("/load/ping").header("Cookie", "access_token=" + accessToken).GET().build(),
+				HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(60));
+	}
+
+	/**
+	 * Grava o resumo e a distribuição de cada operação. A alocação é a do processo inteiro, incluindo o cliente HTTP,
+	 * então serve para comparar execuções, não como custo absoluto do servidor.
+	 */
+	private Path writeReport(Phase phase) throws IOException {
+		Files.createDirectories(reportDir);
+		Path report = reportDir.resolve("auth-load-report.txt");
+		double seconds = phase.elapsedNanos / 1e9;
+		long requests = phase.login.latencies.getTotalCount() + phase.authenticated.latencies.getTotalCount();
+		StringBuilder summary = new StringBuilder()
+				.append("=== Teste de carga de autenticação (").append(Instant.now()).append(") ===\n")
+				.append(String.format("duração %d s (aquecimento %d s), %d usuários, taxas: login %d/s, autenticadas %d/s%n",
+						durationSeconds, warmupSeconds, users, loginRate, authenticatedRate))
+				.append(String.format("%-14s %9s %9s %9s %9s %9s %9s %7s%n", "operação", "total", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "falhas"));
+		for (Operation operation : List.of(phase.login, phase.authenticated)) {
+			Histogram latencies = operation.latencies;
+			summary.append(String.format("%-14s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", operation.name,
+					latencies.getTotalCount(), latencies.getTotalCount() / seconds,
+					millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+					millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()), operation.failures.get()));
+			try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve("auth-load-" + operation.name + ".hgrm")),
+					false, StandardCharsets.UTF_8)) {
+				latencies.outputPercentileDistribution(out, 1_000_000.0);
+			}
+		}
+		summary.append(String.format("alocação: %.1f MB, %.1f KB por requisição | GC: %d coletas, %d ms%n",
+				phase.allocatedBytes / 1e6, requests > 0 ? phase.allocatedBytes / 1e3 / requests : 0, phase.gcCount, phase.gcMillis));
+		Files.writeString(report, summary, StandardCharsets.UTF_8);
+		logger.info("\n{}Relatório: {}", summary, report.toAbsolutePath());
+		return report;
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+	}
+
+	private static long[] gcCountAndTime() {
+		long count = 0;
+		long time = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, gc.getCollectionCount());
+			time += Math.max(0, gc.getCollectionTime());
+		}
+		return new long[] {count, time};
+	}
+
+	@FunctionalInterface
+	private interface Request {
+		boolean send(long sequence) throws Exception;
+	}
+
+	private static final class Operation {
+		private final String name;
+		private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+		private final AtomicLong failures = new AtomicLong();
+
+		private Operation(String name) {
+			this.name = name;
+		}
+	}
+
+	private static final class Phase {
+		private final Operation login = new Operation("login");
+		private final Operation authenticated = new Operation("autenticadas");
+		private long elapsedNanos;
+		private long allocatedBytes;
+		private long gcCount;
+		private long gcMillis;
+	}
+
+	/**
+	 * Grava um CSV com {@code load.users} usuários ({@code user0}, {@code user1}, ...), todos com a mesma senha, e
+	 * habilita o {@link InMemoryAppUserRepository} sobre ele.
+	 */
+	@DynamicPropertySource
+	static void inMemoryUsers(DynamicPropertyRegistry registry) throws IOException {
+		String encodedPassword = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+		StringBuilder csv = new StringBuilder("username,password,roles\n");
+		for (int i = 0; i < Integer.getInteger("load.users", 100); i++) {
+			csv.append("user").append(i).append(',').append(encodedPassword).append(",ADMIN\n");
+		}
+		Path file = Files.createTempFile("load-users", ".csv");
+		file.toFile().deleteOnExit();
+		Files.writeString(file, csv);
+		registry.add("app-user.memory.enabled", () -> "true");
+		registry.add("app-user.memory.file", file::toString);
+	}
+}
@@ -0,0 +1,16 @@
+package br.com.bossawebsolutions.base_api.load;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoint protegido e sem lógica, importado pelos testes de carga para medir apenas o custo da autenticação.
+ */
+@RestController
+class PingController {
+
+	@GetMapping("/load/ping")
+	String ping() {
+		return "pong";
+	}
+}
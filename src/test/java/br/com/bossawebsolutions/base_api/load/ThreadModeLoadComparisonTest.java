@@ -0,0 +1,226 @@
+package br.com.bossawebsolutions.base_api.load;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.config.CustomObjectMapper;
+import br.com.bossawebsolutions.base_api.model.TestAppUser;
+import br.com.bossawebsolutions.base_api.repository.AppUserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Compara o servidor com threads de plataforma e com threads virtuais sob a mesma carga: logins cujo repositório
+ * bloqueia como um banco de dados, concorrendo com requisições autenticadas. Com um pool do Tomcat pequeno, os logins
+ * aguardando a verificação de senha ocupam as threads de plataforma e atrasam as requisições autenticadas; com threads
+ * virtuais, essas requisições não disputam o pool.
+ *
+ * Fica fora do build padrão; execute com {@code mvn -Pload test}. Ao final, o relatório vai para o log e o teste falha
+ * se, com threads virtuais, o percentil 99 das requisições autenticadas for maior que com threads de plataforma.
+ */
+@Tag("load")
+public class ThreadModeLoadComparisonTest {
+	private static final Logger logger = LoggerFactory.getLogger(ThreadModeLoadComparisonTest.class);
+
+	private static final String PASSWORD = "password";
+	private static final int LOGIN_CLIENTS = 128;
+	private static final int LOGINS_PER_CLIENT = 4;
+	private static final int AUTHENTICATED_CLIENTS = 32;
+	private static final long REPOSITORY_LATENCY_MS = 20;
+
+	private static final Map<String, Result> RESULTS = new TreeMap<>();
+
+	@AfterAll
+	public static void compareModes() {
+		StringBuilder report = new StringBuilder("Comparação de modos de thread:");
+		RESULTS.forEach((mode, result) -> report.append(String.format("%n%-10s %s", mode, result)));
+		logger.info("{}", report);
+		Result platform = RESULTS.get("platform");
+		Result virtual = RESULTS.get("virtual");
+		if (platform != null && virtual != null) {
+			assertTrue(virtual.authenticatedP99Millis() <= platform.authenticatedP99Millis(), report.toString());
+		}
+	}
+
+	/**
+	 * Resultado de um modo: vazão e latências dos logins e das requisições autenticadas concorrentes.
+	 */
+	record Result(double loginsPerSecond, long loginP50Millis, long loginP99Millis, int authenticatedCount,
+			long authenticatedP50Millis, long authenticatedP99Millis, int failures) {
+		@Override
+		public String toString() {
+			return String.format("logins: %.0f/s, p50 %d ms, p99 %d ms | autenticadas: %d, p50 %d ms, p99 %d ms | falhas: %d",
+					loginsPerSecond, loginP50Millis, loginP99Millis, authenticatedCount, authenticatedP50Millis,
+					authenticatedP99Millis, failures);
+		}
+	}
+
+	@Nested
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+			"spring.threads.virtual.enabled=false", "server.tomcat.threads.max=32", "login.throttle.enabled=false",
+			"login.executor.queue-capacity=1024", "login.executor.timeout=60000", "password.encoder.bcrypt.strength=4"})
+	@ActiveProfiles("test")
+	@Import(PingController.class)
+	class PlatformThreads extends LoadScenario {
+		@Override
+		String mode() {
+			return "platform";
+		}
+	}
+
+	@Nested
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+			"spring.threads.virtual.enabled=true", "server.tomcat.threads.max=32", "login.throttle.enabled=false",
+			"login.executor.queue-capacity=1024", "login.executor.timeout=60000", "password.encoder.bcrypt.strength=4"})
+	@ActiveProfiles("test")
+	@Import(PingController.class)
+	class VirtualThreads extends LoadScenario {
+		@Override
+		String mode() {
+			return "virtual";
+		}
+	}
+
+	abstract class LoadScenario {
+
+		@LocalServerPort
+		int port;
+
+		@Autowired
+		PasswordEncoder passwordEncoder;
+
+		@MockBean
+		AppUserRepository appUserRepository;
+
+		abstract String mode();
+
+		@Test
+		public void testLoad() throws Exception {
+			CustomObjectMapper.registerAppUserImplementations(Map.of("TestAppUser", TestAppUser.class));
+			TestAppUser user = new TestAppUser("user", passwordEncoder.encode(PASSWORD), Set.of("ADMIN"));
+			Mockito.when(appUserRepository.findByUsername(anyString())).thenAnswer(invocation -> {
+				Thread.sleep(REPOSITORY_LATENCY_MS);
+				return Optional.of(user);
+			});
+
+			try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+				HttpClient http = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(10)).build();
+				String accessToken = login(http);
+
+				ConcurrentLinkedQueue<Long> loginLatencies = new ConcurrentLinkedQueue<>();
+				ConcurrentLinkedQueue<Long> authenticatedLatencies = new ConcurrentLinkedQueue<>();
+				AtomicInteger failures = new AtomicInteger();
+				AtomicBoolean loginsRunning = new AtomicBoolean(true);
+
+				List<Future<?>> authenticated = new ArrayList<>();
+				for (int i = 0; i < AUTHENTICATED_CLIENTS; i++) {
+					authenticated.add(clients.submit(() -> {
+						while (loginsRunning.get()) {
+							long start = System.nanoTime();
+							int status = http.send(request("/load/ping").header("Cookie", "access_token=" + accessToken).GET().build(),
+									HttpResponse.BodyHandlers.discarding()).statusCode();
+							authenticatedLatencies.add(System.nanoTime() - start);
+							if (status != 200) {
+								failures.incrementAndGet();
+							}
+						}
+						return null;
+					}));
+				}
+
+				long started = System.nanoTime();
+				List<Future<?>> logins = new ArrayList<>();
+				for (int i = 0; i < LOGIN_CLIENTS; i++) {
+					logins.add(clients.submit(() -> {
+						for (int j = 0; j < LOGINS_PER_CLIENT; j++) {
+							long start = System.nanoTime();
+							if (login(http) == null) {
+								failures.incrementAndGet();
+							}
+							loginLatencies.add(System.nanoTime() - start);
+						}
+						return null;
+					}));
+				}
+				for (Future<?> login : logins) {
+					login.get();
+				}
+				long elapsed = System.nanoTime() - started;
+				loginsRunning.set(false);
+				for (Future<?> request : authenticated) {
+					request.get();
+				}
+
+				Result result = new Result(LOGIN_CLIENTS * LOGINS_PER_CLIENT / (elapsed / 1e9),
+						percentileMillis(loginLatencies, 0.50), percentileMillis(loginLatencies, 0.99),
+						authenticatedLatencies.size(),
+						percentileMillis(authenticatedLatencies, 0.50), percentileMillis(authenticatedLatencies, 0.99),
+						failures.get());
+				synchronized (RESULTS) {
+					RESULTS.put(mode(), result);
+				}
+				assertEquals(0, failures.get(), result.toString());
+				assertTrue(result.authenticatedCount() > 0, result.toString());
+			}
+		}
+
+		private String login(HttpClient http) throws Exception {
+			String body = "{\"type\":\"TestAppUser\",\"username\":\"user\",\"password\":\""
+					+ Base64.getEncoder().encodeToString(PASSWORD.getBytes()) + "\"}";
+			HttpResponse<Void> response = http.send(request("/login").header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+			if (response.statusCode() != 200) {
+				return null;
+			}
+			return response.headers().allValues("Set-Cookie").stream()
+					.filter(cookie -> cookie.startsWith("access_token="))
+					.map(cookie -> cookie.substring("access_token=".length(), cookie.indexOf(';')))
+					.findFirst()
+					.orElse(null);
+		}
+
+		private HttpRequest.Builder request(String path) {
+			return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(60));
+		}
+	}
+
+	private static long percentileMillis(ConcurrentLinkedQueue<Long> latencies, double percentile) {
+		long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1_000_000;
+	}
+}
@@ -0,0 +1,164 @@
+package br.com.bossawebsolutions.base_api.repository;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.TestAppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica os caches positivo e negativo do {@link AppUserCache}, a expiração pelo tempo de vida e a remoção explícita
+ * com {@link AppUserCache#evict(String)} e {@link AppUserCache#evictAll()}, inclusive durante uma consulta.
+ */
+public class AppUserCacheTest {
+
+	private CountingRepository repository;
+
+	@BeforeEach
+	public void setUp() {
+		repository = new CountingRepository();
+		repository.users.put("ana", new TestAppUser("ana", "{noop}senha", Set.of("USER")));
+	}
+
+	@Test
+	public void testFoundUserIsServedFromCache() {
+		AppUserCache cache = cache(true, 60_000, 60_000);
+
+		AppUser first = cache.findByUsername("ana").orElseThrow();
+		assertSame(first, cache.findByUsername("ana").orElseThrow());
+		assertEquals(1, repository.lookups);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testUnknownUsernameIsServedFromNegativeCache() {
+		AppUserCache cache = cache(true, 60_000, 60_000);
+
+		assertTrue(cache.findByUsername("daniel").isEmpty());
+		assertTrue(cache.findByUsername("daniel").isEmpty());
+		assertEquals(1, repository.lookups);
+		assertEquals(1, cache.getNegativeHitCount());
+		assertEquals(1, cache.negativeSize());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testEntriesExpireAfterTtl() throws InterruptedException {
+		AppUserCache cache = cache(true, 20, 20);
+		cache.findByUsername("ana");
+		cache.findByUsername("daniel");
+
+		Thread.sleep(60);
+
+		cache.findByUsername("ana");
+		cache.findByUsername("daniel");
+		assertEquals(4, repository.lookups);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getNegativeHitCount());
+	}
+
+	@Test
+	public void testEvictMakesChangesVisible() {
+		AppUserCache cache = cache(true, 60_000, 60_000);
+		assertTrue(cache.findByUsername("bruno").isEmpty());
+		cache.findByUsername("ana");
+
+		repository.users.put("bruno", new TestAppUser("bruno", "{noop}senha", Set.of("USER")));
+		repository.users.put("ana", new TestAppUser("ana", "{noop}nova", Set.of("ADMIN")));
+		cache.evict("bruno");
+
+		assertTrue(cache.findByUsername("bruno").isPresent());
+		assertEquals("{noop}senha", cache.findByUsername("ana").orElseThrow().getPassword());
+
+		cache.evictAll();
+
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.negativeSize());
+		assertEquals("{noop}nova", cache.findByUsername("ana").orElseThrow().getPassword());
+	}
+
+	@Test
+	public void testLookupRacingEvictionIsNotCached() {
+		AppUserCache cache = cache(true, 60_000, 60_000);
+		repository.duringLookup = () -> {
+			repository.users.put("ana", new TestAppUser("ana", "{noop}nova", Set.of("USER")));
+			cache.evict("ana");
+		};
+		assertEquals("{noop}senha", cache.findByUsername("ana").orElseThrow().getPassword());
+		assertEquals(0, cache.size());
+
+		repository.duringLookup = () -> {
+			repository.users.put("bruno", new TestAppUser("bruno", "{noop}senha", Set.of("USER")));
+			cache.evictAll();
+		};
+		assertTrue(cache.findByUsername("bruno").isEmpty());
+		assertEquals(0, cache.negativeSize());
+
+		repository.duringLookup = null;
+		assertEquals("{noop}nova", cache.findByUsername("ana").orElseThrow().getPassword());
+		assertTrue(cache.findByUsername("bruno").isPresent());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testUpdatePasswordEvictsOnlyWhenSaved() {
+		AppUserCache cache = cache(true, 60_000, 60_000);
+		cache.findByUsername("ana");
+
+		assertFalse(cache.updatePassword("ana", "{noop}nova"));
+		assertEquals(1, cache.size());
+
+		repository.saves = true;
+		assertTrue(cache.updatePassword("ana", "{noop}nova"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testDisabledCacheAlwaysQueriesRepository() {
+		AppUserCache cache = cache(false, 60_000, 60_000);
+
+		cache.findByUsername("ana");
+		cache.findByUsername("ana");
+		cache.findByUsername("daniel");
+		cache.findByUsername("daniel");
+
+		assertEquals(4, repository.lookups);
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.negativeSize());
+	}
+
+	private AppUserCache cache(boolean enabled, long ttl, long negativeTtl) {
+		return new AppUserCache(repository, AuthMetrics.NOOP, enabled, 100, ttl, 100, negativeTtl);
+	}
+
+	private static class CountingRepository implements AppUserRepository {
+
+		final Map<String, AppUser> users = new HashMap<>();
+		int lookups;
+		boolean saves;
+		Runnable duringLookup;
+
+		@Override
+		public Optional<AppUser> findByUsername(String username) {
+			lookups++;
+			Optional<AppUser> appUser = Optional.ofNullable(users.get(username));
+			if (duringLookup != null) {
+				duringLookup.run();
+			}
+			return appUser;
+		}
+
+		@Override
+		public boolean updatePassword(String username, String encodedPassword) {
+			return saves;
+		}
+	}
+}
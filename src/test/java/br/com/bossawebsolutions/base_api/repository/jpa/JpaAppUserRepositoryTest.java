@@ -0,0 +1,93 @@
+package br.com.bossawebsolutions.base_api.repository.jpa;
+
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.AppUserCredentials;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conta os comandos SQL executados pelo {@link JpaAppUserRepository} em um H2 embutido: o login e a busca em lote
+ * devem custar uma única consulta cada, já com os papéis carregados, e a busca em lote não carrega entidades.
+ */
+@DataJpaTest(properties = {
+		"app-user.jpa.enabled=true",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(JpaAppUserRepository.class)
+public class JpaAppUserRepositoryTest {
+
+	@Autowired
+	private JpaAppUserRepository repository;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void setUp() {
+		testEntityManager.persist(new JpaAppUser("ana", "{bcrypt}hash-ana", Set.of("ADMIN", "USER")));
+		testEntityManager.persist(new JpaAppUser("bruno", "{bcrypt}hash-bruno", Set.of("USER")));
+		testEntityManager.persist(new JpaAppUser("carla", "{bcrypt}hash-carla", Set.of()));
+		testEntityManager.flush();
+		testEntityManager.clear();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	public void testFindByUsernameLoadsRolesInOneQuery() {
+		AppUser appUser = repository.findByUsername("ana").orElseThrow();
+
+		assertEquals(Set.of("ADMIN", "USER"), Set.copyOf(appUser.getRoles()));
+		assertEquals("{bcrypt}hash-ana", appUser.getPassword());
+		assertNotNull(appUser.getCreatedAt());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void testFindByUsernameUnknownUser() {
+		assertTrue(repository.findByUsername("desconhecido").isEmpty());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void testFindAllByUsernameInLoadsAllUsersInOneQuery() {
+		List<AppUserCredentials> credentials = repository.findAllByUsernameIn(List.of("ana", "bruno", "carla", "desconhecido"));
+
+		Map<String, Set<String>> rolesByUsername = credentials.stream()
+				.collect(Collectors.toMap(AppUserCredentials::getUsername, user -> Set.copyOf(user.getRoles())));
+		assertEquals(Map.of("ana", Set.of("ADMIN", "USER"), "bruno", Set.of("USER"), "carla", Set.of()), rolesByUsername);
+		assertEquals("{bcrypt}hash-bruno", credentials.stream()
+				.filter(user -> user.getUsername().equals("bruno")).findFirst().orElseThrow().getPassword());
+		assertTrue(credentials.stream().noneMatch(JpaAppUser.class::isInstance));
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void testUpdatePassword() {
+		assertTrue(repository.updatePassword("bruno", "{argon2}novo-hash"));
+		assertFalse(repository.updatePassword("desconhecido", "{argon2}novo-hash"));
+		testEntityManager.clear();
+
+		assertEquals("{argon2}novo-hash", repository.findByUsername("bruno").orElseThrow().getPassword());
+	}
+}
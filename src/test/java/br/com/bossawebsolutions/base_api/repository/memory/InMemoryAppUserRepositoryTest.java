@@ -0,0 +1,191 @@
+package br.com.bossawebsolutions.base_api.repository.memory;
+
+import br.com.bossawebsolutions.base_api.infrastructure.web.metrics.AuthMetrics;
+import br.com.bossawebsolutions.base_api.model.AppUser;
+import br.com.bossawebsolutions.base_api.model.AppUserCredentials;
+import br.com.bossawebsolutions.base_api.repository.AppUserCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carrega o {@link InMemoryAppUserRepository} de arquivos CSV e JSON e verifica a troca do conjunto de usuários quando
+ * o arquivo muda, pela thread de recarga, e o esvaziamento do {@link AppUserCache} a cada troca.
+ */
+public class InMemoryAppUserRepositoryTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void testLoadsCsv() throws IOException {
+		Path file = write("users.csv", """
+				id,username,password,roles,createdAt
+				1,ana,{bcrypt}hash-ana,ADMIN|USER,2024-05-01T10:15:30.250
+
+				2,bruno,{bcrypt}hash-bruno,USER,
+				3,carla,{bcrypt}hash-carla,,
+				4,ana,{bcrypt}hash-ana-2,ADMIN|USER,
+				5, eva ,	{bcrypt}hash-eva , USER ,
+				""");
+		InMemoryAppUserRepository repository = new InMemoryAppUserRepository(file, 0);
+
+		assertEquals(4, repository.getSnapshot().size());
+		AppUser ana = repository.findByUsername("ana").orElseThrow();
+		assertEquals(4L, ana.getId());
+		assertEquals("{bcrypt}hash-ana-2", ana.getPassword());
+		assertEquals(Set.of("ADMIN", "USER"), ana.getRoles());
+		assertNull(ana.getCreatedAt());
+		AppUser bruno = repository.findByUsername("bruno").orElseThrow();
+		assertEquals(Set.of("USER"), bruno.getRoles());
+		assertEquals(Set.of(), repository.findByUsername("carla").orElseThrow().getRoles());
+		assertTrue(repository.findByUsername("daniel").isEmpty());
+		AppUser eva = repository.findByUsername("eva").orElseThrow();
+		assertEquals(5L, eva.getId());
+		assertEquals("{bcrypt}hash-eva", eva.getPassword());
+		assertEquals(Set.of("USER"), eva.getRoles());
+
+		List<AppUserCredentials> users = repository.findAllByUsernameIn(List.of("ana", "bruno", "daniel", "ana"));
+		assertEquals(Set.of("ana", "bruno"), users.stream().map(AppUserCredentials::getUsername).collect(Collectors.toSet()));
+	}
+
+	@Test
+	public void testLoadsJson() throws IOException {
+		Path file = write("users.json", """
+				[
+				  {"id": 1, "username": "ana", "password": "{bcrypt}hash-ana", "roles": ["ADMIN", "USER"],
+				   "createdAt": "2024-05-01T10:15:30.250", "enabled": true, "profile": {"name": "Ana"}},
+				  {"username": "bruno", "password": "{bcrypt}hash-bruno", "roles": "USER"}
+				]
+				""");
+		InMemoryAppUserRepository repository = new InMemoryAppUserRepository(file, 0);
+
+		assertEquals(2, repository.getSnapshot().size());
+		AppUser ana = repository.findByUsername("ana").orElseThrow();
+		assertEquals(1L, ana.getId());
+		assertEquals(Set.of("ADMIN", "USER"), ana.getRoles());
+		assertEquals(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 250_000_000), ana.getCreatedAt());
+		AppUser bruno = repository.findByUsername("bruno").orElseThrow();
+		assertNull(bruno.getId());
+		assertEquals("{bcrypt}hash-bruno", bruno.getPassword());
+	}
+
+	@Test
+	public void testReloadsChangedFileAndKeepsSnapshotOnError() throws IOException {
+		Path file = write("users.csv", "username,password\nana,{bcrypt}hash-ana\n");
+		InMemoryAppUserRepository repository = new InMemoryAppUserRepository(file, 0);
+		assertFalse(repository.reloadIfChanged());
+
+		replace(file, "username,password,roles\nana,{bcrypt}hash-ana\nbruno,{bcrypt}hash-bruno,USER\n");
+		assertFalse(repository.reloadIfChanged());
+		assertEquals(1, repository.getSnapshot().size());
+
+		replace(file, "username,password\nana,{bcrypt}hash-ana\nbruno,{bcrypt}hash-bruno\n");
+		assertTrue(repository.reloadIfChanged());
+		assertEquals(2, repository.getSnapshot().size());
+		assertTrue(repository.findByUsername("bruno").isPresent());
+	}
+
+	@Test
+	public void testBackgroundReloadPublishesSnapshotAndEvictsCache() throws Exception {
+		Path file = write("users.csv", "username,password\nana,{bcrypt}hash-ana\n");
+		StaticListableBeanFactory beans = new StaticListableBeanFactory();
+		InMemoryAppUserRepository repository = new InMemoryAppUserRepository(file, 20, beans.getBeanProvider(AppUserCache.class));
+		try {
+			AppUserCache cache = new AppUserCache(repository, AuthMetrics.NOOP, true, 100, 60_000, 100, 60_000);
+			beans.addBean("appUserCache", cache);
+			assertEquals("{bcrypt}hash-ana", cache.findByUsername("ana").orElseThrow().getPassword());
+			assertTrue(cache.findByUsername("bruno").isEmpty());
+			AppUserSnapshot initial = repository.getSnapshot();
+
+			replace(file, "username,password\nana,{bcrypt}hash-ana-2\nbruno,{bcrypt}hash-bruno\n");
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (cache.findByUsername("bruno").isEmpty()) {
+				assertTrue(System.nanoTime() < deadline, "O conjunto não foi recarregado ou o cache não foi esvaziado");
+				Thread.sleep(10);
+			}
+
+			assertNotSame(initial, repository.getSnapshot());
+			assertEquals(2, repository.getSnapshot().size());
+			assertEquals("{bcrypt}hash-ana-2", cache.findByUsername("ana").orElseThrow().getPassword());
+		} finally {
+			repository.close();
+		}
+	}
+
+	@Test
+	public void testSetSnapshotEvictsCache() {
+		StaticListableBeanFactory beans = new StaticListableBeanFactory();
+		InMemoryAppUserRepository repository = new InMemoryAppUserRepository(
+				AppUserSnapshot.builder().add(1L, "ana", "{bcrypt}hash-ana", Set.of("USER"), null, null).build(),
+				beans.getBeanProvider(AppUserCache.class));
+		AppUserCache cache = new AppUserCache(repository, AuthMetrics.NOOP, true, 100, 60_000, 100, 60_000);
+		beans.addBean("appUserCache", cache);
+		assertTrue(cache.findByUsername("ana").isPresent());
+
+		repository.setSnapshot(AppUserSnapshot.builder().add(2L, "bruno", "{bcrypt}hash-bruno", Set.of("USER"), null, null).build());
+
+		assertEquals(0, cache.size());
+		assertTrue(cache.findByUsername("ana").isEmpty());
+		assertTrue(cache.findByUsername("bruno").isPresent());
+	}
+
+	@Test
+	public void testSpringContextEvictsCacheAndRefusesJpaRepository() throws IOException {
+		Path file = write("users.csv", "username,password\nana,{bcrypt}hash-ana\n");
+		ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+				.withUserConfiguration(InMemoryAppUserRepository.class, AppUserCache.class)
+				.withBean(AuthMetrics.class, () -> AuthMetrics.NOOP)
+				.withPropertyValues("app-user.memory.enabled=true", "app-user.memory.file=" + file, "app-user.memory.reload-interval=0");
+
+		contextRunner.run(context -> {
+			AppUserCache cache = context.getBean(AppUserCache.class);
+			assertTrue(cache.findByUsername("ana").isPresent());
+			replace(file, "username,password\nbruno,{bcrypt}hash-bruno\n");
+			assertTrue(context.getBean(InMemoryAppUserRepository.class).reloadIfChanged());
+			assertTrue(cache.findByUsername("ana").isEmpty());
+		});
+
+		contextRunner.withPropertyValues("app-user.jpa.enabled=true").run(context -> {
+			Throwable failure = context.getStartupFailure();
+			assertNotNull(failure);
+			while (failure.getCause() != null && !(failure instanceof IllegalStateException)) {
+				failure = failure.getCause();
+			}
+			assertInstanceOf(IllegalStateException.class, failure);
+			assertTrue(failure.getMessage().contains("app-user.jpa.enabled"));
+		});
+	}
+
+	@Test
+	public void testRejectsInvalidFile() throws IOException {
+		Path file = write("users.csv", "login,hash\nana,{bcrypt}hash-ana\n");
+
+		assertThrows(RuntimeException.class, () -> new InMemoryAppUserRepository(file, 0));
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.writeString(dir.resolve(name), content);
+	}
+
+	/**
+	 * Grava ao lado e renomeia, como recomendado para a aplicação.
+	 */
+	private void replace(Path file, String content) throws IOException {
+		Path temporary = Files.writeString(dir.resolve(file.getFileName() + ".tmp"), content);
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
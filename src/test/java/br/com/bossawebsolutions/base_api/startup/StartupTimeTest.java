@@ -0,0 +1,175 @@
+package br.com.bossawebsolutions.base_api.startup;
+
+import br.com.bossawebsolutions.base_api.repository.jpa.JpaAppUser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mede o tempo entre o início da JVM e o primeiro {@code /login} bem-sucedido, iniciando o jar executável em um processo
+ * separado: no modo padrão e no modo rápido, com o Spring AOT e o arquivo AppCDS gerados pelo perfil
+ * {@code fast-startup} e a calibração do custo de hash em segundo plano. O usuário é lido de um banco H2 em arquivo
+ * pelo {@code JpaAppUserRepository}, como em uma instalação real.
+ *
+ * Fica fora do build padrão; execute com
+ * {@code mvn -Pfast-startup integration-test -Dfast-startup.jvm-arguments=-Dapp-user.jpa.enabled=true}. O relatório vai para
+ * o log, e o teste falha se a mediana do modo rápido não for menor que a do modo padrão.
+ */
+@Tag("startup")
+public class StartupTimeTest {
+	private static final Logger logger = LoggerFactory.getLogger(StartupTimeTest.class);
+
+	private static final String USERNAME = "startup";
+	private static final String PASSWORD = "senha-startup";
+	private static final int RUNS = Integer.getInteger("startup.runs", 3);
+	private static final Duration TIMEOUT = Duration.ofSeconds(90);
+
+	@TempDir
+	static Path workDirectory;
+
+	private static String jdbcUrl;
+
+	@BeforeAll
+	public static void createDatabase() throws SQLException {
+		assumeTrue(System.getProperty("startup.jar") != null, "Execute com mvn -Pfast-startup integration-test");
+		assumeTrue(configuredJvmArguments().contains("-Dapp-user.jpa.enabled=true"),
+				"Execute com -Dfast-startup.jvm-arguments=-Dapp-user.jpa.enabled=true");
+		jdbcUrl = "jdbc:h2:file:" + workDirectory.resolve("users").toAbsolutePath();
+		try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+			 Statement statement = connection.createStatement()) {
+			statement.execute("create table app_user (id bigint generated by default as identity primary key, "
+					+ "username varchar(255) not null unique, password varchar(255) not null, "
+					+ "created_at timestamp(6), updated_at timestamp(6))");
+			statement.execute("create table app_user_role (user_id bigint not null, role varchar(255) not null)");
+			try (PreparedStatement insert = connection.prepareStatement(
+					"insert into app_user (username, password, created_at, updated_at) values (?, ?, current_timestamp, current_timestamp)")) {
+				insert.setString(1, USERNAME);
+				insert.setString(2, "{bcrypt}" + new BCryptPasswordEncoder().encode(PASSWORD));
+				insert.executeUpdate();
+			}
+			statement.execute("insert into app_user_role (user_id, role) select id, 'USER' from app_user");
+		}
+	}
+
+	@Test
+	public void testTimeToFirstLogin() throws Exception {
+		Path cdsArchive = Path.of(System.getProperty("startup.cds-archive"));
+		List<Long> standard = new ArrayList<>();
+		List<Long> fast = new ArrayList<>();
+		for (int run = 0; run < RUNS; run++) {
+			standard.add(timeToFirstLogin("standard-" + run, List.of()));
+			fast.add(timeToFirstLogin("fast-" + run,
+					List.of("-XX:SharedArchiveFile=" + cdsArchive, "-Dspring.aot.enabled=true",
+							"-Dpassword.encoder.calibrate-in-background=true")));
+		}
+
+		long standardMedian = median(standard);
+		long fastMedian = median(fast);
+		logger.info("Tempo até o primeiro /login bem-sucedido ({} execuções, mediana): padrão {} ms {}, fast-startup {} ms {}, redução {}%",
+				RUNS, standardMedian, standard, fastMedian, fast, String.format("%.1f", 100.0 * (standardMedian - fastMedian) / standardMedian));
+		assertTrue(fastMedian < standardMedian,
+				"O modo rápido levou " + fastMedian + " ms, e o padrão " + standardMedian + " ms");
+	}
+
+	/**
+	 * Inicia a aplicação e envia logins até o primeiro ser aceito.
+	 *
+	 * @return o tempo, em milissegundos, entre o início do processo e a resposta {@code 200} do {@code /login}
+	 */
+	private long timeToFirstLogin(String name, List<String> jvmArguments) throws Exception {
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmArguments);
+		command.addAll(configuredJvmArguments());
+		command.add("-jar");
+		command.add(System.getProperty("startup.jar"));
+		command.add("--server.port=" + port);
+		command.add("--spring.datasource.url=" + jdbcUrl);
+		command.add("--spring.datasource.username=sa");
+		command.add("--spring.jpa.hibernate.ddl-auto=none");
+		command.add("--app-user.implementations=StartupUser:" + JpaAppUser.class.getName());
+		Path log = workDirectory.resolve(name + ".log");
+
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+		HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"type\":\"StartupUser\",\"username\":\"" + USERNAME
+						+ "\",\"password\":\"" + Base64.getEncoder().encodeToString(PASSWORD.getBytes(StandardCharsets.UTF_8)) + "\"}"))
+				.build();
+
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+		try {
+			while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+				if (!process.isAlive()) {
+					fail("A aplicação terminou antes do primeiro login:\n" + Files.readString(log));
+				}
+				try {
+					int status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+					if (status == 200) {
+						return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+					}
+					fail("Login recusado com status " + status + ":\n" + Files.readString(log));
+				} catch (IOException e) {
+					Thread.sleep(10);
+				}
+			}
+			return fail("Nenhum login bem-sucedido em " + TIMEOUT + ":\n" + Files.readString(log));
+		} finally {
+			process.destroy();
+			if (!process.waitFor(10, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	/**
+	 * @return os argumentos de {@code fast-startup.jvm-arguments}, também usados no processamento AOT
+	 */
+	private static List<String> configuredJvmArguments() {
+		return Arrays.stream(System.getProperty("startup.jvm-arguments", "").trim().split("\\s+"))
+				.filter(argument -> !argument.isEmpty())
+				.toList();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static long median(List<Long> values) {
+		List<Long> sorted = values.stream().sorted().toList();
+		return sorted.get(sorted.size() / 2);
+	}
+}
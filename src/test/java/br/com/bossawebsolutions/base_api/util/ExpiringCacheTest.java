@@ -0,0 +1,153 @@
+package br.com.bossawebsolutions.base_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica a expiração por entrada, o limite estrito de tamanho e a ordem de remoção do {@link ExpiringCache}.
+ */
+public class ExpiringCacheTest {
+
+	private static final long NOW = 1_000_000;
+
+	@Test
+	public void testEntryExpiresAtItsOwnInstant() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+		cache.put("a", "1", NOW + 100, NOW);
+		cache.put("b", "2", NOW + 200, NOW);
+
+		assertEquals("1", cache.get("a", NOW + 99));
+		assertNull(cache.get("a", NOW + 100));
+		assertEquals("2", cache.get("b", NOW + 150));
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testAlreadyExpiredValueIsNotStored() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+		cache.put("a", "1", NOW, NOW);
+
+		assertNull(cache.get("a", NOW - 1));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testReplacingKeyDoesNotUseAnotherSlot() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(2);
+		cache.put("a", "1", NOW + 100, NOW);
+		cache.put("b", "2", NOW + 100, NOW);
+		cache.put("a", "3", NOW + 100, NOW);
+
+		assertEquals("3", cache.get("a", NOW));
+		assertEquals("2", cache.get("b", NOW));
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testSizeNeverExceedsBound() {
+		ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(100);
+		for (int i = 0; i < 10_000; i++) {
+			cache.put(i, i, NOW + 1_000 + i, NOW);
+			assertTrue(cache.size() <= 100, "tamanho " + cache.size());
+		}
+	}
+
+	@Test
+	public void testExpiredEntriesAreEvictedBeforeLiveOnes() {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(8);
+		for (int i = 0; i < 4; i++) {
+			cache.put("curta" + i, "x", NOW + 10, NOW);
+			cache.put("longa" + i, "x", NOW + 10_000, NOW);
+		}
+
+		cache.put("nova", "x", NOW + 10_000, NOW + 20);
+
+		for (int i = 0; i < 4; i++) {
+			assertEquals("x", cache.get("longa" + i, NOW + 20));
+		}
+		assertEquals("x", cache.get("nova", NOW + 20));
+		assertEquals(5, cache.size());
+	}
+
+	@Test
+	public void testEntriesExpiringFirstAreEvictedWhenFull() {
+		ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(8);
+		for (int i = 0; i < 8; i++) {
+			cache.put(i, i, NOW + 1_000 * (i + 1), NOW);
+		}
+
+		cache.put(100, 100, NOW + 100_000, NOW);
+
+		assertNull(cache.get(0, NOW));
+		for (int i = 1; i < 8; i++) {
+			assertEquals(i, cache.get(i, NOW));
+		}
+		assertEquals(100, cache.get(100, NOW));
+	}
+
+	@Test
+	public void testRemoveAndClearReleaseSlots() {
+		ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(2);
+		cache.put(1, 1, NOW + 100, NOW);
+		cache.put(2, 2, NOW + 100, NOW);
+		cache.remove(1);
+		cache.put(3, 3, NOW + 100, NOW);
+		assertEquals(2, cache.get(2, NOW));
+		assertEquals(3, cache.get(3, NOW));
+
+		cache.clear();
+		cache.put(4, 4, NOW + 100, NOW);
+		cache.put(5, 5, NOW + 100, NOW);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testConcurrentPutAndGetStayWithinBound() throws Exception {
+		int maxSize = 256;
+		ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(maxSize);
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < 50_000; i++) {
+						int key = random.nextInt(2_048);
+						long now = NOW + i;
+						if (random.nextBoolean()) {
+							cache.put(key, key, now + random.nextInt(1, 500), now);
+						} else {
+							Integer value = cache.get(key, now);
+							assertTrue(value == null || value == key);
+						}
+						assertTrue(cache.size() <= maxSize, "tamanho " + cache.size());
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertTrue(cache.size() <= maxSize);
+	}
+}